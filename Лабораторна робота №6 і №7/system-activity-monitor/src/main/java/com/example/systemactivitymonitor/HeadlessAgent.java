@@ -0,0 +1,151 @@
+package com.example.systemactivitymonitor;
+
+import com.example.systemactivitymonitor.factory.EnvironmentFactoryProducer;
+import com.example.systemactivitymonitor.factory.RepositoryFactory;
+import com.example.systemactivitymonitor.model.User;
+import com.example.systemactivitymonitor.repository.impl.LocalStatsRepositoryImpl;
+import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+import com.example.systemactivitymonitor.repository.interfaces.UserRepository;
+import com.example.systemactivitymonitor.repository.migration.SchemaMigrator;
+import com.example.systemactivitymonitor.service.MonitoringService;
+import com.example.systemactivitymonitor.service.IdleService;
+import com.example.systemactivitymonitor.service.persistence.StatsRetentionJob;
+import com.example.systemactivitymonitor.util.AppConfig;
+import com.example.systemactivitymonitor.util.AppExecutors;
+import com.example.systemactivitymonitor.util.DatabaseConnection;
+
+import java.net.InetAddress;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * HeadlessAgent — точка входу для сервера без дисплея (systemd-сервіс).
+ *
+ * ✔ Не торкається JavaFX: жодних FXML, Stage чи MainApp — старт без ініціалізації UI
+ * ✔ Налаштування: -Dsam.*, змінні SAM_*, файл -Dsam.config / SAM_CONFIG (див. AppConfig)
+ * ✔ Міграція схеми, задача ретеншну, MonitoringService через EnvironmentFactoryProducer
+ * ✔ Метрики пишуться від імені користувача agent.user (за замовчуванням — ім’я хоста),
+ *   якого за потреби створює сам агент
+ * ✔ SIGTERM / SIGINT → shutdown hook: зупинка збору, дописування черги запису,
+ *   згортань і простою, закриття локального сховища та пулу з’єднань, зупинка AppExecutors
+ *
+ * Приклад запуску:
+ *   java -cp system-activity-monitor.jar:libs/* -Dsam.config=/etc/sam/agent.properties \
+ *        com.example.systemactivitymonitor.HeadlessAgent
+ */
+public final class HeadlessAgent {
+
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    private MonitoringService monitoringService;
+    private StatsRetentionJob retentionJob;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        HeadlessAgent agent = new HeadlessAgent();
+        Runtime.getRuntime().addShutdownHook(new Thread(agent::shutdown, "sam-agent-shutdown"));
+
+        try {
+            agent.start();
+        } catch (Exception e) {
+            System.err.println("[HeadlessAgent] Не вдалося запустити агент: " + e.getMessage());
+            System.exit(1);
+        }
+
+        agent.awaitShutdown();
+    }
+
+    // ========================================================================
+    // START
+    // ========================================================================
+    public synchronized void start() {
+        long startedAt = System.nanoTime();
+        String configFile = AppConfig.getConfigFile();
+        System.out.println("🛰 [agent] старт; конфігурація: " + (configFile != null ? configFile : "лише -Dsam.* / SAM_*"));
+
+        if (AppConfig.getBoolean("agent.migrate", true)) {
+            try {
+                SchemaMigrator.migrate();
+            } catch (Exception e) {
+                System.err.println("[HeadlessAgent] Помилка під час оновлення схеми БД: " + e.getMessage());
+            }
+        }
+
+        if (AppConfig.getBoolean("agent.retention", true)) {
+            retentionJob = new StatsRetentionJob();
+            retentionJob.start();
+        }
+
+        User user = resolveUser();
+        new IdleService().seedIndex(user);
+
+        monitoringService = EnvironmentFactoryProducer.getFactory().createMonitoringService();
+        monitoringService.start(user);
+
+        System.out.printf("🛰 [agent] моніторинг користувача '%s' (id=%d) запущено за %d мс%n",
+                user.getUsername(), user.getId(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /** Користувач агента: agent.user (або ім’я хоста); створюється, якщо його ще немає. */
+    private static User resolveUser() {
+        String username = AppConfig.get("agent.user", hostName());
+        UserRepository users = RepositoryFactory.getUserRepository();
+
+        return users.findByUsername(username).orElseGet(() -> {
+            User user = new User(username,
+                    AppConfig.get("agent.password", UUID.randomUUID().toString()),
+                    AppConfig.get("agent.email", null));
+            users.save(user);
+            if (user.getId() == null) {
+                user = users.findByUsername(username)
+                        .orElseThrow(() -> new IllegalStateException("Не вдалося створити користувача " + username));
+            }
+            System.out.println("🛰 [agent] створено користувача '" + username + "'");
+            return user;
+        });
+    }
+
+    private static String hostName() {
+        try {
+            String name = InetAddress.getLocalHost().getHostName();
+            if (name != null && !name.isBlank()) return name.length() > 50 ? name.substring(0, 50) : name;
+        } catch (Exception ignored) {}
+        return "sam-agent";
+    }
+
+    // ========================================================================
+    // SHUTDOWN
+    // ========================================================================
+    private void awaitShutdown() {
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Викликається з shutdown hook (SIGTERM / SIGINT) — повторні виклики ігноруються. */
+    public synchronized void shutdown() {
+        if (stopped.getCount() == 0) return;
+        System.out.println("🛰 [agent] зупинка: дописуємо буфери...");
+
+        try {
+            if (monitoringService != null) monitoringService.stop();
+        } catch (Exception e) {
+            System.err.println("[HeadlessAgent] Помилка зупинки моніторингу: " + e.getMessage());
+        }
+
+        if (retentionJob != null) retentionJob.stop();
+
+        StatsRepository statsRepository = RepositoryFactory.getStatsRepository();
+        if (statsRepository instanceof LocalStatsRepositoryImpl local) {
+            local.close();
+        }
+
+        DatabaseConnection.shutdown();
+        AppExecutors.shutdown(5_000);
+        System.out.println("🛰 [agent] зупинено.");
+        stopped.countDown();
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.systemactivitymonitor;
 
+import com.example.systemactivitymonitor.repository.migration.SchemaMigrator;
+import com.example.systemactivitymonitor.service.persistence.StatsRetentionJob;
+import com.example.systemactivitymonitor.util.AppExecutors;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -19,6 +22,12 @@ public class MainApp extends Application {
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        // такти й фонові задачі (збір, ретеншн, експорт) — завершуємо, а не обриваємо
+        AppExecutors.shutdown(3_000);
+    }
+
     public static void main(String[] args) {
         try {
             String nativeLibPath = System.getProperty("user.dir") + File.separator + "native_libs";
@@ -37,6 +46,13 @@ public class MainApp extends Application {
             System.err.println("Помилка під час підготовки теки для JNativeHook: " + e.getMessage());
         }
 
+        try {
+            SchemaMigrator.migrate();
+            new StatsRetentionJob().start();
+        } catch (Exception e) {
+            System.err.println("Помилка під час оновлення схеми БД: " + e.getMessage());
+        }
+
         launch(args);
     }
 }
@@ -2,6 +2,7 @@ package com.example.systemactivitymonitor.controller;
 
 import com.example.systemactivitymonitor.model.User;
 import com.example.systemactivitymonitor.service.MonitoringService;
+import com.example.systemactivitymonitor.util.AppExecutors;
 import com.example.systemactivitymonitor.util.Session;
 import com.example.systemactivitymonitor.factory.EnvironmentFactoryProducer;
 import com.example.systemactivitymonitor.factory.SystemEnvironmentFactory;
@@ -13,7 +14,7 @@ import javafx.scene.control.*;
 import javafx.stage.Stage;
 
 import java.util.Map;
-import java.util.concurrent.*;
+import java.util.concurrent.TimeUnit;
 
 public class MonitoringController {
 
@@ -25,7 +26,7 @@ public class MonitoringController {
 
     private User activeUser;
     private MonitoringService monitoringService;
-    private ScheduledExecutorService uiUpdater;
+    private AppExecutors.Periodic uiUpdater;
     private boolean isMonitoring = false;
 
     @FXML
@@ -91,15 +92,17 @@ public class MonitoringController {
     // 🔄 SCHEDULED UI UPDATE
     // ============================================================================
     private void startAutoUIUpdate() {
-        uiUpdater = Executors.newSingleThreadScheduledExecutor();
-        uiUpdater.scheduleAtFixedRate(() ->
-                        Platform.runLater(this::refreshStats),
-                0, 5, TimeUnit.SECONDS);
+        // збір метрик — поза UI-потоком, на FX-потоці лише оновлення підписів
+        MonitoringService service = monitoringService;
+        uiUpdater = AppExecutors.schedule("ui-refresh", () -> {
+            Map<String, Object> data = service.collectFormattedStats();
+            Platform.runLater(() -> showStats(data));
+        }, 0, 5, TimeUnit.SECONDS);
     }
 
     private void stopAutoUIUpdate() {
-        if (uiUpdater != null && !uiUpdater.isShutdown()) {
-            uiUpdater.shutdownNow();
+        if (uiUpdater != null) {
+            uiUpdater.cancel();
             uiUpdater = null;
         }
     }
@@ -108,9 +111,11 @@ public class MonitoringController {
     // 🔹 REFRESH UI STATS
     // ============================================================================
     private void refreshStats() {
-        try {
-            Map<String, Object> data = monitoringService.collectFormattedStats();
+        showStats(monitoringService.collectFormattedStats());
+    }
 
+    private void showStats(Map<String, Object> data) {
+        try {
             if (data == null || data.isEmpty()) return;
 
             cpuLabel.setText(data.get("cpuLoad") + " %");
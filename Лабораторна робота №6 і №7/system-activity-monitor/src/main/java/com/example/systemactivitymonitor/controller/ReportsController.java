@@ -6,8 +6,10 @@ import com.example.systemactivitymonitor.factory.RepositoryFactory;
 import com.example.systemactivitymonitor.model.Report;
 import com.example.systemactivitymonitor.model.User;
 import com.example.systemactivitymonitor.service.ReportService;
+import com.example.systemactivitymonitor.util.AppExecutors;
 import com.example.systemactivitymonitor.util.Session;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -43,7 +45,9 @@ public class ReportsController {
         this.reportService = new ReportService(
                 RepositoryFactory.getReportRepository(),
                 RepositoryFactory.getStatsRepository(),
-                RepositoryFactory.getIdleRepository()
+                RepositoryFactory.getIdleRepository(),
+                RepositoryFactory.getRollupRepository(),
+                RepositoryFactory.getCpuBreakdownRepository()
         );
     }
 
@@ -144,12 +148,15 @@ public class ReportsController {
         }
 
         ReportCommand cmd = new ExportReportCommand(reportService, selected, format);
-
-        if (commandManager.executeAndStore(cmd)) {
-            messageLabel.setText("📤 Експортовано (" + format.toUpperCase() + ")");
-        } else {
-            messageLabel.setText("❌ Помилка експорту.");
-        }
+        messageLabel.setText("⏳ Експорт (" + format.toUpperCase() + ")...");
+
+        // PDF / Excel над великим звітом — секунди роботи; UI-потік не чекає
+        AppExecutors.submit("report-export", () -> {
+            boolean ok = commandManager.executeAndStore(cmd);
+            Platform.runLater(() -> messageLabel.setText(ok
+                    ? "📤 Експортовано (" + format.toUpperCase() + ")"
+                    : "❌ Помилка експорту."));
+        });
     }
 
     // ========================================================================
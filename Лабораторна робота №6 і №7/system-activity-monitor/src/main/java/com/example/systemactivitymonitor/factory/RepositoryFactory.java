@@ -2,13 +2,28 @@ package com.example.systemactivitymonitor.factory;
 
 import com.example.systemactivitymonitor.repository.impl.*;
 import com.example.systemactivitymonitor.repository.interfaces.*;
+import com.example.systemactivitymonitor.util.AppConfig;
 
 public class RepositoryFactory {
 
+    private static final WindowTitleRepository WINDOW_TITLE_REPOSITORY = new WindowTitleRepositoryImpl();
     private static final ReportRepository REPORT_REPOSITORY = new ReportRepositoryImpl();
-    private static final StatsRepository STATS_REPOSITORY = new StatsRepositoryImpl();
+    private static final StatsRepository STATS_REPOSITORY = createStatsRepository();
     private static final IdleRepository IDLE_REPOSITORY = new IdleRepositoryImpl();
     private static final UserRepository USER_REPOSITORY = new UserRepositoryImpl();
+    private static final RollupRepository ROLLUP_REPOSITORY = new RollupRepositoryImpl();
+    private static final BurstRepository BURST_REPOSITORY = new BurstRepositoryImpl();
+    private static final CpuBreakdownRepository CPU_BREAKDOWN_REPOSITORY = new CpuBreakdownRepositoryImpl();
+
+    /** stats.backend: mysql (за замовчуванням) або local — колонкові файли на диску */
+    private static StatsRepository createStatsRepository() {
+        String backend = AppConfig.get("stats.backend", "mysql");
+        return switch (backend.toLowerCase()) {
+            case "mysql" -> new StatsRepositoryImpl(WINDOW_TITLE_REPOSITORY);
+            case "local" -> new LocalStatsRepositoryImpl();
+            default -> throw new IllegalArgumentException("Unknown stats backend: " + backend);
+        };
+    }
 
     public static ReportRepository getReportRepository() {
         return REPORT_REPOSITORY;
@@ -25,4 +40,20 @@ public class RepositoryFactory {
     public static UserRepository getUserRepository() {
         return USER_REPOSITORY;
     }
+
+    public static RollupRepository getRollupRepository() {
+        return ROLLUP_REPOSITORY;
+    }
+
+    public static BurstRepository getBurstRepository() {
+        return BURST_REPOSITORY;
+    }
+
+    public static CpuBreakdownRepository getCpuBreakdownRepository() {
+        return CPU_BREAKDOWN_REPOSITORY;
+    }
+
+    public static WindowTitleRepository getWindowTitleRepository() {
+        return WINDOW_TITLE_REPOSITORY;
+    }
 }
@@ -0,0 +1,74 @@
+package com.example.systemactivitymonitor.metrics;
+
+import com.example.systemactivitymonitor.util.AppConfig;
+
+import java.util.Locale;
+
+/**
+ * MetricFamily — групи метрик, які оновлюються незалежно одна від одної.
+ *
+ * ✔ Кожна група має власний інтервал (за замовчуванням нижче)
+ * ✔ Інтервал перевизначається через -Dsam.metrics.interval.<family>=<мс>,
+ *   наприклад -Dsam.metrics.interval.disk=60000
+ * ✔ Клас вартості визначає, скільки коштує одне оновлення
+ * ✔ WINDOW за замовчуванням оновлюється з інтервалом запису в БД (stats.persistIntervalMs):
+ *   частіше заголовок ніхто не читає, а резервне джерело (xprop) — це запуск процесів
+ * ✔ Групи "лише для збирача" рахують дельти між викликами: їх оновлює тільки
+ *   TieredMetricsCollector, а разовий collectInto() (UI, ручне збереження) пропускає,
+ *   інакше наступний такт отримав би дельту за довільне вікно
+ */
+public enum MetricFamily {
+
+    CPU(1_000, CostClass.CHEAP),
+    RAM(2_000, CostClass.CHEAP),
+    DISK(60_000, CostClass.EXPENSIVE),
+    UPTIME(300_000, CostClass.CHEAP),
+    /** 0 — інтервал запису в БД (stats.persistIntervalMs, 5000). */
+    WINDOW(0, CostClass.MODERATE),
+    INPUT(1_000, CostClass.CHEAP),
+    /** Завантаження кожного ядра й топ процесів (сканування /proc/[pid] чи OSHI). */
+    CPU_DETAIL(5_000, CostClass.EXPENSIVE, true);
+
+    /**
+     * CHEAP — читання з пам’яті або /proc;
+     * MODERATE — системний виклик чи звернення до віконного сервера;
+     * EXPENSIVE — файлова система або зовнішній процес (не більше одного за такт).
+     */
+    public enum CostClass { CHEAP, MODERATE, EXPENSIVE }
+
+    private static final long MIN_INTERVAL_MS = 250;
+
+    private final long defaultIntervalMs;
+    private final CostClass cost;
+    private final boolean collectorOnly;
+
+    MetricFamily(long defaultIntervalMs, CostClass cost) {
+        this(defaultIntervalMs, cost, false);
+    }
+
+    MetricFamily(long defaultIntervalMs, CostClass cost, boolean collectorOnly) {
+        this.defaultIntervalMs = defaultIntervalMs;
+        this.cost = cost;
+        this.collectorOnly = collectorOnly;
+    }
+
+    public CostClass getCost() {
+        return cost;
+    }
+
+    /** true — оновлюється лише потоком TieredMetricsCollector, collectInto() групу пропускає. */
+    public boolean isCollectorOnly() {
+        return collectorOnly;
+    }
+
+    public long getDefaultIntervalMs() {
+        return defaultIntervalMs > 0 ? defaultIntervalMs : AppConfig.getLong("stats.persistIntervalMs", 5_000);
+    }
+
+    /** Налаштований інтервал оновлення (не менше MIN_INTERVAL_MS). */
+    public long intervalMs() {
+        long configured = AppConfig.getLong(
+                "metrics.interval." + name().toLowerCase(Locale.ROOT), getDefaultIntervalMs());
+        return Math.max(MIN_INTERVAL_MS, configured);
+    }
+}
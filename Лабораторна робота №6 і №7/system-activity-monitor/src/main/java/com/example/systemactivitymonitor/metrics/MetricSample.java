@@ -0,0 +1,153 @@
+package com.example.systemactivitymonitor.metrics;
+
+import com.example.systemactivitymonitor.metrics.cpu.CpuBreakdown;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * MetricSample — фіксований набір метрик у примітивних полях.
+ *
+ * Власник зразка (TieredMetricsCollector сервісу моніторингу) перезаповнює той самий
+ * об’єкт на кожному такті, тому шлях збору не створює Map, BigDecimal чи рядків uptime.
+ * Заголовок активного вікна — рядок від ОС (його алокує сам запит до X11 / WinAPI)
+ * плюс id з WindowTitleRegistry для дешевого порівняння; у БД іде рядок, а не id.
+ *
+ * Не потокобезпечний: пише лише потік власника; іншим потокам — копія через toMap().
+ * Старий формат Map<String, Object> — для UI та сумісності.
+ */
+public final class MetricSample {
+
+    private long timestampMillis;
+
+    // CPU (%)
+    private double cpuLoad;
+
+    // RAM (MB)
+    private double ramUsedMb;
+    private double ramTotalMb;
+
+    // Disk (GB)
+    private double diskTotalGb;
+    private double diskFreeGb;
+    private String diskDetails = "Unknown";
+
+    // System
+    private long uptimeSeconds = -1;
+    private int windowId = WindowTitleRegistry.UNKNOWN_ID;
+    private String activeWindow = WindowTitleRegistry.UNKNOWN;
+    private String osName = "Unknown";
+
+    // Input
+    private boolean inputActive;
+    private long keys;
+    private long clicks;
+    private long moves;
+    private long lastActivitySecAgo;
+
+    // CPU по ядрах і процесах (CPU_DETAIL) — багаторазовий, заповнюється на місці
+    private final CpuBreakdown cpuBreakdown = new CpuBreakdown();
+
+    // ---------- Getters / Setters ----------
+
+    public long getTimestampMillis() { return timestampMillis; }
+    public void setTimestampMillis(long timestampMillis) { this.timestampMillis = timestampMillis; }
+
+    public double getCpuLoad() { return cpuLoad; }
+    public void setCpuLoad(double cpuLoad) { this.cpuLoad = cpuLoad; }
+
+    public double getRamUsedMb() { return ramUsedMb; }
+    public void setRamUsedMb(double ramUsedMb) { this.ramUsedMb = ramUsedMb; }
+
+    public double getRamTotalMb() { return ramTotalMb; }
+    public void setRamTotalMb(double ramTotalMb) { this.ramTotalMb = ramTotalMb; }
+
+    public double getDiskTotalGb() { return diskTotalGb; }
+    public void setDiskTotalGb(double diskTotalGb) { this.diskTotalGb = diskTotalGb; }
+
+    public double getDiskFreeGb() { return diskFreeGb; }
+    public void setDiskFreeGb(double diskFreeGb) { this.diskFreeGb = diskFreeGb; }
+
+    public double getDiskUsedGb() { return diskTotalGb - diskFreeGb; }
+
+    public String getDiskDetails() { return diskDetails; }
+    public void setDiskDetails(String diskDetails) { this.diskDetails = diskDetails; }
+
+    /** Секунди роботи системи; -1, якщо невідомо. */
+    public long getUptimeSeconds() { return uptimeSeconds; }
+    public void setUptimeSeconds(long uptimeSeconds) { this.uptimeSeconds = uptimeSeconds; }
+
+    public int getWindowId() { return windowId; }
+
+    public String getActiveWindow() { return activeWindow; }
+
+    /** Заголовок від ОС; null або порожній — "Unknown". */
+    public void setActiveWindow(String title) {
+        this.windowId = WindowTitleRegistry.intern(title);
+        this.activeWindow = windowId == WindowTitleRegistry.UNKNOWN_ID ? WindowTitleRegistry.UNKNOWN : title;
+    }
+
+    public String getOsName() { return osName; }
+    public void setOsName(String osName) { this.osName = osName; }
+
+    public boolean isInputActive() { return inputActive; }
+    public void setInputActive(boolean inputActive) { this.inputActive = inputActive; }
+
+    public long getKeys() { return keys; }
+    public void setKeys(long keys) { this.keys = keys; }
+
+    public long getClicks() { return clicks; }
+    public void setClicks(long clicks) { this.clicks = clicks; }
+
+    public long getMoves() { return moves; }
+    public void setMoves(long moves) { this.moves = moves; }
+
+    public long getLastActivitySecAgo() { return lastActivitySecAgo; }
+    public void setLastActivitySecAgo(long lastActivitySecAgo) { this.lastActivitySecAgo = lastActivitySecAgo; }
+
+    public CpuBreakdown getCpuBreakdown() { return cpuBreakdown; }
+
+    // ========================================================================
+    // Map-адаптер (старий формат collectAllMetrics)
+    // ========================================================================
+    public Map<String, Object> toMap() {
+        Map<String, Object> m = new HashMap<>();
+        m.put(MetricKeys.CPU, decimal(cpuLoad));
+        m.put(MetricKeys.RAM_USED, decimal(ramUsedMb));
+        m.put(MetricKeys.RAM_TOTAL, decimal(ramTotalMb));
+
+        m.put(MetricKeys.DISK_TOTAL, decimal(diskTotalGb));
+        m.put(MetricKeys.DISK_FREE, decimal(diskFreeGb));
+        m.put(MetricKeys.DISK_USED, decimal(getDiskUsedGb()));
+        m.put(MetricKeys.DISK_DETAILS, diskDetails);
+
+        m.put(MetricKeys.WINDOW, getActiveWindow());
+        m.put(MetricKeys.UPTIME, formatUptime(uptimeSeconds));
+        m.put(MetricKeys.OS, osName);
+
+        if (inputActive) {
+            m.put(MetricKeys.KEYS, keys);
+            m.put(MetricKeys.CLICKS, clicks);
+            m.put(MetricKeys.MOVES, moves);
+            m.put(MetricKeys.LAST_ACTIVITY, lastActivitySecAgo);
+        }
+        return m;
+    }
+
+    public static BigDecimal decimal(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /** Формат "X d Y h Z m", як і раніше повертали провайдери. */
+    public static String formatUptime(long uptimeSec) {
+        if (uptimeSec < 0) return "Unknown";
+
+        long days = uptimeSec / 86400;
+        long hours = (uptimeSec % 86400) / 3600;
+        long minutes = (uptimeSec % 3600) / 60;
+
+        return String.format("%d d %d h %d m", days, hours, minutes);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.systemactivitymonitor.metrics;
 
+import com.example.systemactivitymonitor.metrics.input.InputCounters;
+
 import java.math.BigDecimal;
 import java.util.Map;
 
@@ -33,6 +35,8 @@ import java.util.Map;
  *    activeWindow (String)
  *    osName (String)
  *    uptime (String in format "X d Y h Z m")
+ *
+ * Ті самі значення у примітивному вигляді заповнюються у MetricSample (collectInto).
  */
 public interface MetricsProvider {
 
@@ -41,12 +45,27 @@ public interface MetricsProvider {
     // =============================================================
     BigDecimal getCpuLoad();
 
+    /**
+     * Накопичені лічильники CPU з моменту завантаження ОС: out[0] — зайнятий час,
+     * out[1] — увесь час (в одиницях ОС). Навантаження між двома викликами рахує
+     * викликач із різниць — стан getCpuLoad() не зачіпається.
+     * Без алокацій (для burst-вибірок); false — провайдер цього не підтримує.
+     */
+    default boolean readCpuTicks(long[] out) {
+        return false;
+    }
+
     // =============================================================
     // 🧠 RAM
     // =============================================================
     BigDecimal getRamUsed();
     BigDecimal getRamTotal();
 
+    /** Зайнята RAM у МБ без алокацій (для burst-вибірок); від’ємне — не підтримується. */
+    default double readRamUsedMb() {
+        return -1;
+    }
+
     // =============================================================
     // 💾 Disk
     // =============================================================
@@ -81,8 +100,29 @@ public interface MetricsProvider {
     /** Секунди з моменту останньої активності */
     long getLastActivitySeconds();
 
+    /** Лічильники введення: дельти за інтервал збереження та посекундна гістограма */
+    InputCounters getInputCounters();
+
     // =============================================================
-    // 📦 Уніфікований метод, який повертає повний пакет метрик
+    // 📦 Повний пакет метрик
     // =============================================================
-    Map<String, Object> collectAllMetrics();
+    /**
+     * Заповнює переданий зразок на місці — без Map, BigDecimal і рядкових форматів.
+     * Групи MetricFamily.isCollectorOnly() (CPU_DETAIL) пропускаються: їх джерела
+     * рахують дельти між викликами, тому оновлює їх лише TieredMetricsCollector.
+     */
+    void collectInto(MetricSample sample);
+
+    /**
+     * Оновлює в зразку лише одну групу метрик (для TieredMetricsCollector).
+     * Решта полів зразка не змінюється.
+     */
+    void refresh(MetricFamily family, MetricSample sample);
+
+    /** Тонкий адаптер у старий формат ключ → значення (для UI). */
+    default Map<String, Object> collectAllMetrics() {
+        MetricSample sample = new MetricSample();
+        collectInto(sample);
+        return sample.toMap();
+    }
 }
@@ -0,0 +1,117 @@
+package com.example.systemactivitymonitor.metrics;
+
+/**
+ * TieredMetricsCollector — планувальник оновлення метрик за групами.
+ *
+ * ✔ Кожна MetricFamily оновлюється зі своїм інтервалом, між оновленнями
+ *   в MetricSample лишається останнє (кешоване) значення
+ * ✔ Перший такт — повний збір через collectInto() плюс групи "лише для збирача"
+ *   (CPU_DETAIL): їх джерела рахують дельти, тож інший потік не має їх чіпати
+ * ✔ За один такт оновлюється не більше однієї EXPENSIVE-групи,
+ *   решта переноситься на наступний такт — дорогі виклики не накладаються
+ * ✔ Базовий такт = найменший інтервал серед груп
+ * ✔ Наступний строк рахується від попереднього строку, а не від часу такту, і такт,
+ *   що прийшов раніше строку менш ніж на пів базового такту, вже вважається вчасним —
+ *   тож тремтіння планувальника не змушує групу пропустити цілий такт
+ *
+ * Не потокобезпечний: tick() викликається лише з потоку планувальника.
+ */
+public final class TieredMetricsCollector {
+
+    private static final MetricFamily[] FAMILIES = MetricFamily.values();
+
+    private final MetricsProvider provider;
+    private final MetricSample sample;
+
+    private final long[] intervalMs = new long[FAMILIES.length];
+    private final long[] nextDueAt = new long[FAMILIES.length];
+    private final long[] refreshCount = new long[FAMILIES.length];
+    private final long slackMs;
+    private boolean primed = false;
+
+    public TieredMetricsCollector(MetricsProvider provider, MetricSample sample) {
+        this.provider = provider;
+        this.sample = sample;
+        for (MetricFamily family : FAMILIES) {
+            intervalMs[family.ordinal()] = family.intervalMs();
+        }
+        this.slackMs = getBaseTickMillis() / 2;
+    }
+
+    /** Період, з яким варто викликати tick(). */
+    public long getBaseTickMillis() {
+        long min = Long.MAX_VALUE;
+        for (long interval : intervalMs) min = Math.min(min, interval);
+        return min;
+    }
+
+    public long getIntervalMillis(MetricFamily family) {
+        return intervalMs[family.ordinal()];
+    }
+
+    public long getRefreshCount(MetricFamily family) {
+        return refreshCount[family.ordinal()];
+    }
+
+    public MetricSample getSample() {
+        return sample;
+    }
+
+    /** Чи настав строк dueAt на такті nowMillis — з тим самим допуском, що й для груп. */
+    public boolean isDue(long dueAt, long nowMillis) {
+        return nowMillis + slackMs >= dueAt;
+    }
+
+    /**
+     * Наступний строк після dueAt: крок від попереднього строку, щоб ритм не зсувався
+     * на запізнення кожного такту. Якщо відставання більше за інтервал — від nowMillis.
+     */
+    public static long nextDue(long dueAt, long intervalMs, long nowMillis) {
+        long next = dueAt + intervalMs;
+        return next > nowMillis ? next : nowMillis + intervalMs;
+    }
+
+    // ========================================================================
+    // TICK
+    // ========================================================================
+    /** Оновлює лише ті групи, у яких настав час. */
+    public void tick(long nowMillis) {
+        if (!primed) {
+            provider.collectInto(sample);
+            for (MetricFamily family : FAMILIES) {
+                int i = family.ordinal();
+                if (family.isCollectorOnly()) provider.refresh(family, sample);
+                nextDueAt[i] = nowMillis + intervalMs[i];
+                refreshCount[i]++;
+            }
+            primed = true;
+            return;
+        }
+
+        boolean expensiveDone = false;
+        for (MetricFamily family : FAMILIES) {
+            int i = family.ordinal();
+            if (!isDue(nextDueAt[i], nowMillis)) continue;
+
+            if (family.getCost() == MetricFamily.CostClass.EXPENSIVE) {
+                if (expensiveDone) continue;
+                expensiveDone = true;
+            }
+
+            provider.refresh(family, sample);
+            refreshCount[i]++;
+            nextDueAt[i] = nextDue(nextDueAt[i], intervalMs[i], nowMillis);
+        }
+        sample.setTimestampMillis(nowMillis);
+    }
+
+    /** Примусово оновити групу на наступному такті. */
+    public void invalidate(MetricFamily family) {
+        nextDueAt[family.ordinal()] = 0;
+    }
+
+    /** Наступний tick() знову зробить повний збір. */
+    public void reset() {
+        primed = false;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.systemactivitymonitor.metrics;
+
+import com.example.systemactivitymonitor.util.AppConfig;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * WindowTitleRegistry — компактні int id для заголовків активних вікон.
+ * Повторний заголовок отримує той самий id, тож зміну вікна видно порівнянням int.
+ *
+ * ✔ Обмежений LRU-кеш за id (window.registry.capacity, 4096): давно не бачені заголовки
+ *   витісняються, а новий заголовок завжди отримує свій id — "загальних" id немає
+ * ✔ Id не перевикористовуються: витіснений заголовок при поверненні отримає новий id
+ * ✔ Реєстр — лише кеш у пам’яті: сам рядок заголовка лежить у MetricSample і йде в БД,
+ *   тому витіснення ніколи не втрачає збережених даних
+ *
+ * id 0 завжди означає "Unknown". Блокування тримається лише на O(1) операції мап —
+ * intern() викликається раз на оновлення групи WINDOW, а не на кожну подію.
+ */
+public final class WindowTitleRegistry {
+
+    public static final int UNKNOWN_ID = 0;
+    public static final String UNKNOWN = "Unknown";
+
+    private static final int CAPACITY = Math.max(16, AppConfig.getInt("window.registry.capacity", 4096));
+
+    private static final Map<String, Integer> IDS = new HashMap<>();
+    private static final Map<Integer, String> TITLES = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            if (size() <= CAPACITY) return false;
+            IDS.remove(eldest.getValue());
+            return true;
+        }
+    };
+
+    private static int nextId = UNKNOWN_ID + 1;
+
+    private WindowTitleRegistry() {}
+
+    public static synchronized int intern(String title) {
+        if (title == null || title.isBlank()) return UNKNOWN_ID;
+
+        Integer id = IDS.get(title);
+        if (id != null) {
+            TITLES.get(id); // оновлює порядок LRU
+            return id;
+        }
+
+        id = nextId;
+        nextId = nextId == Integer.MAX_VALUE ? UNKNOWN_ID + 1 : nextId + 1;
+        IDS.put(title, id);
+        TITLES.put(id, title);
+        return id;
+    }
+
+    /** Заголовок за id; UNKNOWN, якщо id уже витіснено з кешу. */
+    public static synchronized String title(int id) {
+        if (id == UNKNOWN_ID) return UNKNOWN;
+        String title = TITLES.get(id);
+        return title != null ? title : UNKNOWN;
+    }
+
+    public static synchronized int size() {
+        return TITLES.size();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.systemactivitymonitor.metrics.burst;
+
+/**
+ * BurstRing — кільцевий буфер burst-вибірок (час, CPU %, RAM МБ) за останні N хвилин.
+ *
+ * ✔ Три паралельні масиви примітивів, виділені один раз у конструкторі
+ * ✔ add() — без алокацій: найстаріша вибірка перезаписується
+ * ✔ Вибірки додаються в порядку часу, тож діапазон читається одним проходом від найстарішої
+ *
+ * Запис і читання — під одним замком (пише лише потік вибірок, читають захоплення сплесків і UI).
+ */
+public final class BurstRing {
+
+    private final int capacity;
+    private final long[] times;
+    private final float[] cpu;
+    private final float[] ramMb;
+
+    private int next = 0;
+    private int size = 0;
+
+    public BurstRing(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.times = new long[this.capacity];
+        this.cpu = new float[this.capacity];
+        this.ramMb = new float[this.capacity];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // ========================================================================
+    // WRITE
+    // ========================================================================
+    public synchronized void add(long timeMillis, float cpuLoad, float ramUsedMb) {
+        times[next] = timeMillis;
+        cpu[next] = cpuLoad;
+        ramMb[next] = ramUsedMb;
+
+        next = next + 1 == capacity ? 0 : next + 1;
+        if (size < capacity) size++;
+    }
+
+    public synchronized void clear() {
+        next = 0;
+        size = 0;
+    }
+
+    // ========================================================================
+    // READ
+    // ========================================================================
+    /** Кількість вибірок з часом у [fromMillis, toMillis]. */
+    public synchronized int count(long fromMillis, long toMillis) {
+        int n = 0;
+        for (int k = 0, i = oldest(); k < size; k++, i = i + 1 == capacity ? 0 : i + 1) {
+            long t = times[i];
+            if (t > toMillis) break;
+            if (t >= fromMillis) n++;
+        }
+        return n;
+    }
+
+    /**
+     * Копіює вибірки з часом у [fromMillis, toMillis] (від найстарішої) у масиви викликача.
+     * Повертає кількість скопійованих — не більше довжини найкоротшого масиву.
+     */
+    public synchronized int copy(long fromMillis, long toMillis, long[] outTimes, float[] outCpu, float[] outRamMb) {
+        int limit = Math.min(outTimes.length, Math.min(outCpu.length, outRamMb.length));
+        int n = 0;
+        for (int k = 0, i = oldest(); k < size && n < limit; k++, i = i + 1 == capacity ? 0 : i + 1) {
+            long t = times[i];
+            if (t > toMillis) break;
+            if (t < fromMillis) continue;
+            outTimes[n] = t;
+            outCpu[n] = cpu[i];
+            outRamMb[n] = ramMb[i];
+            n++;
+        }
+        return n;
+    }
+
+    private int oldest() {
+        return size < capacity ? 0 : next;
+    }
+}
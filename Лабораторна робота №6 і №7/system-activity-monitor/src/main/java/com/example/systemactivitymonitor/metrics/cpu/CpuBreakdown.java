@@ -0,0 +1,56 @@
+package com.example.systemactivitymonitor.metrics.cpu;
+
+import com.example.systemactivitymonitor.util.AppConfig;
+
+/**
+ * CpuBreakdown — завантаження кожного ядра і топ процесів за CPU та RSS (група CPU_DETAIL).
+ *
+ * ✔ Багаторазовий: джерело перезаповнює той самий об’єкт на кожному оновленні
+ * ✔ CPU процесу — % від усієї машини (сума по процесах ≈ загальне cpuLoad), не від одного ядра
+ * ✔ Розмір топу — cpu.topProcesses (10)
+ *
+ * updatedAtMillis = 0 — даних ще немає (перше оновлення лише запам’ятовує лічильники).
+ */
+public final class CpuBreakdown {
+
+    private final TopProcesses topByCpu;
+    private final TopProcesses topByRss;
+
+    private double[] coreLoad = new double[0];
+    private int processCount;
+    private long scanNanos;
+    private long updatedAtMillis;
+
+    public CpuBreakdown() {
+        this(AppConfig.getInt("cpu.topProcesses", 10));
+    }
+
+    public CpuBreakdown(int topN) {
+        this.topByCpu = new TopProcesses(topN);
+        this.topByRss = new TopProcesses(topN);
+    }
+
+    /** Масив завантаження ядер довжини cores — перевиділяється лише при зміні кількості ядер. */
+    public double[] coreLoadArray(int cores) {
+        if (coreLoad.length != cores) coreLoad = new double[cores];
+        return coreLoad;
+    }
+
+    // ---------- Getters / Setters ----------
+
+    public int getCoreCount() { return coreLoad.length; }
+    public double getCoreLoad(int core) { return coreLoad[core]; }
+
+    public TopProcesses getTopByCpu() { return topByCpu; }
+    public TopProcesses getTopByRss() { return topByRss; }
+
+    public int getProcessCount() { return processCount; }
+    public void setProcessCount(int processCount) { this.processCount = processCount; }
+
+    /** Тривалість останнього сканування (нс) — для діагностики вартості збору. */
+    public long getScanNanos() { return scanNanos; }
+    public void setScanNanos(long scanNanos) { this.scanNanos = scanNanos; }
+
+    public long getUpdatedAtMillis() { return updatedAtMillis; }
+    public void setUpdatedAtMillis(long updatedAtMillis) { this.updatedAtMillis = updatedAtMillis; }
+}
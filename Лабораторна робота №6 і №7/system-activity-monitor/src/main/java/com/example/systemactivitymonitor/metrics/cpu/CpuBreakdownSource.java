@@ -0,0 +1,15 @@
+package com.example.systemactivitymonitor.metrics.cpu;
+
+import com.example.systemactivitymonitor.metrics.impl.linux.CollectorBackend;
+
+/**
+ * Джерело розбивки CPU по ядрах і процесах.
+ */
+public interface CpuBreakdownSource extends CollectorBackend {
+
+    /**
+     * Оновлює out. Перший виклик лише запам’ятовує лічильники (updatedAtMillis не змінюється).
+     * @return false, якщо прочитати не вдалося
+     */
+    boolean collect(CpuBreakdown out);
+}
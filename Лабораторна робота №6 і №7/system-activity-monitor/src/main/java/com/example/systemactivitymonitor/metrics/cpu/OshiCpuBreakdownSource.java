@@ -0,0 +1,99 @@
+package com.example.systemactivitymonitor.metrics.cpu;
+
+import oshi.SystemInfo;
+import oshi.hardware.CentralProcessor;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+
+/**
+ * Розбивка CPU через OSHI — основне джерело на Windows, резервне на Linux (procfs недоступний).
+ *
+ * ✔ Ядра — дельти CentralProcessor.getProcessorCpuLoadTicks() (зайнятий = усе, крім idle + iowait)
+ * ✔ Процеси — OperatingSystem.getProcesses(): kernel + user (мс), час старту, RSS
+ * ✔ CPU процесу — дельта його мс до (мс між скануваннями × логічні ядра)
+ * ✔ Дельти за pid — той самий ProcessCpuTracker, що й у procfs-джерела
+ *
+ * OSHI ініціалізується ліниво: на Linux із робочим procfs бібліотека не завантажується взагалі.
+ */
+public class OshiCpuBreakdownSource implements CpuBreakdownSource {
+
+    private final ProcessCpuTracker tracker = new ProcessCpuTracker();
+
+    private CentralProcessor processor;
+    private OperatingSystem os;
+
+    private long[][] prevTicks;
+    private long prevWallMillis = 0;
+
+    @Override
+    public String name() {
+        return "oshi";
+    }
+
+    @Override
+    public synchronized boolean probe() {
+        try {
+            init();
+            return processor.getLogicalProcessorCount() > 0 && os.getProcessCount() > 0;
+        } catch (RuntimeException | LinkageError e) {
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized boolean collect(CpuBreakdown out) {
+        long started = System.nanoTime();
+        try {
+            init();
+
+            long[][] ticks = processor.getProcessorCpuLoadTicks();
+            long now = System.currentTimeMillis();
+            boolean primed = prevTicks != null && prevTicks.length == ticks.length && prevWallMillis > 0;
+
+            if (primed) {
+                double[] load = out.coreLoadArray(ticks.length);
+                for (int i = 0; i < ticks.length; i++) {
+                    load[i] = coreLoad(prevTicks[i], ticks[i]);
+                }
+            }
+
+            tracker.begin();
+            for (OSProcess p : os.getProcesses()) {
+                if (tracker.update(p.getProcessID(), p.getStartTime(),
+                        p.getKernelTime() + p.getUserTime(), p.getResidentSetSize() / 1024)) {
+                    tracker.setName(p.getName());
+                }
+            }
+            double capacityMs = primed ? (double) (now - prevWallMillis) * ticks.length : 0;
+            tracker.finish(capacityMs, out);
+
+            prevTicks = ticks;
+            prevWallMillis = now;
+
+            out.setScanNanos(System.nanoTime() - started);
+            if (primed) out.setUpdatedAtMillis(now);
+            return true;
+
+        } catch (RuntimeException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private void init() {
+        if (processor != null) return;
+        SystemInfo si = new SystemInfo();
+        os = si.getOperatingSystem();
+        processor = si.getHardware().getProcessor();
+    }
+
+    private static double coreLoad(long[] prev, long[] cur) {
+        long total = 0;
+        for (int t = 0; t < cur.length; t++) total += cur[t] - prev[t];
+        if (total <= 0) return 0;
+
+        int idle = CentralProcessor.TickType.IDLE.getIndex();
+        int iowait = CentralProcessor.TickType.IOWAIT.getIndex();
+        long idleDiff = (cur[idle] - prev[idle]) + (cur[iowait] - prev[iowait]);
+        return Math.max(0, Math.min(100, 100.0 * (total - idleDiff) / total));
+    }
+}
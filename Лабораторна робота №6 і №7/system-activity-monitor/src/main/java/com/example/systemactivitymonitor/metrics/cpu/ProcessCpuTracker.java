@@ -0,0 +1,208 @@
+package com.example.systemactivitymonitor.metrics.cpu;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * ProcessCpuTracker — інкрементальне відстеження часу CPU процесів між скануваннями, ключ — pid.
+ *
+ * ✔ Дві хеш-таблиці з відкритою адресацією (int pid → примітивні масиви): попереднє сканування
+ *   і поточне; після finish() вони міняються місцями — процеси, що зникли, просто не переносяться
+ * ✔ Дельта рахується лише для того самого процесу: pid + час старту (pid міг бути перевикористаний)
+ * ✔ Назва розбирається лише для нових процесів — для решти переноситься посилання
+ * ✔ Джерело може прикріпити до процесу свій об’єкт (відкритий дескриптор): він переходить
+ *   у наступне сканування, а для зниклих процесів віддається в finish() на закриття
+ * ✔ Топ за CPU і RSS — у TopProcesses, без сортування всього списку
+ *
+ * Одиниці лічильника CPU задає джерело (jiffies для /proc, мс для OSHI) — capacity у finish()
+ * має бути в тих самих одиницях. Не потокобезпечний: одне сканування за раз.
+ */
+public final class ProcessCpuTracker {
+
+    private Table previous = new Table(1024);
+    private Table current = new Table(1024);
+    private int lastSlot = -1;
+
+    /** Починає сканування. */
+    public void begin() {
+        current.reset(previous.size * 2);
+        lastSlot = -1;
+    }
+
+    /** Об’єкт, прикріплений до pid у попередньому скануванні, або null. */
+    public Object attachment(int pid) {
+        int prev = previous.find(pid);
+        return prev >= 0 ? previous.attachment[prev] : null;
+    }
+
+    /**
+     * Запам’ятовує процес у поточному скануванні. Прикріплений об’єкт попереднього сканування
+     * вважається забраним — його треба знову передати через attach(), інакше він загубиться.
+     * @return true — процес новий, назву треба передати через setName()
+     */
+    public boolean update(int pid, long startTime, long cpuTime, long rssKb) {
+        int slot = current.insert(pid);
+        current.start[slot] = startTime;
+        current.cpu[slot] = cpuTime;
+        current.rss[slot] = rssKb;
+        current.attachment[slot] = null;
+        lastSlot = slot;
+
+        int prev = previous.find(pid);
+        if (prev >= 0) previous.attachment[prev] = null;
+
+        if (prev >= 0 && previous.start[prev] == startTime) {
+            current.delta[slot] = Math.max(0, cpuTime - previous.cpu[prev]);
+            current.name[slot] = previous.name[prev];
+            return false;
+        }
+        current.delta[slot] = -1;
+        current.name[slot] = null;
+        return true;
+    }
+
+    /** Назва процесу з останнього update(). */
+    public void setName(String name) {
+        if (lastSlot >= 0) current.name[lastSlot] = name;
+    }
+
+    /** Прикріплює об’єкт до процесу з останнього update(). */
+    public void attach(Object attachment) {
+        if (lastSlot >= 0) current.attachment[lastSlot] = attachment;
+    }
+
+    public void finish(double capacity, CpuBreakdown out) {
+        finish(capacity, out, null);
+    }
+
+    /**
+     * Завершує сканування: топ за CPU (% від capacity — усього часу CPU машини за інтервал)
+     * і за RSS у out. capacity ≤ 0 — інтервалу ще немає, топ за CPU лишається порожнім.
+     * Прикріплені об’єкти процесів, яких у цьому скануванні не було, віддаються evicted.
+     */
+    public void finish(double capacity, CpuBreakdown out, Consumer<Object> evicted) {
+        TopProcesses byCpu = out.getTopByCpu();
+        TopProcesses byRss = out.getTopByRss();
+        byCpu.clear();
+        byRss.clear();
+
+        Table t = current;
+        for (int slot = 0; slot < t.keys.length; slot++) {
+            if (t.keys[slot] == 0) continue;
+
+            int pid = t.keys[slot] - 1;
+            double cpu = capacity > 0 && t.delta[slot] >= 0
+                    ? Math.min(100.0, 100.0 * t.delta[slot] / capacity)
+                    : 0;
+            if (cpu > 0) byCpu.offer(cpu, pid, t.name[slot], cpu, t.rss[slot]);
+            if (t.rss[slot] > 0) byRss.offer(t.rss[slot], pid, t.name[slot], cpu, t.rss[slot]);
+        }
+        out.setProcessCount(t.size);
+
+        Table old = previous;
+        if (evicted != null) {
+            for (int slot = 0; slot < old.keys.length; slot++) {
+                if (old.attachment[slot] != null) evicted.accept(old.attachment[slot]);
+            }
+        }
+
+        current = old;
+        previous = t;
+    }
+
+    /** Кількість процесів в останньому завершеному скануванні. */
+    public int size() {
+        return previous.size;
+    }
+
+    // ========================================================================
+    // TABLE
+    // ========================================================================
+    private static final class Table {
+        int[] keys;          // pid + 1; 0 — вільна комірка
+        long[] start;
+        long[] cpu;
+        long[] delta;        // -1 — новий процес
+        long[] rss;
+        String[] name;
+        Object[] attachment;
+        int size;
+
+        Table(int capacity) {
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            keys = new int[capacity];
+            start = new long[capacity];
+            cpu = new long[capacity];
+            delta = new long[capacity];
+            rss = new long[capacity];
+            name = new String[capacity];
+            attachment = new Object[capacity];
+            size = 0;
+        }
+
+        /** Очищає таблицю і готує місце щонайменше для expected записів (заповнення ≤ 1/2). */
+        void reset(int expected) {
+            int capacity = keys.length;
+            while (capacity < expected * 2) capacity <<= 1;
+            if (capacity != keys.length) {
+                allocate(capacity);
+                return;
+            }
+            Arrays.fill(keys, 0);
+            Arrays.fill(name, null);
+            Arrays.fill(attachment, null);
+            size = 0;
+        }
+
+        int find(int pid) {
+            int mask = keys.length - 1;
+            int key = pid + 1;
+            for (int slot = hash(pid) & mask; ; slot = (slot + 1) & mask) {
+                int k = keys[slot];
+                if (k == key) return slot;
+                if (k == 0) return -1;
+            }
+        }
+
+        int insert(int pid) {
+            if ((size + 1) * 2 > keys.length) grow();
+
+            int mask = keys.length - 1;
+            int key = pid + 1;
+            int slot = hash(pid) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) slot = (slot + 1) & mask;
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                size++;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            long[] oldStart = start, oldCpu = cpu, oldDelta = delta, oldRss = rss;
+            String[] oldName = name;
+            Object[] oldAttachment = attachment;
+
+            allocate(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == 0) continue;
+                int slot = insert(oldKeys[i] - 1);
+                start[slot] = oldStart[i];
+                cpu[slot] = oldCpu[i];
+                delta[slot] = oldDelta[i];
+                rss[slot] = oldRss[i];
+                name[slot] = oldName[i];
+                attachment[slot] = oldAttachment[i];
+            }
+        }
+
+        private static int hash(int pid) {
+            int h = pid * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.systemactivitymonitor.metrics.cpu;
+
+/**
+ * TopProcesses — N процесів з найбільшим ключем (CPU % або RSS), відсортованих за спаданням.
+ *
+ * ✔ Паралельні масиви, виділені один раз; offer() — вставка в малий відсортований масив без алокацій
+ * ✔ Назва процесу — посилання з ProcessCpuTracker (рядок не копіюється)
+ */
+public final class TopProcesses {
+
+    private final int capacity;
+    private final double[] keys;
+    private final int[] pids;
+    private final String[] names;
+    private final double[] cpuPercent;
+    private final long[] rssKb;
+    private int size = 0;
+
+    public TopProcesses(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.keys = new double[this.capacity];
+        this.pids = new int[this.capacity];
+        this.names = new String[this.capacity];
+        this.cpuPercent = new double[this.capacity];
+        this.rssKb = new long[this.capacity];
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) names[i] = null;
+        size = 0;
+    }
+
+    /** Пропонує процес; лишаються capacity процесів з найбільшим key. */
+    public void offer(double key, int pid, String name, double cpu, long rss) {
+        if (size == capacity && key <= keys[size - 1]) return;
+
+        int i = size < capacity ? size++ : size - 1;
+        while (i > 0 && keys[i - 1] < key) {
+            keys[i] = keys[i - 1];
+            pids[i] = pids[i - 1];
+            names[i] = names[i - 1];
+            cpuPercent[i] = cpuPercent[i - 1];
+            rssKb[i] = rssKb[i - 1];
+            i--;
+        }
+        keys[i] = key;
+        pids[i] = pid;
+        names[i] = name;
+        cpuPercent[i] = cpu;
+        rssKb[i] = rss;
+    }
+
+    // ========================================================================
+    // ACCESS
+    // ========================================================================
+    public int size() { return size; }
+    public int getCapacity() { return capacity; }
+
+    public int getPid(int i) { return pids[i]; }
+    public String getName(int i) { return names[i]; }
+    public double getCpuPercent(int i) { return cpuPercent[i]; }
+    public long getRssKb(int i) { return rssKb[i]; }
+}
@@ -1,42 +1,82 @@
 package com.example.systemactivitymonitor.metrics.impl;
 
+import com.example.systemactivitymonitor.metrics.MetricFamily;
+import com.example.systemactivitymonitor.metrics.MetricSample;
 import com.example.systemactivitymonitor.metrics.MetricsProvider;
+import com.example.systemactivitymonitor.metrics.cpu.CpuBreakdownSource;
+import com.example.systemactivitymonitor.metrics.cpu.OshiCpuBreakdownSource;
+import com.example.systemactivitymonitor.metrics.impl.linux.ActiveWindowSource;
+import com.example.systemactivitymonitor.metrics.impl.linux.BackendChain;
+import com.example.systemactivitymonitor.metrics.impl.linux.DfDiskSource;
+import com.example.systemactivitymonitor.metrics.impl.linux.DiskSpaceSource;
+import com.example.systemactivitymonitor.metrics.impl.linux.EvdevInputMonitor;
+import com.example.systemactivitymonitor.metrics.impl.linux.FileStoreDiskSource;
+import com.example.systemactivitymonitor.metrics.impl.linux.ProcCpuBreakdownSource;
+import com.example.systemactivitymonitor.metrics.impl.linux.ProcFile;
+import com.example.systemactivitymonitor.metrics.impl.linux.X11ActiveWindowSource;
+import com.example.systemactivitymonitor.metrics.input.InputCounters;
+import com.example.systemactivitymonitor.metrics.input.InputEventSource;
+import com.example.systemactivitymonitor.metrics.input.NativeHookInputSource;
+import com.example.systemactivitymonitor.metrics.impl.linux.XpropActiveWindowSource;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.InputStreamReader;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Linux реалізація MetricsProvider.
- * Працює через /proc та df.
+ * Працює через /proc, FileStore та Xlib — без запуску процесів на кожному такті.
+ * /proc/stat, /proc/meminfo і /proc/uptime читаються через багаторазові ProcFile
+ * (відкритий дескриптор + попередньо виділений буфер, розбір без regex).
+ * Диск і активне вікно мають резервні бекенди (df, xprop), які обираються
+ * через BackendChain, якщо основний недоступний (headless, Wayland тощо).
+ * Розбивка CPU по ядрах і процесах (CPU_DETAIL) — procfs, резервно — OSHI.
+ * Введення — подієво, блокуючим читанням /dev/input/event* (EvdevInputMonitor),
+ * резервно — глобальні хуки JNativeHook.
  */
 public class LinuxMetricsProvider implements MetricsProvider {
 
+    // ------------------------ procfs ------------------------
+    private static final byte[] CPU_LINE = ProcFile.ascii("cpu ");
+    private static final byte[] MEM_TOTAL = ProcFile.ascii("MemTotal:");
+    private static final byte[] MEM_AVAILABLE = ProcFile.ascii("MemAvailable:");
+
+    private final ProcFile procStat = new ProcFile("/proc/stat", 4096);
+    private final ProcFile procMeminfo = new ProcFile("/proc/meminfo", 4096);
+    private final ProcFile procUptime = new ProcFile("/proc/uptime", 128);
+
     // ------------------------ CPU ------------------------
     private long lastIdle = 0;
     private long lastTotal = 0;
+    private final long[] cpuTicks = new long[2];
 
     // ------------------------ Disk ------------------------
-    private BigDecimal diskTotal = BigDecimal.ZERO;
-    private BigDecimal diskFree = BigDecimal.ZERO;
+    private final BackendChain<DiskSpaceSource> diskChain = new BackendChain<>("disk", List.of(
+            new FileStoreDiskSource("/"),
+            new DfDiskSource()
+    ));
+    private final long[] diskBytes = new long[3];
+    private double diskTotalGb = 0;
+    private double diskFreeGb = 0;
     private String diskDetails = "Unknown";
 
     // ------------------------ RAM ------------------------
-    private BigDecimal ramTotal = BigDecimal.ZERO;
+    private double ramTotalMb = 0;
 
-    // ------------------------ Input monitoring ------------------------
-    private final AtomicInteger keyPressCount = new AtomicInteger(0);
-    private final AtomicInteger mouseClickCount = new AtomicInteger(0);
-    private final AtomicLong mouseMoveCount = new AtomicLong(0);
+    // ------------------------ CPU по ядрах і процесах ------------------------
+    private final BackendChain<CpuBreakdownSource> cpuDetailChain = new BackendChain<>("cpu-detail", List.of(
+            new ProcCpuBreakdownSource(),
+            new OshiCpuBreakdownSource()
+    ));
 
-    private volatile Instant lastActivity = Instant.now();
-    private Thread inputThread;
+    // ------------------------ Active window ------------------------
+    private final BackendChain<ActiveWindowSource> windowChain = new BackendChain<>("window", List.of(
+            new X11ActiveWindowSource(),
+            new XpropActiveWindowSource()
+    ));
+
+    // ------------------------ Input monitoring ------------------------
+    private final InputCounters inputCounters = new InputCounters();
+    private InputEventSource inputSource;
     private volatile boolean inputActive = false;
 
     // ========================================================================
@@ -44,40 +84,54 @@ public class LinuxMetricsProvider implements MetricsProvider {
     // ========================================================================
     @Override
     public BigDecimal getCpuLoad() {
-        try (BufferedReader reader = new BufferedReader(new FileReader("/proc/stat"))) {
-            String line = reader.readLine();
-            if (line == null || !line.startsWith("cpu")) return BigDecimal.ZERO;
-
-            String[] t = line.split("\\s+");
-            long user = Long.parseLong(t[1]);
-            long nice = Long.parseLong(t[2]);
-            long system = Long.parseLong(t[3]);
-            long idle = Long.parseLong(t[4]);
-            long iowait = t.length > 5 ? Long.parseLong(t[5]) : 0;
-            long irq = t.length > 6 ? Long.parseLong(t[6]) : 0;
-            long softirq = t.length > 7 ? Long.parseLong(t[7]) : 0;
+        return MetricSample.decimal(readCpuLoad());
+    }
 
-            long total = user + nice + system + idle + iowait + irq + softirq;
+    private double readCpuLoad() {
+        synchronized (procStat) {
+            if (!readCpuTicks(cpuTicks)) return 0;
+
+            long total = cpuTicks[1];
+            long idle = total - cpuTicks[0];
 
             if (lastTotal == 0) {
                 lastTotal = total;
-                lastIdle = idle + iowait;
-                return BigDecimal.ZERO;
+                lastIdle = idle;
+                return 0;
             }
 
             long totalDiff = total - lastTotal;
-            long idleDiff = (idle + iowait) - lastIdle;
+            long idleDiff = idle - lastIdle;
 
-            lastIdle = idle + iowait;
+            lastIdle = idle;
             lastTotal = total;
 
-            if (totalDiff == 0) return BigDecimal.ZERO;
+            if (totalDiff == 0) return 0;
+
+            return (double) (totalDiff - idleDiff) / totalDiff * 100.0;
+        }
+    }
+
+    /** Рядок "cpu " з /proc/stat у jiffies: зайнятий = усе, крім idle + iowait. */
+    @Override
+    public boolean readCpuTicks(long[] out) {
+        synchronized (procStat) {
+            if (!procStat.refresh() || !procStat.seekLine(CPU_LINE)) return false;
+
+            long user = procStat.nextLong();
+            long nice = procStat.nextLong();
+            long system = procStat.nextLong();
+            long idle = procStat.nextLong();
+            long iowait = Math.max(0, procStat.nextLong());
+            long irq = Math.max(0, procStat.nextLong());
+            long softirq = Math.max(0, procStat.nextLong());
 
-            double usage = (double) (totalDiff - idleDiff) / totalDiff * 100.0;
-            return BigDecimal.valueOf(usage).setScale(2, RoundingMode.HALF_UP);
+            if (idle < 0) return false;
 
-        } catch (Exception e) {
-            return BigDecimal.ZERO;
+            long total = user + nice + system + idle + iowait + irq + softirq;
+            out[0] = total - idle - iowait;
+            out[1] = total;
+            return true;
         }
     }
 
@@ -86,31 +140,27 @@ public class LinuxMetricsProvider implements MetricsProvider {
     // ========================================================================
     @Override
     public BigDecimal getRamUsed() {
-        try (BufferedReader reader = new BufferedReader(new FileReader("/proc/meminfo"))) {
-            long total = 0, available = 0;
-            String line;
-
-            while ((line = reader.readLine()) != null) {
-                if (line.startsWith("MemTotal")) {
-                    total = Long.parseLong(line.replaceAll("\\D+", ""));
-                } else if (line.startsWith("MemAvailable")) {
-                    available = Long.parseLong(line.replaceAll("\\D+", ""));
-                }
-            }
+        return MetricSample.decimal(readRamUsedMb());
+    }
 
-            ramTotal = BigDecimal.valueOf(total / 1024.0).setScale(2, RoundingMode.HALF_UP);
-            double usedMb = (total - available) / 1024.0;
+    @Override
+    public double readRamUsedMb() {
+        synchronized (procMeminfo) {
+            if (!procMeminfo.refresh()) return 0;
+
+            long total = procMeminfo.seekLine(MEM_TOTAL) ? procMeminfo.nextLong() : 0;
+            long available = procMeminfo.seekLine(MEM_AVAILABLE) ? procMeminfo.nextLong() : 0;
 
-            return BigDecimal.valueOf(usedMb).setScale(2, RoundingMode.HALF_UP);
+            if (total <= 0) return 0;
 
-        } catch (Exception e) {
-            return BigDecimal.ZERO;
+            ramTotalMb = total / 1024.0;
+            return (total - Math.max(0, available)) / 1024.0;
         }
     }
 
     @Override
     public BigDecimal getRamTotal() {
-        return ramTotal;
+        return MetricSample.decimal(ramTotalMb);
     }
 
     // ========================================================================
@@ -118,41 +168,39 @@ public class LinuxMetricsProvider implements MetricsProvider {
     // ========================================================================
     @Override
     public void updateDiskStats() {
-        try {
-            Process p = new ProcessBuilder("df", "-B1", "/").start();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
-                reader.readLine(); // header
-                String line = reader.readLine();
-                if (line == null) return;
-
-                String[] t = line.split("\\s+");
-                double totalGb = Double.parseDouble(t[1]) / 1e9;
-                double usedGb = Double.parseDouble(t[2]) / 1e9;
-                double freeGb = Double.parseDouble(t[3]) / 1e9;
-
-                diskTotal = BigDecimal.valueOf(totalGb).setScale(2, RoundingMode.HALF_UP);
-                diskFree = BigDecimal.valueOf(freeGb).setScale(2, RoundingMode.HALF_UP);
+        DiskSpaceSource source = diskChain.current();
+        synchronized (diskBytes) {
+            if (source != null && source.read(diskBytes)) {
+                diskChain.reportSuccess();
+
+                double totalGb = diskBytes[0] / 1e9;
+                double freeGb = diskBytes[1] / 1e9;
+                double usedGb = diskBytes[2] / 1e9;
+
+                diskTotalGb = totalGb;
+                diskFreeGb = freeGb;
                 diskDetails = String.format("/root: %.2f / %.2f GB", usedGb, totalGb);
+            } else {
+                if (source != null) diskChain.reportFailure();
+                diskTotalGb = 0;
+                diskFreeGb = 0;
             }
-        } catch (Exception e) {
-            diskTotal = BigDecimal.ZERO;
-            diskFree = BigDecimal.ZERO;
         }
     }
 
     @Override
     public BigDecimal getDiskTotal() {
-        return diskTotal;
+        return MetricSample.decimal(diskTotalGb);
     }
 
     @Override
     public BigDecimal getDiskFree() {
-        return diskFree;
+        return MetricSample.decimal(diskFreeGb);
     }
 
     @Override
     public BigDecimal getDiskUsed() {
-        return diskTotal.subtract(diskFree);
+        return MetricSample.decimal(diskTotalGb - diskFreeGb);
     }
 
     // ========================================================================
@@ -160,19 +208,17 @@ public class LinuxMetricsProvider implements MetricsProvider {
     // ========================================================================
     @Override
     public String getActiveWindowTitle() {
-        try {
-            Process p = new ProcessBuilder(
-                    "bash", "-c",
-                    "xprop -id $(xprop -root _NET_ACTIVE_WINDOW | awk '{print $5}') WM_NAME | cut -d '\"' -f2"
-            ).start();
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
-                String name = br.readLine();
-                if (name == null || name.isBlank()) return "Unknown";
-                return name.length() > 120 ? name.substring(0, 120) : name;
-            }
-        } catch (Exception e) {
+        ActiveWindowSource source = windowChain.current();
+        if (source == null) return "Unknown";
+
+        String name = source.activeWindowTitle();
+        if (name == null) {
+            windowChain.reportFailure();
             return "Unknown";
         }
+        windowChain.reportSuccess();
+        if (name.isBlank()) return "Unknown";
+        return name.length() > 120 ? name.substring(0, 120) : name;
     }
 
     // ========================================================================
@@ -180,16 +226,12 @@ public class LinuxMetricsProvider implements MetricsProvider {
     // ========================================================================
     @Override
     public String getUptime() {
-        try (BufferedReader reader = new BufferedReader(new FileReader("/proc/uptime"))) {
-            long uptimeSec = (long) Double.parseDouble(reader.readLine().split(" ")[0]);
-
-            long days = uptimeSec / 86400;
-            long hours = (uptimeSec % 86400) / 3600;
-            long minutes = (uptimeSec % 3600) / 60;
+        return MetricSample.formatUptime(readUptimeSeconds());
+    }
 
-            return String.format("%d d %d h %d m", days, hours, minutes);
-        } catch (Exception e) {
-            return "Unknown";
+    private long readUptimeSeconds() {
+        synchronized (procUptime) {
+            return procUptime.refresh() ? procUptime.nextLong() : -1;
         }
     }
 
@@ -197,118 +239,88 @@ public class LinuxMetricsProvider implements MetricsProvider {
     // INPUT MONITORING
     // ========================================================================
     @Override
-    public void startInputMonitoring() {
+    public synchronized void startInputMonitoring() {
         if (inputActive) return;
 
-        inputActive = true;
-
-        inputThread = new Thread(() -> {
-            try {
-                java.io.File inputDir = new java.io.File("/dev/input");
-
-                if (!inputDir.exists()) {
-                    inputActive = false;
-                    return;
-                }
-
-                java.io.File[] devices = inputDir.listFiles(
-                        (d, name) -> name.startsWith("event"));
-                if (devices == null || devices.length == 0) {
-                    inputActive = false;
-                    return;
-                }
-
-                byte[] buffer = new byte[24];
-                List<java.io.RandomAccessFile> files = new ArrayList<>();
-
-                for (java.io.File dev : devices) {
-                    try {
-                        files.add(new java.io.RandomAccessFile(dev, "r"));
-                    } catch (Exception ignored) {}
-                }
-
-                while (inputActive) {
-                    for (java.io.RandomAccessFile f : files) {
-                        try {
-                            if (f.getChannel().size() > 0) {
-                                int read = f.read(buffer);
-                                if (read == 24) {
-                                    int type = (buffer[17] & 0xFF) << 8 | (buffer[16] & 0xFF);
-                                    int code = (buffer[19] & 0xFF) << 8 | (buffer[18] & 0xFF);
-                                    int value = buffer[20] & 0xFF;
-
-                                    if (type == 1 && value == 1)
-                                        keyPressCount.incrementAndGet();
-                                    if (type == 2)
-                                        mouseMoveCount.incrementAndGet();
-                                    if (type == 1 && code >= 0x110 && code <= 0x11F)
-                                        mouseClickCount.incrementAndGet();
-
-                                    lastActivity = Instant.now();
-                                }
-                            }
-                        } catch (Exception ignored) {}
-                    }
-                    Thread.sleep(30);
-                }
-
-                for (java.io.RandomAccessFile f : files)
-                    try { f.close(); } catch (Exception ignored) {}
-
-            } catch (Exception e) {
-                inputActive = false;
-            }
-        }, "LinuxInputMonitor");
-
-        inputThread.setDaemon(true);
-        inputThread.start();
+        inputSource = inputCounters.startFirst(List.of(
+                new EvdevInputMonitor(),
+                new NativeHookInputSource()
+        ));
+        inputActive = inputSource != null;
     }
 
     @Override
-    public void stopInputMonitoring() {
+    public synchronized void stopInputMonitoring() {
         inputActive = false;
-        if (inputThread != null) {
-            try { inputThread.join(200); } catch (InterruptedException ignored) {}
+
+        if (inputSource != null) {
+            inputSource.stop();
+            inputSource = null;
         }
     }
 
     @Override
     public Map<String, Long> getInputStats() {
         Map<String, Long> map = new HashMap<>();
-        map.put("keys", (long) keyPressCount.get());
-        map.put("clicks", (long) mouseClickCount.get());
-        map.put("moves", mouseMoveCount.get());
-        map.put("lastActivitySecAgo",
-                Instant.now().getEpochSecond() - lastActivity.getEpochSecond());
+        map.put("keys", inputCounters.getKeys());
+        map.put("clicks", inputCounters.getClicks());
+        map.put("moves", inputCounters.getMoves());
+        map.put("lastActivitySecAgo", getLastActivitySeconds());
         return map;
     }
 
     @Override
     public long getLastActivitySeconds() {
-        return Instant.now().getEpochSecond() - lastActivity.getEpochSecond();
+        return inputCounters.getLastActivitySecondsAgo();
     }
 
     @Override
-    public Map<String, Object> collectAllMetrics() {
-        updateDiskStats();
-
-        Map<String, Object> m = new HashMap<>();
-        m.put("cpuLoad", getCpuLoad());
-        m.put("ramUsed", getRamUsed());
-        m.put("ramTotal", getRamTotal());
-
-        m.put("diskTotal", getDiskTotal());
-        m.put("diskFree", getDiskFree());
-        m.put("diskUsed", getDiskUsed());
-        m.put("diskDetails", diskDetails);
-
-        m.put("activeWindow", getActiveWindowTitle());
-        m.put("uptime", getUptime());
-        m.put("osName", "Linux");
+    public InputCounters getInputCounters() {
+        return inputCounters;
+    }
 
-        if (inputActive)
-            m.putAll(getInputStats());
+    // ========================================================================
+    // COLLECT ALL METRICS / BY FAMILY
+    // ========================================================================
+    @Override
+    public void collectInto(MetricSample sample) {
+        sample.setTimestampMillis(System.currentTimeMillis());
+        sample.setOsName("Linux");
+        for (MetricFamily family : MetricFamily.values()) {
+            if (!family.isCollectorOnly()) refresh(family, sample);
+        }
+    }
 
-        return m;
+    @Override
+    public void refresh(MetricFamily family, MetricSample sample) {
+        switch (family) {
+            case CPU -> sample.setCpuLoad(readCpuLoad());
+            case RAM -> {
+                sample.setRamUsedMb(readRamUsedMb());
+                sample.setRamTotalMb(ramTotalMb);
+            }
+            case DISK -> {
+                updateDiskStats();
+                sample.setDiskTotalGb(diskTotalGb);
+                sample.setDiskFreeGb(diskFreeGb);
+                sample.setDiskDetails(diskDetails);
+            }
+            case UPTIME -> sample.setUptimeSeconds(readUptimeSeconds());
+            case CPU_DETAIL -> {
+                CpuBreakdownSource source = cpuDetailChain.current();
+                if (source == null) return;
+                if (source.collect(sample.getCpuBreakdown())) cpuDetailChain.reportSuccess();
+                else cpuDetailChain.reportFailure();
+            }
+            case WINDOW -> sample.setActiveWindow(getActiveWindowTitle());
+            case INPUT -> {
+                sample.setInputActive(inputActive);
+                inputCounters.sampleHistogram(System.currentTimeMillis());
+                sample.setKeys(inputCounters.getKeys());
+                sample.setClicks(inputCounters.getClicks());
+                sample.setMoves(inputCounters.getMoves());
+                sample.setLastActivitySecAgo(getLastActivitySeconds());
+            }
+        }
     }
 }
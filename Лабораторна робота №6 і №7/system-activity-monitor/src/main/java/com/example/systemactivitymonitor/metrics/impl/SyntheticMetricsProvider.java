@@ -0,0 +1,224 @@
+package com.example.systemactivitymonitor.metrics.impl;
+
+import com.example.systemactivitymonitor.metrics.MetricFamily;
+import com.example.systemactivitymonitor.metrics.MetricSample;
+import com.example.systemactivitymonitor.metrics.MetricsProvider;
+import com.example.systemactivitymonitor.metrics.cpu.CpuBreakdown;
+import com.example.systemactivitymonitor.metrics.input.InputCounters;
+import com.example.systemactivitymonitor.metrics.input.SyntheticInputEventSource;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SyntheticMetricsProvider — провайдер без жодних викликів ОС.
+ *
+ * ✔ Детерміновані значення: CPU і RAM коливаються синусоїдою, диск і ОС сталі
+ * ✔ Заголовок вікна перебирається з невеликого набору
+ * ✔ CPU_DETAIL — SYNTHETIC_CORES ядер навколо cpu() зі зсувом фази, без процесів
+ * ✔ Введення — SyntheticInputEventSource (eventsPerSecond = 0 — лише ручний emit())
+ *
+ * Для навантажувальних тестів і запуску на машинах без /proc чи WinAPI.
+ */
+public class SyntheticMetricsProvider implements MetricsProvider {
+
+    private static final String[] WINDOWS = {
+            "Visual Studio Code", "Google Chrome", "Telegram", "Microsoft Word", "Terminal"
+    };
+
+    private static final int SYNTHETIC_CORES = 4;
+    private static final double RAM_TOTAL_MB = 16_384;
+    private static final double DISK_TOTAL_GB = 512;
+    private static final double DISK_FREE_GB = 200;
+
+    private final long startedAt = System.currentTimeMillis();
+    private final InputCounters inputCounters = new InputCounters();
+    private final SyntheticInputEventSource inputSource;
+    private volatile boolean inputActive = false;
+
+    // накопичені "тики" для readCpuTicks: інтеграл cpu() у мілісекундах
+    private long cpuTickAt = startedAt;
+    private double busyTicks;
+    private long totalTicks;
+
+    public SyntheticMetricsProvider() {
+        this(0);
+    }
+
+    public SyntheticMetricsProvider(long inputEventsPerSecond) {
+        this.inputSource = new SyntheticInputEventSource(inputEventsPerSecond);
+    }
+
+    public SyntheticInputEventSource getInputSource() {
+        return inputSource;
+    }
+
+    private double phase() {
+        return (System.currentTimeMillis() - startedAt) / 60_000.0 * 2 * Math.PI;
+    }
+
+    private double cpu() {
+        return 40 + 30 * Math.sin(phase());
+    }
+
+    private double ramUsedMb() {
+        return RAM_TOTAL_MB * (0.5 + 0.2 * Math.cos(phase()));
+    }
+
+    private void fillCpuBreakdown(CpuBreakdown out) {
+        double[] load = out.coreLoadArray(SYNTHETIC_CORES);
+        for (int i = 0; i < SYNTHETIC_CORES; i++) {
+            load[i] = Math.max(0, Math.min(100, cpu() + 20 * Math.sin(phase() + i)));
+        }
+        out.getTopByCpu().clear();
+        out.getTopByRss().clear();
+        out.setProcessCount(0);
+        out.setScanNanos(0);
+        out.setUpdatedAtMillis(System.currentTimeMillis());
+    }
+
+    private long uptimeSeconds() {
+        return (System.currentTimeMillis() - startedAt) / 1000;
+    }
+
+    // ========================================================================
+    // METRICS
+    // ========================================================================
+    @Override
+    public BigDecimal getCpuLoad() {
+        return MetricSample.decimal(cpu());
+    }
+
+    @Override
+    public synchronized boolean readCpuTicks(long[] out) {
+        long now = System.currentTimeMillis();
+        long elapsed = now - cpuTickAt;
+        if (elapsed > 0) {
+            busyTicks += cpu() / 100.0 * elapsed;
+            totalTicks += elapsed;
+            cpuTickAt = now;
+        }
+        out[0] = (long) busyTicks;
+        out[1] = totalTicks;
+        return true;
+    }
+
+    @Override
+    public double readRamUsedMb() {
+        return ramUsedMb();
+    }
+
+    @Override
+    public BigDecimal getRamUsed() {
+        return MetricSample.decimal(ramUsedMb());
+    }
+
+    @Override
+    public BigDecimal getRamTotal() {
+        return MetricSample.decimal(RAM_TOTAL_MB);
+    }
+
+    @Override
+    public void updateDiskStats() {}
+
+    @Override
+    public BigDecimal getDiskTotal() {
+        return MetricSample.decimal(DISK_TOTAL_GB);
+    }
+
+    @Override
+    public BigDecimal getDiskFree() {
+        return MetricSample.decimal(DISK_FREE_GB);
+    }
+
+    @Override
+    public BigDecimal getDiskUsed() {
+        return MetricSample.decimal(DISK_TOTAL_GB - DISK_FREE_GB);
+    }
+
+    @Override
+    public String getActiveWindowTitle() {
+        return WINDOWS[(int) (uptimeSeconds() / 10 % WINDOWS.length)];
+    }
+
+    @Override
+    public String getUptime() {
+        return MetricSample.formatUptime(uptimeSeconds());
+    }
+
+    // ========================================================================
+    // INPUT MONITORING
+    // ========================================================================
+    @Override
+    public synchronized void startInputMonitoring() {
+        if (inputActive) return;
+        inputActive = inputCounters.startFirst(List.of(inputSource)) != null;
+    }
+
+    @Override
+    public synchronized void stopInputMonitoring() {
+        inputActive = false;
+        inputSource.stop();
+    }
+
+    @Override
+    public Map<String, Long> getInputStats() {
+        Map<String, Long> map = new HashMap<>();
+        map.put("keys", inputCounters.getKeys());
+        map.put("clicks", inputCounters.getClicks());
+        map.put("moves", inputCounters.getMoves());
+        map.put("lastActivitySecAgo", getLastActivitySeconds());
+        return map;
+    }
+
+    @Override
+    public long getLastActivitySeconds() {
+        return inputCounters.getLastActivitySecondsAgo();
+    }
+
+    @Override
+    public InputCounters getInputCounters() {
+        return inputCounters;
+    }
+
+    // ========================================================================
+    // COLLECT ALL METRICS / BY FAMILY
+    // ========================================================================
+    @Override
+    public void collectInto(MetricSample sample) {
+        sample.setTimestampMillis(System.currentTimeMillis());
+        sample.setOsName("Synthetic");
+        for (MetricFamily family : MetricFamily.values()) {
+            if (!family.isCollectorOnly()) refresh(family, sample);
+        }
+    }
+
+    @Override
+    public void refresh(MetricFamily family, MetricSample sample) {
+        switch (family) {
+            case CPU -> sample.setCpuLoad(cpu());
+            case RAM -> {
+                sample.setRamUsedMb(ramUsedMb());
+                sample.setRamTotalMb(RAM_TOTAL_MB);
+            }
+            case DISK -> {
+                sample.setDiskTotalGb(DISK_TOTAL_GB);
+                sample.setDiskFreeGb(DISK_FREE_GB);
+                sample.setDiskDetails("synthetic");
+            }
+            case UPTIME -> sample.setUptimeSeconds(uptimeSeconds());
+            case CPU_DETAIL -> fillCpuBreakdown(sample.getCpuBreakdown());
+            case WINDOW -> sample.setActiveWindow(getActiveWindowTitle());
+            case INPUT -> {
+                sample.setInputActive(inputActive);
+                inputCounters.sampleHistogram(System.currentTimeMillis());
+                sample.setKeys(inputCounters.getKeys());
+                sample.setClicks(inputCounters.getClicks());
+                sample.setMoves(inputCounters.getMoves());
+                sample.setLastActivitySecAgo(getLastActivitySeconds());
+            }
+        }
+    }
+}
@@ -1,16 +1,22 @@
 package com.example.systemactivitymonitor.metrics.impl;
 
+import com.example.systemactivitymonitor.metrics.MetricFamily;
+import com.example.systemactivitymonitor.metrics.MetricSample;
 import com.example.systemactivitymonitor.metrics.MetricsProvider;
+import com.example.systemactivitymonitor.metrics.cpu.OshiCpuBreakdownSource;
+import com.example.systemactivitymonitor.metrics.impl.windows.AsyncKeyStatePollingSource;
+import com.example.systemactivitymonitor.metrics.input.InputCounters;
+import com.example.systemactivitymonitor.metrics.input.InputEventSource;
+import com.example.systemactivitymonitor.metrics.input.NativeHookInputSource;
+import com.example.systemactivitymonitor.util.AppExecutors;
 import com.sun.jna.Native;
 import com.sun.jna.platform.win32.*;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Windows реалізація MetricsProvider.
@@ -18,46 +24,47 @@ import java.util.concurrent.atomic.AtomicLong;
  * ✔ CPU рахується правильно у фоні (1 раз/сек)
  * ✔ UI більше не отримує 0%
  * ✔ Статично стабільна робота без конфліктів потоків
+ * ✔ Введення — глобальні хуки (JNativeHook) у striped-лічильники;
+ *   опитування GetAsyncKeyState лишилося лише як резерв
+ * ✔ CPU по ядрах і топ процесів (CPU_DETAIL) — через OSHI
  */
 public class WindowsMetricsProvider implements MetricsProvider {
 
-    private ScheduledExecutorService inputScheduler;
-    private static final int VK_LBUTTON = 0x01;
-    private static final int VK_RBUTTON = 0x02;
-    private int lastX = -1;
-    private int lastY = -1;
-    private static final int MOVE_THRESHOLD = 3;
-
     // ------------------------ CPU state ------------------------
     private long lastIdleTime = 0;
     private long lastKernelTime = 0;
     private long lastUserTime = 0;
 
-    private volatile BigDecimal lastCpuLoad = BigDecimal.ZERO;
+    private volatile double lastCpuLoad = 0;
+
+    private final AppExecutors.Periodic cpuSampler;
 
-    private final ScheduledExecutorService cpuScheduler =
-            Executors.newSingleThreadScheduledExecutor();
+    // структури JNA для burst-вибірок — виділені один раз, доступ під замком
+    private final WinBase.FILETIME burstIdle = new WinBase.FILETIME();
+    private final WinBase.FILETIME burstKernel = new WinBase.FILETIME();
+    private final WinBase.FILETIME burstUser = new WinBase.FILETIME();
+    private final WinBase.MEMORYSTATUSEX memStatus = new WinBase.MEMORYSTATUSEX();
+
+    // ------------------------ CPU по ядрах і процесах ------------------------
+    private final OshiCpuBreakdownSource cpuBreakdownSource = new OshiCpuBreakdownSource();
 
     // ------------------------ Disk state ------------------------
-    private BigDecimal diskTotal = BigDecimal.ZERO;
-    private BigDecimal diskFree = BigDecimal.ZERO;
+    private double diskTotalGb = 0;
+    private double diskFreeGb = 0;
     private String diskDetails = "Unknown";
 
     // ------------------------ RAM total ------------------------
-    private BigDecimal ramTotalMb = BigDecimal.ZERO;
+    private double ramTotalMb = 0;
 
     // ------------------------ Input Activity ------------------------
-    private final AtomicInteger keyPressCount = new AtomicInteger(0);
-    private final AtomicInteger mouseClickCount = new AtomicInteger(0);
-    private final AtomicLong mouseMoveCount = new AtomicLong(0);
-    private volatile long lastActivityTimestamp = System.currentTimeMillis();
-
+    private final InputCounters inputCounters = new InputCounters();
+    private InputEventSource inputSource;
     private volatile boolean inputMonitoringActive = false;
 
     // ------------------------ Constructor ------------------------
     public WindowsMetricsProvider() {
         // Фоновий розрахунок CPU раз на 1 сек
-        cpuScheduler.scheduleAtFixedRate(this::updateCpuLoad,
+        cpuSampler = AppExecutors.schedule("win-cpu", this::updateCpuLoad,
                 0, 1, TimeUnit.SECONDS);
     }
 
@@ -106,12 +113,25 @@ public class WindowsMetricsProvider implements MetricsProvider {
         if (usage < 0) usage = 0;
         if (usage > 100) usage = 100;
 
-        lastCpuLoad = BigDecimal.valueOf(usage).setScale(2, RoundingMode.HALF_UP);
+        lastCpuLoad = usage;
     }
 
     @Override
     public BigDecimal getCpuLoad() {
-        return lastCpuLoad;
+        return MetricSample.decimal(lastCpuLoad);
+    }
+
+    /** GetSystemTimes у 100 нс: kernel включає idle, тому зайнятий = kernel + user − idle. */
+    @Override
+    public boolean readCpuTicks(long[] out) {
+        synchronized (burstIdle) {
+            if (!Kernel32.INSTANCE.GetSystemTimes(burstIdle, burstKernel, burstUser)) return false;
+
+            long total = filetimeToLong(burstKernel) + filetimeToLong(burstUser);
+            out[0] = total - filetimeToLong(burstIdle);
+            out[1] = total;
+            return true;
+        }
     }
 
     // ========================================================================
@@ -119,25 +139,26 @@ public class WindowsMetricsProvider implements MetricsProvider {
     // ========================================================================
     @Override
     public BigDecimal getRamUsed() {
-        Kernel32 kernel32 = Kernel32.INSTANCE;
-
-        WinBase.MEMORYSTATUSEX mem = new WinBase.MEMORYSTATUSEX();
-        if (!kernel32.GlobalMemoryStatusEx(mem))
-            return BigDecimal.ZERO;
+        return MetricSample.decimal(readRamUsedMb());
+    }
 
-        long total = mem.ullTotalPhys.longValue();
-        long free = mem.ullAvailPhys.longValue();
+    @Override
+    public double readRamUsedMb() {
+        synchronized (memStatus) {
+            if (!Kernel32.INSTANCE.GlobalMemoryStatusEx(memStatus))
+                return 0;
 
-        ramTotalMb = BigDecimal.valueOf(total / 1024.0 / 1024.0)
-                .setScale(2, RoundingMode.HALF_UP);
+            long total = memStatus.ullTotalPhys.longValue();
+            long free = memStatus.ullAvailPhys.longValue();
 
-        double usedMb = (total - free) / 1024.0 / 1024.0;
-        return BigDecimal.valueOf(usedMb).setScale(2, RoundingMode.HALF_UP);
+            ramTotalMb = total / 1024.0 / 1024.0;
+            return (total - free) / 1024.0 / 1024.0;
+        }
     }
 
     @Override
     public BigDecimal getRamTotal() {
-        return ramTotalMb;
+        return MetricSample.decimal(ramTotalMb);
     }
 
     // ========================================================================
@@ -174,24 +195,24 @@ public class WindowsMetricsProvider implements MetricsProvider {
             }
         }
 
-        diskTotal = BigDecimal.valueOf(total).setScale(2, RoundingMode.HALF_UP);
-        diskFree = BigDecimal.valueOf(free).setScale(2, RoundingMode.HALF_UP);
+        diskTotalGb = total;
+        diskFreeGb = free;
         diskDetails = sb.length() == 0 ? "Unknown" : sb.toString().replaceAll("\\| $", "");
     }
 
     @Override
     public BigDecimal getDiskTotal() {
-        return diskTotal;
+        return MetricSample.decimal(diskTotalGb);
     }
 
     @Override
     public BigDecimal getDiskFree() {
-        return diskFree;
+        return MetricSample.decimal(diskFreeGb);
     }
 
     @Override
     public BigDecimal getDiskUsed() {
-        return diskTotal.subtract(diskFree);
+        return MetricSample.decimal(diskTotalGb - diskFreeGb);
     }
 
     // ========================================================================
@@ -221,127 +242,94 @@ public class WindowsMetricsProvider implements MetricsProvider {
     // ========================================================================
     @Override
     public String getUptime() {
+        return MetricSample.formatUptime(readUptimeSeconds());
+    }
 
-        long uptimeSec = Kernel32.INSTANCE.GetTickCount64() / 1000;
-
-        long days = uptimeSec / 86400;
-        long hours = (uptimeSec % 86400) / 3600;
-        long minutes = (uptimeSec % 3600) / 60;
-
-        return String.format("%d d %d h %d m", days, hours, minutes);
+    private long readUptimeSeconds() {
+        return Kernel32.INSTANCE.GetTickCount64() / 1000;
     }
 
     // ========================================================================
     // INPUT MONITORING
     // ========================================================================
     @Override
-    public void startInputMonitoring() {
+    public synchronized void startInputMonitoring() {
         if (inputMonitoringActive) return;
 
-        inputMonitoringActive = true;
-
-        inputScheduler = Executors.newSingleThreadScheduledExecutor();
-
-        inputScheduler.scheduleAtFixedRate(() -> {
-            try {
-                checkInput();
-            } catch (Exception ignored) {}
-        }, 0, 80, TimeUnit.MILLISECONDS); // 12.5 раз/сек
-    }
-
-    private void checkInput() {
-
-        User32 user32 = User32.INSTANCE;
-
-        // ------------------ KEYBOARD ------------------
-        for (int i = 0x08; i <= 0xFE; i++) {
-            short state = user32.GetAsyncKeyState(i);
-            if ((state & 0x0001) != 0) { // нове натискання
-                keyPressCount.incrementAndGet();
-                lastActivityTimestamp = System.currentTimeMillis();
-            }
-        }
-
-        // ------------------ MOUSE CLICKS ------------------
-        if ((user32.GetAsyncKeyState(VK_LBUTTON) & 0x0001) != 0) {
-            mouseClickCount.incrementAndGet();
-            lastActivityTimestamp = System.currentTimeMillis();
-        }
-
-        if ((user32.GetAsyncKeyState(VK_RBUTTON) & 0x0001) != 0) {
-            mouseClickCount.incrementAndGet();
-            lastActivityTimestamp = System.currentTimeMillis();
-        }
-
-        // ------------------ MOUSE MOVES ------------------
-        WinDef.POINT p = new WinDef.POINT();
-        user32.GetCursorPos(p);
-
-        if (lastX != -1 && lastY != -1) {
-            int dx = Math.abs(p.x - lastX);
-            int dy = Math.abs(p.y - lastY);
-            if (dx >= MOVE_THRESHOLD || dy >= MOVE_THRESHOLD) {
-                mouseMoveCount.incrementAndGet();
-                lastActivityTimestamp = System.currentTimeMillis();
-            }
-        }
-
-        lastX = p.x;
-        lastY = p.y;
+        inputSource = inputCounters.startFirst(List.of(
+                new NativeHookInputSource(),
+                new AsyncKeyStatePollingSource()
+        ));
+        inputMonitoringActive = inputSource != null;
     }
 
     @Override
-    public void stopInputMonitoring() {
+    public synchronized void stopInputMonitoring() {
         inputMonitoringActive = false;
 
-        if (inputScheduler != null && !inputScheduler.isShutdown()) {
-            inputScheduler.shutdownNow();
-            inputScheduler = null;
+        if (inputSource != null) {
+            inputSource.stop();
+            inputSource = null;
         }
     }
 
-
     @Override
     public Map<String, Long> getInputStats() {
         Map<String, Long> map = new HashMap<>();
-        map.put("keys", (long) keyPressCount.get());
-        map.put("clicks", (long) mouseClickCount.get());
-        map.put("moves", mouseMoveCount.get());
+        map.put("keys", inputCounters.getKeys());
+        map.put("clicks", inputCounters.getClicks());
+        map.put("moves", inputCounters.getMoves());
         map.put("lastActivitySecAgo", getLastActivitySeconds());
         return map;
     }
 
     @Override
     public long getLastActivitySeconds() {
-        return (System.currentTimeMillis() - lastActivityTimestamp) / 1000;
+        return inputCounters.getLastActivitySecondsAgo();
+    }
+
+    @Override
+    public InputCounters getInputCounters() {
+        return inputCounters;
     }
 
     // ========================================================================
-    // COLLECT ALL METRICS
+    // COLLECT ALL METRICS / BY FAMILY
     // ========================================================================
     @Override
-    public Map<String, Object> collectAllMetrics() {
-
-        updateDiskStats();
-
-        Map<String, Object> data = new HashMap<>();
-
-        data.put("cpuLoad", getCpuLoad());
-        data.put("ramUsed", getRamUsed());
-        data.put("ramTotal", getRamTotal());
-
-        data.put("diskTotal", getDiskTotal());
-        data.put("diskFree", getDiskFree());
-        data.put("diskUsed", getDiskUsed());
-        data.put("diskDetails", diskDetails);
-
-        data.put("activeWindow", getActiveWindowTitle());
-        data.put("uptime", getUptime());
-        data.put("osName", "Windows");
-
-        if (inputMonitoringActive)
-            data.putAll(getInputStats());
+    public void collectInto(MetricSample sample) {
+        sample.setTimestampMillis(System.currentTimeMillis());
+        sample.setOsName("Windows");
+        for (MetricFamily family : MetricFamily.values()) {
+            if (!family.isCollectorOnly()) refresh(family, sample);
+        }
+    }
 
-        return data;
+    @Override
+    public void refresh(MetricFamily family, MetricSample sample) {
+        switch (family) {
+            case CPU -> sample.setCpuLoad(lastCpuLoad);
+            case RAM -> {
+                sample.setRamUsedMb(readRamUsedMb());
+                sample.setRamTotalMb(ramTotalMb);
+            }
+            case DISK -> {
+                updateDiskStats();
+                sample.setDiskTotalGb(diskTotalGb);
+                sample.setDiskFreeGb(diskFreeGb);
+                sample.setDiskDetails(diskDetails);
+            }
+            case UPTIME -> sample.setUptimeSeconds(readUptimeSeconds());
+            case CPU_DETAIL -> cpuBreakdownSource.collect(sample.getCpuBreakdown());
+            case WINDOW -> sample.setActiveWindow(getActiveWindowTitle());
+            case INPUT -> {
+                sample.setInputActive(inputMonitoringActive);
+                inputCounters.sampleHistogram(System.currentTimeMillis());
+                sample.setKeys(inputCounters.getKeys());
+                sample.setClicks(inputCounters.getClicks());
+                sample.setMoves(inputCounters.getMoves());
+                sample.setLastActivitySecAgo(getLastActivitySeconds());
+            }
+        }
     }
 }
@@ -0,0 +1,10 @@
+package com.example.systemactivitymonitor.metrics.impl.linux;
+
+/**
+ * Джерело заголовка активного вікна.
+ */
+public interface ActiveWindowSource extends CollectorBackend {
+
+    /** Заголовок активного вікна або null, якщо визначити не вдалося. */
+    String activeWindowTitle();
+}
@@ -0,0 +1,65 @@
+package com.example.systemactivitymonitor.metrics.impl.linux;
+
+import java.util.List;
+
+/**
+ * BackendChain — ланцюжок резервних бекендів, упорядкований від найдешевшого.
+ *
+ * ✔ При старті обирається перший бекенд, що пройшов probe()
+ * ✔ Після MAX_FAILURES помилок поспіль — перехід на наступний робочий бекенд
+ *   (якщо інших немає — залишається поточний)
+ * ✔ Якщо не працює жоден — current() повертає null
+ */
+public final class BackendChain<T extends CollectorBackend> {
+
+    private static final int MAX_FAILURES = 3;
+
+    private final String metric;
+    private final List<T> backends;
+    private int index = -1;
+    private int failures = 0;
+
+    public BackendChain(String metric, List<T> backends) {
+        this.metric = metric;
+        this.backends = backends;
+        selectFrom(0);
+    }
+
+    public synchronized T current() {
+        return index >= 0 ? backends.get(index) : null;
+    }
+
+    public synchronized void reportSuccess() {
+        failures = 0;
+    }
+
+    public synchronized void reportFailure() {
+        if (index < 0 || ++failures < MAX_FAILURES) return;
+
+        System.err.println("⚠ [" + metric + "] бекенд " + backends.get(index).name()
+                + " не відповідає — шукаємо резервний.");
+        int previous = index;
+        selectFrom(index + 1);
+        if (index < 0) index = previous;
+    }
+
+    private void selectFrom(int start) {
+        failures = 0;
+        for (int i = start; i < backends.size(); i++) {
+            T backend = backends.get(i);
+            boolean ok;
+            try {
+                ok = backend.probe();
+            } catch (RuntimeException | LinkageError e) {
+                ok = false;
+            }
+            if (ok) {
+                index = i;
+                System.out.println("🐧 [" + metric + "] використовується бекенд: " + backend.name());
+                return;
+            }
+        }
+        index = -1;
+        System.err.println("⚠ [" + metric + "] жоден інший бекенд недоступний.");
+    }
+}
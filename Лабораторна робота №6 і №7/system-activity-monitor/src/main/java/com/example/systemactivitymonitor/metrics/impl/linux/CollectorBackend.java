@@ -0,0 +1,14 @@
+package com.example.systemactivitymonitor.metrics.impl.linux;
+
+/**
+ * Спільний контракт для взаємозамінних способів отримати одну метрику
+ * (наприклад, диск через FileStore або через df).
+ */
+public interface CollectorBackend {
+
+    /** Коротка назва для логів. */
+    String name();
+
+    /** Перевіряє, чи працює бекенд у поточному оточенні. Викликається при старті. */
+    boolean probe();
+}
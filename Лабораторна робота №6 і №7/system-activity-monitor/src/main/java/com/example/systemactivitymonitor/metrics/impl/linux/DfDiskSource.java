@@ -0,0 +1,40 @@
+package com.example.systemactivitymonitor.metrics.impl.linux;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+
+/**
+ * Резервний варіант: запуск `df -B1 /` (дорого — новий процес на кожен виклик).
+ */
+public class DfDiskSource implements DiskSpaceSource {
+
+    @Override
+    public String name() {
+        return "df";
+    }
+
+    @Override
+    public boolean probe() {
+        return read(new long[3]);
+    }
+
+    @Override
+    public boolean read(long[] out) {
+        try {
+            Process p = new ProcessBuilder("df", "-B1", "/").start();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
+                reader.readLine(); // header
+                String line = reader.readLine();
+                if (line == null) return false;
+
+                String[] t = line.trim().split("\\s+");
+                out[0] = Long.parseLong(t[1]);
+                out[2] = Long.parseLong(t[2]);
+                out[1] = Long.parseLong(t[3]);
+                return true;
+            }
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.systemactivitymonitor.metrics.impl.linux;
+
+/**
+ * Джерело даних про місце на кореневому розділі.
+ */
+public interface DiskSpaceSource extends CollectorBackend {
+
+    /**
+     * Заповнює out: [0] — загальний обсяг, [1] — доступно, [2] — зайнято (у байтах).
+     * @return false, якщо прочитати не вдалося
+     */
+    boolean read(long[] out);
+}
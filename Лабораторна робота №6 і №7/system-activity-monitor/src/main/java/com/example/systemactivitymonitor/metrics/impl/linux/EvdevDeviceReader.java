@@ -0,0 +1,138 @@
+package com.example.systemactivitymonitor.metrics.impl.linux;
+
+import com.example.systemactivitymonitor.metrics.input.InputEventListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * EvdevDeviceReader — читання одного /dev/input/eventN.
+ *
+ * ✔ Блокуюче читання: поки подій немає, потік спить у ядрі (нуль CPU)
+ * ✔ За один read() — пачка структур input_event у багаторазовий ByteBuffer
+ * ✔ Розбір без алокацій; розмір структури — 24 байти (64-біт) або 16 (32-біт)
+ * ✔ Зупиняється при close() або відключенні пристрою (ENODEV)
+ * ✔ Рахуються лише дії людини: EV_KEY з value 1 (натискання клавіші / кнопки миші)
+ *   і EV_REL (рух миші). Відпускання, автоповтор, EV_SYN / EV_MSC / EV_LED,
+ *   EV_ABS (сенсори тачпада, джойстики) і кнопки джойстиків / дотику ігноруються —
+ *   інакше одне натискання рахувалося б кілька разів, а шум тримав би стан "активний"
+ *
+ * struct input_event { struct timeval time; __u16 type; __u16 code; __s32 value; }
+ */
+final class EvdevDeviceReader implements Runnable {
+
+    static final int EV_KEY = 0x01;
+    static final int EV_REL = 0x02;
+
+    /** Коди кнопок миші BTN_MOUSE..BTN_TASK. */
+    static final int BTN_MOUSE_FIRST = 0x110;
+    static final int BTN_MOUSE_LAST = 0x11F;
+    /** BTN_MISC..BTN_GEAR_UP і BTN_TRIGGER_HAPPY — кнопки джойстиків, дотику, стилуса; решта EV_KEY — клавіші. */
+    static final int BTN_MISC = 0x100;
+    static final int BTN_LAST = 0x15F;
+    static final int BTN_TRIGGER_HAPPY_FIRST = 0x2C0;
+    static final int BTN_TRIGGER_HAPPY_LAST = 0x2E7;
+
+    private static final int EVENTS_PER_READ = 64;
+
+    private final Path path;
+    private final int eventSize;
+    private final int typeOffset;
+    private final InputEventListener listener;
+    private final ByteBuffer buffer;
+
+    private volatile FileChannel channel;
+
+    EvdevDeviceReader(Path path, int eventSize, InputEventListener listener) {
+        this.path = path;
+        this.eventSize = eventSize;
+        this.typeOffset = eventSize - 8; // після timeval
+        this.listener = listener;
+        this.buffer = ByteBuffer.allocateDirect(eventSize * EVENTS_PER_READ)
+                .order(ByteOrder.nativeOrder());
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /** Відкриває пристрій; false — немає прав або пристрій зник. */
+    boolean open() {
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            return true;
+        } catch (IOException | SecurityException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void run() {
+        FileChannel ch = channel;
+        if (ch == null) return;
+
+        try {
+            while (ch.isOpen()) {
+                int n = ch.read(buffer);
+                if (n < 0) break;
+                if (buffer.position() < eventSize) continue;
+
+                buffer.flip();
+                while (buffer.remaining() >= eventSize) {
+                    int base = buffer.position();
+                    dispatch(buffer.getShort(base + typeOffset) & 0xFFFF,
+                            buffer.getShort(base + typeOffset + 2) & 0xFFFF,
+                            buffer.getInt(base + typeOffset + 4));
+                    buffer.position(base + eventSize);
+                }
+                buffer.compact();
+            }
+        } catch (ClosedChannelException ignored) {
+            // close() з іншого потоку
+        } catch (IOException e) {
+            // пристрій відключено
+        } finally {
+            close();
+        }
+    }
+
+    private void dispatch(int type, int code, int value) {
+        switch (type) {
+            case EV_KEY -> {
+                if (value != 1) return; // 0 — відпускання, 2 — автоповтор
+                if (code >= BTN_MOUSE_FIRST && code <= BTN_MOUSE_LAST) {
+                    listener.onMouseClick();
+                } else if (!isNonKeyButton(code)) {
+                    listener.onKeyPress();
+                }
+            }
+            case EV_REL -> listener.onMouseMove();
+            default -> { }
+        }
+    }
+
+    private static boolean isNonKeyButton(int code) {
+        return (code >= BTN_MISC && code <= BTN_LAST)
+                || (code >= BTN_TRIGGER_HAPPY_FIRST && code <= BTN_TRIGGER_HAPPY_LAST);
+    }
+
+    void close() {
+        FileChannel ch = channel;
+        channel = null;
+        if (ch != null) {
+            try {
+                ch.close();
+            } catch (IOException ignored) {}
+        }
+    }
+
+    boolean isOpen() {
+        FileChannel ch = channel;
+        return ch != null && ch.isOpen();
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.systemactivitymonitor.metrics.impl.linux;
+
+import com.example.systemactivitymonitor.metrics.input.InputEventListener;
+import com.example.systemactivitymonitor.metrics.input.InputEventSource;
+import com.example.systemactivitymonitor.util.MonitoringThreadFactory;
+import com.sun.jna.Native;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * EvdevInputMonitor — подієвий збір введення з /dev/input/event*.
+ *
+ * ✔ Окремий блокуючий потік-читач на кожен пристрій (EvdevDeviceReader)
+ * ✔ Нові пристрої підхоплюються через WatchService (inotify), відключені — прибираються
+ * ✔ У простої жоден потік не прокидається: CPU ≈ 0
+ *
+ * Для читання потрібні права на /dev/input (група input або root).
+ */
+public class EvdevInputMonitor implements InputEventSource {
+
+    private static final Path INPUT_DIR = Path.of("/dev/input");
+
+    /** udev виставляє права на новий вузол не одразу — кілька спроб відкрити. */
+    private static final int HOTPLUG_OPEN_ATTEMPTS = 5;
+    private static final long HOTPLUG_RETRY_MS = 200;
+
+    private InputEventListener listener;
+    private final int eventSize = eventStructSize();
+    private final Map<Path, EvdevDeviceReader> readers = new ConcurrentHashMap<>();
+    private final ThreadFactory readerThreads = new MonitoringThreadFactory("evdev-reader");
+
+    private volatile boolean running = false;
+    private WatchService watchService;
+    private Thread watchThread;
+
+    @Override
+    public String name() {
+        return "evdev";
+    }
+
+    // ========================================================================
+    // START / STOP
+    // ========================================================================
+    /** @return true, якщо вдалося відкрити хоча б один пристрій */
+    @Override
+    public synchronized boolean start(InputEventListener listener) {
+        if (running) return true;
+        if (!Files.isDirectory(INPUT_DIR)) return false;
+
+        this.listener = listener;
+        running = true;
+
+        try (DirectoryStream<Path> devices = Files.newDirectoryStream(INPUT_DIR, "event*")) {
+            for (Path device : devices) {
+                attach(device, 1);
+            }
+        } catch (IOException e) {
+            System.err.println("⚠ [evdev] Не вдалося прочитати " + INPUT_DIR + ": " + e.getMessage());
+        }
+
+        // без жодного відкритого пристрою (немає прав) — краще віддати чергу іншому джерелу
+        if (readers.isEmpty()) {
+            running = false;
+            return false;
+        }
+
+        startHotplugWatch();
+        System.out.println("🐧 [evdev] Відкрито пристроїв: " + readers.size());
+        return true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {}
+            watchService = null;
+        }
+        if (watchThread != null) {
+            watchThread.interrupt();
+            watchThread = null;
+        }
+
+        readers.values().forEach(EvdevDeviceReader::close);
+        readers.clear();
+    }
+
+    public int getDeviceCount() {
+        return readers.size();
+    }
+
+    // ========================================================================
+    // DEVICES
+    // ========================================================================
+    private void attach(Path device, int attempts) {
+        if (!running || readers.containsKey(device)) return;
+
+        EvdevDeviceReader reader = new EvdevDeviceReader(device, eventSize, listener);
+        for (int i = 0; i < attempts; i++) {
+            if (reader.open()) {
+                readers.put(device, reader);
+                Thread t = readerThreads.newThread(() -> {
+                    try {
+                        reader.run();
+                    } finally {
+                        readers.remove(device, reader);
+                    }
+                });
+                t.start();
+                return;
+            }
+            if (i + 1 < attempts) {
+                try {
+                    Thread.sleep(HOTPLUG_RETRY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void startHotplugWatch() {
+        try {
+            watchService = INPUT_DIR.getFileSystem().newWatchService();
+            INPUT_DIR.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | UnsupportedOperationException e) {
+            watchService = null;
+            return;
+        }
+
+        WatchService ws = watchService;
+        watchThread = new MonitoringThreadFactory("evdev-hotplug").newThread(() -> watchLoop(ws));
+        watchThread.start();
+    }
+
+    private void watchLoop(WatchService ws) {
+        try {
+            while (running) {
+                WatchKey key = ws.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (!(event.context() instanceof Path name)) continue;
+                    if (!name.toString().startsWith("event")) continue;
+
+                    Path device = INPUT_DIR.resolve(name);
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                        attach(device, HOTPLUG_OPEN_ATTEMPTS);
+                    } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                        EvdevDeviceReader reader = readers.remove(device);
+                        if (reader != null) reader.close();
+                    }
+                }
+                if (!key.reset()) break;
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // stop()
+        }
+    }
+
+    /**
+     * sizeof(struct input_event): timeval з двох long + 8 байт даних.
+     * 24 байти на 64-бітних системах, 16 — на 32-бітних.
+     */
+    static int eventStructSize() {
+        int longSize;
+        try {
+            longSize = Native.LONG_SIZE;
+        } catch (Throwable e) {
+            longSize = "32".equals(System.getProperty("sun.arch.data.model")) ? 4 : 8;
+        }
+        return 2 * longSize + 8;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.systemactivitymonitor.metrics.impl.linux;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Місце на диску через java.nio.file.FileStore (statvfs усередині JVM, без fork/exec).
+ */
+public class FileStoreDiskSource implements DiskSpaceSource {
+
+    private final Path mountPoint;
+    private FileStore store;
+
+    public FileStoreDiskSource(String mountPoint) {
+        this.mountPoint = Path.of(mountPoint);
+    }
+
+    @Override
+    public String name() {
+        return "FileStore";
+    }
+
+    @Override
+    public boolean probe() {
+        try {
+            store = Files.getFileStore(mountPoint);
+            return store.getTotalSpace() > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean read(long[] out) {
+        try {
+            long total = store.getTotalSpace();
+            long unallocated = store.getUnallocatedSpace();
+            out[0] = total;
+            out[1] = store.getUsableSpace();
+            out[2] = total - unallocated;
+            return total > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.systemactivitymonitor.metrics.impl.linux;
+
+import com.example.systemactivitymonitor.metrics.cpu.CpuBreakdown;
+import com.example.systemactivitymonitor.metrics.cpu.CpuBreakdownSource;
+import com.example.systemactivitymonitor.metrics.cpu.ProcessCpuTracker;
+import com.example.systemactivitymonitor.util.AppConfig;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Розбивка CPU через procfs.
+ *
+ * ✔ Ядра — рядки "cpuN" з /proc/stat (той самий розбір, що й рядок "cpu " у LinuxMetricsProvider)
+ * ✔ Процеси — один /proc/[pid]/stat на процес: utime + stime (поля 14, 15), час старту (22)
+ *   і RSS у сторінках (24 — те саме, що resident у statm, тож statm окремо не відкривається)
+ * ✔ CPU процесу — дельта його jiffies до дельти всіх jiffies машини з рядка "cpu "
+ * ✔ Дельти — ProcessCpuTracker за pid; назва (comm) розбирається лише для нових процесів
+ * ✔ Дескриптор stat лишається відкритим, поки живе процес: наступні сканування — лише pread
+ *   без пошуку шляху; після завершення процесу pread дає ESRCH і дескриптор закривається
+ * ✔ Буфер читання спільний на все сканування, розбір — прямо з байтів
+ *
+ * cpu.pageSizeKb   — розмір сторінки для RSS (4)
+ * cpu.maxOpenFiles — скільки дескрипторів тримати відкритими (256, не більше половини
+ *                    ліміту "Max open files"); процеси понад ліміт читаються open / read / close
+ *
+ * collect() викликає лише потік збору (MetricFamily.CPU_DETAIL — "лише для збирача"):
+ * кожен виклик зсуває базу дельт, тож сторонній виклик зіпсував би інтервал наступного.
+ */
+public class ProcCpuBreakdownSource implements CpuBreakdownSource {
+
+    private static final byte[] CPU_LINE = ProcFile.ascii("cpu ");
+    private static final byte[] CORE_LINE = ProcFile.ascii("cpu");
+
+    private final ProcFile procStat = new ProcFile("/proc/stat", 32 * 1024);
+    private final File procDir = new File("/proc");
+    private final byte[] buffer = new byte[1024];
+    private final ByteBuffer view = ByteBuffer.wrap(buffer);
+    private final long pageKb = Math.max(1, AppConfig.getLong("cpu.pageSizeKb", 4));
+
+    private final ProcessCpuTracker tracker = new ProcessCpuTracker();
+    private final Consumer<Object> closer = this::closeHandle;
+    private final int maxOpenFiles;
+    private int openFiles = 0;
+
+    // ------------------------ Лічильники ядер (поточні й попереднього сканування) ------------------------
+    private final long[] ticks = new long[2];
+    private final long[] lineTicks = new long[2];
+    private long prevTotal = -1;
+    private long[] prevCoreBusy = new long[0];
+    private long[] prevCoreTotal = new long[0];
+    private long[] coreBusy = new long[0];
+    private long[] coreTotal = new long[0];
+
+    public ProcCpuBreakdownSource() {
+        long limit = openFilesLimit();
+        int configured = Math.max(0, AppConfig.getInt("cpu.maxOpenFiles", 256));
+        this.maxOpenFiles = limit > 0 ? (int) Math.min(configured, limit / 2) : configured;
+    }
+
+    @Override
+    public String name() {
+        return "procfs";
+    }
+
+    @Override
+    public boolean probe() {
+        return procStat.refresh() && procStat.seekLine(CPU_LINE)
+                && new File("/proc/self/stat").canRead();
+    }
+
+    @Override
+    public synchronized boolean collect(CpuBreakdown out) {
+        long started = System.nanoTime();
+
+        int cores = readCores();
+        if (cores <= 0) return false;
+        long totalDiff = prevTotal < 0 ? 0 : ticks[1] - prevTotal;
+        boolean primed = prevTotal >= 0 && prevCoreTotal.length == cores;
+
+        if (primed) {
+            double[] load = out.coreLoadArray(cores);
+            for (int i = 0; i < cores; i++) {
+                long total = coreTotal[i] - prevCoreTotal[i];
+                long busy = coreBusy[i] - prevCoreBusy[i];
+                load[i] = total > 0 ? Math.max(0, Math.min(100, 100.0 * busy / total)) : 0;
+            }
+        }
+        swapCoreCounters(cores);
+        prevTotal = ticks[1];
+
+        scanProcesses();
+        tracker.finish(primed ? totalDiff : 0, out, closer);
+
+        out.setScanNanos(System.nanoTime() - started);
+        if (primed) out.setUpdatedAtMillis(System.currentTimeMillis());
+        return true;
+    }
+
+    // ========================================================================
+    // CORES
+    // ========================================================================
+    /** Рядок "cpu " у ticks, рядки "cpuN" у coreBusy / coreTotal; повертає кількість ядер. */
+    private int readCores() {
+        if (!procStat.refresh() || !procStat.seekLine(CPU_LINE)) return -1;
+        if (!readLine(ticks)) return -1;
+
+        int cores = 0;
+        while (procStat.nextLine() && procStat.lineStartsWith(CORE_LINE)) {
+            procStat.seekLine(CORE_LINE);
+            procStat.nextLong(); // номер ядра
+            if (!readLine(lineTicks)) break;
+
+            if (cores == coreBusy.length) {
+                coreBusy = Arrays.copyOf(coreBusy, Math.max(8, cores * 2));
+                coreTotal = Arrays.copyOf(coreTotal, coreBusy.length);
+            }
+            coreBusy[cores] = lineTicks[0];
+            coreTotal[cores] = lineTicks[1];
+            cores++;
+        }
+        return cores;
+    }
+
+    /** Поля user … softirq поточного рядка: [0] — зайнятий час, [1] — увесь (jiffies). */
+    private boolean readLine(long[] out) {
+        long user = procStat.nextLong();
+        long nice = procStat.nextLong();
+        long system = procStat.nextLong();
+        long idle = procStat.nextLong();
+        long iowait = Math.max(0, procStat.nextLong());
+        long irq = Math.max(0, procStat.nextLong());
+        long softirq = Math.max(0, procStat.nextLong());
+        while (procStat.nextLong() >= 0) {
+            // steal, guest, guest_nice — до кінця рядка
+        }
+
+        if (idle < 0) return false;
+
+        long total = user + nice + system + idle + iowait + irq + softirq;
+        out[0] = total - idle - iowait;
+        out[1] = total;
+        return true;
+    }
+
+    private void swapCoreCounters(int cores) {
+        if (prevCoreBusy.length != cores) {
+            prevCoreBusy = new long[cores];
+            prevCoreTotal = new long[cores];
+        }
+        System.arraycopy(coreBusy, 0, prevCoreBusy, 0, cores);
+        System.arraycopy(coreTotal, 0, prevCoreTotal, 0, cores);
+    }
+
+    // ========================================================================
+    // PROCESSES
+    // ========================================================================
+    private void scanProcesses() {
+        tracker.begin();
+
+        String[] entries = procDir.list();
+        if (entries == null) return;
+
+        for (String entry : entries) {
+            int pid = parsePid(entry);
+            if (pid < 0) continue;
+
+            FileChannel held = (FileChannel) tracker.attachment(pid);
+            int n = held != null ? pread(held) : -1;
+            if (n <= 0) {
+                // новий процес, або старий завершився і pid уже в іншого (ESRCH на старому дескрипторі)
+                if (held != null) closeHandle(held);
+                held = openHandle(entry);
+                n = held != null ? pread(held) : read("/proc/" + entry + "/stat");
+            }
+
+            if (n > 0 && parseStat(pid, n)) {
+                tracker.attach(held);
+            } else if (held != null) {
+                closeHandle(held);
+            }
+        }
+    }
+
+    /** Дескриптор /proc/[pid]/stat, що лишається відкритим між скануваннями (у межах maxOpenFiles). */
+    private FileChannel openHandle(String entry) {
+        if (openFiles >= maxOpenFiles) return null;
+        try {
+            FileChannel channel = FileChannel.open(Path.of("/proc", entry, "stat"), StandardOpenOption.READ);
+            openFiles++;
+            return channel;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void closeHandle(Object handle) {
+        try {
+            ((FileChannel) handle).close();
+        } catch (IOException ignored) {}
+        openFiles--;
+    }
+
+    /** pread з позиції 0 — ядро генерує вміст заново; -1, якщо процесу вже немає. */
+    private int pread(FileChannel channel) {
+        try {
+            view.clear();
+            long offset = 0;
+            int r;
+            while (view.hasRemaining() && (r = channel.read(view, offset)) > 0) {
+                offset += r;
+            }
+            return view.position();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private int read(String path) {
+        try (FileInputStream in = new FileInputStream(path)) {
+            int total = 0;
+            int r;
+            while (total < buffer.length && (r = in.read(buffer, total, buffer.length - total)) > 0) {
+                total += r;
+            }
+            return total;
+        } catch (IOException e) {
+            return -1; // процес завершився між list() і читанням
+        }
+    }
+
+    /** Ліміт відкритих файлів процесу (м’який) з /proc/self/limits; -1, якщо невідомо чи unlimited. */
+    private static long openFilesLimit() {
+        try (ProcFile limits = new ProcFile("/proc/self/limits", 4096)) {
+            if (!limits.refresh() || !limits.seekLine(ProcFile.ascii("Max open files"))) return -1;
+            return limits.nextLong();
+        }
+    }
+
+    /** "pid (comm) S ppid …": comm може містити пробіли й дужки, тому поля рахуються від останньої ')'. */
+    private boolean parseStat(int pid, int n) {
+        int open = -1;
+        int close = -1;
+        for (int i = 0; i < n; i++) {
+            if (buffer[i] == '(' && open < 0) open = i;
+            else if (buffer[i] == ')') close = i;
+        }
+        if (open < 0 || close < 0) return false;
+
+        long utime = 0, stime = 0, startTime = 0, rssPages = 0;
+        int field = 3;
+        int pos = close + 2;
+        while (pos < n && field <= 24) {
+            long value = 0;
+            boolean numeric = field == 14 || field == 15 || field == 22 || field == 24;
+            while (pos < n && buffer[pos] != ' ' && buffer[pos] != '\n') {
+                if (numeric) {
+                    byte b = buffer[pos];
+                    if (b >= '0' && b <= '9') value = value * 10 + (b - '0');
+                }
+                pos++;
+            }
+            switch (field) {
+                case 14 -> utime = value;
+                case 15 -> stime = value;
+                case 22 -> startTime = value;
+                case 24 -> rssPages = value;
+                default -> {}
+            }
+            field++;
+            pos++;
+        }
+        if (field <= 24) return false;
+
+        if (tracker.update(pid, startTime, utime + stime, rssPages * pageKb)) {
+            tracker.setName(new String(buffer, open + 1, close - open - 1, StandardCharsets.UTF_8));
+        }
+        return true;
+    }
+
+    private static int parsePid(String s) {
+        int len = s.length();
+        if (len == 0 || len > 9) return -1;
+        int pid = 0;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            pid = pid * 10 + (c - '0');
+        }
+        return pid;
+    }
+}
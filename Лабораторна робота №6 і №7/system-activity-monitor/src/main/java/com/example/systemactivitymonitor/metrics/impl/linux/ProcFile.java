@@ -0,0 +1,148 @@
+package com.example.systemactivitymonitor.metrics.impl.linux;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * ProcFile — багаторазовий читач файлів /proc без регулярних виразів і рядків.
+ *
+ * ✔ Файл відкривається один раз; кожне оновлення — pread з позиції 0
+ *   (seq_file ядра генерує вміст заново), при помилці канал перевідкривається
+ * ✔ Вміст лягає у заздалегідь виділений буфер; читається лише "голова" файлу
+ *   розміром до capacity — для /proc/stat і /proc/meminfo цього достатньо
+ * ✔ Числа розбираються прямо з байтів курсором
+ *
+ * Не потокобезпечний: виклики refresh() і розбору мають бути під одним замком.
+ */
+public final class ProcFile implements Closeable {
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final byte[] bytes;
+    private FileChannel channel;
+
+    private int limit;
+    private int pos;
+
+    public ProcFile(String path, int capacity) {
+        this.path = Path.of(path);
+        this.bytes = new byte[capacity];
+        this.buffer = ByteBuffer.wrap(bytes);
+    }
+
+    // ========================================================================
+    // READ
+    // ========================================================================
+    /** Перечитує файл у буфер і ставить курсор на початок. */
+    public boolean refresh() {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                if (channel == null || !channel.isOpen()) {
+                    channel = FileChannel.open(path, StandardOpenOption.READ);
+                }
+                buffer.clear();
+                long offset = 0;
+                int n;
+                while (buffer.hasRemaining() && (n = channel.read(buffer, offset)) > 0) {
+                    offset += n;
+                }
+                limit = buffer.position();
+                pos = 0;
+                return limit > 0;
+            } catch (IOException e) {
+                close();
+            }
+        }
+        limit = 0;
+        pos = 0;
+        return false;
+    }
+
+    // ========================================================================
+    // CURSOR
+    // ========================================================================
+    /** Шукає (від поточної позиції) рядок, що починається з prefix, і ставить курсор після префікса. */
+    public boolean seekLine(byte[] prefix) {
+        while (pos < limit) {
+            if (startsWith(pos, prefix)) {
+                pos += prefix.length;
+                return true;
+            }
+            if (!nextLine()) return false;
+        }
+        return false;
+    }
+
+    /** Переходить на початок наступного рядка. */
+    public boolean nextLine() {
+        while (pos < limit && bytes[pos] != '\n') pos++;
+        if (pos >= limit) return false;
+        pos++;
+        return pos < limit;
+    }
+
+    /** Чи стоїть курсор на початку рядка з цим префіксом (курсор не рухається). */
+    public boolean lineStartsWith(byte[] prefix) {
+        return startsWith(pos, prefix);
+    }
+
+    /**
+     * Наступне невід’ємне ціле в межах поточного рядка.
+     * Дробова частина (якщо є) пропускається. -1 — якщо до кінця рядка чисел немає.
+     */
+    public long nextLong() {
+        while (pos < limit && !isDigit(bytes[pos])) {
+            if (bytes[pos] == '\n') return -1;
+            pos++;
+        }
+        if (pos >= limit) return -1;
+
+        long value = 0;
+        while (pos < limit && isDigit(bytes[pos])) {
+            value = value * 10 + (bytes[pos++] - '0');
+        }
+        if (pos < limit && bytes[pos] == '.') {
+            pos++;
+            while (pos < limit && isDigit(bytes[pos])) pos++;
+        }
+        return value;
+    }
+
+    /** Решта поточного рядка як рядок (для рідкісних текстових полів). */
+    public String restOfLine() {
+        int start = pos;
+        while (pos < limit && bytes[pos] != '\n') pos++;
+        return new String(bytes, start, pos - start, StandardCharsets.US_ASCII).trim();
+    }
+
+    @Override
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {}
+            channel = null;
+        }
+    }
+
+    public static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private boolean startsWith(int at, byte[] prefix) {
+        if (at + prefix.length > limit) return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[at + i] != prefix[i]) return false;
+        }
+        return true;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.systemactivitymonitor.metrics.impl.linux;
+
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+import com.sun.jna.platform.unix.X11;
+import com.sun.jna.ptr.IntByReference;
+import com.sun.jna.ptr.NativeLongByReference;
+import com.sun.jna.ptr.PointerByReference;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Активне вікно напряму через Xlib (JNA), без запуску процесів.
+ *
+ * ✔ Одне постійне з’єднання з X-сервером (DISPLAY)
+ * ✔ _NET_ACTIVE_WINDOW на root-вікні → _NET_WM_NAME (UTF-8), резервно WM_NAME
+ * ✔ Немає вікна у фокусі (або воно щойно закрилось) — "", а не помилка:
+ *   null лише для справжніх помилок X, після яких BackendChain переходить на xprop
+ * ✔ Власний XErrorHandler ставиться лише на час запиту (XSync перед поверненням
+ *   попереднього), тож обробник JavaFX / GTK решту часу не підмінюється;
+ *   помилки інших з’єднань передаються попередньому обробнику
+ */
+public class X11ActiveWindowSource implements ActiveWindowSource {
+
+    private static final X11.Atom ANY_PROPERTY_TYPE = new X11.Atom(0);
+
+    private static final int BAD_WINDOW = 3;
+
+    /** Поле, а не лямбда в методі: Xlib тримає callback, доки він встановлений. */
+    private final X11.XErrorHandler recordErrors = this::onError;
+    private X11.XErrorHandler previousHandler;
+    private int errorCode;
+
+    private X11 x11;
+    private X11.Display display;
+    private X11.Window root;
+    private X11.Atom netActiveWindow;
+    private X11.Atom netWmName;
+    private X11.Atom utf8String;
+
+    @Override
+    public String name() {
+        return "Xlib (JNA)";
+    }
+
+    @Override
+    public synchronized boolean probe() {
+        if (System.getenv("DISPLAY") == null) return false;
+
+        x11 = X11.INSTANCE;
+        display = x11.XOpenDisplay(null);
+        if (display == null) return false;
+
+        root = x11.XDefaultRootWindow(display);
+        netActiveWindow = x11.XInternAtom(display, "_NET_ACTIVE_WINDOW", false);
+        netWmName = x11.XInternAtom(display, "_NET_WM_NAME", false);
+        utf8String = x11.XInternAtom(display, "UTF8_STRING", false);
+
+        beginQuery();
+        long windowId = readActiveWindowId();
+        return endQuery() == X11.Success && windowId >= 0;
+    }
+
+    @Override
+    public synchronized String activeWindowTitle() {
+        if (display == null) return null;
+
+        beginQuery();
+        long windowId = readActiveWindowId();
+        String title = null;
+        if (windowId > 0) {
+            X11.Window window = new X11.Window(windowId);
+            title = readString(window, netWmName, utf8String);
+            if (title == null) title = readString(window, X11.XA_WM_NAME, X11.XA_STRING);
+        }
+        int error = endQuery();
+
+        if (windowId < 0) return null;                                     // root без _NET_ACTIVE_WINDOW
+        if (error != X11.Success && error != BAD_WINDOW) return null;      // зламане з’єднання / сервер
+        return title == null ? "" : title;                                 // немає фокусу, вікно без назви чи вже закрите
+    }
+
+    // ========================================================================
+    // ERROR HANDLER (лише на час запиту)
+    // ========================================================================
+    private void beginQuery() {
+        errorCode = X11.Success;
+        previousHandler = x11.XSetErrorHandler(recordErrors);
+    }
+
+    /** Доставляє помилки наших запитів, повертає попередній обробник; код першої помилки або Success. */
+    private int endQuery() {
+        x11.XSync(display, false);
+        x11.XSetErrorHandler(previousHandler);
+        previousHandler = null;
+        return errorCode;
+    }
+
+    private int onError(X11.Display source, X11.XErrorEvent event) {
+        if (display != null && display.equals(source)) {
+            if (errorCode == X11.Success) errorCode = event.error_code & 0xFF;
+            return 0;
+        }
+        X11.XErrorHandler previous = previousHandler;
+        return previous != null ? previous.apply(source, event) : 0;
+    }
+
+    /** id активного вікна; 0 — немає активного; -1 — властивість не прочитано. */
+    private long readActiveWindowId() {
+        Pointer data = readProperty(root, netActiveWindow, ANY_PROPERTY_TYPE, 1);
+        if (data == null) return -1;
+        try {
+            return data.getNativeLong(0).longValue();
+        } finally {
+            x11.XFree(data);
+        }
+    }
+
+    private String readString(X11.Window window, X11.Atom property, X11.Atom type) {
+        NativeLongByReference items = new NativeLongByReference();
+        Pointer data = readProperty(window, property, type, 1024, items);
+        if (data == null) return null;
+        try {
+            int length = (int) items.getValue().longValue();
+            if (length <= 0) return null;
+            byte[] bytes = data.getByteArray(0, length);
+            return new String(bytes, type == utf8String ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1);
+        } finally {
+            x11.XFree(data);
+        }
+    }
+
+    private Pointer readProperty(X11.Window window, X11.Atom property, X11.Atom type, long maxLongs) {
+        return readProperty(window, property, type, maxLongs, new NativeLongByReference());
+    }
+
+    private Pointer readProperty(X11.Window window, X11.Atom property, X11.Atom type,
+                                 long maxLongs, NativeLongByReference items) {
+        X11.AtomByReference actualType = new X11.AtomByReference();
+        IntByReference actualFormat = new IntByReference();
+        NativeLongByReference bytesAfter = new NativeLongByReference();
+        PointerByReference prop = new PointerByReference();
+
+        int status = x11.XGetWindowProperty(display, window, property,
+                new NativeLong(0), new NativeLong(maxLongs), false, type,
+                actualType, actualFormat, items, bytesAfter, prop);
+
+        Pointer data = prop.getValue();
+        if (status != X11.Success || data == null) return null;
+        if (items.getValue().longValue() == 0) {
+            x11.XFree(data);
+            return null;
+        }
+        return data;
+    }
+}
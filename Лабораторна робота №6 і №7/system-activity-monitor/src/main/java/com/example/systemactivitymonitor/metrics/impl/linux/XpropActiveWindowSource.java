@@ -0,0 +1,46 @@
+package com.example.systemactivitymonitor.metrics.impl.linux;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Резервний варіант: `xprop | awk | cut` через bash (кілька процесів на кожен виклик).
+ */
+public class XpropActiveWindowSource implements ActiveWindowSource {
+
+    @Override
+    public String name() {
+        return "xprop";
+    }
+
+    @Override
+    public boolean probe() {
+        try {
+            Process p = new ProcessBuilder("xprop", "-root", "_NET_ACTIVE_WINDOW")
+                    .redirectErrorStream(true)
+                    .start();
+            p.getInputStream().transferTo(OutputStream.nullOutputStream());
+            return p.waitFor(2, TimeUnit.SECONDS) && p.exitValue() == 0;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String activeWindowTitle() {
+        try {
+            Process p = new ProcessBuilder(
+                    "bash", "-c",
+                    "xprop -id $(xprop -root _NET_ACTIVE_WINDOW | awk '{print $5}') WM_NAME | cut -d '\"' -f2"
+            ).start();
+            try (BufferedReader br = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
+                String name = br.readLine();
+                return name == null ? "" : name;
+            }
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
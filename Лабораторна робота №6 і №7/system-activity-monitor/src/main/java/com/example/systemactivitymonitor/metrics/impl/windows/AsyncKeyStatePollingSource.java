@@ -0,0 +1,87 @@
+package com.example.systemactivitymonitor.metrics.impl.windows;
+
+import com.example.systemactivitymonitor.metrics.input.InputEventListener;
+import com.example.systemactivitymonitor.metrics.input.InputEventSource;
+import com.example.systemactivitymonitor.util.AppExecutors;
+import com.sun.jna.Platform;
+import com.sun.jna.platform.win32.User32;
+import com.sun.jna.platform.win32.WinDef;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Резервне джерело введення для Windows: опитування GetAsyncKeyState.
+ *
+ * Дорого (~250 викликів JNA кожні 80 мс) і пропускає короткі натискання,
+ * тому використовується лише якщо глобальні хуки недоступні.
+ */
+public class AsyncKeyStatePollingSource implements InputEventSource {
+
+    private static final int VK_LBUTTON = 0x01;
+    private static final int VK_RBUTTON = 0x02;
+    private static final int MOVE_THRESHOLD = 3;
+    private static final long POLL_PERIOD_MS = 80; // 12.5 раз/сек
+
+    private final WinDef.POINT cursor = new WinDef.POINT();
+    private int lastX = -1;
+    private int lastY = -1;
+
+    private InputEventListener listener;
+    private AppExecutors.Periodic poller;
+
+    @Override
+    public String name() {
+        return "GetAsyncKeyState polling";
+    }
+
+    @Override
+    public synchronized boolean start(InputEventListener listener) {
+        if (poller != null) return true;
+        if (!Platform.isWindows()) return false;
+
+        this.listener = listener;
+        poller = AppExecutors.schedule("input-poll", () -> {
+            try {
+                poll();
+            } catch (Exception ignored) {}
+        }, 0, POLL_PERIOD_MS, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (poller != null) {
+            poller.cancel();
+            poller = null;
+        }
+    }
+
+    private void poll() {
+        User32 user32 = User32.INSTANCE;
+
+        // ------------------ KEYBOARD ------------------
+        for (int i = 0x08; i <= 0xFE; i++) {
+            if ((user32.GetAsyncKeyState(i) & 0x0001) != 0) { // нове натискання
+                listener.onKeyPress();
+            }
+        }
+
+        // ------------------ MOUSE CLICKS ------------------
+        if ((user32.GetAsyncKeyState(VK_LBUTTON) & 0x0001) != 0) listener.onMouseClick();
+        if ((user32.GetAsyncKeyState(VK_RBUTTON) & 0x0001) != 0) listener.onMouseClick();
+
+        // ------------------ MOUSE MOVES ------------------
+        user32.GetCursorPos(cursor);
+
+        if (lastX != -1 && lastY != -1) {
+            int dx = Math.abs(cursor.x - lastX);
+            int dy = Math.abs(cursor.y - lastY);
+            if (dx >= MOVE_THRESHOLD || dy >= MOVE_THRESHOLD) {
+                listener.onMouseMove();
+            }
+        }
+
+        lastX = cursor.x;
+        lastY = cursor.y;
+    }
+}
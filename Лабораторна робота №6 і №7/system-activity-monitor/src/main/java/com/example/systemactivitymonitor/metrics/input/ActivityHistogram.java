@@ -0,0 +1,113 @@
+package com.example.systemactivitymonitor.metrics.input;
+
+import java.util.Arrays;
+
+/**
+ * ActivityHistogram — посекундна гістограма введення за останні N секунд (для UI).
+ *
+ * ✔ Кільцевий буфер фіксованого розміру: комірка = epochSecond % capacity,
+ *   застарілу комірку розпізнає мітка секунди і обнуляє перед записом
+ * ✔ Три паралельні масиви примітивів (keys / clicks / moves) — без об’єктів на секунду
+ * ✔ Пропущені секунди у знімку дають нулі, а не "дірки"
+ *
+ * Запис і читання — під одним замком: запис іде раз на секунду, читає лише UI.
+ */
+public final class ActivityHistogram {
+
+    private final int capacity;
+    private final long[] seconds;
+    private final long[] keys;
+    private final long[] clicks;
+    private final long[] moves;
+
+    public ActivityHistogram(int capacitySeconds) {
+        this.capacity = Math.max(1, capacitySeconds);
+        this.seconds = new long[capacity];
+        this.keys = new long[capacity];
+        this.clicks = new long[capacity];
+        this.moves = new long[capacity];
+        Arrays.fill(seconds, Long.MIN_VALUE);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // ========================================================================
+    // WRITE
+    // ========================================================================
+    /** Додає події до комірки секунди epochSecond. */
+    public synchronized void add(long epochSecond, long keyCount, long clickCount, long moveCount) {
+        int i = slot(epochSecond);
+        if (seconds[i] != epochSecond) {
+            seconds[i] = epochSecond;
+            keys[i] = 0;
+            clicks[i] = 0;
+            moves[i] = 0;
+        }
+        keys[i] += keyCount;
+        clicks[i] += clickCount;
+        moves[i] += moveCount;
+    }
+
+    // ========================================================================
+    // READ
+    // ========================================================================
+    /**
+     * Знімок останніх lastSeconds секунд, що закінчуються nowEpochSecond включно.
+     * Масиви впорядковані від найстарішої секунди до найновішої.
+     */
+    public synchronized Snapshot snapshot(long nowEpochSecond, int lastSeconds) {
+        int n = Math.max(0, Math.min(lastSeconds, capacity));
+        long from = nowEpochSecond - n + 1;
+
+        long[] k = new long[n];
+        long[] c = new long[n];
+        long[] m = new long[n];
+        for (int j = 0; j < n; j++) {
+            long second = from + j;
+            int i = slot(second);
+            if (seconds[i] == second) {
+                k[j] = keys[i];
+                c[j] = clicks[i];
+                m[j] = moves[i];
+            }
+        }
+        return new Snapshot(from, k, c, m);
+    }
+
+    private int slot(long epochSecond) {
+        return (int) Math.floorMod(epochSecond, (long) capacity);
+    }
+
+    /** Незмінний знімок гістограми: i-й елемент масивів відповідає секунді firstSecond + i. */
+    public static final class Snapshot {
+        private final long firstSecond;
+        private final long[] keys;
+        private final long[] clicks;
+        private final long[] moves;
+
+        Snapshot(long firstSecond, long[] keys, long[] clicks, long[] moves) {
+            this.firstSecond = firstSecond;
+            this.keys = keys;
+            this.clicks = clicks;
+            this.moves = moves;
+        }
+
+        public long getFirstSecond() { return firstSecond; }
+        public int size() { return keys.length; }
+        public long[] getKeys() { return keys.clone(); }
+        public long[] getClicks() { return clicks.clone(); }
+        public long[] getMoves() { return moves.clone(); }
+
+        public long totalKeys() { return sum(keys); }
+        public long totalClicks() { return sum(clicks); }
+        public long totalMoves() { return sum(moves); }
+
+        private static long sum(long[] values) {
+            long s = 0;
+            for (long v : values) s += v;
+            return s;
+        }
+    }
+}
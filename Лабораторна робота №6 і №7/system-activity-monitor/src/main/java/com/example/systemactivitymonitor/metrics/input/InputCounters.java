@@ -0,0 +1,173 @@
+package com.example.systemactivitymonitor.metrics.input;
+
+import com.example.systemactivitymonitor.util.AppConfig;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * InputCounters — лічильники введення для гарячого шляху подій.
+ *
+ * ✔ LongAdder (striped): інкременти з кількох потоків-читачів не конкурують за одну комірку
+ * ✔ Час останньої активності — один volatile long без алокацій
+ * ✔ Сам є InputEventListener, тож підключається до будь-якого InputEventSource
+ * ✔ Адери рахують лише поточний інтервал: snapshotAndReset() забирає точну дельту
+ *   для рядка system_stats, а накопичені підсумки (для UI) живуть окремо
+ * ✔ Посекундна ActivityHistogram за останні input.histogramSeconds секунд
+ */
+public final class InputCounters implements InputEventListener {
+
+    // події поточного інтервалу збереження (гарячий шлях)
+    private final LongAdder keys = new LongAdder();
+    private final LongAdder clicks = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private volatile long lastActivityMillis = System.currentTimeMillis();
+
+    // додатковий слухач активності (ActivityStateEngine); null — вимкнено
+    private volatile InputEventListener activityListener;
+
+    // підсумки вже забраних інтервалів (пише лише snapshotAndReset)
+    private volatile long flushedKeys;
+    private volatile long flushedClicks;
+    private volatile long flushedMoves;
+
+    private final ActivityHistogram histogram =
+            new ActivityHistogram(AppConfig.getInt("input.histogramSeconds", 300));
+
+    // підсумки на момент останнього запису в гістограму
+    private long histKeys;
+    private long histClicks;
+    private long histMoves;
+
+    @Override
+    public void onKeyPress() {
+        keys.increment();
+        touch();
+    }
+
+    @Override
+    public void onMouseClick() {
+        clicks.increment();
+        touch();
+    }
+
+    @Override
+    public void onMouseMove() {
+        moves.increment();
+        touch();
+    }
+
+    @Override
+    public void onActivity() {
+        touch();
+    }
+
+    private void touch() {
+        lastActivityMillis = System.currentTimeMillis();
+        InputEventListener listener = activityListener;
+        if (listener != null) listener.onActivity();
+    }
+
+    /** Підключає слухача, який отримує onActivity() на кожну подію (один на лічильники). */
+    public void setActivityListener(InputEventListener listener) {
+        this.activityListener = listener;
+    }
+
+    /** Підсумок з моменту запуску (для UI). */
+    public long getKeys() {
+        return flushedKeys + keys.sum();
+    }
+
+    public long getClicks() {
+        return flushedClicks + clicks.sum();
+    }
+
+    public long getMoves() {
+        return flushedMoves + moves.sum();
+    }
+
+    public long getLastActivityMillis() {
+        return lastActivityMillis;
+    }
+
+    public long getLastActivitySecondsAgo() {
+        return (System.currentTimeMillis() - lastActivityMillis) / 1000;
+    }
+
+    // ========================================================================
+    // ІНТЕРВАЛИ
+    // ========================================================================
+    /**
+     * Забирає події, накопичені з попереднього виклику, і обнуляє інтервал.
+     * sumThenReset обнуляє кожну комірку атомарно, тож подія, що прийшла під час
+     * знімка, потрапить або в цю дельту, або в наступну — але не загубиться і не подвоїться.
+     */
+    public synchronized Delta snapshotAndReset() {
+        long k = keys.sumThenReset();
+        long c = clicks.sumThenReset();
+        long m = moves.sumThenReset();
+        flushedKeys += k;
+        flushedClicks += c;
+        flushedMoves += m;
+        return new Delta(k, c, m);
+    }
+
+    /**
+     * Переносить події з попереднього виклику в комірку поточної секунди гістограми.
+     * Викликається провайдером на кожному оновленні групи INPUT (раз на секунду).
+     */
+    public synchronized void sampleHistogram(long nowMillis) {
+        long k = getKeys();
+        long c = getClicks();
+        long m = getMoves();
+        histogram.add(nowMillis / 1000, k - histKeys, c - histClicks, m - histMoves);
+        histKeys = k;
+        histClicks = c;
+        histMoves = m;
+    }
+
+    public ActivityHistogram getHistogram() {
+        return histogram;
+    }
+
+    /** Кількість подій за один інтервал збереження. */
+    public static final class Delta {
+        private final long keys;
+        private final long clicks;
+        private final long moves;
+
+        Delta(long keys, long clicks, long moves) {
+            this.keys = keys;
+            this.clicks = clicks;
+            this.moves = moves;
+        }
+
+        public long getKeys() { return keys; }
+        public long getClicks() { return clicks; }
+        public long getMoves() { return moves; }
+    }
+
+    // ========================================================================
+    // ВИБІР ДЖЕРЕЛА
+    // ========================================================================
+    /**
+     * Запускає перше робоче джерело з переліку (у порядку пріоритету).
+     * @return запущене джерело або null
+     */
+    public InputEventSource startFirst(List<? extends InputEventSource> sources) {
+        for (InputEventSource source : sources) {
+            boolean started;
+            try {
+                started = source.start(this);
+            } catch (RuntimeException | LinkageError e) {
+                started = false;
+            }
+            if (started) {
+                System.out.println("⌨ [input] використовується джерело: " + source.name());
+                return source;
+            }
+        }
+        System.err.println("⚠ [input] жодне джерело подій введення недоступне.");
+        return null;
+    }
+}
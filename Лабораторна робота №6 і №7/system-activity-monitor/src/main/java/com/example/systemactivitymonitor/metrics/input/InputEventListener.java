@@ -0,0 +1,17 @@
+package com.example.systemactivitymonitor.metrics.input;
+
+/**
+ * Приймач подій користувацького введення.
+ * Методи викликаються з потоків читання пристроїв — мають бути швидкими і без блокувань.
+ */
+public interface InputEventListener {
+
+    void onKeyPress();
+
+    void onMouseClick();
+
+    void onMouseMove();
+
+    /** Будь-яка інша подія від пристрою (для часу останньої активності). */
+    default void onActivity() {}
+}
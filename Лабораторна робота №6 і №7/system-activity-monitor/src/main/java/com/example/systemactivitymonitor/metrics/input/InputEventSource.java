@@ -0,0 +1,22 @@
+package com.example.systemactivitymonitor.metrics.input;
+
+/**
+ * InputEventSource — підключуване джерело подій введення.
+ *
+ * ✔ Реалізації: evdev (Linux), глобальні хуки JNativeHook,
+ *   опитування GetAsyncKeyState (резерв для Windows), синтетичний генератор
+ * ✔ Провайдер пробує джерела по черзі й лишає перше, що запустилося
+ */
+public interface InputEventSource {
+
+    /** Коротка назва для логів. */
+    String name();
+
+    /**
+     * Починає доставляти події у listener.
+     * @return false, якщо джерело недоступне в цьому оточенні
+     */
+    boolean start(InputEventListener listener);
+
+    void stop();
+}
@@ -0,0 +1,106 @@
+package com.example.systemactivitymonitor.metrics.input;
+
+import org.jnativehook.GlobalScreen;
+import org.jnativehook.NativeHookException;
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.keyboard.NativeKeyListener;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseListener;
+import org.jnativehook.mouse.NativeMouseMotionListener;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * NativeHookInputSource — глобальні хуки клавіатури й миші через JNativeHook.
+ *
+ * ✔ Windows: WH_KEYBOARD_LL / WH_MOUSE_LL; Linux: X11 record — події приходять самі,
+ *   без опитування стану клавіш
+ * ✔ Слухачі лише інкрементують лічильники — потік хуків не блокується
+ * ✔ Шум логера JNativeHook вимкнено
+ */
+public class NativeHookInputSource implements InputEventSource,
+        NativeKeyListener, NativeMouseListener, NativeMouseMotionListener {
+
+    private volatile InputEventListener listener;
+    private boolean registered = false;
+
+    @Override
+    public String name() {
+        return "JNativeHook";
+    }
+
+    @Override
+    public synchronized boolean start(InputEventListener listener) {
+        if (registered) return true;
+        this.listener = listener;
+
+        Logger.getLogger(GlobalScreen.class.getPackage().getName()).setLevel(Level.OFF);
+
+        try {
+            GlobalScreen.registerNativeHook();
+        } catch (NativeHookException | UnsatisfiedLinkError e) {
+            System.err.println("⚠ [input] JNativeHook недоступний: " + e.getMessage());
+            return false;
+        }
+
+        GlobalScreen.addNativeKeyListener(this);
+        GlobalScreen.addNativeMouseListener(this);
+        GlobalScreen.addNativeMouseMotionListener(this);
+        registered = true;
+        return true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!registered) return;
+
+        GlobalScreen.removeNativeKeyListener(this);
+        GlobalScreen.removeNativeMouseListener(this);
+        GlobalScreen.removeNativeMouseMotionListener(this);
+        try {
+            GlobalScreen.unregisterNativeHook();
+        } catch (NativeHookException e) {
+            System.err.println("⚠ [input] Не вдалося зняти хук: " + e.getMessage());
+        }
+        registered = false;
+    }
+
+    // ---------------- Keyboard ----------------
+    @Override
+    public void nativeKeyPressed(NativeKeyEvent e) {
+        listener.onKeyPress();
+    }
+
+    @Override
+    public void nativeKeyReleased(NativeKeyEvent e) {
+        listener.onActivity();
+    }
+
+    @Override
+    public void nativeKeyTyped(NativeKeyEvent e) {}
+
+    // ---------------- Mouse ----------------
+    @Override
+    public void nativeMouseClicked(NativeMouseEvent e) {}
+
+    @Override
+    public void nativeMousePressed(NativeMouseEvent e) {
+        listener.onMouseClick();
+    }
+
+    @Override
+    public void nativeMouseReleased(NativeMouseEvent e) {
+        listener.onActivity();
+    }
+
+    @Override
+    public void nativeMouseMoved(NativeMouseEvent e) {
+        listener.onMouseMove();
+    }
+
+    @Override
+    public void nativeMouseDragged(NativeMouseEvent e) {
+        listener.onMouseMove();
+    }
+}
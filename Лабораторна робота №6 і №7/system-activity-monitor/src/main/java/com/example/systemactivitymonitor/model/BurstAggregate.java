@@ -0,0 +1,57 @@
+package com.example.systemactivitymonitor.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * BurstAggregate — агрегат burst-вибірок (кожні 100–250 мс) за один кошик burst.aggregateMs.
+ * ramAvgMb / ramMaxMb — NaN, якщо провайдер не віддає RAM без алокацій.
+ */
+public class BurstAggregate {
+
+    private Integer userId;
+    private LocalDateTime bucketStart;
+    private int periodMs;
+    private int sampleCount;
+
+    private double cpuAvg;
+    private double cpuMin;
+    private double cpuMax;
+    private double ramAvgMb = Double.NaN;
+    private double ramMaxMb = Double.NaN;
+
+    public BurstAggregate() {}
+
+    public BurstAggregate(Integer userId, LocalDateTime bucketStart, int periodMs) {
+        this.userId = userId;
+        this.bucketStart = bucketStart;
+        this.periodMs = periodMs;
+    }
+
+    // ===== Гетери / Сетери =====
+    public Integer getUserId() { return userId; }
+    public void setUserId(Integer userId) { this.userId = userId; }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+
+    public int getPeriodMs() { return periodMs; }
+    public void setPeriodMs(int periodMs) { this.periodMs = periodMs; }
+
+    public int getSampleCount() { return sampleCount; }
+    public void setSampleCount(int sampleCount) { this.sampleCount = sampleCount; }
+
+    public double getCpuAvg() { return cpuAvg; }
+    public void setCpuAvg(double cpuAvg) { this.cpuAvg = cpuAvg; }
+
+    public double getCpuMin() { return cpuMin; }
+    public void setCpuMin(double cpuMin) { this.cpuMin = cpuMin; }
+
+    public double getCpuMax() { return cpuMax; }
+    public void setCpuMax(double cpuMax) { this.cpuMax = cpuMax; }
+
+    public double getRamAvgMb() { return ramAvgMb; }
+    public void setRamAvgMb(double ramAvgMb) { this.ramAvgMb = ramAvgMb; }
+
+    public double getRamMaxMb() { return ramMaxMb; }
+    public void setRamMaxMb(double ramMaxMb) { this.ramMaxMb = ramMaxMb; }
+}
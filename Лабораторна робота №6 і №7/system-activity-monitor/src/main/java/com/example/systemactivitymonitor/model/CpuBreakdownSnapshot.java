@@ -0,0 +1,56 @@
+package com.example.systemactivitymonitor.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CpuBreakdownSnapshot — знімок розбивки CPU (рядок cpu_breakdown).
+ *
+ * ✔ coreLoads — завантаження кожного ядра, %
+ * ✔ topCpu / topRss — топ процесів за CPU і за RSS на момент знімка
+ * ✔ processCount — скільки процесів було в системі
+ */
+public class CpuBreakdownSnapshot {
+
+    private Long id;
+    private Integer userId;
+    private LocalDateTime recordedAt;
+    private double[] coreLoads = new double[0];
+    private int processCount;
+    private List<ProcessUsage> topCpu = new ArrayList<>();
+    private List<ProcessUsage> topRss = new ArrayList<>();
+
+    public CpuBreakdownSnapshot() {}
+
+    public CpuBreakdownSnapshot(Integer userId, LocalDateTime recordedAt) {
+        this.userId = userId;
+        this.recordedAt = recordedAt;
+    }
+
+    public int getCoreCount() {
+        return coreLoads.length;
+    }
+
+    // ===== Гетери / Сетери =====
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Integer getUserId() { return userId; }
+    public void setUserId(Integer userId) { this.userId = userId; }
+
+    public LocalDateTime getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(LocalDateTime recordedAt) { this.recordedAt = recordedAt; }
+
+    public double[] getCoreLoads() { return coreLoads; }
+    public void setCoreLoads(double[] coreLoads) { this.coreLoads = coreLoads; }
+
+    public int getProcessCount() { return processCount; }
+    public void setProcessCount(int processCount) { this.processCount = processCount; }
+
+    public List<ProcessUsage> getTopCpu() { return topCpu; }
+    public void setTopCpu(List<ProcessUsage> topCpu) { this.topCpu = topCpu; }
+
+    public List<ProcessUsage> getTopRss() { return topRss; }
+    public void setTopRss(List<ProcessUsage> topRss) { this.topRss = topRss; }
+}
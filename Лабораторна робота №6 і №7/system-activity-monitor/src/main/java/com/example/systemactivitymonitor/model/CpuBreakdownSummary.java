@@ -0,0 +1,47 @@
+package com.example.systemactivitymonitor.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CpuBreakdownSummary — розділ звіту "CPU по ядрах і процесах" за період.
+ *
+ * ✔ coreAvg / coreMax — середнє й пікове завантаження кожного ядра, %
+ * ✔ topCpu — процеси (за назвою) з найбільшим середнім CPU: сума їхніх % у знімках,
+ *   поділена на кількість знімків (процес поза топом знімка рахується як 0)
+ * ✔ topRss — процеси з найбільшим піковим RSS
+ *
+ * Рахується з cpu_breakdown під час генерації чи експорту, у reports не зберігається.
+ */
+public class CpuBreakdownSummary {
+
+    private int sampleCount;
+    private double[] coreAvg = new double[0];
+    private double[] coreMax = new double[0];
+    private double avgProcessCount;
+    private List<ProcessUsage> topCpu = new ArrayList<>();
+    private List<ProcessUsage> topRss = new ArrayList<>();
+
+    public boolean isEmpty() {
+        return sampleCount == 0;
+    }
+
+    // ===== Гетери / Сетери =====
+    public int getSampleCount() { return sampleCount; }
+    public void setSampleCount(int sampleCount) { this.sampleCount = sampleCount; }
+
+    public double[] getCoreAvg() { return coreAvg; }
+    public void setCoreAvg(double[] coreAvg) { this.coreAvg = coreAvg; }
+
+    public double[] getCoreMax() { return coreMax; }
+    public void setCoreMax(double[] coreMax) { this.coreMax = coreMax; }
+
+    public double getAvgProcessCount() { return avgProcessCount; }
+    public void setAvgProcessCount(double avgProcessCount) { this.avgProcessCount = avgProcessCount; }
+
+    public List<ProcessUsage> getTopCpu() { return topCpu; }
+    public void setTopCpu(List<ProcessUsage> topCpu) { this.topCpu = topCpu; }
+
+    public List<ProcessUsage> getTopRss() { return topRss; }
+    public void setTopRss(List<ProcessUsage> topRss) { this.topRss = topRss; }
+}
@@ -0,0 +1,76 @@
+package com.example.systemactivitymonitor.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * CpuSpike — виявлений сплеск CPU разом із сирим вікном burst-вибірок навколо нього.
+ *
+ * ✔ startedAt / endedAt — межі самого сплеску (CPU ≥ thresholdCpu)
+ * ✔ Вибірки — паралельні масиви примітивів (час у мс від epoch, CPU %, RAM МБ або NaN),
+ *   включно з burst.spikeContextMs до і після сплеску
+ */
+public class CpuSpike {
+
+    private Long id;
+    private Integer userId;
+    private LocalDateTime startedAt;
+    private LocalDateTime endedAt;
+    private double peakCpu;
+    private double thresholdCpu;
+    private int periodMs;
+
+    private long[] sampleTimes = new long[0];
+    private float[] sampleCpu = new float[0];
+    private float[] sampleRamMb = new float[0];
+
+    public CpuSpike() {}
+
+    public CpuSpike(Integer userId, LocalDateTime startedAt, LocalDateTime endedAt,
+                    double peakCpu, double thresholdCpu, int periodMs) {
+        this.userId = userId;
+        this.startedAt = startedAt;
+        this.endedAt = endedAt;
+        this.peakCpu = peakCpu;
+        this.thresholdCpu = thresholdCpu;
+        this.periodMs = periodMs;
+    }
+
+    public int getSampleCount() {
+        return sampleTimes.length;
+    }
+
+    /** Встановлює сире вікно; масиви мають однакову довжину. */
+    public void setSamples(long[] times, float[] cpu, float[] ramMb) {
+        if (times.length != cpu.length || times.length != ramMb.length)
+            throw new IllegalArgumentException("Масиви вибірок різної довжини.");
+        this.sampleTimes = times;
+        this.sampleCpu = cpu;
+        this.sampleRamMb = ramMb;
+    }
+
+    // ===== Гетери / Сетери =====
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Integer getUserId() { return userId; }
+    public void setUserId(Integer userId) { this.userId = userId; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getEndedAt() { return endedAt; }
+    public void setEndedAt(LocalDateTime endedAt) { this.endedAt = endedAt; }
+
+    public double getPeakCpu() { return peakCpu; }
+    public void setPeakCpu(double peakCpu) { this.peakCpu = peakCpu; }
+
+    public double getThresholdCpu() { return thresholdCpu; }
+    public void setThresholdCpu(double thresholdCpu) { this.thresholdCpu = thresholdCpu; }
+
+    public int getPeriodMs() { return periodMs; }
+    public void setPeriodMs(int periodMs) { this.periodMs = periodMs; }
+
+    public long[] getSampleTimes() { return sampleTimes; }
+    public float[] getSampleCpu() { return sampleCpu; }
+    public float[] getSampleRamMb() { return sampleRamMb; }
+}
@@ -0,0 +1,35 @@
+package com.example.systemactivitymonitor.model;
+
+/**
+ * ProcessUsage — один процес у топі розбивки CPU: CPU у % від усієї машини, RSS у МБ.
+ * Зберігається як елемент JSON-масиву (cpu_breakdown.top_cpu_json / top_rss_json).
+ */
+public class ProcessUsage {
+
+    private int pid;
+    private String name;
+    private double cpuPercent;
+    private double rssMb;
+
+    public ProcessUsage() {}
+
+    public ProcessUsage(int pid, String name, double cpuPercent, double rssMb) {
+        this.pid = pid;
+        this.name = name;
+        this.cpuPercent = cpuPercent;
+        this.rssMb = rssMb;
+    }
+
+    // ===== Гетери / Сетери =====
+    public int getPid() { return pid; }
+    public void setPid(int pid) { this.pid = pid; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public double getCpuPercent() { return cpuPercent; }
+    public void setCpuPercent(double cpuPercent) { this.cpuPercent = cpuPercent; }
+
+    public double getRssMb() { return rssMb; }
+    public void setRssMb(double rssMb) { this.rssMb = rssMb; }
+}
@@ -21,6 +21,7 @@ public class Report {
     private String filePath;
     private LocalDateTime createdAt;
     private List<DaySummary> days;
+    private CpuBreakdownSummary cpuBreakdown;   // з cpu_breakdown, у reports не зберігається
 
     public Report() {
         this.createdAt = LocalDateTime.now();
@@ -67,4 +68,7 @@ public class Report {
 
     public List<DaySummary> getDays() { return days; }
     public void setDays(List<DaySummary> days) { this.days = days; }
+
+    public CpuBreakdownSummary getCpuBreakdown() { return cpuBreakdown; }
+    public void setCpuBreakdown(CpuBreakdownSummary cpuBreakdown) { this.cpuBreakdown = cpuBreakdown; }
 }
@@ -0,0 +1,49 @@
+package com.example.systemactivitymonitor.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * RollupLevel — рівні агрегації system_stats (stats_rollup.level).
+ */
+public enum RollupLevel {
+
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupLevel(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+
+    /** Початок кошика, до якого належить момент часу. */
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    /** Початок наступного кошика. */
+    public LocalDateTime bucketEnd(LocalDateTime bucketStart) {
+        return bucketStart.plus(1, unit);
+    }
+
+    /**
+     * Найгрубший рівень, який:
+     *  ✔ не грубший за потрібну роздільність (resolution);
+     *  ✔ має межі кошиків, що збігаються з from і з to (to — виключно).
+     */
+    public static RollupLevel coarsestFor(LocalDateTime from, LocalDateTime to, ChronoUnit resolution) {
+        RollupLevel best = MINUTE;
+        for (RollupLevel level : values()) {
+            if (level.unit.getDuration().compareTo(resolution.getDuration()) > 0) break;
+            if (!level.bucketStart(from).equals(from) || !level.bucketStart(to).equals(to)) break;
+            best = level;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.systemactivitymonitor.model;
+
+/**
+ * SpoolPosition — позиція у локальному спулі: номер сегмента і зсув у ньому.
+ * Усе, що лежить до цієї позиції, уже записано в БД.
+ */
+public final class SpoolPosition implements Comparable<SpoolPosition> {
+
+    public static final SpoolPosition START = new SpoolPosition(0, 0);
+
+    private final long segment;
+    private final long offset;
+
+    public SpoolPosition(long segment, long offset) {
+        this.segment = segment;
+        this.offset = offset;
+    }
+
+    public long getSegment() { return segment; }
+    public long getOffset() { return offset; }
+
+    @Override
+    public int compareTo(SpoolPosition o) {
+        int c = Long.compare(segment, o.segment);
+        return c != 0 ? c : Long.compare(offset, o.offset);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SpoolPosition p && p.segment == segment && p.offset == offset;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(segment) * 31 + Long.hashCode(offset);
+    }
+
+    @Override
+    public String toString() {
+        return segment + ":" + offset;
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.systemactivitymonitor.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * StatsRollup — агрегат system_stats за один кошик часу (хвилина / година / доба).
+ *
+ * ✔ count / sum / min / max для CPU, RAM і зайнятого диска
+ * ✔ Суми введення та максимальний аптайм
+ * ✔ Кількість зразків по застосунках (лише TOP_WINDOWS найчастіших, решта — "Other")
+ * ✔ Агрегати адитивні: merge() двох частин дає те саме, що й один прохід
+ */
+public class StatsRollup {
+
+    public static final int TOP_WINDOWS = 20;
+    public static final String OTHER_WINDOWS = "Other";
+
+    private Integer userId;
+    private RollupLevel level;
+    private LocalDateTime bucketStart;
+
+    private long sampleCount;
+
+    private double cpuSum;
+    private double cpuMin = Double.NaN;
+    private double cpuMax = Double.NaN;
+
+    private double ramSum;
+    private double ramMin = Double.NaN;
+    private double ramMax = Double.NaN;
+
+    private double diskUsedSum;
+    private double diskUsedMin = Double.NaN;
+    private double diskUsedMax = Double.NaN;
+
+    private long keyboardPresses;
+    private long mouseClicks;
+    private long mouseMoves;
+
+    private long uptimeMax;
+
+    private Map<String, Long> windowCounts = new HashMap<>();
+
+    public StatsRollup() {}
+
+    public StatsRollup(Integer userId, RollupLevel level, LocalDateTime bucketStart) {
+        this.userId = userId;
+        this.level = level;
+        this.bucketStart = bucketStart;
+    }
+
+    // ========================================================================
+    // AGGREGATION
+    // ========================================================================
+    /** Додає один сирий запис (назва застосунку вже нормалізована викликачем). */
+    public void accept(SystemStats s, String appName) {
+        sampleCount++;
+
+        double cpu = value(s.getCpuLoad());
+        cpuSum += cpu;
+        cpuMin = min(cpuMin, cpu);
+        cpuMax = max(cpuMax, cpu);
+
+        double ram = value(s.getRamUsedMb());
+        ramSum += ram;
+        ramMin = min(ramMin, ram);
+        ramMax = max(ramMax, ram);
+
+        double disk = value(s.getDiskUsedGb());
+        diskUsedSum += disk;
+        diskUsedMin = min(diskUsedMin, disk);
+        diskUsedMax = max(diskUsedMax, disk);
+
+        if (s.getKeyboardPresses() != null) keyboardPresses += s.getKeyboardPresses();
+        if (s.getMouseClicks() != null) mouseClicks += s.getMouseClicks();
+        if (s.getMouseMoves() != null) mouseMoves += s.getMouseMoves();
+
+        if (s.getSystemUptimeSeconds() != null) uptimeMax = Math.max(uptimeMax, s.getSystemUptimeSeconds());
+
+        if (appName != null) windowCounts.merge(appName, 1L, Long::sum);
+    }
+
+    /** Додає інший агрегат того самого кошика. */
+    public void merge(StatsRollup other) {
+        if (other == null || other.sampleCount == 0) return;
+
+        sampleCount += other.sampleCount;
+
+        cpuSum += other.cpuSum;
+        cpuMin = min(cpuMin, other.cpuMin);
+        cpuMax = max(cpuMax, other.cpuMax);
+
+        ramSum += other.ramSum;
+        ramMin = min(ramMin, other.ramMin);
+        ramMax = max(ramMax, other.ramMax);
+
+        diskUsedSum += other.diskUsedSum;
+        diskUsedMin = min(diskUsedMin, other.diskUsedMin);
+        diskUsedMax = max(diskUsedMax, other.diskUsedMax);
+
+        keyboardPresses += other.keyboardPresses;
+        mouseClicks += other.mouseClicks;
+        mouseMoves += other.mouseMoves;
+
+        uptimeMax = Math.max(uptimeMax, other.uptimeMax);
+
+        other.windowCounts.forEach((k, v) -> windowCounts.merge(k, v, Long::sum));
+    }
+
+    /** Обрізає мапу вікон до TOP_WINDOWS, решту складає в "Other". */
+    public Map<String, Long> topWindows() {
+        if (windowCounts.size() <= TOP_WINDOWS) return windowCounts;
+
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(windowCounts.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        Map<String, Long> top = new LinkedHashMap<>();
+        long other = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Map.Entry<String, Long> e = entries.get(i);
+            if (i < TOP_WINDOWS - 1 && !OTHER_WINDOWS.equals(e.getKey())) {
+                top.put(e.getKey(), e.getValue());
+            } else {
+                other += e.getValue();
+            }
+        }
+        top.merge(OTHER_WINDOWS, other, Long::sum);
+        return top;
+    }
+
+    public BigDecimal getCpuAvg() {
+        return avg(cpuSum);
+    }
+
+    public BigDecimal getRamAvg() {
+        return avg(ramSum);
+    }
+
+    private BigDecimal avg(double sum) {
+        if (sampleCount == 0) return BigDecimal.ZERO;
+        return BigDecimal.valueOf(sum / sampleCount).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static double value(BigDecimal v) {
+        return v == null ? 0 : v.doubleValue();
+    }
+
+    private static double min(double a, double b) {
+        if (Double.isNaN(a)) return b;
+        if (Double.isNaN(b)) return a;
+        return Math.min(a, b);
+    }
+
+    private static double max(double a, double b) {
+        if (Double.isNaN(a)) return b;
+        if (Double.isNaN(b)) return a;
+        return Math.max(a, b);
+    }
+
+    // ---------- Getters / Setters ----------
+
+    public Integer getUserId() { return userId; }
+    public void setUserId(Integer userId) { this.userId = userId; }
+
+    public RollupLevel getLevel() { return level; }
+    public void setLevel(RollupLevel level) { this.level = level; }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+
+    public long getSampleCount() { return sampleCount; }
+    public void setSampleCount(long sampleCount) { this.sampleCount = sampleCount; }
+
+    public double getCpuSum() { return cpuSum; }
+    public void setCpuSum(double cpuSum) { this.cpuSum = cpuSum; }
+    public double getCpuMin() { return cpuMin; }
+    public void setCpuMin(double cpuMin) { this.cpuMin = cpuMin; }
+    public double getCpuMax() { return cpuMax; }
+    public void setCpuMax(double cpuMax) { this.cpuMax = cpuMax; }
+
+    public double getRamSum() { return ramSum; }
+    public void setRamSum(double ramSum) { this.ramSum = ramSum; }
+    public double getRamMin() { return ramMin; }
+    public void setRamMin(double ramMin) { this.ramMin = ramMin; }
+    public double getRamMax() { return ramMax; }
+    public void setRamMax(double ramMax) { this.ramMax = ramMax; }
+
+    public double getDiskUsedSum() { return diskUsedSum; }
+    public void setDiskUsedSum(double diskUsedSum) { this.diskUsedSum = diskUsedSum; }
+    public double getDiskUsedMin() { return diskUsedMin; }
+    public void setDiskUsedMin(double diskUsedMin) { this.diskUsedMin = diskUsedMin; }
+    public double getDiskUsedMax() { return diskUsedMax; }
+    public void setDiskUsedMax(double diskUsedMax) { this.diskUsedMax = diskUsedMax; }
+
+    public long getKeyboardPresses() { return keyboardPresses; }
+    public void setKeyboardPresses(long keyboardPresses) { this.keyboardPresses = keyboardPresses; }
+    public long getMouseClicks() { return mouseClicks; }
+    public void setMouseClicks(long mouseClicks) { this.mouseClicks = mouseClicks; }
+    public long getMouseMoves() { return mouseMoves; }
+    public void setMouseMoves(long mouseMoves) { this.mouseMoves = mouseMoves; }
+
+    public long getUptimeMax() { return uptimeMax; }
+    public void setUptimeMax(long uptimeMax) { this.uptimeMax = uptimeMax; }
+
+    public Map<String, Long> getWindowCounts() { return windowCounts; }
+    public void setWindowCounts(Map<String, Long> windowCounts) {
+        this.windowCounts = windowCounts != null ? new HashMap<>(windowCounts) : new HashMap<>();
+    }
+}
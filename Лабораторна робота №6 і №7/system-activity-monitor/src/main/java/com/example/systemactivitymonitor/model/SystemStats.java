@@ -26,6 +26,7 @@ public class SystemStats {
 
     // Window
     private String activeWindow;
+    private Integer windowTitleId;          // window_titles.id (null — ще не в словнику)
 
     // Input activity
     private Integer keyboardPresses;
@@ -97,6 +98,9 @@ public class SystemStats {
     public String getActiveWindow() { return activeWindow; }
     public void setActiveWindow(String activeWindow) { this.activeWindow = activeWindow; }
 
+    public Integer getWindowTitleId() { return windowTitleId; }
+    public void setWindowTitleId(Integer windowTitleId) { this.windowTitleId = windowTitleId; }
+
     public Integer getKeyboardPresses() { return keyboardPresses; }
     public void setKeyboardPresses(Integer keyboardPresses) { this.keyboardPresses = keyboardPresses; }
 
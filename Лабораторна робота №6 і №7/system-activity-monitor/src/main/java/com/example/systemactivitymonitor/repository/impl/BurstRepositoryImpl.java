@@ -0,0 +1,237 @@
+package com.example.systemactivitymonitor.repository.impl;
+
+import com.example.systemactivitymonitor.model.BurstAggregate;
+import com.example.systemactivitymonitor.model.CpuSpike;
+import com.example.systemactivitymonitor.repository.interfaces.BurstRepository;
+import com.example.systemactivitymonitor.util.DatabaseConnection;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class BurstRepositoryImpl implements BurstRepository {
+
+    private static final String UPSERT_AGGREGATE_SQL = """
+            INSERT INTO burst_aggregate (
+                user_id, bucket_start, period_ms, sample_count,
+                cpu_avg, cpu_min, cpu_max, ram_avg_mb, ram_max_mb
+            )
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                period_ms = VALUES(period_ms), sample_count = VALUES(sample_count),
+                cpu_avg = VALUES(cpu_avg), cpu_min = VALUES(cpu_min), cpu_max = VALUES(cpu_max),
+                ram_avg_mb = VALUES(ram_avg_mb), ram_max_mb = VALUES(ram_max_mb)
+            """;
+
+    private static final String INSERT_SPIKE_SQL = """
+            INSERT INTO burst_spike (user_id, started_at, ended_at, peak_cpu, threshold_cpu, period_ms)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_SAMPLE_SQL = """
+            INSERT IGNORE INTO burst_spike_sample (spike_id, sampled_at, cpu, ram_mb)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    // ====================================================================================
+    // SAVE
+    // ====================================================================================
+    @Override
+    public void saveAggregates(List<BurstAggregate> aggregates) {
+        if (aggregates.isEmpty()) return;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(UPSERT_AGGREGATE_SQL)) {
+
+            for (BurstAggregate a : aggregates) {
+                ps.setInt(1, a.getUserId());
+                ps.setTimestamp(2, Timestamp.valueOf(a.getBucketStart()));
+                ps.setInt(3, a.getPeriodMs());
+                ps.setInt(4, a.getSampleCount());
+                ps.setDouble(5, a.getCpuAvg());
+                ps.setDouble(6, a.getCpuMin());
+                ps.setDouble(7, a.getCpuMax());
+                setNullableDouble(ps, 8, a.getRamAvgMb());
+                setNullableDouble(ps, 9, a.getRamMaxMb());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка збереження burst_aggregate: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void saveSpike(CpuSpike spike) {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement ps = conn.prepareStatement(INSERT_SPIKE_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                ps.setInt(1, spike.getUserId());
+                ps.setTimestamp(2, Timestamp.valueOf(spike.getStartedAt()));
+                ps.setTimestamp(3, Timestamp.valueOf(spike.getEndedAt()));
+                ps.setDouble(4, spike.getPeakCpu());
+                ps.setDouble(5, spike.getThresholdCpu());
+                ps.setInt(6, spike.getPeriodMs());
+                ps.executeUpdate();
+
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    if (keys.next()) spike.setId(keys.getLong(1));
+                }
+
+                long[] times = spike.getSampleTimes();
+                float[] cpu = spike.getSampleCpu();
+                float[] ram = spike.getSampleRamMb();
+
+                try (PreparedStatement samples = conn.prepareStatement(INSERT_SAMPLE_SQL)) {
+                    for (int i = 0; i < times.length; i++) {
+                        samples.setLong(1, spike.getId());
+                        samples.setTimestamp(2, new Timestamp(times[i]));
+                        samples.setDouble(3, cpu[i]);
+                        setNullableDouble(samples, 4, ram[i]);
+                        samples.addBatch();
+                    }
+                    samples.executeBatch();
+                }
+
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка збереження burst_spike: " + e.getMessage(), e);
+        }
+    }
+
+    // ====================================================================================
+    // READ
+    // ====================================================================================
+    @Override
+    public List<BurstAggregate> findAggregatesBetween(Integer userId, LocalDateTime from, LocalDateTime to) {
+        String sql = """
+                SELECT * FROM burst_aggregate
+                WHERE user_id = ? AND bucket_start >= ? AND bucket_start < ?
+                ORDER BY bucket_start ASC
+                """;
+
+        List<BurstAggregate> list = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, userId);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    BurstAggregate a = new BurstAggregate(
+                            rs.getInt("user_id"),
+                            rs.getTimestamp("bucket_start").toLocalDateTime(),
+                            rs.getInt("period_ms"));
+                    a.setSampleCount(rs.getInt("sample_count"));
+                    a.setCpuAvg(rs.getDouble("cpu_avg"));
+                    a.setCpuMin(rs.getDouble("cpu_min"));
+                    a.setCpuMax(rs.getDouble("cpu_max"));
+                    a.setRamAvgMb(getNullableDouble(rs, "ram_avg_mb"));
+                    a.setRamMaxMb(getNullableDouble(rs, "ram_max_mb"));
+                    list.add(a);
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка читання burst_aggregate: " + e.getMessage(), e);
+        }
+
+        return list;
+    }
+
+    @Override
+    public List<CpuSpike> findSpikesBetween(Integer userId, LocalDateTime from, LocalDateTime to) {
+        String spikesSql = """
+                SELECT * FROM burst_spike
+                WHERE user_id = ? AND started_at >= ? AND started_at < ?
+                ORDER BY started_at ASC
+                """;
+        String samplesSql = "SELECT * FROM burst_spike_sample WHERE spike_id = ? ORDER BY sampled_at ASC";
+
+        List<CpuSpike> list = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(spikesSql);
+             PreparedStatement samples = conn.prepareStatement(samplesSql)) {
+
+            ps.setInt(1, userId);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    CpuSpike spike = new CpuSpike(
+                            rs.getInt("user_id"),
+                            rs.getTimestamp("started_at").toLocalDateTime(),
+                            rs.getTimestamp("ended_at").toLocalDateTime(),
+                            rs.getDouble("peak_cpu"),
+                            rs.getDouble("threshold_cpu"),
+                            rs.getInt("period_ms"));
+                    spike.setId(rs.getLong("id"));
+                    list.add(spike);
+                }
+            }
+
+            for (CpuSpike spike : list) {
+                loadSamples(samples, spike);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка читання burst_spike: " + e.getMessage(), e);
+        }
+
+        return list;
+    }
+
+    // ====================================================================================
+    // INTERNAL
+    // ====================================================================================
+    private void loadSamples(PreparedStatement ps, CpuSpike spike) throws SQLException {
+        ps.setLong(1, spike.getId());
+
+        int n = 0;
+        long[] t = new long[64];
+        float[] cpu = new float[64];
+        float[] ram = new float[64];
+
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                if (n == t.length) {
+                    t = Arrays.copyOf(t, n * 2);
+                    cpu = Arrays.copyOf(cpu, n * 2);
+                    ram = Arrays.copyOf(ram, n * 2);
+                }
+                t[n] = rs.getTimestamp("sampled_at").getTime();
+                cpu[n] = (float) rs.getDouble("cpu");
+                ram[n] = (float) getNullableDouble(rs, "ram_mb");
+                n++;
+            }
+        }
+
+        spike.setSamples(Arrays.copyOf(t, n), Arrays.copyOf(cpu, n), Arrays.copyOf(ram, n));
+    }
+
+    private static void setNullableDouble(PreparedStatement ps, int index, double value) throws SQLException {
+        if (Double.isNaN(value)) ps.setNull(index, Types.DOUBLE);
+        else ps.setDouble(index, value);
+    }
+
+    private static double getNullableDouble(ResultSet rs, String column) throws SQLException {
+        double v = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : v;
+    }
+}
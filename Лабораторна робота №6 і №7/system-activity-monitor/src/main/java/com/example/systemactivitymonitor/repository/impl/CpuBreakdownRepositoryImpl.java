@@ -0,0 +1,108 @@
+package com.example.systemactivitymonitor.repository.impl;
+
+import com.example.systemactivitymonitor.model.CpuBreakdownSnapshot;
+import com.example.systemactivitymonitor.model.ProcessUsage;
+import com.example.systemactivitymonitor.repository.interfaces.CpuBreakdownRepository;
+import com.example.systemactivitymonitor.util.DatabaseConnection;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class CpuBreakdownRepositoryImpl implements CpuBreakdownRepository {
+
+    private static final Gson GSON = new Gson();
+    private static final Type PROCESSES_TYPE = new TypeToken<List<ProcessUsage>>() {}.getType();
+
+    private static final String INSERT_SQL = """
+            INSERT INTO cpu_breakdown (
+                user_id, recorded_at, core_count, core_loads_json,
+                process_count, top_cpu_json, top_rss_json
+            )
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // ====================================================================================
+    // SAVE
+    // ====================================================================================
+    @Override
+    public void save(CpuBreakdownSnapshot s) {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            ps.setInt(1, s.getUserId());
+            ps.setTimestamp(2, Timestamp.valueOf(s.getRecordedAt()));
+            ps.setInt(3, s.getCoreCount());
+            ps.setString(4, GSON.toJson(s.getCoreLoads()));
+            ps.setInt(5, s.getProcessCount());
+            ps.setString(6, GSON.toJson(s.getTopCpu(), PROCESSES_TYPE));
+            ps.setString(7, GSON.toJson(s.getTopRss(), PROCESSES_TYPE));
+            ps.executeUpdate();
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (keys.next()) s.setId(keys.getLong(1));
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка збереження cpu_breakdown: " + e.getMessage(), e);
+        }
+    }
+
+    // ====================================================================================
+    // READ
+    // ====================================================================================
+    @Override
+    public List<CpuBreakdownSnapshot> findByUserIdBetween(Integer userId, LocalDateTime from, LocalDateTime to) {
+        String sql = """
+                SELECT * FROM cpu_breakdown
+                WHERE user_id = ? AND recorded_at >= ? AND recorded_at < ?
+                ORDER BY recorded_at ASC
+                """;
+
+        List<CpuBreakdownSnapshot> list = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, userId);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(map(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка читання cpu_breakdown: " + e.getMessage(), e);
+        }
+
+        return list;
+    }
+
+    // ====================================================================================
+    // INTERNAL
+    // ====================================================================================
+    private CpuBreakdownSnapshot map(ResultSet rs) throws SQLException {
+        CpuBreakdownSnapshot s = new CpuBreakdownSnapshot(
+                rs.getInt("user_id"),
+                rs.getTimestamp("recorded_at").toLocalDateTime());
+        s.setId(rs.getLong("id"));
+        s.setProcessCount(rs.getInt("process_count"));
+
+        double[] cores = GSON.fromJson(rs.getString("core_loads_json"), double[].class);
+        s.setCoreLoads(cores != null ? cores : new double[0]);
+        s.setTopCpu(processes(rs.getString("top_cpu_json")));
+        s.setTopRss(processes(rs.getString("top_rss_json")));
+        return s;
+    }
+
+    private static List<ProcessUsage> processes(String json) {
+        List<ProcessUsage> list = json == null ? null : GSON.fromJson(json, PROCESSES_TYPE);
+        return list != null ? list : new ArrayList<>();
+    }
+}
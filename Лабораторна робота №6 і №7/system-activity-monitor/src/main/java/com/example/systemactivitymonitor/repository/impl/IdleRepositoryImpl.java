@@ -127,6 +127,30 @@ public class IdleRepositoryImpl implements IdleRepository {
         return list;
     }
 
+    @Override
+    public List<IdleTime> findOpenByUserId(Integer userId) {
+        List<IdleTime> list = new ArrayList<>();
+        String sql = "SELECT * FROM idle_time WHERE user_id = ? AND end_time IS NULL ORDER BY start_time";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, userId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapResultSet(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Помилка при пошуку незавершених IdleTime: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return list;
+    }
+
     @Override
     public void deleteById(Integer id) {
         String sql = "DELETE FROM idle_time WHERE id = ?";
@@ -0,0 +1,276 @@
+package com.example.systemactivitymonitor.repository.impl;
+
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+import com.example.systemactivitymonitor.repository.local.ColumnarDayFile;
+import com.example.systemactivitymonitor.util.AppConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * LocalStatsRepositoryImpl — system_stats у локальних колонкових файлах замість MySQL.
+ *
+ * ✔ Файл на користувача на добу: <dir>/<userId>/<yyyy-MM-dd>.sam (+ .dict зі словником вікон)
+ * ✔ Запис — дописування в memory-mapped блок, без мережі та JDBC
+ * ✔ Читання діапазону — лише файли потрібних днів, у них — лише блоки, що перетинають проміжок
+ * ✔ Останні відкриті файли тримаються в LRU-кеші (stats.local.openFiles)
+ *
+ * ✔ id записів — зростаючий лічильник на все сховище (файл <dir>/next-id, резервується
+ *   діапазонами по ID_RESERVE, тож на диск він пишеться раз на тисячу записів)
+ * ✔ deleteById — надгробок у колонці id; шукає по всіх денних файлах, тому дорогий,
+ *   але це рідкісна операція (звичайне "видалення" старих даних — це видалення файлів днів)
+ *
+ * Агрегації на сервері немає: aggregateByHour / countByActiveWindow — типові потокові
+ * реалізації StatsRepository, а ReportCalculator у режимі AUTO одразу читає потоком.
+ * Вмикається -Dsam.stats.backend=local, каталог — -Dsam.stats.local.dir.
+ */
+public class LocalStatsRepositoryImpl implements StatsRepository {
+
+    private static final int ID_RESERVE = 1_024;
+
+    private final Path root;
+    private final Map<String, ColumnarDayFile> openFiles;
+
+    private int nextId = -1;
+    private int reservedUntil = -1;
+
+    public LocalStatsRepositoryImpl() {
+        this(Paths.get(AppConfig.get("stats.local.dir",
+                Paths.get(System.getProperty("user.home"), ".system-activity-monitor", "stats").toString())));
+    }
+
+    public LocalStatsRepositoryImpl(Path root) {
+        this.root = root;
+
+        int maxOpen = Math.max(2, AppConfig.getInt("stats.local.openFiles", 16));
+        this.openFiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ColumnarDayFile> eldest) {
+                if (size() <= maxOpen) return false;
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    // ====================================================================================
+    // CREATE
+    // ====================================================================================
+    @Override
+    public synchronized void save(SystemStats s) {
+        try {
+            append(s);
+        } catch (IOException e) {
+            throw new RuntimeException("❌ Помилка при збереженні SystemStats: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void saveAll(List<SystemStats> batch) {
+        if (batch == null || batch.isEmpty()) return;
+
+        try {
+            for (SystemStats s : batch) {
+                append(s);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("❌ Помилка пакетного збереження SystemStats: " + e.getMessage(), e);
+        }
+    }
+
+    private void append(SystemStats s) throws IOException {
+        if (s.getRecordedAt() == null)
+            s.setRecordedAt(LocalDateTime.now().withNano(0));
+
+        if (s.getId() == null) s.setId(allocateId());
+
+        Integer userId = s.getUser().getId();
+        file(userId, s.getRecordedAt().toLocalDate(), true).append(s);
+    }
+
+    /** Наступний id; межа зарезервованого діапазону записується до його використання. */
+    private int allocateId() throws IOException {
+        Path counter = root.resolve("next-id");
+        if (nextId < 0) {
+            nextId = Files.exists(counter)
+                    ? Integer.parseInt(Files.readString(counter, StandardCharsets.UTF_8).trim())
+                    : 1;
+            reservedUntil = nextId;
+        }
+        if (nextId >= reservedUntil) {
+            if (reservedUntil > Integer.MAX_VALUE - ID_RESERVE)
+                throw new IOException("Вичерпано діапазон id локального сховища");
+            reservedUntil += ID_RESERVE;
+            Files.createDirectories(root);
+            Files.writeString(counter, Integer.toString(reservedUntil), StandardCharsets.UTF_8);
+        }
+        return nextId++;
+    }
+
+    // ====================================================================================
+    // READ
+    // ====================================================================================
+    @Override
+    public List<SystemStats> findByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end) {
+        List<SystemStats> list = new ArrayList<>();
+        scan(userId, start, end, null, list::add);
+        return list;
+    }
+
+    @Override
+    public void forEachByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end,
+                                                    Consumer<SystemStats> visitor) {
+        scan(userId, start, end, new SystemStats(), visitor);
+    }
+
+    /** Лінивий по днях: у пам’яті одночасно записи лише одного дня. */
+    @Override
+    public Stream<SystemStats> streamByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start,
+                                                                  LocalDateTime end) {
+        return days(userId, start.toLocalDate(), end.toLocalDate()).stream()
+                .flatMap(day -> {
+                    List<SystemStats> rows = new ArrayList<>();
+                    scanDay(userId, day, start, end, null, rows::add);
+                    return rows.stream();
+                });
+    }
+
+    @Override
+    public synchronized Optional<LocalDateTime> findFirstRecordedAt(Integer userId) {
+        for (LocalDate day : days(userId, LocalDate.MIN, LocalDate.MAX)) {
+            try {
+                ColumnarDayFile f = file(userId, day, false);
+                int first = f == null ? -1 : f.firstTime();
+                if (first >= 0) return Optional.of(LocalDateTime.of(day, LocalTime.ofSecondOfDay(first)));
+            } catch (IOException e) {
+                throw new RuntimeException("❌ Помилка пошуку першого запису SystemStats: " + e.getMessage(), e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized Optional<LocalDateTime> findLastRecordedAt(Integer userId) {
+        List<LocalDate> days = days(userId, LocalDate.MIN, LocalDate.MAX);
+        for (int i = days.size() - 1; i >= 0; i--) {
+            LocalDate day = days.get(i);
+            try {
+                ColumnarDayFile f = file(userId, day, false);
+                int last = f == null ? -1 : f.lastTime();
+                if (last >= 0) return Optional.of(LocalDateTime.of(day, LocalTime.ofSecondOfDay(last)));
+            } catch (IOException e) {
+                throw new RuntimeException("❌ Помилка пошуку останнього запису SystemStats: " + e.getMessage(), e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // ====================================================================================
+    // DELETE
+    // ====================================================================================
+    @Override
+    public synchronized void deleteById(Integer id) {
+        if (id == null || !Files.isDirectory(root)) return;
+
+        try (DirectoryStream<Path> users = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path dir : users) {
+                Integer userId;
+                try {
+                    userId = Integer.valueOf(dir.getFileName().toString());
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                for (LocalDate day : days(userId, LocalDate.MIN, LocalDate.MAX)) {
+                    ColumnarDayFile f = file(userId, day, false);
+                    if (f != null && f.delete(id)) return;
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("❌ Помилка при видаленні SystemStats: " + e.getMessage(), e);
+        }
+    }
+
+    /** Скидає змінені сторінки на диск і закриває всі файли. */
+    public synchronized void close() {
+        for (ColumnarDayFile f : openFiles.values()) {
+            f.force();
+            closeQuietly(f);
+        }
+        openFiles.clear();
+    }
+
+    // ====================================================================================
+    // INTERNAL
+    // ====================================================================================
+    private void scan(Integer userId, LocalDateTime start, LocalDateTime end,
+                      SystemStats reuse, Consumer<SystemStats> visitor) {
+        for (LocalDate day : days(userId, start.toLocalDate(), end.toLocalDate())) {
+            scanDay(userId, day, start, end, reuse, visitor);
+        }
+    }
+
+    private void scanDay(Integer userId, LocalDate day, LocalDateTime start, LocalDateTime end,
+                         SystemStats reuse, Consumer<SystemStats> visitor) {
+        int from = day.equals(start.toLocalDate()) ? start.toLocalTime().toSecondOfDay() : 0;
+        int to = day.equals(end.toLocalDate()) ? end.toLocalTime().toSecondOfDay() : 86_399;
+
+        synchronized (this) {
+            try {
+                ColumnarDayFile f = file(userId, day, false);
+                if (f != null) f.scan(from, to, reuse, visitor);
+            } catch (IOException e) {
+                throw new RuntimeException("❌ Помилка пошуку SystemStats: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /** Дні в [from, to], за які у користувача є файли, за зростанням. */
+    private List<LocalDate> days(Integer userId, LocalDate from, LocalDate to) {
+        Path dir = root.resolve(String.valueOf(userId));
+        if (!Files.isDirectory(dir)) return List.of();
+
+        List<LocalDate> days = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.sam")) {
+            for (Path p : files) {
+                String name = p.getFileName().toString();
+                try {
+                    LocalDate day = LocalDate.parse(name.substring(0, name.length() - 4));
+                    if (!day.isBefore(from) && !day.isAfter(to)) days.add(day);
+                } catch (DateTimeParseException ignored) {}
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("❌ Помилка читання каталогу статистики: " + e.getMessage(), e);
+        }
+
+        Collections.sort(days);
+        return days;
+    }
+
+    private ColumnarDayFile file(Integer userId, LocalDate day, boolean create) throws IOException {
+        String key = userId + "/" + day;
+        ColumnarDayFile f = openFiles.get(key);
+        if (f == null) {
+            f = ColumnarDayFile.open(root.resolve(String.valueOf(userId)), day, create);
+            if (f != null) openFiles.put(key, f);
+        }
+        return f;
+    }
+
+    private static void closeQuietly(ColumnarDayFile f) {
+        try {
+            f.close();
+        } catch (IOException ignored) {}
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.systemactivitymonitor.repository.impl;
+
+import com.example.systemactivitymonitor.model.RollupLevel;
+import com.example.systemactivitymonitor.model.StatsRollup;
+import com.example.systemactivitymonitor.repository.interfaces.RollupRepository;
+import com.example.systemactivitymonitor.util.DatabaseConnection;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class RollupRepositoryImpl implements RollupRepository {
+
+    private static final Gson GSON = new Gson();
+    private static final Type WINDOWS_TYPE = new TypeToken<Map<String, Long>>() {}.getType();
+
+    private static final String SELECT_FOR_UPDATE_SQL = """
+            SELECT * FROM stats_rollup
+            WHERE user_id = ? AND level = ? AND bucket_start = ?
+            FOR UPDATE
+            """;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO stats_rollup (
+                user_id, level, bucket_start, sample_count,
+                cpu_sum, cpu_min, cpu_max,
+                ram_sum, ram_min, ram_max,
+                disk_used_sum, disk_used_min, disk_used_max,
+                keyboard_presses, mouse_clicks, mouse_moves,
+                uptime_max, top_windows_json
+            )
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                sample_count = VALUES(sample_count),
+                cpu_sum = VALUES(cpu_sum), cpu_min = VALUES(cpu_min), cpu_max = VALUES(cpu_max),
+                ram_sum = VALUES(ram_sum), ram_min = VALUES(ram_min), ram_max = VALUES(ram_max),
+                disk_used_sum = VALUES(disk_used_sum),
+                disk_used_min = VALUES(disk_used_min), disk_used_max = VALUES(disk_used_max),
+                keyboard_presses = VALUES(keyboard_presses),
+                mouse_clicks = VALUES(mouse_clicks),
+                mouse_moves = VALUES(mouse_moves),
+                uptime_max = VALUES(uptime_max),
+                top_windows_json = VALUES(top_windows_json)
+            """;
+
+    private static final String WATERMARK_SQL = """
+            INSERT INTO stats_rollup_watermark (user_id, level, rolled_up_until)
+            VALUES (?, ?, ?)
+            ON DUPLICATE KEY UPDATE rolled_up_until = GREATEST(rolled_up_until, VALUES(rolled_up_until))
+            """;
+
+    // ====================================================================================
+    // MERGE (read-modify-write + watermark в одній транзакції)
+    // ====================================================================================
+    @Override
+    public void merge(Integer userId, RollupLevel level, List<StatsRollup> buckets, LocalDateTime rolledUpUntil) {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement select = conn.prepareStatement(SELECT_FOR_UPDATE_SQL);
+                 PreparedStatement upsert = conn.prepareStatement(UPSERT_SQL)) {
+
+                for (StatsRollup bucket : buckets) {
+                    StatsRollup merged = bucket;
+
+                    select.setInt(1, userId);
+                    select.setString(2, level.name());
+                    select.setTimestamp(3, Timestamp.valueOf(bucket.getBucketStart()));
+                    try (ResultSet rs = select.executeQuery()) {
+                        if (rs.next()) {
+                            merged = mapRow(rs);
+                            merged.merge(bucket);
+                        }
+                    }
+
+                    bindUpsert(upsert, userId, level, merged);
+                    upsert.addBatch();
+                }
+                upsert.executeBatch();
+
+                if (rolledUpUntil != null) {
+                    try (PreparedStatement wm = conn.prepareStatement(WATERMARK_SQL)) {
+                        wm.setInt(1, userId);
+                        wm.setString(2, level.name());
+                        wm.setTimestamp(3, Timestamp.valueOf(rolledUpUntil));
+                        wm.executeUpdate();
+                    }
+                }
+
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка збереження агрегатів stats_rollup: " + e.getMessage(), e);
+        }
+    }
+
+    // ====================================================================================
+    // READ
+    // ====================================================================================
+    @Override
+    public List<StatsRollup> findByUserIdAndLevelBetween(Integer userId, RollupLevel level,
+                                                         LocalDateTime from, LocalDateTime to) {
+        String sql = """
+                SELECT * FROM stats_rollup
+                WHERE user_id = ? AND level = ? AND bucket_start >= ? AND bucket_start < ?
+                ORDER BY bucket_start ASC
+                """;
+
+        List<StatsRollup> list = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, userId);
+            ps.setString(2, level.name());
+            ps.setTimestamp(3, Timestamp.valueOf(from));
+            ps.setTimestamp(4, Timestamp.valueOf(to));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapRow(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка читання stats_rollup: " + e.getMessage(), e);
+        }
+
+        return list;
+    }
+
+    @Override
+    public Optional<LocalDateTime> findWatermark(Integer userId, RollupLevel level) {
+        String sql = "SELECT rolled_up_until FROM stats_rollup_watermark WHERE user_id = ? AND level = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, userId);
+            ps.setString(2, level.name());
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    Timestamp ts = rs.getTimestamp(1);
+                    return Optional.ofNullable(ts).map(Timestamp::toLocalDateTime);
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка читання stats_rollup_watermark: " + e.getMessage(), e);
+        }
+
+        return Optional.empty();
+    }
+
+    // ====================================================================================
+    // INTERNAL
+    // ====================================================================================
+    private void bindUpsert(PreparedStatement ps, Integer userId, RollupLevel level, StatsRollup r)
+            throws SQLException {
+        ps.setInt(1, userId);
+        ps.setString(2, level.name());
+        ps.setTimestamp(3, Timestamp.valueOf(r.getBucketStart()));
+        ps.setLong(4, r.getSampleCount());
+
+        ps.setDouble(5, r.getCpuSum());
+        setNullableDouble(ps, 6, r.getCpuMin());
+        setNullableDouble(ps, 7, r.getCpuMax());
+
+        ps.setDouble(8, r.getRamSum());
+        setNullableDouble(ps, 9, r.getRamMin());
+        setNullableDouble(ps, 10, r.getRamMax());
+
+        ps.setDouble(11, r.getDiskUsedSum());
+        setNullableDouble(ps, 12, r.getDiskUsedMin());
+        setNullableDouble(ps, 13, r.getDiskUsedMax());
+
+        ps.setLong(14, r.getKeyboardPresses());
+        ps.setLong(15, r.getMouseClicks());
+        ps.setLong(16, r.getMouseMoves());
+
+        ps.setLong(17, r.getUptimeMax());
+        ps.setString(18, GSON.toJson(r.topWindows(), WINDOWS_TYPE));
+    }
+
+    private static void setNullableDouble(PreparedStatement ps, int index, double value) throws SQLException {
+        if (Double.isNaN(value)) ps.setNull(index, Types.DOUBLE);
+        else ps.setDouble(index, value);
+    }
+
+    private static double getNullableDouble(ResultSet rs, String column) throws SQLException {
+        double v = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : v;
+    }
+
+    private StatsRollup mapRow(ResultSet rs) throws SQLException {
+        StatsRollup r = new StatsRollup(
+                rs.getInt("user_id"),
+                RollupLevel.valueOf(rs.getString("level")),
+                rs.getTimestamp("bucket_start").toLocalDateTime()
+        );
+
+        r.setSampleCount(rs.getLong("sample_count"));
+
+        r.setCpuSum(rs.getDouble("cpu_sum"));
+        r.setCpuMin(getNullableDouble(rs, "cpu_min"));
+        r.setCpuMax(getNullableDouble(rs, "cpu_max"));
+
+        r.setRamSum(rs.getDouble("ram_sum"));
+        r.setRamMin(getNullableDouble(rs, "ram_min"));
+        r.setRamMax(getNullableDouble(rs, "ram_max"));
+
+        r.setDiskUsedSum(rs.getDouble("disk_used_sum"));
+        r.setDiskUsedMin(getNullableDouble(rs, "disk_used_min"));
+        r.setDiskUsedMax(getNullableDouble(rs, "disk_used_max"));
+
+        r.setKeyboardPresses(rs.getLong("keyboard_presses"));
+        r.setMouseClicks(rs.getLong("mouse_clicks"));
+        r.setMouseMoves(rs.getLong("mouse_moves"));
+
+        r.setUptimeMax(rs.getLong("uptime_max"));
+
+        String json = rs.getString("top_windows_json");
+        Map<String, Long> windows = json == null ? null : GSON.fromJson(json, WINDOWS_TYPE);
+        r.setWindowCounts(windows);
+
+        return r;
+    }
+}
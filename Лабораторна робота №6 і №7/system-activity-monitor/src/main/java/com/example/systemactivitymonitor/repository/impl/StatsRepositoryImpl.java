@@ -1,73 +1,170 @@
 package com.example.systemactivitymonitor.repository.impl;
 
+import com.example.systemactivitymonitor.model.RollupLevel;
+import com.example.systemactivitymonitor.model.SpoolPosition;
+import com.example.systemactivitymonitor.model.StatsRollup;
 import com.example.systemactivitymonitor.model.SystemStats;
 import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+import com.example.systemactivitymonitor.repository.interfaces.WindowTitleRepository;
+import com.example.systemactivitymonitor.util.AppConfig;
 import com.example.systemactivitymonitor.util.DatabaseConnection;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class StatsRepositoryImpl implements StatsRepository {
 
+    /** Розмір сторінки для streamByUserIdAndRecordedAtBetween */
+    private static final int PAGE_SIZE = Math.max(100, AppConfig.getInt("stats.stream.pageSize", 5000));
+
+    /**
+     * Заголовки вікон зберігаються як window_title_id (словник window_titles).
+     * Читання бере заголовок JOIN-ом у тому ж запиті; запис визначає id заголовків
+     * до того, як пакет займе з’єднання і відкриє транзакцію (resolveTitleIds).
+     */
+    private final WindowTitleRepository windowTitles;
+
+    public StatsRepositoryImpl() {
+        this(new WindowTitleRepositoryImpl());
+    }
+
+    public StatsRepositoryImpl(WindowTitleRepository windowTitles) {
+        this.windowTitles = windowTitles;
+    }
+
+    private static final String INSERT_SQL = """
+            INSERT INTO system_stats (
+                user_id, cpu_load,
+                ram_used_mb, ram_total_mb,
+                window_title_id,
+                keyboard_presses, mouse_clicks, mouse_moves,
+                system_uptime_seconds,
+                disk_total_gb, disk_free_gb, disk_used_gb,
+                recorded_at
+            )
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
     // ====================================================================================
     // CREATE
     // ====================================================================================
     @Override
     public void save(SystemStats s) {
-        String sql = """
-                INSERT INTO system_stats (
-                    user_id, cpu_load,
-                    ram_used_mb, ram_total_mb,
-                    active_window,
-                    keyboard_presses, mouse_clicks, mouse_moves,
-                    system_uptime_seconds,
-                    disk_total_gb, disk_free_gb, disk_used_gb,
-                    recorded_at
-                )
-                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-                """;
+        resolveTitleIds(List.of(s));
 
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            bindInsert(ps, s);
+            ps.executeUpdate();
+
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (rs.next()) {
+                    s.setId(rs.getInt(1));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка при збереженні SystemStats: " + e.getMessage(), e);
+        }
+    }
+
+    // ====================================================================================
+    // CREATE — batch (один round-trip та одна транзакція на весь пакет)
+    // ====================================================================================
+    @Override
+    public void saveAll(List<SystemStats> batch) {
+        if (batch == null || batch.isEmpty()) return;
+
+        resolveTitleIds(batch);
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try {
+                insertBatch(conn, batch);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
 
-            ps.setInt(1, s.getUser().getId());
-            ps.setBigDecimal(2, s.getCpuLoad());
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка пакетного збереження SystemStats: " + e.getMessage(), e);
+        }
+    }
 
-            ps.setBigDecimal(3, s.getRamUsedMb());
-            ps.setBigDecimal(4, s.getRamTotalMb());
+    // ====================================================================================
+    // CREATE — пакет зі спулу + позиція спулу в одній транзакції
+    // ====================================================================================
+    @Override
+    public void saveAllFromSpool(List<SystemStats> batch, String spoolId, SpoolPosition position) {
+        String sql = """
+                INSERT INTO stats_spool_checkpoint (spool_id, segment_no, segment_offset)
+                VALUES (?, ?, ?)
+                ON DUPLICATE KEY UPDATE segment_no = VALUES(segment_no), segment_offset = VALUES(segment_offset)
+                """;
 
-            ps.setString(5, s.getActiveWindow());
-            ps.setInt(6, s.getKeyboardPresses());
-            ps.setInt(7, s.getMouseClicks());
-            ps.setLong(8, s.getMouseMoves() != null ? s.getMouseMoves() : 0);
+        if (batch != null) resolveTitleIds(batch);
 
-            if (s.getSystemUptimeSeconds() != null)
-                ps.setLong(9, s.getSystemUptimeSeconds());
-            else
-                ps.setNull(9, Types.BIGINT);
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
 
-            ps.setBigDecimal(10, s.getDiskTotalGb());
-            ps.setBigDecimal(11, s.getDiskFreeGb());
-            ps.setBigDecimal(12, s.getDiskUsedGb());
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                if (batch != null && !batch.isEmpty()) {
+                    insertBatch(conn, batch);
+                }
+                ps.setString(1, spoolId);
+                ps.setLong(2, position.getSegment());
+                ps.setLong(3, position.getOffset());
+                ps.executeUpdate();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
 
-            if (s.getRecordedAt() == null)
-                s.setRecordedAt(LocalDateTime.now());
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка перенесення SystemStats зі спулу: " + e.getMessage(), e);
+        }
+    }
 
-            ps.setTimestamp(13, Timestamp.valueOf(s.getRecordedAt()));
+    @Override
+    public Optional<SpoolPosition> findSpoolCheckpoint(String spoolId) {
+        String sql = "SELECT segment_no, segment_offset FROM stats_spool_checkpoint WHERE spool_id = ?";
 
-            ps.executeUpdate();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            try (ResultSet rs = ps.getGeneratedKeys()) {
+            ps.setString(1, spoolId);
+
+            try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    s.setId(rs.getInt(1));
+                    return Optional.of(new SpoolPosition(rs.getLong(1), rs.getLong(2)));
                 }
             }
 
         } catch (SQLException e) {
-            throw new RuntimeException("❌ Помилка при збереженні SystemStats: " + e.getMessage(), e);
+            throw new RuntimeException("❌ Помилка читання позиції спулу: " + e.getMessage(), e);
         }
+
+        return Optional.empty();
     }
 
     // ====================================================================================
@@ -76,9 +173,11 @@ public class StatsRepositoryImpl implements StatsRepository {
     @Override
     public List<SystemStats> findByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end) {
         String sql = """
-                SELECT * FROM system_stats
-                WHERE user_id = ? AND recorded_at BETWEEN ? AND ?
-                ORDER BY recorded_at ASC
+                SELECT s.*, w.title AS window_title
+                FROM system_stats s
+                LEFT JOIN window_titles w ON w.id = s.window_title_id
+                WHERE s.user_id = ? AND s.recorded_at BETWEEN ? AND ?
+                ORDER BY s.recorded_at ASC
                 """;
 
         List<SystemStats> list = new ArrayList<>();
@@ -90,9 +189,10 @@ public class StatsRepositoryImpl implements StatsRepository {
             ps.setTimestamp(2, Timestamp.valueOf(start));
             ps.setTimestamp(3, Timestamp.valueOf(end));
 
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                list.add(mapRow(rs));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapRow(rs));
+                }
             }
 
         } catch (SQLException e) {
@@ -102,6 +202,300 @@ public class StatsRepositoryImpl implements StatsRepository {
         return list;
     }
 
+    // ====================================================================================
+    // READ — streaming (курсор MySQL, без матеріалізації списку)
+    // ====================================================================================
+    @Override
+    public void forEachByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end,
+                                                    Consumer<SystemStats> visitor) {
+        String sql = """
+                SELECT s.*, w.title AS window_title
+                FROM system_stats s
+                LEFT JOIN window_titles w ON w.id = s.window_title_id
+                WHERE s.user_id = ? AND s.recorded_at BETWEEN ? AND ?
+                ORDER BY s.recorded_at ASC, s.id ASC
+                """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // Integer.MIN_VALUE — сигнал драйверу MySQL віддавати рядки по одному
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setInt(1, userId);
+            ps.setTimestamp(2, Timestamp.valueOf(start));
+            ps.setTimestamp(3, Timestamp.valueOf(end));
+
+            SystemStats row = new SystemStats();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    visitor.accept(mapRow(rs, row));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка потокового читання SystemStats: " + e.getMessage(), e);
+        }
+    }
+
+    // ====================================================================================
+    // READ — keyset-пагінація по (recorded_at, id)
+    // ====================================================================================
+    @Override
+    public Stream<SystemStats> streamByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start,
+                                                                  LocalDateTime end) {
+        KeysetPager pager = new KeysetPager(PAGE_SIZE,
+                (afterRecordedAt, afterId, limit) -> fetchPage(userId, start, end, afterRecordedAt, afterId, limit));
+        return StreamSupport.stream(pager, false);
+    }
+
+    private static final String FIRST_PAGE_SQL = """
+            SELECT s.*, w.title AS window_title
+            FROM system_stats s
+            LEFT JOIN window_titles w ON w.id = s.window_title_id
+            WHERE s.user_id = ? AND s.recorded_at BETWEEN ? AND ?
+            ORDER BY s.recorded_at ASC, s.id ASC
+            LIMIT ?
+            """;
+
+    private static final String NEXT_PAGE_SQL = """
+            SELECT s.*, w.title AS window_title
+            FROM system_stats s
+            LEFT JOIN window_titles w ON w.id = s.window_title_id
+            WHERE s.user_id = ? AND s.recorded_at BETWEEN ? AND ?
+              AND s.recorded_at >= ? AND (s.recorded_at > ? OR s.id > ?)
+            ORDER BY s.recorded_at ASC, s.id ASC
+            LIMIT ?
+            """;
+
+    /**
+     * Кожна сторінка — окремий короткий запит "після останнього (recorded_at, id)".
+     * Індекс (user_id, recorded_at) з неявним id у кінці (InnoDB) віддає рядки
+     * вже впорядкованими, тож сторінка N коштує стільки ж, скільки перша — без OFFSET.
+     */
+    private List<SystemStats> fetchPage(Integer userId, LocalDateTime start, LocalDateTime end,
+                                        LocalDateTime afterRecordedAt, int afterId, int limit) {
+        boolean first = afterRecordedAt == null;
+        List<SystemStats> rows = new ArrayList<>(limit);
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(first ? FIRST_PAGE_SQL : NEXT_PAGE_SQL)) {
+
+            int i = 1;
+            ps.setInt(i++, userId);
+            ps.setTimestamp(i++, Timestamp.valueOf(start));
+            ps.setTimestamp(i++, Timestamp.valueOf(end));
+            if (!first) {
+                Timestamp after = Timestamp.valueOf(afterRecordedAt);
+                ps.setTimestamp(i++, after);
+                ps.setTimestamp(i++, after);
+                ps.setInt(i++, afterId);
+            }
+            ps.setInt(i, limit);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapRow(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка посторінкового читання SystemStats: " + e.getMessage(), e);
+        }
+        return rows;
+    }
+
+    /**
+     * Лінивий обхід сторінок: наступна запитується, лише коли поточна вичерпана,
+     * з курсором (recorded_at, id) останнього рядка. Неповна сторінка — остання.
+     */
+    static final class KeysetPager extends Spliterators.AbstractSpliterator<SystemStats> {
+
+        /** Сторінка до limit рядків після (afterRecordedAt, afterId); afterRecordedAt == null — перша. */
+        @FunctionalInterface
+        interface PageQuery {
+            List<SystemStats> fetch(LocalDateTime afterRecordedAt, int afterId, int limit);
+        }
+
+        private final int pageSize;
+        private final PageQuery query;
+
+        private List<SystemStats> page = List.of();
+        private int index;
+        private boolean exhausted;
+        private LocalDateTime lastRecordedAt;
+        private int lastId;
+
+        KeysetPager(int pageSize, PageQuery query) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.pageSize = pageSize;
+            this.query = query;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super SystemStats> action) {
+            if (index >= page.size()) {
+                if (exhausted) return false;
+                page = query.fetch(lastRecordedAt, lastId, pageSize);
+                index = 0;
+                if (page.size() < pageSize) exhausted = true;
+                if (page.isEmpty()) return false;
+
+                SystemStats last = page.get(page.size() - 1);
+                lastRecordedAt = last.getRecordedAt();
+                lastId = last.getId();
+            }
+            action.accept(page.get(index++));
+            return true;
+        }
+    }
+
+    // ====================================================================================
+    // READ — агрегація на боці MySQL
+    // ====================================================================================
+    @Override
+    public boolean supportsAggregatePushdown() {
+        return true;
+    }
+
+    @Override
+    public List<StatsRollup> aggregateByHour(Integer userId, LocalDateTime start, LocalDateTime end) {
+        String sql = """
+                SELECT DATE(recorded_at) AS day, HOUR(recorded_at) AS hour,
+                       COUNT(*) AS sample_count,
+                       SUM(cpu_load) AS cpu_sum, MIN(cpu_load) AS cpu_min, MAX(cpu_load) AS cpu_max,
+                       SUM(ram_used_mb) AS ram_sum, MIN(ram_used_mb) AS ram_min, MAX(ram_used_mb) AS ram_max,
+                       SUM(disk_used_gb) AS disk_sum, MIN(disk_used_gb) AS disk_min, MAX(disk_used_gb) AS disk_max,
+                       SUM(keyboard_presses) AS keys_sum, SUM(mouse_clicks) AS clicks_sum,
+                       SUM(mouse_moves) AS moves_sum,
+                       MAX(system_uptime_seconds) AS uptime_max
+                FROM system_stats
+                WHERE user_id = ? AND recorded_at BETWEEN ? AND ?
+                GROUP BY DATE(recorded_at), HOUR(recorded_at)
+                ORDER BY day, hour
+                """;
+
+        List<StatsRollup> list = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, userId);
+            ps.setTimestamp(2, Timestamp.valueOf(start));
+            ps.setTimestamp(3, Timestamp.valueOf(end));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    LocalDateTime bucket = rs.getDate("day").toLocalDate().atTime(rs.getInt("hour"), 0);
+                    StatsRollup r = new StatsRollup(userId, RollupLevel.HOUR, bucket);
+
+                    r.setSampleCount(rs.getLong("sample_count"));
+                    r.setCpuSum(rs.getDouble("cpu_sum"));
+                    r.setCpuMin(rs.getDouble("cpu_min"));
+                    r.setCpuMax(rs.getDouble("cpu_max"));
+                    r.setRamSum(rs.getDouble("ram_sum"));
+                    r.setRamMin(rs.getDouble("ram_min"));
+                    r.setRamMax(rs.getDouble("ram_max"));
+                    r.setDiskUsedSum(rs.getDouble("disk_sum"));
+                    r.setDiskUsedMin(rs.getDouble("disk_min"));
+                    r.setDiskUsedMax(rs.getDouble("disk_max"));
+                    r.setKeyboardPresses(rs.getLong("keys_sum"));
+                    r.setMouseClicks(rs.getLong("clicks_sum"));
+                    r.setMouseMoves(rs.getLong("moves_sum"));
+                    r.setUptimeMax(rs.getLong("uptime_max"));
+
+                    list.add(r);
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка агрегації SystemStats: " + e.getMessage(), e);
+        }
+
+        return list;
+    }
+
+    @Override
+    public Map<String, Long> countByActiveWindow(Integer userId, LocalDateTime start, LocalDateTime end) {
+        String sql = """
+                SELECT w.title, c.cnt
+                FROM (
+                    SELECT window_title_id, COUNT(*) AS cnt
+                    FROM system_stats
+                    WHERE user_id = ? AND recorded_at BETWEEN ? AND ? AND window_title_id IS NOT NULL
+                    GROUP BY window_title_id
+                ) c
+                JOIN window_titles w ON w.id = c.window_title_id
+                """;
+
+        Map<String, Long> counts = new HashMap<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, userId);
+            ps.setTimestamp(2, Timestamp.valueOf(start));
+            ps.setTimestamp(3, Timestamp.valueOf(end));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    counts.merge(rs.getString("title"), rs.getLong("cnt"), Long::sum);
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка підрахунку вікон SystemStats: " + e.getMessage(), e);
+        }
+
+        return counts;
+    }
+
+    @Override
+    public Optional<LocalDateTime> findFirstRecordedAt(Integer userId) {
+        String sql = "SELECT MIN(recorded_at) FROM system_stats WHERE user_id = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, userId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    Timestamp ts = rs.getTimestamp(1);
+                    return Optional.ofNullable(ts).map(Timestamp::toLocalDateTime);
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка пошуку першого запису SystemStats: " + e.getMessage(), e);
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<LocalDateTime> findLastRecordedAt(Integer userId) {
+        String sql = "SELECT MAX(recorded_at) FROM system_stats WHERE user_id = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, userId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    Timestamp ts = rs.getTimestamp(1);
+                    return Optional.ofNullable(ts).map(Timestamp::toLocalDateTime);
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка пошуку останнього запису SystemStats: " + e.getMessage(), e);
+        }
+
+        return Optional.empty();
+    }
+
     // ====================================================================================
     // DELETE
     // ====================================================================================
@@ -120,32 +514,109 @@ public class StatsRepositoryImpl implements StatsRepository {
         }
     }
 
+    // ====================================================================================
+    // INTERNAL — id заголовків (до того, як пакет займе з’єднання)
+    // ====================================================================================
+    /**
+     * Новий заголовок — окремий запит словника на власному з’єднанні; робимо це до
+     * getConnection() пакета, щоб не тримати два з’єднання пулу і не розширювати транзакцію.
+     */
+    private void resolveTitleIds(List<SystemStats> batch) {
+        for (SystemStats s : batch) {
+            if (s.getWindowTitleId() == null && s.getActiveWindow() != null)
+                s.setWindowTitleId(windowTitles.findOrCreateId(s.getActiveWindow()));
+        }
+    }
+
+    // ====================================================================================
+    // INTERNAL — batch insert (транзакцією керує викликач)
+    // ====================================================================================
+    private void insertBatch(Connection conn, List<SystemStats> batch) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (SystemStats s : batch) {
+                bindInsert(ps, s);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                int i = 0;
+                while (rs.next() && i < batch.size()) {
+                    batch.get(i++).setId(rs.getInt(1));
+                }
+            }
+        }
+    }
+
+    // ====================================================================================
+    // INTERNAL — INSERT binder
+    // ====================================================================================
+    private void bindInsert(PreparedStatement ps, SystemStats s) throws SQLException {
+        ps.setInt(1, s.getUser().getId());
+        ps.setBigDecimal(2, s.getCpuLoad());
+
+        ps.setBigDecimal(3, s.getRamUsedMb());
+        ps.setBigDecimal(4, s.getRamTotalMb());
+
+        if (s.getWindowTitleId() != null)
+            ps.setInt(5, s.getWindowTitleId());
+        else
+            ps.setNull(5, Types.INTEGER);
+        ps.setInt(6, s.getKeyboardPresses() != null ? s.getKeyboardPresses() : 0);
+        ps.setInt(7, s.getMouseClicks() != null ? s.getMouseClicks() : 0);
+        ps.setLong(8, s.getMouseMoves() != null ? s.getMouseMoves() : 0);
+
+        if (s.getSystemUptimeSeconds() != null)
+            ps.setLong(9, s.getSystemUptimeSeconds());
+        else
+            ps.setNull(9, Types.BIGINT);
+
+        ps.setBigDecimal(10, s.getDiskTotalGb());
+        ps.setBigDecimal(11, s.getDiskFreeGb());
+        ps.setBigDecimal(12, s.getDiskUsedGb());
+
+        if (s.getRecordedAt() == null)
+            s.setRecordedAt(LocalDateTime.now());
+
+        ps.setTimestamp(13, Timestamp.valueOf(s.getRecordedAt()));
+    }
+
     // ====================================================================================
     // INTERNAL — ResultSet mapper
     // ====================================================================================
     private SystemStats mapRow(ResultSet rs) throws SQLException {
-        SystemStats s = new SystemStats();
+        return mapRow(rs, new SystemStats());
+    }
 
+    /** Заповнює наявний об’єкт (для потокового читання). */
+    private SystemStats mapRow(ResultSet rs, SystemStats s) throws SQLException {
         s.setId(rs.getInt("id"));
         s.setCpuLoad(rs.getBigDecimal("cpu_load"));
 
         s.setRamUsedMb(rs.getBigDecimal("ram_used_mb"));
         s.setRamTotalMb(rs.getBigDecimal("ram_total_mb"));
 
-        s.setActiveWindow(rs.getString("active_window"));
+        int titleId = rs.getInt("window_title_id");
+        if (rs.wasNull()) {
+            s.setWindowTitleId(null);
+            s.setActiveWindow(null);
+        } else {
+            s.setWindowTitleId(titleId);
+            s.setActiveWindow(rs.getString("window_title"));
+        }
         s.setKeyboardPresses(rs.getInt("keyboard_presses"));
         s.setMouseClicks(rs.getInt("mouse_clicks"));
         s.setMouseMoves(rs.getLong("mouse_moves"));
 
         long uptime = rs.getLong("system_uptime_seconds");
-        if (!rs.wasNull()) s.setSystemUptimeSeconds(uptime);
+        s.setSystemUptimeSeconds(rs.wasNull() ? null : uptime);
 
         s.setDiskTotalGb(rs.getBigDecimal("disk_total_gb"));
         s.setDiskFreeGb(rs.getBigDecimal("disk_free_gb"));
         s.setDiskUsedGb(rs.getBigDecimal("disk_used_gb"));
 
         Timestamp ts = rs.getTimestamp("recorded_at");
-        if (ts != null) s.setRecordedAt(ts.toLocalDateTime());
+        s.setRecordedAt(ts != null ? ts.toLocalDateTime() : null);
 
         return s;
     }
@@ -0,0 +1,111 @@
+package com.example.systemactivitymonitor.repository.impl;
+
+import com.example.systemactivitymonitor.repository.interfaces.WindowTitleRepository;
+import com.example.systemactivitymonitor.util.AppConfig;
+import com.example.systemactivitymonitor.util.DatabaseConnection;
+
+import java.sql.*;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * WindowTitleRepositoryImpl — словник window_titles з двобічним кешем у пам’яті.
+ *
+ * ✔ title → id і id → title кешуються: повторний заголовок не йде в БД
+ * ✔ Новий заголовок — один запит INSERT ... ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id),
+ *   що повертає id і для нового, і для вже наявного рядка (без гонки SELECT/INSERT)
+ * ✔ Заголовки довші за 255 символів обрізаються
+ * ✔ Кеш — LRU на window.titles.cacheSize (65536) записів за id: давно не бачені заголовки
+ *   витісняються, а не блокують кешування нових
+ * ✔ Читання system_stats бере заголовок JOIN-ом, тож findTitleById на шляху читання не потрібен;
+ *   запис визначає id до відкриття транзакції пакета (StatsRepositoryImpl)
+ */
+public class WindowTitleRepositoryImpl implements WindowTitleRepository {
+
+    private final int maxCached = Math.max(16, AppConfig.getInt("window.titles.cacheSize", 65_536));
+
+    private final Map<String, Integer> idsByTitle = new HashMap<>();
+    private final Map<Integer, String> titlesById = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            if (size() <= maxCached) return false;
+            idsByTitle.remove(eldest.getValue());
+            return true;
+        }
+    };
+
+    @Override
+    public Integer findOrCreateId(String title) {
+        if (title == null) return null;
+        if (title.length() > MAX_TITLE_LENGTH) title = title.substring(0, MAX_TITLE_LENGTH);
+
+        Integer id = cachedId(title);
+        if (id != null) return id;
+
+        String sql = """
+                INSERT INTO window_titles (title) VALUES (?)
+                ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)
+                """;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            ps.setString(1, title);
+            ps.executeUpdate();
+
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (!rs.next()) throw new SQLException("window_titles: id не повернуто");
+                id = rs.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка збереження заголовка вікна: " + e.getMessage(), e);
+        }
+
+        remember(id, title);
+        return id;
+    }
+
+    @Override
+    public Optional<String> findTitleById(int id) {
+        String cached;
+        synchronized (this) {
+            cached = titlesById.get(id);
+        }
+        if (cached != null) return Optional.of(cached);
+
+        String sql = "SELECT title FROM window_titles WHERE id = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, id);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    String title = rs.getString(1);
+                    remember(id, title);
+                    return Optional.of(title);
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка пошуку заголовка вікна: " + e.getMessage(), e);
+        }
+
+        return Optional.empty();
+    }
+
+    private synchronized Integer cachedId(String title) {
+        Integer id = idsByTitle.get(title);
+        if (id != null) titlesById.get(id); // оновлює порядок LRU
+        return id;
+    }
+
+    private synchronized void remember(int id, String title) {
+        titlesById.put(id, title);
+        idsByTitle.put(title, id);
+    }
+}
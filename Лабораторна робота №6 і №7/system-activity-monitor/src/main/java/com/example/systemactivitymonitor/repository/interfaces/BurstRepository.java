@@ -0,0 +1,26 @@
+package com.example.systemactivitymonitor.repository.interfaces;
+
+import com.example.systemactivitymonitor.model.BurstAggregate;
+import com.example.systemactivitymonitor.model.CpuSpike;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Репозиторій burst-режиму: агрегати вибірок (burst_aggregate)
+ * і сплески CPU з сирим вікном вибірок (burst_spike / burst_spike_sample).
+ */
+public interface BurstRepository {
+
+    /** Зберігає агрегати одним пакетом (повторний кошик того ж користувача перезаписується) */
+    void saveAggregates(List<BurstAggregate> aggregates);
+
+    /** Зберігає сплеск і його вибірки в одній транзакції; заповнює id */
+    void saveSpike(CpuSpike spike);
+
+    /** Агрегати з bucket_start у [from, to) у порядку часу */
+    List<BurstAggregate> findAggregatesBetween(Integer userId, LocalDateTime from, LocalDateTime to);
+
+    /** Сплески, що почалися у [from, to), разом із вибірками */
+    List<CpuSpike> findSpikesBetween(Integer userId, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,18 @@
+package com.example.systemactivitymonitor.repository.interfaces;
+
+import com.example.systemactivitymonitor.model.CpuBreakdownSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Репозиторій розбивки CPU по ядрах і процесах (cpu_breakdown).
+ */
+public interface CpuBreakdownRepository {
+
+    /** Зберігає знімок; заповнює id */
+    void save(CpuBreakdownSnapshot snapshot);
+
+    /** Знімки з recorded_at у [from, to) у порядку часу */
+    List<CpuBreakdownSnapshot> findByUserIdBetween(Integer userId, LocalDateTime from, LocalDateTime to);
+}
@@ -19,5 +19,8 @@ public interface IdleRepository {
     /** Повертає всі простої конкретного користувача у межах часового діапазону */
     List<IdleTime> findByUserIdAndStartTimeBetween(Integer userId, LocalDateTime start, LocalDateTime end);
 
+    /** Повертає незавершені простої (end_time IS NULL) — після аварійного завершення програми */
+    List<IdleTime> findOpenByUserId(Integer userId);
+
     void deleteById(Integer id);
 }
@@ -0,0 +1,28 @@
+package com.example.systemactivitymonitor.repository.interfaces;
+
+import com.example.systemactivitymonitor.model.RollupLevel;
+import com.example.systemactivitymonitor.model.StatsRollup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Репозиторій агрегатів system_stats (stats_rollup) та позначок,
+ * до якого моменту сирі дані вже згорнуті (stats_rollup_watermark).
+ */
+public interface RollupRepository {
+
+    /**
+     * Додає агрегати до вже збережених (read-modify-write в одній транзакції)
+     * і пересуває позначку рівня вперед до rolledUpUntil (якщо вона не null).
+     */
+    void merge(Integer userId, RollupLevel level, List<StatsRollup> buckets, LocalDateTime rolledUpUntil);
+
+    /** Агрегати рівня з bucket_start у [from, to) у порядку часу */
+    List<StatsRollup> findByUserIdAndLevelBetween(Integer userId, RollupLevel level,
+                                                  LocalDateTime from, LocalDateTime to);
+
+    /** Момент, до якого (виключно) сирі дані користувача вже згорнуті на цьому рівні */
+    Optional<LocalDateTime> findWatermark(Integer userId, RollupLevel level);
+}
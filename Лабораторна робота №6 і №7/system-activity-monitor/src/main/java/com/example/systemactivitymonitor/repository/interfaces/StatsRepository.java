@@ -1,8 +1,18 @@
 package com.example.systemactivitymonitor.repository.interfaces;
 
+import com.example.systemactivitymonitor.model.RollupLevel;
+import com.example.systemactivitymonitor.model.SpoolPosition;
+import com.example.systemactivitymonitor.model.StatsRollup;
 import com.example.systemactivitymonitor.model.SystemStats;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Репозиторій для збору системної статистики:
@@ -13,9 +23,87 @@ public interface StatsRepository {
     /** Зберігає новий запис системної статистики */
     void save(SystemStats systemStats);
 
+    /** Зберігає пакет записів одним JDBC-батчем (використовується write-behind конвеєром) */
+    void saveAll(List<SystemStats> batch);
+
+    // ---------------- Перенесення з локального спулу ----------------
+
+    /**
+     * Зберігає пакет зі спулу разом із позицією, до якої він прочитаний.
+     * Реалізація з транзакціями робить це атомарно (повтор після збою не дублює записи);
+     * за замовчуванням — звичайний saveAll.
+     */
+    default void saveAllFromSpool(List<SystemStats> batch, String spoolId, SpoolPosition position) {
+        saveAll(batch);
+    }
+
+    /** Остання позиція спулу, записана разом із пакетом (якщо реалізація її зберігає) */
+    default Optional<SpoolPosition> findSpoolCheckpoint(String spoolId) {
+        return Optional.empty();
+    }
+
     /** Повертає статистику конкретного користувача в межах заданого періоду */
     List<SystemStats> findByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end);
 
+    /**
+     * Потоково передає записи періоду у visitor, не накопичуючи їх у пам’яті.
+     * Для економії алокацій visitor отримує той самий екземпляр SystemStats —
+     * зберігати посилання на нього не можна.
+     */
+    void forEachByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end,
+                                             Consumer<SystemStats> visitor);
+
+    /**
+     * Лінивий потік записів періоду, впорядкованих за (recorded_at, id).
+     * Читається сторінками фіксованого розміру (keyset-пагінація), тож у пам’яті
+     * одночасно лише одна сторінка, а з’єднання з БД між сторінками не утримується —
+     * споживач може працювати з кожним записом скільки завгодно довго.
+     */
+    Stream<SystemStats> streamByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end);
+
+    // ---------------- Агрегація на боці СУБД ----------------
+
+    /**
+     * Підказка: агрегати нижче рахує сервер БД, і вони дешевші за потокове читання рядків.
+     * Самі методи працюють у будь-якій реалізації.
+     */
+    default boolean supportsAggregatePushdown() {
+        return false;
+    }
+
+    /**
+     * Погодинні агрегати (COUNT, SUM/MIN/MAX для CPU, RAM, диска, MAX аптайму),
+     * згруповані за DATE(recorded_at), HOUR(recorded_at). Результат — кошики рівня HOUR без вікон.
+     * За замовчуванням — один потоковий прохід forEachByUserIdAndRecordedAtBetween.
+     */
+    default List<StatsRollup> aggregateByHour(Integer userId, LocalDateTime start, LocalDateTime end) {
+        TreeMap<LocalDateTime, StatsRollup> hours = new TreeMap<>();
+        forEachByUserIdAndRecordedAtBetween(userId, start, end, s -> {
+            if (s.getRecordedAt() == null) return;
+            hours.computeIfAbsent(RollupLevel.HOUR.bucketStart(s.getRecordedAt()),
+                    k -> new StatsRollup(userId, RollupLevel.HOUR, k)).accept(s, null);
+        });
+        return new ArrayList<>(hours.values());
+    }
+
+    /**
+     * Кількість записів на кожен заголовок активного вікна за період.
+     * За замовчуванням — один потоковий прохід forEachByUserIdAndRecordedAtBetween.
+     */
+    default Map<String, Long> countByActiveWindow(Integer userId, LocalDateTime start, LocalDateTime end) {
+        Map<String, Long> counts = new HashMap<>();
+        forEachByUserIdAndRecordedAtBetween(userId, start, end, s -> {
+            if (s.getActiveWindow() != null) counts.merge(s.getActiveWindow(), 1L, Long::sum);
+        });
+        return counts;
+    }
+
+    /** Час найпершого запису користувача (для догортання агрегатів) */
+    Optional<LocalDateTime> findFirstRecordedAt(Integer userId);
+
+    /** Час останнього запису користувача (оцінка моменту аварійного завершення) */
+    Optional<LocalDateTime> findLastRecordedAt(Integer userId);
+
     /** Видаляє запис статистики за ID */
     void deleteById(Integer id);
 }
@@ -0,0 +1,19 @@
+package com.example.systemactivitymonitor.repository.interfaces;
+
+import java.util.Optional;
+
+/**
+ * Словник заголовків вікон (window_titles): заголовок ↔ int id.
+ * system_stats посилається на нього через window_title_id.
+ */
+public interface WindowTitleRepository {
+
+    /** Максимальна довжина заголовка в словнику (VARCHAR(255)) */
+    int MAX_TITLE_LENGTH = 255;
+
+    /** id заголовка; якщо його ще немає — додає. null для null-заголовка */
+    Integer findOrCreateId(String title);
+
+    /** Заголовок за id */
+    Optional<String> findTitleById(int id);
+}
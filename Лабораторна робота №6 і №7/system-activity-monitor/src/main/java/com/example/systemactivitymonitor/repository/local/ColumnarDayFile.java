@@ -0,0 +1,279 @@
+package com.example.systemactivitymonitor.repository.local;
+
+import com.example.systemactivitymonitor.model.SystemStats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * ColumnarDayFile — денний файл статистики одного користувача (memory-mapped, лише дописування).
+ *
+ * Формат:
+ *   [заголовок файлу 32 B: magic, version, BLOCK_ROWS]
+ *   [блок 0][блок 1]...
+ * Блок — BLOCK_ROWS рядків, розкладених по колонках фіксованої ширини:
+ *   [заголовок блоку 16 B: rowCount, minTime, maxTime][time][cpu][ramUsed]...[uptime]
+ *
+ * ✔ Час — секунда доби (int); десяткові метрики — сотні частки в int (як DECIMAL(…,2));
+ *   null — MIN_VALUE відповідного типу
+ * ✔ active_window — код зі словника WindowDictionary (файл .dict поряд)
+ * ✔ Розріджений індекс часу: min/max у заголовку кожного блоку — при скануванні
+ *   блоки поза діапазоном пропускаються цілком
+ * ✔ rowCount оновлюється після запису всіх колонок — обірваний запис не видно читачам
+ * ✔ Версія 2 — колонка id (призначає LocalStatsRepositoryImpl); видалений рядок — надгробок:
+ *   id зі знаком мінус, scan() такі рядки пропускає. Файли версії 1 (без id) читаються
+ *   й дописуються як раніше, але їхні рядки видалити не можна
+ *
+ * Не потокобезпечний: доступ синхронізує LocalStatsRepositoryImpl.
+ */
+public final class ColumnarDayFile implements Closeable {
+
+    private static final int MAGIC = 0x53414D43; // "SAMC"
+    private static final int VERSION = 2;
+    private static final int FILE_HEADER = 32;
+    private static final int BLOCK_HEADER = 16;
+    static final int BLOCK_ROWS = 4096;
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    // ---------- Колонки ----------
+    private static final int TIME = 0, CPU = 1, RAM_USED = 2, RAM_TOTAL = 3,
+            DISK_TOTAL = 4, DISK_FREE = 5, DISK_USED = 6, WINDOW = 7,
+            KEYS = 8, CLICKS = 9, MOVES = 10, UPTIME = 11, ID = 12;
+    private static final int[] WIDTH = {4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 8, 8, 4};
+
+    private static final int[] OFFSET = new int[WIDTH.length];
+    /** Версія 1 — ті самі колонки без останньої (ID), тож зсуви решти колонок збігаються. */
+    private static final int BLOCK_SIZE_V1;
+    private static final int BLOCK_SIZE_V2;
+
+    static {
+        int offset = BLOCK_HEADER;
+        for (int c = 0; c < WIDTH.length; c++) {
+            OFFSET[c] = offset;
+            offset += WIDTH[c] * BLOCK_ROWS;
+        }
+        BLOCK_SIZE_V1 = OFFSET[ID];
+        BLOCK_SIZE_V2 = offset;
+    }
+
+    private final LocalDate day;
+    private final FileChannel channel;
+    private final WindowDictionary dictionary;
+    private final List<MappedByteBuffer> blocks = new ArrayList<>();
+    private boolean hasIds = true;
+    private int blockSize = BLOCK_SIZE_V2;
+
+    private ColumnarDayFile(LocalDate day, FileChannel channel, WindowDictionary dictionary) {
+        this.day = day;
+        this.channel = channel;
+        this.dictionary = dictionary;
+    }
+
+    /** Відкриває файл дня; якщо його немає і create == false — повертає null. */
+    public static ColumnarDayFile open(Path dir, LocalDate day, boolean create) throws IOException {
+        Path data = dir.resolve(day + ".sam");
+        if (!create && !Files.exists(data)) return null;
+
+        Files.createDirectories(dir);
+        FileChannel channel = FileChannel.open(data, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ColumnarDayFile file = new ColumnarDayFile(day, channel, new WindowDictionary(dir.resolve(day + ".dict")));
+            file.init();
+            return file;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void init() throws IOException {
+        long size = channel.size();
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_HEADER);
+
+        if (size == 0) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putInt(8, BLOCK_ROWS);
+            return;
+        }
+        int version = header.getInt(4);
+        if (header.getInt(0) != MAGIC || header.getInt(8) != BLOCK_ROWS || version < 1 || version > VERSION) {
+            throw new IOException("Невідомий формат файлу статистики за " + day);
+        }
+        hasIds = version >= 2;
+        blockSize = hasIds ? BLOCK_SIZE_V2 : BLOCK_SIZE_V1;
+
+        long blockCount = (size - FILE_HEADER) / blockSize;
+        for (int i = 0; i < blockCount; i++) {
+            blocks.add(mapBlock(i));
+        }
+    }
+
+    private MappedByteBuffer mapBlock(int index) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, FILE_HEADER + (long) index * blockSize, blockSize);
+    }
+
+    // =======================================================================
+    // APPEND
+    // =======================================================================
+    public void append(SystemStats s) throws IOException {
+        MappedByteBuffer block = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+        if (block == null || block.getInt(0) == BLOCK_ROWS) {
+            block = mapBlock(blocks.size());
+            block.putInt(4, Integer.MAX_VALUE);
+            block.putInt(8, -1);
+            blocks.add(block);
+        }
+
+        int row = block.getInt(0);
+        int time = s.getRecordedAt().toLocalTime().toSecondOfDay();
+
+        block.putInt(OFFSET[TIME] + row * 4, time);
+        block.putInt(OFFSET[CPU] + row * 4, encode(s.getCpuLoad()));
+        block.putInt(OFFSET[RAM_USED] + row * 4, encode(s.getRamUsedMb()));
+        block.putInt(OFFSET[RAM_TOTAL] + row * 4, encode(s.getRamTotalMb()));
+        block.putInt(OFFSET[DISK_TOTAL] + row * 4, encode(s.getDiskTotalGb()));
+        block.putInt(OFFSET[DISK_FREE] + row * 4, encode(s.getDiskFreeGb()));
+        block.putInt(OFFSET[DISK_USED] + row * 4, encode(s.getDiskUsedGb()));
+        block.putInt(OFFSET[WINDOW] + row * 4, dictionary.code(s.getActiveWindow()));
+        block.putInt(OFFSET[KEYS] + row * 4, s.getKeyboardPresses() != null ? s.getKeyboardPresses() : 0);
+        block.putInt(OFFSET[CLICKS] + row * 4, s.getMouseClicks() != null ? s.getMouseClicks() : 0);
+        block.putLong(OFFSET[MOVES] + row * 8, s.getMouseMoves() != null ? s.getMouseMoves() : 0);
+        block.putLong(OFFSET[UPTIME] + row * 8, s.getSystemUptimeSeconds() != null ? s.getSystemUptimeSeconds() : NULL_LONG);
+        if (hasIds) block.putInt(OFFSET[ID] + row * 4, s.getId() != null ? s.getId() : 0);
+
+        if (time < block.getInt(4)) block.putInt(4, time);
+        if (time > block.getInt(8)) block.putInt(8, time);
+        block.putInt(0, row + 1);
+    }
+
+    // =======================================================================
+    // SCAN
+    // =======================================================================
+    /**
+     * Передає у visitor рядки з часом у [fromSec, toSec] (секунди доби, включно)
+     * у порядку запису. reuse — об’єкт для заповнення; null — новий на кожен рядок.
+     */
+    public void scan(int fromSec, int toSec, SystemStats reuse, Consumer<SystemStats> visitor) {
+        for (MappedByteBuffer block : blocks) {
+            int rows = block.getInt(0);
+            if (rows == 0 || block.getInt(8) < fromSec || block.getInt(4) > toSec) continue;
+
+            for (int row = 0; row < rows; row++) {
+                int time = block.getInt(OFFSET[TIME] + row * 4);
+                if (time < fromSec || time > toSec) continue;
+                if (hasIds && block.getInt(OFFSET[ID] + row * 4) < 0) continue; // видалений
+
+                visitor.accept(read(block, row, time, reuse != null ? reuse : new SystemStats()));
+            }
+        }
+    }
+
+    // =======================================================================
+    // DELETE
+    // =======================================================================
+    /**
+     * Позначає рядок з цим id видаленим (надгробок — id зі знаком мінус).
+     * @return false — рядка немає у файлі, він уже видалений або файл версії 1
+     */
+    public boolean delete(int id) {
+        if (!hasIds || id <= 0) return false;
+
+        for (MappedByteBuffer block : blocks) {
+            int rows = block.getInt(0);
+            for (int row = 0; row < rows; row++) {
+                int at = OFFSET[ID] + row * 4;
+                if (block.getInt(at) == id) {
+                    block.putInt(at, -id);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Найменший час у файлі (секунда доби) або -1, якщо рядків немає (видалені рядки враховуються). */
+    public int firstTime() {
+        int min = Integer.MAX_VALUE;
+        for (MappedByteBuffer block : blocks) {
+            if (block.getInt(0) > 0) min = Math.min(min, block.getInt(4));
+        }
+        return min == Integer.MAX_VALUE ? -1 : min;
+    }
+
+    public int lastTime() {
+        int max = -1;
+        for (MappedByteBuffer block : blocks) {
+            if (block.getInt(0) > 0) max = Math.max(max, block.getInt(8));
+        }
+        return max;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    private SystemStats read(MappedByteBuffer block, int row, int time, SystemStats s) {
+        int id = hasIds ? block.getInt(OFFSET[ID] + row * 4) : 0;
+        s.setId(id > 0 ? id : null);
+        s.setRecordedAt(LocalDateTime.of(day, LocalTime.ofSecondOfDay(time)));
+        s.setCpuLoad(decode(block.getInt(OFFSET[CPU] + row * 4)));
+        s.setRamUsedMb(decode(block.getInt(OFFSET[RAM_USED] + row * 4)));
+        s.setRamTotalMb(decode(block.getInt(OFFSET[RAM_TOTAL] + row * 4)));
+        s.setDiskTotalGb(decode(block.getInt(OFFSET[DISK_TOTAL] + row * 4)));
+        s.setDiskFreeGb(decode(block.getInt(OFFSET[DISK_FREE] + row * 4)));
+        s.setDiskUsedGb(decode(block.getInt(OFFSET[DISK_USED] + row * 4)));
+        s.setActiveWindow(dictionary.title(block.getInt(OFFSET[WINDOW] + row * 4)));
+        s.setKeyboardPresses(block.getInt(OFFSET[KEYS] + row * 4));
+        s.setMouseClicks(block.getInt(OFFSET[CLICKS] + row * 4));
+        s.setMouseMoves(block.getLong(OFFSET[MOVES] + row * 8));
+
+        long uptime = block.getLong(OFFSET[UPTIME] + row * 8);
+        s.setSystemUptimeSeconds(uptime == NULL_LONG ? null : uptime);
+        return s;
+    }
+
+    // ---------- Фіксована кома (2 знаки) ----------
+    private static int encode(BigDecimal value) {
+        if (value == null) return NULL_INT;
+        long hundredths = value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+        return (int) Math.max(Integer.MIN_VALUE + 1, Math.min(Integer.MAX_VALUE, hundredths));
+    }
+
+    private static BigDecimal decode(int hundredths) {
+        return hundredths == NULL_INT ? null : BigDecimal.valueOf(hundredths, 2);
+    }
+
+    // =======================================================================
+    // CLOSE
+    // =======================================================================
+    public void force() {
+        for (MappedByteBuffer block : blocks) block.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        blocks.clear();
+        try {
+            dictionary.close();
+        } finally {
+            channel.close();
+        }
+    }
+}
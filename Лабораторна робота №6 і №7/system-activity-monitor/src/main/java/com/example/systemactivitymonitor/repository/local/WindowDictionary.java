@@ -0,0 +1,71 @@
+package com.example.systemactivitymonitor.repository.local;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WindowDictionary — словник заголовків вікон для колонки active_window одного денного файлу.
+ *
+ * ✔ Заголовок зберігається один раз, у колонці — лише int-код (-1 — null)
+ * ✔ Файл .dict — рядки UTF-8 у порядку кодів, лише дописування
+ * ✔ Новий заголовок записується на диск раніше за рядок, що на нього посилається
+ *
+ * Переведення рядка у заголовку замінюються пробілом.
+ */
+final class WindowDictionary implements Closeable {
+
+    static final int NULL_CODE = -1;
+
+    private final FileChannel channel;
+    private final List<String> titles = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    WindowDictionary(Path path) throws IOException {
+        if (Files.exists(path)) {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                codes.putIfAbsent(line, titles.size());
+                titles.add(line);
+            }
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    int code(String title) throws IOException {
+        if (title == null) return NULL_CODE;
+
+        String clean = title.indexOf('\n') >= 0 || title.indexOf('\r') >= 0
+                ? title.replace('\n', ' ').replace('\r', ' ')
+                : title;
+
+        Integer code = codes.get(clean);
+        if (code != null) return code;
+
+        ByteBuffer bytes = ByteBuffer.wrap((clean + "\n").getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) channel.write(bytes);
+
+        code = titles.size();
+        titles.add(clean);
+        codes.put(clean, code);
+        return code;
+    }
+
+    String title(int code) {
+        return code >= 0 && code < titles.size() ? titles.get(code) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
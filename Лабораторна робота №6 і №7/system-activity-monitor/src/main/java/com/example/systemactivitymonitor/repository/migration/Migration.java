@@ -0,0 +1,33 @@
+package com.example.systemactivitymonitor.repository.migration;
+
+/**
+ * Одна версійна міграція схеми: SQL-скрипт у ресурсах db/migration.
+ * Опційна міграція виконується лише коли увімкнено її ключ у AppConfig.
+ */
+public class Migration {
+
+    private final int version;
+    private final String description;
+    private final String resource;
+    private final String enabledKey;
+
+    public Migration(int version, String description, String resource) {
+        this(version, description, resource, null);
+    }
+
+    public Migration(int version, String description, String resource, String enabledKey) {
+        this.version = version;
+        this.description = description;
+        this.resource = resource;
+        this.enabledKey = enabledKey;
+    }
+
+    public int getVersion() { return version; }
+    public String getDescription() { return description; }
+    public String getResource() { return resource; }
+    public String getEnabledKey() { return enabledKey; }
+
+    public boolean isOptional() {
+        return enabledKey != null;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.systemactivitymonitor.repository.migration;
+
+import com.example.systemactivitymonitor.util.AppConfig;
+import com.example.systemactivitymonitor.util.DatabaseConnection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SchemaMigrator — версійні міграції схеми БД.
+ *
+ * ✔ Застосовані версії зберігаються в schema_version
+ * ✔ Міграції виконуються строго за зростанням версії, кожна — один раз
+ * ✔ Опційна міграція, вимкнена в конфігурації, пропускається і не блокує наступні;
+ *   якщо її увімкнути пізніше — буде застосована при наступному запуску
+ * ✔ DDL у MySQL не транзакційний: при помилці версія не записується, зупиняємось
+ * ✔ Помилки не ковтаються: міграція, яка може зустріти вже готову схему (БД зі свіжого
+ *   system_activity_monitor.sql), сама перевіряє information_schema і виконує DDL
+ *   через PREPARE лише коли він потрібен (див. V2, V3, V5)
+ *
+ * Вимкнути автоматичний запуск: -Dsam.db.migrate=false
+ */
+public final class SchemaMigrator {
+
+    public static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "baseline", "/db/migration/V1__baseline.sql"),
+            new Migration(2, "user_time_indexes", "/db/migration/V2__user_time_indexes.sql"),
+            new Migration(3, "partition_system_stats", "/db/migration/V3__partition_system_stats.sql",
+                    "db.partitioning.enabled"),
+            new Migration(4, "stats_spool_checkpoint", "/db/migration/V4__stats_spool_checkpoint.sql"),
+            new Migration(5, "window_titles", "/db/migration/V5__window_titles.sql"),
+            new Migration(6, "burst_sampling", "/db/migration/V6__burst_sampling.sql"),
+            new Migration(7, "cpu_breakdown", "/db/migration/V7__cpu_breakdown.sql")
+    );
+
+    private static final String CREATE_VERSION_TABLE = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version INT PRIMARY KEY,
+                description VARCHAR(255) NOT NULL,
+                installed_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP
+            )
+            """;
+
+    private SchemaMigrator() {}
+
+    /** Застосовує всі нові міграції; повертає кількість застосованих. */
+    public static int migrate() {
+        if (!AppConfig.getBoolean("db.migrate", true)) return 0;
+
+        int applied = 0;
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            try (Statement st = conn.createStatement()) {
+                st.execute(CREATE_VERSION_TABLE);
+            }
+
+            Set<Integer> installed = installedVersions(conn);
+
+            for (Migration m : MIGRATIONS) {
+                if (installed.contains(m.getVersion())) continue;
+                if (m.isOptional() && !AppConfig.getBoolean(m.getEnabledKey(), false)) continue;
+
+                System.out.println("🗄 Міграція V" + m.getVersion() + " — " + m.getDescription());
+                // інструкції — на одному з’єднанні: змінні сесії (@ddl) переживають між ними
+                for (String sql : loadStatements(m.getResource())) {
+                    try (Statement st = conn.createStatement()) {
+                        st.execute(sql);
+                    }
+                }
+                markInstalled(conn, m);
+                applied++;
+            }
+
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("❌ Помилка міграції схеми: " + e.getMessage(), e);
+        }
+
+        return applied;
+    }
+
+    // ========================================================================
+    // INTERNAL
+    // ========================================================================
+    private static Set<Integer> installedVersions(Connection conn) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version FROM schema_version")) {
+            while (rs.next()) versions.add(rs.getInt(1));
+        }
+        return versions;
+    }
+
+    private static void markInstalled(Connection conn, Migration m) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+            ps.setInt(1, m.getVersion());
+            ps.setString(2, m.getDescription());
+            ps.executeUpdate();
+        }
+    }
+
+    /** Ділить скрипт на інструкції за ';' у кінці рядка, пропускаючи коментарі "--". */
+    static List<String> loadStatements(String resource) throws IOException {
+        String script;
+        try (InputStream in = SchemaMigrator.class.getResourceAsStream(resource)) {
+            if (in == null) throw new IOException("Не знайдено ресурс міграції " + resource);
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) continue;
+
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().trim();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (!current.toString().isBlank()) statements.add(current.toString().trim());
+        return statements;
+    }
+}
@@ -1,16 +1,14 @@
 package com.example.systemactivitymonitor.service;
 
+import com.example.systemactivitymonitor.metrics.MetricSample;
 import com.example.systemactivitymonitor.metrics.MetricsProvider;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.Map;
 
 /**
  * AdvancedMonitoringService — розширена аналітична абстракція (Refined Abstraction).
  * ✔ Працює з новим форматом метрик (cpu, ramUsed, ramTotal, diskTotal, diskFree)
  * ✔ Має захист від поділу на нуль
- * ✔ Має безпечні конвертери через MonitoringService
+ * ✔ Аналітика на примітивах MetricSample (без BigDecimal на кожному такті)
  * ✔ Має покращений вивід попереджень
  * ✔ Не блокує моніторинг при помилці
  */
@@ -21,47 +19,32 @@ public class AdvancedMonitoringService extends MonitoringService {
     }
 
     @Override
-    protected void collectMetrics() {
-        if (!active) return;
-
-        Map<String, Object> data = metricsProvider.collectAllMetrics();
-
-        // ----------------------- SAFE EXTRACTION -----------------------
-        BigDecimal cpu = toDecimal(data.get("cpu"));
-        BigDecimal ramUsed = toDecimal(data.get("ramUsed"));
-        BigDecimal ramTotal = toDecimal(data.get("ramTotal"));
-        BigDecimal diskTotal = toDecimal(data.get("diskTotal"));
-        BigDecimal diskFree = toDecimal(data.get("diskFree"));
+    protected void onSampleReady(MetricSample sample) {
+        double cpu = sample.getCpuLoad();
+        double ramUsed = sample.getRamUsedMb();
+        double ramTotal = sample.getRamTotalMb();
+        double diskTotal = sample.getDiskTotalGb();
+        double diskFree = sample.getDiskFreeGb();
 
         // ----------------------- ANALYTICS ------------------------------
 
         // ⚠️ CPU WARNING
-        if (cpu.compareTo(BigDecimal.valueOf(90)) > 0) {
+        if (cpu > 90) {
             System.out.printf("🔥 Високе навантаження CPU — %.2f%%%n", cpu);
         }
 
         // ⚠️ RAM WARNING
-        BigDecimal ramPercent = BigDecimal.ZERO;
-        if (ramTotal.compareTo(BigDecimal.ZERO) > 0) {
-            ramPercent = ramUsed
-                    .divide(ramTotal, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
-        }
+        double ramPercent = ramTotal > 0 ? ramUsed / ramTotal * 100 : 0;
 
-        if (ramPercent.compareTo(BigDecimal.valueOf(85)) > 0) {
+        if (ramPercent > 85) {
             System.out.printf("🧠 Високе використання RAM — %.2f%% (%.2f MB)%n",
                     ramPercent, ramUsed);
         }
 
         // ⚠️ DISK WARNING
-        BigDecimal freePercent = BigDecimal.ZERO;
-        if (diskTotal.compareTo(BigDecimal.ZERO) > 0) {
-            freePercent = diskFree
-                    .divide(diskTotal, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
-        }
+        double freePercent = diskTotal > 0 ? diskFree / diskTotal * 100 : 0;
 
-        if (freePercent.compareTo(BigDecimal.valueOf(10)) < 0) {
+        if (diskTotal > 0 && freePercent < 10) {
             System.out.printf("💾 Мало вільного місця на диску — %.2f%% залишилось%n",
                     freePercent);
         }
@@ -69,7 +52,7 @@ public class AdvancedMonitoringService extends MonitoringService {
         // ----------------------- SAVE TO DB ----------------------------
         if (activeUser != null) {
             try {
-                recordSystemStats(data, activeUser);
+                recordSystemStats(sample, activeUser);
             } catch (Exception e) {
                 System.err.println("[AdvancedMonitoringService] Помилка при збереженні метрик: " + e.getMessage());
             }
@@ -1,74 +1,175 @@
 package com.example.systemactivitymonitor.service;
 
+import com.example.systemactivitymonitor.factory.RepositoryFactory;
 import com.example.systemactivitymonitor.model.IdleTime;
 import com.example.systemactivitymonitor.model.User;
-import com.example.systemactivitymonitor.repository.impl.IdleRepositoryImpl;
 import com.example.systemactivitymonitor.repository.interfaces.IdleRepository;
+import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+import com.example.systemactivitymonitor.service.idle.IdleSessionIndex;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
- * IdleService — тепер працює ТІЛЬКИ у ручному режимі.
- * ✔ Користувач сам вмикає простій (Offline)
- * ✔ Користувач сам вимикає простій (Online)
- * ✔ Ніякого авто-переходу, ніяких діалогів
- * ✔ Без дублювання Idle-сесій
+ * IdleService — інтервали простою користувача.
+ * ✔ Ручний режим: користувач сам вмикає (Offline) і вимикає (Online) простій
+ * ✔ Автоматичний режим: ActivityStateEngine передає точні моменти початку й кінця
+ * ✔ Обидва режими працюють під одним замком — без дублювання Idle-сесій
+ * ✔ Незавершені після аварійного виходу інтервали закриваються одразу при вході (seedIndex),
+ *   щоб "Offline" не бачив їх як активний простій, а "Online" не рахував увесь час простою програми
+ * ✔ Активний простій шукається в IdleSessionIndex за O(1), а не скануванням списку
  * ✔ Повністю валідний для БД
  */
 public class IdleService {
 
-    private final IdleRepository idleRepository = new IdleRepositoryImpl();
+    /** Спільний для всіх екземплярів: UI і рушій активності мають власні IdleService. */
+    private static final Object LOCK = new Object();
+
+    private final IdleRepository idleRepository = RepositoryFactory.getIdleRepository();
 
     // ====================================================================================
     // 🟢 Користувач натиснув кнопку "Offline" → запускаємо простій
     // ====================================================================================
     public IdleTime startIdle(User user) {
-        validateUser(user);
+        return startIdle(user, LocalDateTime.now());
+    }
 
-        if (isIdleActive(user)) {
-            System.out.println("ℹ Простій вже активний — повторний запуск ігнорується.");
-            return getActiveIdle(user).get();
-        }
+    /** Відкриває простій з вказаного моменту (автоматичний режим передає час останньої активності). */
+    public IdleTime startIdle(User user, LocalDateTime start) {
+        validateUser(user);
 
-        IdleTime idle = new IdleTime(user, LocalDateTime.now());
-        user.getIdleTimes().add(idle);
+        synchronized (LOCK) {
+            Optional<IdleTime> active = getActiveIdle(user);
+            if (active.isPresent()) {
+                System.out.println("ℹ Простій вже активний — повторний запуск ігнорується.");
+                return active.get();
+            }
 
-        idleRepository.save(idle);
+            IdleTime idle = new IdleTime(user, start);
+            idleRepository.save(idle);
+            IdleSessionIndex.forUser(user.getId()).open(idle);
 
-        System.out.println("⏸ Режим OFFLINE увімкнено. Простій стартував о " + idle.getStartTime());
-        return idle;
+            System.out.println("⏸ Режим OFFLINE увімкнено. Простій стартував о " + idle.getStartTime());
+            return idle;
+        }
     }
 
     // ====================================================================================
     // 🔴 Користувач натиснув кнопку "Online" → завершуємо простій
     // ====================================================================================
     public IdleTime endIdle(User user) {
+        return endIdle(user, LocalDateTime.now());
+    }
+
+    /** Завершує активний простій у вказаний момент (не раніше його початку). */
+    public IdleTime endIdle(User user, LocalDateTime end) {
         validateUser(user);
 
-        Optional<IdleTime> activeIdleOpt = getActiveIdle(user);
+        synchronized (LOCK) {
+            Optional<IdleTime> activeIdleOpt = getActiveIdle(user);
 
-        if (activeIdleOpt.isEmpty()) {
-            System.out.println("ℹ Немає активного простою. ONLINE вже увімкнено.");
-            return null;
+            if (activeIdleOpt.isEmpty()) {
+                System.out.println("ℹ Немає активного простою. ONLINE вже увімкнено.");
+                return null;
+            }
+
+            IdleTime activeIdle = activeIdleOpt.get();
+            close(activeIdle, end);
+            idleRepository.save(activeIdle);
+            IdleSessionIndex.forUser(user.getId()).closed(activeIdle);
+
+            System.out.println("✅ Режим ONLINE увімкнено. Простій завершено ("
+                    + activeIdle.getDurationSeconds() + " сек).");
+
+            return activeIdle;
         }
+    }
 
-        IdleTime activeIdle = activeIdleOpt.get();
+    // ====================================================================================
+    // 🤖 Автоматичний режим (ActivityStateEngine)
+    // ====================================================================================
+    /** Відкриває простій, лише якщо жоден інший (зокрема ручний) не активний; інакше null. */
+    public IdleTime startAutoIdle(User user, LocalDateTime start) {
+        validateUser(user);
+        synchronized (LOCK) {
+            return getActiveIdle(user).isPresent() ? null : startIdle(user, start);
+        }
+    }
 
-        LocalDateTime end = LocalDateTime.now();
-        long durationSec = Duration.between(activeIdle.getStartTime(), end).getSeconds();
+    /** Завершує простій, лише якщо активним досі є саме він (користувач міг закрити його вручну). */
+    public boolean endAutoIdle(User user, IdleTime idle, LocalDateTime end) {
+        validateUser(user);
+        synchronized (LOCK) {
+            if (idle.getEndTime() != null || getActiveIdle(user).orElse(null) != idle) return false;
+            endIdle(user, end);
+            return true;
+        }
+    }
+
+    // ====================================================================================
+    // ♻ Після перезапуску: закриваємо "висячі" інтервали
+    // ====================================================================================
+    /**
+     * Вхід користувача: заповнює IdleSessionIndex історією з БД і одразу ремонтує
+     * інтервали, що лишилися відкритими після аварійного завершення.
+     */
+    public void seedIndex(User user) {
+        validateUser(user);
 
-        if (durationSec < 0) durationSec = 0;
+        synchronized (LOCK) {
+            IdleSessionIndex.seed(user.getId(), idleRepository.findByUserId(user.getId()));
+            closeDanglingIntervals(user);
+        }
+    }
 
-        activeIdle.setEndTime(end);
-        activeIdle.setDurationSeconds((int) durationSec);
+    /**
+     * Закриває інтервали з end_time = NULL, що лишилися після аварійного завершення.
+     * Кінцем вважається останній запис system_stats (програма тоді ще працювала),
+     * але не раніше початку простою.
+     *
+     * Ремонт виконується один раз на вхід користувача (повторні запуски моніторингу
+     * в тій самій сесії його пропускають), а простій, відкритий у цьому процесі
+     * (наприклад, ручний "Offline"), не закривається ніколи.
+     * @return кількість закритих інтервалів
+     */
+    public int closeDanglingIntervals(User user) {
+        validateUser(user);
 
-        idleRepository.save(activeIdle);
+        synchronized (LOCK) {
+            IdleSessionIndex index = IdleSessionIndex.forUser(user.getId());
+            if (!index.markRepaired()) return 0;
+
+            List<IdleTime> open = new ArrayList<>(idleRepository.findOpenByUserId(user.getId()));
+            open.removeIf(index::isLiveOpen);
+            if (open.isEmpty()) return 0;
+
+            StatsRepository statsRepository = RepositoryFactory.getStatsRepository();
+            LocalDateTime lastSeen = statsRepository.findLastRecordedAt(user.getId()).orElse(null);
+
+            for (IdleTime idle : open) {
+                idle.setUser(user);
+                LocalDateTime end = lastSeen != null && lastSeen.isAfter(idle.getStartTime())
+                        ? lastSeen
+                        : idle.getStartTime();
+                close(idle, end);
+                idleRepository.save(idle);
+                index.closed(idle);
+            }
+
+            System.out.println("♻ Закрито незавершених простоїв після перезапуску: " + open.size());
+            return open.size();
+        }
+    }
 
-        System.out.println("✅ Режим ONLINE увімкнено. Простій завершено (" + durationSec + " сек).");
+    private static void close(IdleTime idle, LocalDateTime end) {
+        if (end.isBefore(idle.getStartTime())) end = idle.getStartTime();
 
-        return activeIdle;
+        long durationSec = Duration.between(idle.getStartTime(), end).getSeconds();
+        idle.setEndTime(end);
+        idle.setDurationSeconds((int) Math.min(Integer.MAX_VALUE, durationSec));
     }
 
     // ====================================================================================
@@ -80,9 +181,7 @@ public class IdleService {
 
     public Optional<IdleTime> getActiveIdle(User user) {
         validateUser(user);
-        return user.getIdleTimes().stream()
-                .filter(i -> i.getEndTime() == null)
-                .findFirst();
+        return IdleSessionIndex.forUser(user.getId()).getOpen();
     }
 
     // ====================================================================================
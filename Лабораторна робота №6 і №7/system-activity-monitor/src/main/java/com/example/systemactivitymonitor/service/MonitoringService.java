@@ -1,49 +1,99 @@
 package com.example.systemactivitymonitor.service;
 
+import com.example.systemactivitymonitor.factory.RepositoryFactory;
+import com.example.systemactivitymonitor.metrics.MetricSample;
 import com.example.systemactivitymonitor.metrics.MetricsProvider;
+import com.example.systemactivitymonitor.metrics.TieredMetricsCollector;
+import com.example.systemactivitymonitor.metrics.cpu.CpuBreakdown;
+import com.example.systemactivitymonitor.metrics.cpu.TopProcesses;
+import com.example.systemactivitymonitor.metrics.input.ActivityHistogram;
+import com.example.systemactivitymonitor.metrics.input.InputCounters;
+import com.example.systemactivitymonitor.model.CpuBreakdownSnapshot;
+import com.example.systemactivitymonitor.model.ProcessUsage;
 import com.example.systemactivitymonitor.model.SystemStats;
 import com.example.systemactivitymonitor.model.User;
-import com.example.systemactivitymonitor.repository.impl.StatsRepositoryImpl;
+import com.example.systemactivitymonitor.repository.interfaces.RollupRepository;
 import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
-
-import java.math.BigDecimal;
+import com.example.systemactivitymonitor.service.burst.BurstSampler;
+import com.example.systemactivitymonitor.service.idle.ActivityStateEngine;
+import com.example.systemactivitymonitor.service.persistence.StatsWriteBehind;
+import com.example.systemactivitymonitor.service.rollup.RollupAggregator;
+import com.example.systemactivitymonitor.util.AppConfig;
+import com.example.systemactivitymonitor.util.AppExecutors;
+
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * MonitoringService — базова "Abstraction" у Bridge pattern.
  * ✔ Захист від винятків у задачах
- * ✔ Кастомний ThreadFactory
- * ✔ Безпечні конвертери (BigDecimal, String, Long)
+ * ✔ Такти — спільний планувальник AppExecutors, сам збір (читання /proc, WinAPI) —
+ *   на блокуючому виконавці (віртуальні потоки на Java 21+), без власних пулів потоків
+ * ✔ Збір у багаторазовий MetricSample (примітиви, без Map і парсингу рядків)
+ * ✔ Кожна група метрик оновлюється зі своїм інтервалом (TieredMetricsCollector),
+ *   а знімок у БД пишеться раз на stats.persistIntervalMs
+ * ✔ UI читає копію зразка з того самого такту (collectFormattedStats), а не збирає метрики
+ *   вдруге — інакше позачерговий збір зсував би базу дельти CPU і ламав інтервали груп
+ * ✔ Записані пакети одразу згортаються в stats_rollup (RollupAggregator)
  * ✔ Підтримує нову структуру метрик
  * ✔ Працює з новими полями SystemStats
+ * ✔ Запис у БД — асинхронно через StatsWriteBehind (потік збору не чекає MySQL)
+ * ✔ keyboard_presses / mouse_clicks / mouse_moves — кількість подій з попереднього запису
+ *   (InputCounters.snapshotAndReset), а не накопичений з запуску підсумок
+ * ✔ Автоматичний простій (idle.auto) — ActivityStateEngine на тому ж планувальнику
+ * ✔ Burst-режим (burst.enabled або startBurst()) — CPU / RAM кожні 100–250 мс у BurstSampler
+ * ✔ CPU по ядрах і топ процесів (CPU_DETAIL) — у cpu_breakdown раз на cpu.breakdown.persistIntervalMs
+ *   (60 с; 0 — не зберігати)
  */
 public class MonitoringService {
 
-    protected final StatsRepository statsRepository = new StatsRepositoryImpl();
+    protected final StatsRepository statsRepository;
+    protected final StatsWriteBehind statsWriter;
+    protected final RollupAggregator rollupAggregator;
     protected final MetricsProvider metricsProvider;
 
-    protected ScheduledExecutorService scheduler;
+    /** Періодичні задачі поточного запуску — скасовуються в stop(). */
+    protected final List<AppExecutors.Periodic> tasks = new ArrayList<>();
     protected volatile boolean active = false;
     protected User activeUser;
 
+    /** Зразок, який провайдер перезаповнює на кожному такті (запуски monitor-collect не перетинаються). */
+    protected final MetricSample sample = new MetricSample();
+    protected final TieredMetricsCollector collector;
+
+    private final long persistIntervalMs = AppConfig.getLong("stats.persistIntervalMs", 5_000);
+    private long nextPersistAt = 0;
+    /** saveNow() під час моніторингу: наступний такт запише зразок, не чекаючи інтервалу. */
+    private volatile boolean persistRequested = false;
+
+    /** Копія зразка в старому форматі — оновлюється разом із записом, читається UI. */
+    private volatile Map<String, Object> lastSnapshot = Map.of();
+
+    private final long cpuBreakdownIntervalMs = AppConfig.getLong("cpu.breakdown.persistIntervalMs", 60_000);
+    private long nextCpuBreakdownAt = 0;
+    private long lastCpuBreakdownMillis = 0;
+
+    protected ActivityStateEngine activityEngine;
+    protected BurstSampler burstSampler;
 
-    // =======================================================================
-    // THREAD FACTORY
-    // =======================================================================
-    private final ThreadFactory threadFactory = runnable -> {
-        Thread t = new Thread(runnable);
-        t.setName("MonitoringScheduler-" + t.getId());
-        t.setDaemon(true);
-        t.setUncaughtExceptionHandler((thr, ex) ->
-                System.err.println("❗ Uncaught exception in " + thr.getName() + ": " + ex)
-        );
-        return t;
-    };
 
     public MonitoringService(MetricsProvider provider) {
+        this(provider, RepositoryFactory.getStatsRepository(), RepositoryFactory.getRollupRepository());
+    }
+
+    /** Явні репозиторії — для багатокористувацького режиму та навантажувальних тестів без БД. */
+    protected MonitoringService(MetricsProvider provider, StatsRepository statsRepository,
+                                RollupRepository rollupRepository) {
         this.metricsProvider = provider;
+        this.statsRepository = statsRepository;
+        this.statsWriter = new StatsWriteBehind(statsRepository);
+        this.rollupAggregator = new RollupAggregator(statsRepository, rollupRepository);
+        this.collector = new TieredMetricsCollector(provider, sample);
+        this.statsWriter.setBatchListener(rollupAggregator::onBatchWritten);
     }
 
     // =======================================================================
@@ -55,18 +105,58 @@ public class MonitoringService {
         active = true;
         this.activeUser = user;
 
-        scheduler = Executors.newScheduledThreadPool(2, threadFactory);
+        statsWriter.start();
 
-        // 1️⃣ системні метрики кожні 5 сек
-        scheduler.scheduleAtFixedRate(() -> safeGuard(this::collectMetrics),
-                0, 5, TimeUnit.SECONDS);
+        // 1️⃣ системні метрики — базовий такт, кожна група за своїм інтервалом
+        collector.reset();
+        nextPersistAt = 0;
+        nextCpuBreakdownAt = 0;
+        lastSnapshot = Map.of();
+        tasks.add(AppExecutors.schedule("monitor-collect", () -> safeGuard(this::collectMetrics),
+                0, collector.getBaseTickMillis(), TimeUnit.MILLISECONDS));
 
         // 2️⃣ запуск моніторингу введення (Windows / Linux реалізує сам)
         metricsProvider.startInputMonitoring();
 
+        // 3️⃣ автоматичне визначення простою (лише для збереженого користувача)
+        if (user != null && user.getId() != null && AppConfig.getBoolean("idle.auto", true)) {
+            ActivityStateEngine engine = new ActivityStateEngine(metricsProvider.getInputCounters(), new IdleService());
+            engine.start(user);
+            activityEngine = engine;
+            tasks.add(AppExecutors.schedule("idle-tick",
+                    () -> safeGuard(() -> engine.tick(System.currentTimeMillis(), sample.isInputActive())),
+                    1_000, AppConfig.getLong("idle.checkIntervalMs", 1_000), TimeUnit.MILLISECONDS));
+        }
+
+        // 4️⃣ burst-режим — лише за запитом: діагностика коротких сплесків CPU
+        if (AppConfig.getBoolean("burst.enabled", false)) {
+            startBurst();
+        }
+
         System.out.println("MonitoringService: моніторинг запущено.");
     }
 
+    // =======================================================================
+    // BURST MODE
+    // =======================================================================
+    /** Вмикає вибірки CPU / RAM кожні burst.periodMs (можна під час роботи моніторингу). */
+    public synchronized void startBurst() {
+        if (burstSampler != null) return;
+        burstSampler = new BurstSampler(metricsProvider, activeUser, RepositoryFactory.getBurstRepository());
+        burstSampler.start();
+    }
+
+    public synchronized void stopBurst() {
+        if (burstSampler == null) return;
+        burstSampler.stop();
+        burstSampler = null;
+    }
+
+    /** Поточний burst-режим або null, якщо вимкнений. */
+    public synchronized BurstSampler getBurstSampler() {
+        return burstSampler;
+    }
+
     // =======================================================================
     // STOP
     // =======================================================================
@@ -75,10 +165,26 @@ public class MonitoringService {
 
         metricsProvider.stopInputMonitoring();
 
-        if (scheduler != null && !scheduler.isShutdown()) {
-            scheduler.shutdownNow();
+        // такти більше не запускаються; збір, що вже йде, встигає дописати свій зразок
+        for (AppExecutors.Periodic task : tasks) {
+            if (!task.cancelAndWait(2_000)) {
+                System.err.println("[MonitoringService] Задача " + task.getName() + " не завершилась за 2 с.");
+            }
+        }
+        tasks.clear();
+        onCollectionStopped();
+
+        if (activityEngine != null) {
+            activityEngine.stop();
+            activityEngine = null;
         }
 
+        stopBurst();
+
+        // дописуємо у БД усе, що ще лежить у черзі
+        statsWriter.stop(5_000);
+        rollupAggregator.flushAll();
+
         System.out.println("Моніторинг зупинено.");
     }
 
@@ -99,120 +205,149 @@ public class MonitoringService {
     protected void collectMetrics() {
         if (!active) return;
 
-        Map<String, Object> data = metricsProvider.collectAllMetrics();
+        long now = System.currentTimeMillis();
+        collector.tick(now);
+
+        if (!collector.isDue(nextPersistAt, now) && !persistRequested) return;
+        nextPersistAt = TieredMetricsCollector.nextDue(nextPersistAt, persistIntervalMs, now);
+        persistRequested = false;
+
+        lastSnapshot = sample.toMap();
+        onSampleReady(sample);
+    }
 
+    /** Викликається раз на persistIntervalMs з актуальним зразком. */
+    protected void onSampleReady(MetricSample sample) {
         if (activeUser != null) {
-            recordSystemStats(data, activeUser);
+            recordSystemStats(sample, activeUser);
+            recordCpuBreakdown(sample, activeUser);
         }
     }
 
+    /**
+     * Викликається з stop() після зупинки тактів і до закриття черги запису:
+     * збір уже не йде, тож зразок можна читати з потоку, що викликав stop().
+     */
+    protected void onCollectionStopped() {
+    }
+
+    /**
+     * Останній знімок метрик для UI (порожня мапа до першого такту).
+     * Без запущеного моніторингу — разовий збір через провайдер.
+     */
     public Map<String, Object> collectFormattedStats() {
-        return metricsProvider.collectAllMetrics();
+        return active ? lastSnapshot : metricsProvider.collectAllMetrics();
+    }
+
+    /** Посекундна активність введення за останні lastSeconds секунд (для графіка в UI). */
+    public ActivityHistogram.Snapshot activityHistogram(int lastSeconds) {
+        return metricsProvider.getInputCounters().getHistogram()
+                .snapshot(System.currentTimeMillis() / 1000, lastSeconds);
     }
 
     // =======================================================================
     // SAVE METRICS
     // =======================================================================
-    protected void recordSystemStats(Map<String, Object> data, User user) {
+    protected void recordSystemStats(MetricSample sample, User user) {
         try {
-            BigDecimal cpu = toDecimal(data.get("cpuLoad"));
-            BigDecimal ramUsed = toDecimal(data.get("ramUsed"));
-            BigDecimal ramTotal = toDecimal(data.get("ramTotal"));
-
-            BigDecimal diskTotal = toDecimal(data.get("diskTotal"));
-            BigDecimal diskFree = toDecimal(data.get("diskFree"));
-            BigDecimal diskUsed = toDecimal(data.get("diskUsed"));
-
-            long uptimeSec = parseUptimeToSeconds(safeStr(data.get("uptime")));
-            long keys = toLong(data.get("keys"));
-            long clicks = toLong(data.get("clicks"));
-            long moves = toLong(data.get("moves"));
-
-            String window = safeStr(data.get("activeWindow"));
-
-            SystemStats stats = new SystemStats();
-            stats.setUser(user);
-            stats.setCpuLoad(cpu);
-
-            stats.setRamUsedMb(ramUsed);
-            stats.setRamTotalMb(ramTotal);
-
-            stats.setActiveWindow(window);
-            stats.setKeyboardPresses((int) keys);
-            stats.setMouseClicks((int) clicks);
-            stats.setMouseMoves(moves);
-
-            stats.setSystemUptimeSeconds(uptimeSec);
+            SystemStats stats = buildSystemStats(sample, user,
+                    metricsProvider.getInputCounters().snapshotAndReset());
 
-            stats.setDiskTotalGb(diskTotal);
-            stats.setDiskFreeGb(diskFree);
-            stats.setDiskUsedGb(diskUsed);
-
-            statsRepository.save(stats);
+            if (!statsWriter.submit(stats)) {
+                System.err.println("[MonitoringService] Черга запису переповнена — запис відкинуто.");
+            }
 
         } catch (Exception e) {
             System.err.println("[MonitoringService] Помилка збереження метрик: " + e.getMessage());
         }
     }
 
-    // =======================================================================
-    // UTILITIES (safe converters)
-    // =======================================================================
-    protected BigDecimal toDecimal(Object obj) {
-        if (obj instanceof BigDecimal bd) return bd;
+    /** Рядок system_stats: спільні метрики хоста зі зразка + дельта введення конкретного користувача. */
+    protected SystemStats buildSystemStats(MetricSample sample, User user, InputCounters.Delta input) {
+        SystemStats stats = new SystemStats();
+        stats.setUser(user);
+        stats.setRecordedAt(LocalDateTime.now().withNano(0));
+        stats.setCpuLoad(MetricSample.decimal(sample.getCpuLoad()));
 
-        if (obj instanceof Number n) {
-            return BigDecimal.valueOf(n.doubleValue());
-        }
+        stats.setRamUsedMb(MetricSample.decimal(sample.getRamUsedMb()));
+        stats.setRamTotalMb(MetricSample.decimal(sample.getRamTotalMb()));
 
-        try {
-            return new BigDecimal(String.valueOf(obj));
-        } catch (Exception e) {
-            return BigDecimal.ZERO;
-        }
-    }
+        stats.setActiveWindow(sample.getActiveWindow());
+        stats.setKeyboardPresses((int) Math.min(Integer.MAX_VALUE, input.getKeys()));
+        stats.setMouseClicks((int) Math.min(Integer.MAX_VALUE, input.getClicks()));
+        stats.setMouseMoves(input.getMoves());
 
-    protected long toLong(Object obj) {
-        if (obj instanceof Number n) return n.longValue();
-        try {
-            return Long.parseLong(String.valueOf(obj));
-        } catch (Exception e) {
-            return 0L;
-        }
-    }
+        stats.setSystemUptimeSeconds(Math.max(0, sample.getUptimeSeconds()));
 
-    protected String safeStr(Object obj) {
-        return obj == null ? "" : obj.toString();
+        stats.setDiskTotalGb(MetricSample.decimal(sample.getDiskTotalGb()));
+        stats.setDiskFreeGb(MetricSample.decimal(sample.getDiskFreeGb()));
+        stats.setDiskUsedGb(MetricSample.decimal(sample.getDiskUsedGb()));
+        return stats;
     }
 
-    protected long parseUptimeToSeconds(String uptime) {
-        if (uptime == null || uptime.equalsIgnoreCase("Unknown")) return 0;
+    /** Знімок CPU по ядрах і процесах — не частіше cpu.breakdown.persistIntervalMs, запис на AppExecutors. */
+    protected void recordCpuBreakdown(MetricSample sample, User user) {
+        CpuBreakdown breakdown = sample.getCpuBreakdown();
+        long now = System.currentTimeMillis();
+
+        if (cpuBreakdownIntervalMs <= 0 || user.getId() == null || !collector.isDue(nextCpuBreakdownAt, now)) return;
+        if (breakdown.getUpdatedAtMillis() <= lastCpuBreakdownMillis) return; // нового сканування ще не було
 
-        uptime = uptime.trim();
-        long days = 0, hours = 0, minutes = 0;
+        nextCpuBreakdownAt = TieredMetricsCollector.nextDue(nextCpuBreakdownAt, cpuBreakdownIntervalMs, now);
+        lastCpuBreakdownMillis = breakdown.getUpdatedAtMillis();
 
-        String[] parts = uptime.split(" ");
-        for (int i = 0; i < parts.length - 1; i++) {
-            if (parts[i].matches("\\d+")) {
-                switch (parts[i + 1].toLowerCase()) {
-                    case "d" -> days = Long.parseLong(parts[i]);
-                    case "h" -> hours = Long.parseLong(parts[i]);
-                    case "m" -> minutes = Long.parseLong(parts[i]);
-                }
+        CpuBreakdownSnapshot snapshot = buildCpuBreakdownSnapshot(breakdown, user);
+        AppExecutors.submit("cpu-breakdown-persist", () -> {
+            try {
+                RepositoryFactory.getCpuBreakdownRepository().save(snapshot);
+            } catch (RuntimeException e) {
+                System.err.println("[MonitoringService] Не вдалося зберегти розбивку CPU: " + e.getMessage());
             }
+        });
+    }
+
+    /** Копія багаторазового CpuBreakdown — зразок перезаписується наступним тактом. */
+    protected CpuBreakdownSnapshot buildCpuBreakdownSnapshot(CpuBreakdown breakdown, User user) {
+        CpuBreakdownSnapshot snapshot = new CpuBreakdownSnapshot(user.getId(), LocalDateTime.now().withNano(0));
+
+        double[] cores = new double[breakdown.getCoreCount()];
+        for (int i = 0; i < cores.length; i++) {
+            cores[i] = breakdown.getCoreLoad(i);
         }
+        snapshot.setCoreLoads(cores);
+        snapshot.setProcessCount(breakdown.getProcessCount());
+        snapshot.setTopCpu(toUsage(breakdown.getTopByCpu()));
+        snapshot.setTopRss(toUsage(breakdown.getTopByRss()));
+        return snapshot;
+    }
 
-        return days * 86400 + hours * 3600 + minutes * 60;
+    private static List<ProcessUsage> toUsage(TopProcesses top) {
+        List<ProcessUsage> list = new ArrayList<>(top.size());
+        for (int i = 0; i < top.size(); i++) {
+            list.add(new ProcessUsage(top.getPid(i), top.getName(i), top.getCpuPercent(i), top.getRssKb(i) / 1024.0));
+        }
+        return list;
     }
+
     public void saveNow(User user) {
         if (user == null) {
             System.out.println("Guest mode — не зберігаємо.");
             return;
         }
 
+        if (active) {
+            // запише потік збору зі свого зразка — той самий інтервал CPU і лічильники введення
+            persistRequested = true;
+            return;
+        }
+
+        // моніторинг не запущено — пишемо одразу, без write-behind потоків, які нікому було б зупиняти;
+        // агрегати цього рядка добере backfill при наступному старті
         try {
-            Map<String, Object> data = collectFormattedStats();
-            recordSystemStats(data, user);
+            MetricSample manual = new MetricSample();
+            metricsProvider.collectInto(manual);
+            statsRepository.save(buildSystemStats(manual, user,
+                    metricsProvider.getInputCounters().snapshotAndReset()));
         } catch (Exception e) {
             System.err.println("[MonitoringService] Помилка при ручному збереженні: " + e.getMessage());
         }
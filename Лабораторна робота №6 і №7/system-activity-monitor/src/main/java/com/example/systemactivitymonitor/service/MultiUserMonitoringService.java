@@ -0,0 +1,219 @@
+package com.example.systemactivitymonitor.service;
+
+import com.example.systemactivitymonitor.factory.RepositoryFactory;
+import com.example.systemactivitymonitor.metrics.MetricSample;
+import com.example.systemactivitymonitor.metrics.MetricsProvider;
+import com.example.systemactivitymonitor.metrics.input.InputCounters;
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.model.User;
+import com.example.systemactivitymonitor.repository.interfaces.RollupRepository;
+import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+import com.example.systemactivitymonitor.service.persistence.StatsWriteBehind;
+import com.example.systemactivitymonitor.util.AppConfig;
+import com.example.systemactivitymonitor.util.AppExecutors;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MultiUserMonitoringService — моніторинг багатьох користувачів (сесій) в одному процесі.
+ *
+ * ✔ Один збір метрик на хост: CPU / RAM / диск / uptime беруться зі спільного MetricSample
+ * ✔ Кожен користувач має власний UserStream з InputCounters — введення його сесії
+ *   атрибутується лише йому, у рядок пишеться дельта за інтервал (snapshotAndReset)
+ * ✔ Активне вікно — з потоку користувача (setActiveWindow), інакше — вікно хоста
+ * ✔ Усі потоки пишуть через один StatsWriteBehind — пакети saveAll змішують користувачів
+ * ✔ Сотні користувачів без потоку на користувача: на такт — одна задача multi-monitor
+ *   (спільний планувальник AppExecutors) і один прохід по ConcurrentHashMap без спільних
+ *   блокувань, запис — потік StatsWriteBehind
+ * ✔ Введення хоста не запускається (multi.hostInput = false): на термінальному сервері
+ *   його неможливо приписати конкретній сесії
+ *
+ * Автоматичний простій (ActivityStateEngine) тут не вмикається — він тримає окремий
+ * потік запису на користувача, що не масштабується на сотні сесій.
+ */
+public class MultiUserMonitoringService extends MonitoringService {
+
+    private final Map<Integer, UserStream> streams = new ConcurrentHashMap<>();
+    // прибрані користувачі, чий останній рядок ще має дописати потік збору
+    private final Queue<UserStream> retired = new ConcurrentLinkedQueue<>();
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final boolean hostInput = AppConfig.getBoolean("multi.hostInput", false);
+
+    public MultiUserMonitoringService(MetricsProvider provider) {
+        this(provider, RepositoryFactory.getStatsRepository(), RepositoryFactory.getRollupRepository());
+    }
+
+    public MultiUserMonitoringService(MetricsProvider provider, StatsRepository statsRepository,
+                                      RollupRepository rollupRepository) {
+        super(provider, statsRepository, rollupRepository);
+    }
+
+    // =======================================================================
+    // USERS
+    // =======================================================================
+    /** Додає користувача (повторний виклик повертає наявний потік). */
+    public UserStream addUser(User user) {
+        if (user == null || user.getId() == null)
+            throw new IllegalArgumentException("Користувача не задано або він не збережений (id=null).");
+        return streams.computeIfAbsent(user.getId(), id -> new UserStream(user));
+    }
+
+    /**
+     * Прибирає користувача; введення, що ще не записане, дописується окремим рядком.
+     * Рядок пише потік збору на наступному такті (або stop()) — спільний MetricSample
+     * читається лише там, де його оновлюють.
+     */
+    public synchronized void removeUser(User user) {
+        if (user == null || user.getId() == null) return;
+
+        UserStream stream = streams.remove(user.getId());
+        if (stream != null && active) {
+            retired.add(stream);
+        }
+    }
+
+    public UserStream getStream(Integer userId) {
+        return streams.get(userId);
+    }
+
+    public Collection<UserStream> getStreams() {
+        return streams.values();
+    }
+
+    // =======================================================================
+    // START / STOP
+    // =======================================================================
+    /** Додає користувача і запускає спільний збір, якщо він ще не працює. */
+    @Override
+    public synchronized void start(User user) {
+        addUser(user);
+        start();
+    }
+
+    public synchronized void start() {
+        if (active) return;
+
+        active = true;
+        statsWriter.start();
+
+        collector.reset();
+        tasks.add(AppExecutors.schedule("multi-monitor", () -> safeGuard(this::collectMetrics),
+                0, collector.getBaseTickMillis(), TimeUnit.MILLISECONDS));
+
+        if (hostInput) {
+            metricsProvider.startInputMonitoring();
+        }
+
+        System.out.println("MultiUserMonitoringService: моніторинг запущено (" + streams.size() + " користувачів).");
+    }
+
+    // =======================================================================
+    // COLLECTION
+    // =======================================================================
+    @Override
+    protected void collectMetrics() {
+        super.collectMetrics();
+
+        long now = System.currentTimeMillis();
+        for (UserStream stream : streams.values()) {
+            stream.counters.sampleHistogram(now);
+        }
+        drainRetired();
+    }
+
+    /** Останні рядки всіх потоків — уже після зупинки тактів, до закриття черги запису. */
+    @Override
+    protected void onCollectionStopped() {
+        drainRetired();
+        for (UserStream stream : streams.values()) {
+            record(stream, sample);
+        }
+    }
+
+    private void drainRetired() {
+        UserStream stream;
+        while ((stream = retired.poll()) != null) {
+            record(stream, sample);
+        }
+    }
+
+    @Override
+    protected void onSampleReady(MetricSample sample) {
+        for (UserStream stream : streams.values()) {
+            record(stream, sample);
+        }
+    }
+
+    private void record(UserStream stream, MetricSample sample) {
+        try {
+            SystemStats stats = buildSystemStats(sample, stream.user, stream.counters.snapshotAndReset());
+            String window = stream.activeWindow;
+            if (window != null) {
+                stats.setActiveWindow(window);
+            }
+
+            if (statsWriter.submit(stats)) {
+                recorded.incrementAndGet();
+            } else {
+                rejected.incrementAndGet();
+            }
+        } catch (Exception e) {
+            System.err.println("[MultiUserMonitoringService] Помилка збереження метрик: " + e.getMessage());
+        }
+    }
+
+    // =======================================================================
+    // METRICS
+    // =======================================================================
+    public int getUserCount() {
+        return streams.size();
+    }
+
+    public long getRecordedCount() {
+        return recorded.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /** Черга запису (глибина, записані / відкинуті рядки). */
+    public StatsWriteBehind getStatsWriter() {
+        return statsWriter;
+    }
+
+    // =======================================================================
+    // USER STREAM
+    // =======================================================================
+    /** Потік одного користувача: його лічильники введення та активне вікно. */
+    public static final class UserStream {
+        private final User user;
+        private final InputCounters counters = new InputCounters();
+        private volatile String activeWindow;
+
+        UserStream(User user) {
+            this.user = user;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        /** Приймач подій введення сесії користувача (для InputEventSource.start). */
+        public InputCounters getCounters() {
+            return counters;
+        }
+
+        public void setActiveWindow(String title) {
+            this.activeWindow = title == null || title.isBlank() ? null : title;
+        }
+    }
+}
@@ -4,14 +4,20 @@ import com.example.systemactivitymonitor.iterator.Iterator;
 import com.example.systemactivitymonitor.iterator.ReportAggregate;
 import com.example.systemactivitymonitor.model.*;
 import com.example.systemactivitymonitor.repository.interfaces.*;
+import com.example.systemactivitymonitor.service.calculations.ReportAccumulator;
 import com.example.systemactivitymonitor.service.calculations.ReportCalculator;
 import com.example.systemactivitymonitor.service.export.ReportExportFactory;
+import com.example.systemactivitymonitor.service.export.RawStatsCsvExporter;
 import com.example.systemactivitymonitor.service.export.ReportExporter;
+import com.example.systemactivitymonitor.service.idle.IdleSessionIndex;
+import com.example.systemactivitymonitor.util.AppConfig;
 
+import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 public class ReportService {
@@ -19,12 +25,27 @@ public class ReportService {
     private final ReportRepository reportRepo;
     private final StatsRepository statsRepo;
     private final IdleRepository idleRepo;
+    private final RollupRepository rollupRepo;
+    private final CpuBreakdownRepository cpuBreakdownRepo;
     private final ReportCalculator calculator = new ReportCalculator();
 
     public ReportService(ReportRepository rr, StatsRepository sr, IdleRepository ir) {
+        this(rr, sr, ir, null);
+    }
+
+    /** @param rollupRepo агрегати stats_rollup; null — звіт лише із сирих даних */
+    public ReportService(ReportRepository rr, StatsRepository sr, IdleRepository ir, RollupRepository rollupRepo) {
+        this(rr, sr, ir, rollupRepo, null);
+    }
+
+    /** @param cpuBreakdownRepo знімки cpu_breakdown; null — звіт без розділу CPU по ядрах і процесах */
+    public ReportService(ReportRepository rr, StatsRepository sr, IdleRepository ir, RollupRepository rollupRepo,
+                         CpuBreakdownRepository cpuBreakdownRepo) {
         this.reportRepo = rr;
         this.statsRepo = sr;
         this.idleRepo = ir;
+        this.rollupRepo = rollupRepo;
+        this.cpuBreakdownRepo = cpuBreakdownRepo;
     }
 
     // -----------------------------------------------------------------
@@ -37,25 +58,32 @@ public class ReportService {
         LocalDateTime from = start.atStartOfDay();
         LocalDateTime to = end.atTime(23, 59, 59);
 
-        List<SystemStats> stats = statsRepo.findByUserIdAndRecordedAtBetween(user.getId(), from, to);
-        List<IdleTime> idle = idleRepo.findByUserIdAndStartTimeBetween(user.getId(), from, to);
+        ReportAccumulator stats = accumulate(user.getId(), from, end.plusDays(1).atStartOfDay());
 
         Report r = new Report();
         r.setUser(user);
         r.setReportName(name);
         r.setPeriodStart(start);
         r.setPeriodEnd(end);
-        r.setCpuAvg(calculator.average(stats, SystemStats::getCpuLoad));
-        r.setRamAvg(calculator.average(stats, SystemStats::getRamUsedMb));
-        r.setIdleTimeTotalSeconds(calculator.totalIdle(idle));
-        r.setAppUsagePercent(calculator.appUsagePercent(stats));
-        r.setDays(calculator.buildDaySummary(stats));
-        r.setAvgUptimeHours(calculator.averageUptime(stats));
+        stats.fill(r);
+        r.setIdleTimeTotalSeconds(totalIdle(user, from, to));
+        r.setCpuBreakdown(cpuBreakdown(user.getId(), start, end));
 
         reportRepo.save(r);
         return r;
     }
 
+    /**
+     * Індекс пам’яті, якщо користувач увійшов (seed), інакше — тимчасовий індекс над idle_time.
+     * В обох випадках інтервали обрізаються межами періоду, а відкритий рахується до цього моменту;
+     * тому читається вся історія, а не лише простої, що почалися в періоді.
+     */
+    private BigDecimal totalIdle(User user, LocalDateTime from, LocalDateTime to) {
+        IdleSessionIndex index = IdleSessionIndex.findSeeded(user.getId())
+                .orElseGet(() -> IdleSessionIndex.of(idleRepo.findByUserId(user.getId())));
+        return calculator.totalIdle(index, from, to.plusSeconds(1));
+    }
+
     // -----------------------------------------------------------------
     // READ
     // -----------------------------------------------------------------
@@ -132,9 +160,25 @@ public class ReportService {
     // -----------------------------------------------------------------
     public Path export(Report report, String format) throws Exception {
         ReportExporter exporter = ReportExportFactory.getExporter(format);
+
+        // звіт, прочитаний з reports, розділу CPU не має — рахуємо за його період
+        if (report.getCpuBreakdown() == null && report.getUser() != null && report.getUser().getId() != null
+                && report.getPeriodStart() != null && report.getPeriodEnd() != null) {
+            report.setCpuBreakdown(cpuBreakdown(report.getUser().getId(), report.getPeriodStart(), report.getPeriodEnd()));
+        }
         return exporter.export(report);
     }
 
+    /** Усі сирі записи користувача за період у CSV (посторінково, без завантаження всього періоду). */
+    public Path exportRawStats(User user, LocalDate start, LocalDate end) throws Exception {
+        validateUser(user);
+        validatePeriod(start, end);
+
+        String name = "raw_stats_" + user.getId() + "_" + start + "_" + end;
+        return new RawStatsCsvExporter().export(name,
+                statsRepo.streamByUserIdAndRecordedAtBetween(user.getId(), start.atStartOfDay(), end.atTime(23, 59, 59)));
+    }
+
     public void deleteExportedFile(Path path) {
         try {
             Files.deleteIfExists(path);
@@ -144,6 +188,44 @@ public class ReportService {
     // -----------------------------------------------------------------
     // INTERNAL
     // -----------------------------------------------------------------
+    /**
+     * Один прохід по даних за [from, to): готові агрегати зі stats_rollup до позначки рівня,
+     * решта ("хвіст", ще не згорнутий) — із сирих записів (агрегацією в MySQL або потоково).
+     * Рівень — найгрубший, що ще дає погодинну деталізацію звіту.
+     */
+    private ReportAccumulator accumulate(Integer userId, LocalDateTime from, LocalDateTime to) {
+        RollupLevel level = RollupLevel.coarsestFor(from, to, ChronoUnit.HOURS);
+        ReportAccumulator acc = new ReportAccumulator();
+
+        LocalDateTime rawFrom = from;
+        if (rollupRepo != null) {
+            LocalDateTime watermark = rollupRepo.findWatermark(userId, level).orElse(null);
+            if (watermark != null && watermark.isAfter(from)) {
+                LocalDateTime rolledTo = level.bucketStart(watermark.isBefore(to) ? watermark : to);
+                rollupRepo.findByUserIdAndLevelBetween(userId, level, from, rolledTo).forEach(acc::accept);
+                rawFrom = rolledTo;
+            }
+        }
+
+        if (rawFrom.isBefore(to)) {
+            calculator.accumulateRaw(statsRepo, userId, rawFrom, to.minusSeconds(1), acc);
+        }
+        return acc;
+    }
+
+    /** Розділ "CPU по ядрах і процесах" за [start, end]; null — репозиторію немає або читання не вдалося. */
+    private CpuBreakdownSummary cpuBreakdown(Integer userId, LocalDate start, LocalDate end) {
+        if (cpuBreakdownRepo == null) return null;
+        try {
+            return calculator.cpuBreakdownSummary(
+                    cpuBreakdownRepo.findByUserIdBetween(userId, start.atStartOfDay(), end.plusDays(1).atStartOfDay()),
+                    AppConfig.getInt("cpu.topProcesses", 10));
+        } catch (RuntimeException e) {
+            System.err.println("[ReportService] Розбивку CPU не прочитано: " + e.getMessage());
+            return null;
+        }
+    }
+
     private void validateUser(User user) {
         if (user == null || user.getId() == null)
             throw new IllegalArgumentException("User is not defined.");
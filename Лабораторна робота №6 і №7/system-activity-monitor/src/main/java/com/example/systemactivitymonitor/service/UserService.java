@@ -56,6 +56,7 @@ public class UserService {
 
             // Паролі без хешування — пряме порівняння
             if (password.equals(user.getPasswordHash())) {
+                seedIdleIndex(user);
                 return Optional.of(user);
             }
         }
@@ -63,6 +64,15 @@ public class UserService {
         return Optional.empty();
     }
 
+    /** Історія простоїв — в індекс пам’яті (активний простій і суми для звітів без запитів до БД). */
+    private void seedIdleIndex(User user) {
+        try {
+            new IdleService().seedIndex(user);
+        } catch (Exception e) {
+            System.err.println("[UserService] Не вдалося завантажити простої: " + e.getMessage());
+        }
+    }
+
     // ======================================================
     // CHANGE PASSWORD
     // ======================================================
@@ -0,0 +1,326 @@
+package com.example.systemactivitymonitor.service.burst;
+
+import com.example.systemactivitymonitor.metrics.MetricsProvider;
+import com.example.systemactivitymonitor.metrics.burst.BurstRing;
+import com.example.systemactivitymonitor.model.BurstAggregate;
+import com.example.systemactivitymonitor.model.CpuSpike;
+import com.example.systemactivitymonitor.model.User;
+import com.example.systemactivitymonitor.repository.interfaces.BurstRepository;
+import com.example.systemactivitymonitor.util.AppConfig;
+import com.example.systemactivitymonitor.util.AppExecutors;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BurstSampler — burst-режим: CPU і RAM кожні burst.periodMs (100–250 мс) для діагностики
+ * коротких сплесків, які 5-секундний збір MonitoringService усереднює.
+ *
+ * ✔ Такт виконується прямо на sam-timer (AppExecutors.scheduleOnTimer) і не алокує:
+ *   readCpuTicks / readRamUsedMb у заздалегідь виділені масиви, вибірка — у BurstRing,
+ *   агрегат кошика і стан сплеску — примітивні поля
+ * ✔ CPU рахується з різниць власних лічильників — 5-секундне cpuLoad провайдера не зачіпається
+ * ✔ У БД — лише агрегати за burst.aggregateMs (min / avg / max) пакетами по burst.flushBuckets
+ *   і сире вікно навколо кожного сплеску (± burst.spikeContextMs)
+ * ✔ Сплеск: CPU ≥ burst.spikeCpu; кінець — CPU < spikeCpu − burst.spikeHysteresis;
+ *   довший за burst.spikeMaxMs обрізається, і наступний не почнеться, доки CPU не спаде
+ * ✔ Об’єкти створюються лише на межі кошика чи після сплеску; запис у БД — на AppExecutors
+ *
+ * Без користувача (гість) або з burst.persist = false буфер лише доступний для UI.
+ */
+public class BurstSampler {
+
+    private static final int IDLE = 0;
+    private static final int ACTIVE = 1;
+    private static final int POST = 2;
+
+    private final MetricsProvider provider;
+    private final BurstRepository repository;
+    private final Integer userId;
+
+    private final int periodMs = clamp(AppConfig.getInt("burst.periodMs", 250), 100, 1_000);
+    private final long aggregateMs = Math.max(periodMs, AppConfig.getLong("burst.aggregateMs", 5_000));
+    private final int flushBuckets = Math.max(1, AppConfig.getInt("burst.flushBuckets", 12));
+    private final double spikeCpu = AppConfig.getInt("burst.spikeCpu", 80);
+    private final double spikeRelease = spikeCpu - Math.max(0, AppConfig.getInt("burst.spikeHysteresis", 10));
+    private final long contextMs = Math.max(0, AppConfig.getLong("burst.spikeContextMs", 5_000));
+    private final long spikeMaxMs = Math.max(periodMs, AppConfig.getLong("burst.spikeMaxMs", 60_000));
+    private final boolean persist;
+
+    private final BurstRing ring;
+
+    // ------------------------ CPU (лише потік вибірок) ------------------------
+    private final long[] ticks = new long[2];
+    private long prevBusy;
+    private long prevTotal;
+    private boolean primed = false;
+
+    // ------------------------ Кошик агрегату ------------------------
+    private long bucketStartMs = -1;
+    private int bucketCount;
+    private double cpuSum;
+    private double cpuMin;
+    private double cpuMax;
+    private double ramSum;
+    private double ramMax;
+    private int ramCount;
+    private final List<BurstAggregate> pending = new ArrayList<>();
+
+    // ------------------------ Сплеск ------------------------
+    private int spikeState = IDLE;
+    private boolean armed = true;
+    private long spikeStartMs;
+    private long spikeEndMs;
+    private double spikePeak;
+
+    private ScheduledFuture<?> future;
+    private volatile boolean running = false;
+    private volatile CpuSpike lastSpike;
+    private long sampleCount;
+    private long spikeCount;
+    private long aggregateCount;
+
+    public BurstSampler(MetricsProvider provider, User user, BurstRepository repository) {
+        this.provider = provider;
+        this.repository = repository;
+        this.userId = user != null ? user.getId() : null;
+        this.persist = userId != null && repository != null && AppConfig.getBoolean("burst.persist", true);
+
+        long windowMs = AppConfig.getLong("burst.windowMinutes", 5) * 60_000;
+        long spikeWindowMs = spikeMaxMs + 2 * contextMs;
+        this.ring = new BurstRing((int) Math.min(Integer.MAX_VALUE, Math.max(windowMs, spikeWindowMs) / periodMs + 1));
+    }
+
+    // ========================================================================
+    // START / STOP
+    // ========================================================================
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        primed = false;
+        future = AppExecutors.scheduleOnTimer("burst-sample", this::tick, 0, periodMs, TimeUnit.MILLISECONDS);
+        System.out.printf("⚡ [burst] вибірки кожні %d мс, буфер %d вибірок%n", periodMs, ring.getCapacity());
+    }
+
+    /** Зупиняє вибірки, дописує незакритий кошик і сплеск, що ще триває. */
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        if (future != null) future.cancel(false);
+
+        closeBucket();
+        flushAggregates();
+        if (spikeState != IDLE) {
+            if (spikeState == ACTIVE) spikeEndMs = System.currentTimeMillis();
+            captureSpike();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ========================================================================
+    // TICK (sam-timer, без алокацій)
+    // ========================================================================
+    synchronized void tick() {
+        if (!running) return;
+        if (!provider.readCpuTicks(ticks)) return;
+
+        long busyDiff = ticks[0] - prevBusy;
+        long totalDiff = ticks[1] - prevTotal;
+        prevBusy = ticks[0];
+        prevTotal = ticks[1];
+
+        if (!primed) {
+            primed = true;
+            return;
+        }
+        if (totalDiff <= 0) return;
+
+        long now = System.currentTimeMillis();
+        float cpu = (float) Math.max(0, Math.min(100, 100.0 * busyDiff / totalDiff));
+        double ram = provider.readRamUsedMb();
+        float ramMb = ram < 0 ? Float.NaN : (float) ram;
+
+        ring.add(now, cpu, ramMb);
+        sampleCount++;
+
+        accumulate(now, cpu, ramMb);
+        detectSpike(now, cpu);
+    }
+
+    // ========================================================================
+    // AGGREGATES
+    // ========================================================================
+    private void accumulate(long now, float cpu, float ramMb) {
+        long bucket = now - now % aggregateMs;
+        if (bucket != bucketStartMs) {
+            closeBucket();
+            if (pending.size() >= flushBuckets) flushAggregates();
+
+            bucketStartMs = bucket;
+            bucketCount = 0;
+            cpuSum = 0;
+            cpuMin = Double.MAX_VALUE;
+            cpuMax = -Double.MAX_VALUE;
+            ramSum = 0;
+            ramMax = -Double.MAX_VALUE;
+            ramCount = 0;
+        }
+
+        bucketCount++;
+        cpuSum += cpu;
+        cpuMin = Math.min(cpuMin, cpu);
+        cpuMax = Math.max(cpuMax, cpu);
+        if (!Float.isNaN(ramMb)) {
+            ramSum += ramMb;
+            ramMax = Math.max(ramMax, ramMb);
+            ramCount++;
+        }
+    }
+
+    private void closeBucket() {
+        if (bucketStartMs < 0 || bucketCount == 0) return;
+
+        aggregateCount++;
+        if (persist) {
+            BurstAggregate a = new BurstAggregate(userId, toDateTime(bucketStartMs), periodMs);
+            a.setSampleCount(bucketCount);
+            a.setCpuAvg(cpuSum / bucketCount);
+            a.setCpuMin(cpuMin);
+            a.setCpuMax(cpuMax);
+            if (ramCount > 0) {
+                a.setRamAvgMb(ramSum / ramCount);
+                a.setRamMaxMb(ramMax);
+            }
+            pending.add(a);
+        }
+        bucketCount = 0;
+    }
+
+    private void flushAggregates() {
+        if (pending.isEmpty()) return;
+
+        List<BurstAggregate> batch = new ArrayList<>(pending);
+        pending.clear();
+        AppExecutors.submit("burst-persist", () -> {
+            try {
+                repository.saveAggregates(batch);
+            } catch (RuntimeException e) {
+                System.err.println("[BurstSampler] Не вдалося зберегти агрегати: " + e.getMessage());
+            }
+        });
+    }
+
+    // ========================================================================
+    // SPIKES
+    // ========================================================================
+    private void detectSpike(long now, float cpu) {
+        switch (spikeState) {
+            case IDLE -> {
+                if (!armed) {
+                    armed = cpu < spikeRelease;
+                } else if (cpu >= spikeCpu) {
+                    spikeState = ACTIVE;
+                    spikeStartMs = now;
+                    spikePeak = cpu;
+                }
+            }
+            case ACTIVE -> {
+                spikePeak = Math.max(spikePeak, cpu);
+                if (cpu < spikeRelease) {
+                    spikeState = POST;
+                    spikeEndMs = now;
+                } else if (now - spikeStartMs >= spikeMaxMs) {
+                    // довге навантаження — не сплеск: обрізаємо і чекаємо спаду
+                    spikeState = POST;
+                    spikeEndMs = now;
+                    armed = false;
+                }
+            }
+            case POST -> {
+                if (armed && cpu >= spikeCpu && now - spikeStartMs < spikeMaxMs) {
+                    spikeState = ACTIVE; // повторний сплеск у межах контексту — той самий епізод
+                    spikePeak = Math.max(spikePeak, cpu);
+                } else {
+                    if (!armed && cpu < spikeRelease) armed = true;
+                    if (now >= spikeEndMs + contextMs) {
+                        captureSpike();
+                    }
+                }
+            }
+        }
+    }
+
+    private void captureSpike() {
+        spikeState = IDLE;
+        spikeCount++;
+
+        long from = spikeStartMs - contextMs;
+        long to = spikeEndMs + contextMs;
+        int n = ring.count(from, to);
+        long[] times = new long[n];
+        float[] cpu = new float[n];
+        float[] ram = new float[n];
+        n = ring.copy(from, to, times, cpu, ram);
+
+        CpuSpike spike = new CpuSpike(userId, toDateTime(spikeStartMs), toDateTime(spikeEndMs),
+                spikePeak, spikeCpu, periodMs);
+        spike.setSamples(times, cpu, ram);
+        lastSpike = spike;
+
+        System.out.printf("⚡ [burst] сплеск CPU до %.1f%% тривалістю %d мс (%d вибірок)%n",
+                spikePeak, spikeEndMs - spikeStartMs, n);
+
+        if (!persist) return;
+        AppExecutors.submit("burst-persist", () -> {
+            try {
+                repository.saveSpike(spike);
+            } catch (RuntimeException e) {
+                System.err.println("[BurstSampler] Не вдалося зберегти сплеск: " + e.getMessage());
+            }
+        });
+    }
+
+    // ========================================================================
+    // ACCESS
+    // ========================================================================
+    /** Сирі вибірки останніх burst.windowMinutes хвилин. */
+    public BurstRing getRing() {
+        return ring;
+    }
+
+    public int getPeriodMs() {
+        return periodMs;
+    }
+
+    public CpuSpike getLastSpike() {
+        return lastSpike;
+    }
+
+    public synchronized long getSampleCount() {
+        return sampleCount;
+    }
+
+    public synchronized long getSpikeCount() {
+        return spikeCount;
+    }
+
+    public synchronized long getAggregateCount() {
+        return aggregateCount;
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.systemactivitymonitor.service.calculations;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AppNameCache — назва застосунку для id заголовка вікна (window_titles.id).
+ * normalizeAppName рахується один раз на кожен різний заголовок, а не на кожен запис.
+ */
+public final class AppNameCache {
+
+    private static final int MAX_ENTRIES = 65_536;
+    private static final Map<Integer, String> NAMES = new ConcurrentHashMap<>();
+
+    private AppNameCache() {}
+
+    /** titleId == null — запис без словника (локальне сховище, спул): рахуємо напряму. */
+    public static String forTitle(Integer titleId, String title) {
+        if (titleId == null) return ReportCalculator.normalizeAppName(title);
+
+        String name = NAMES.get(titleId);
+        if (name == null) {
+            name = ReportCalculator.normalizeAppName(title);
+            if (NAMES.size() < MAX_ENTRIES) NAMES.put(titleId, name);
+        }
+        return name;
+    }
+}
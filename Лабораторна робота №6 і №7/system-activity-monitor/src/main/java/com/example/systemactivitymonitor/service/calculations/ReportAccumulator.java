@@ -0,0 +1,198 @@
+package com.example.systemactivitymonitor.service.calculations;
+
+import com.example.systemactivitymonitor.model.DaySummary;
+import com.example.systemactivitymonitor.model.HourStat;
+import com.example.systemactivitymonitor.model.Report;
+import com.example.systemactivitymonitor.model.StatsRollup;
+import com.example.systemactivitymonitor.model.SystemStats;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * ReportAccumulator — однопрохідний розрахунок звіту.
+ *
+ * ✔ Кожен запис (або агрегат stats_rollup) споживається рівно один раз — зручно
+ *   для потокового читання з ResultSet, список записів не потрібен
+ * ✔ Пам’ять — O(дні × 24 + кількість застосунків), а не O(кількість записів)
+ * ✔ Результат той самий, що й у ReportCalculator над списком: суми CPU і RAM ведуться
+ *   в сотих (колонки DECIMAL(…, 2)) цілими числами, тож середнє округлюється від точної
+ *   суми, як BigDecimal у average(), а не від суми double з накопиченою похибкою
+ * ✔ Записи зі словниковим window_title_id рахуються за int-ключем; назва застосунку
+ *   визначається один раз на кожен id — при видачі результату
+ *
+ * Не потокобезпечний.
+ */
+public class ReportAccumulator {
+
+    private static final int HOURS = 24;
+    private static final int APP_NAME_MEMO_LIMIT = 4096;
+
+    /** Погодинні суми за одну добу. */
+    private static final class DayBuckets {
+        final long[] cpuSum = new long[HOURS];    // соті
+        final long[] ramSum = new long[HOURS];
+        final long[] count = new long[HOURS];
+        long maxUptime = 0;
+    }
+
+    private long cpuSum;    // соті
+    private long ramSum;
+    private long count;
+
+    private final Map<LocalDate, DayBuckets> days = new HashMap<>();
+    private final Map<String, long[]> appCounts = new HashMap<>();
+    private final Map<String, String> appNameMemo = new HashMap<>();
+    private final Map<Integer, long[]> titleIdCounts = new HashMap<>();
+    private final Map<Integer, String> titlesById = new HashMap<>();
+
+    // ========================================================================
+    // INPUT
+    // ========================================================================
+    /** Сирий запис. Об’єкт не зберігається — можна передавати той самий екземпляр повторно. */
+    public void accept(SystemStats s) {
+        if (s.getRecordedAt() == null) return;
+
+        add(s.getRecordedAt(),
+                hundredths(s.getCpuLoad() != null ? s.getCpuLoad().doubleValue() : 0),
+                hundredths(s.getRamUsedMb() != null ? s.getRamUsedMb().doubleValue() : 0),
+                1,
+                s.getSystemUptimeSeconds() != null ? s.getSystemUptimeSeconds() : 0);
+
+        if (s.getWindowTitleId() != null) {
+            long[] cell = titleIdCounts.get(s.getWindowTitleId());
+            if (cell == null) {
+                titleIdCounts.put(s.getWindowTitleId(), cell = new long[1]);
+                titlesById.put(s.getWindowTitleId(), s.getActiveWindow());
+            }
+            cell[0]++;
+        } else if (s.getActiveWindow() != null) {
+            countApp(appName(s.getActiveWindow()), 1);
+        }
+    }
+
+    /** Готовий агрегат рівня MINUTE або HOUR (назви застосунків уже нормалізовані). */
+    public void accept(StatsRollup r) {
+        if (r.getBucketStart() == null || r.getSampleCount() == 0) return;
+
+        add(r.getBucketStart(), hundredths(r.getCpuSum()), hundredths(r.getRamSum()),
+                r.getSampleCount(), r.getUptimeMax());
+        r.getWindowCounts().forEach(this::countApp);
+    }
+
+    /** Кількість записів для сирого заголовка вікна (нормалізується тут). */
+    public void acceptWindowCount(String title, long n) {
+        if (title != null && n > 0) countApp(appName(title), n);
+    }
+
+    private void add(LocalDateTime at, long cpu, long ram, long n, long uptime) {
+        cpuSum += cpu;
+        ramSum += ram;
+        count += n;
+
+        DayBuckets day = days.computeIfAbsent(at.toLocalDate(), d -> new DayBuckets());
+        int hour = at.getHour();
+        day.cpuSum[hour] += cpu;
+        day.ramSum[hour] += ram;
+        day.count[hour] += n;
+        if (uptime > day.maxUptime) day.maxUptime = uptime;
+    }
+
+    private void countApp(String app, long n) {
+        long[] cell = appCounts.get(app);
+        if (cell == null) appCounts.put(app, cell = new long[1]);
+        cell[0] += n;
+    }
+
+    private String appName(String title) {
+        String name = appNameMemo.get(title);
+        if (name == null) {
+            name = ReportCalculator.normalizeAppName(title);
+            if (appNameMemo.size() < APP_NAME_MEMO_LIMIT) appNameMemo.put(title, name);
+        }
+        return name;
+    }
+
+    // ========================================================================
+    // RESULT
+    // ========================================================================
+    public long getSampleCount() {
+        return count;
+    }
+
+    public BigDecimal getCpuAvg() {
+        return avg(cpuSum, count);
+    }
+
+    public BigDecimal getRamAvg() {
+        return avg(ramSum, count);
+    }
+
+    public Map<String, BigDecimal> getAppUsagePercent() {
+        if (count == 0) return Map.of();
+
+        Map<String, long[]> byApp = new HashMap<>();
+        appCounts.forEach((app, cell) -> byApp.computeIfAbsent(app, k -> new long[1])[0] += cell[0]);
+        titleIdCounts.forEach((id, cell) -> byApp.computeIfAbsent(
+                AppNameCache.forTitle(id, titlesById.get(id)), k -> new long[1])[0] += cell[0]);
+
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(byApp.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> e : entries) {
+            result.put(e.getKey(), BigDecimal.valueOf(e.getValue()[0] * 100.0 / count)
+                    .setScale(2, RoundingMode.HALF_UP));
+        }
+        return result;
+    }
+
+    public List<DaySummary> getDaySummary() {
+        List<LocalDate> dates = new ArrayList<>(days.keySet());
+        Collections.sort(dates);
+
+        List<DaySummary> result = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            DayBuckets day = days.get(date);
+            List<HourStat> hours = new ArrayList<>();
+            for (int h = 0; h < HOURS; h++) {
+                if (day.count[h] == 0) continue;
+                hours.add(new HourStat(h, avg(day.cpuSum[h], day.count[h]), avg(day.ramSum[h], day.count[h])));
+            }
+            result.add(new DaySummary(date, hours));
+        }
+        return result;
+    }
+
+    public BigDecimal getAverageUptimeHours() {
+        if (days.isEmpty()) return BigDecimal.ZERO;
+
+        BigDecimal sumHours = BigDecimal.ZERO;
+        for (DayBuckets day : days.values()) {
+            sumHours = sumHours.add(BigDecimal.valueOf(day.maxUptime / 3600.0));
+        }
+        return sumHours.divide(BigDecimal.valueOf(days.size()), 2, RoundingMode.HALF_UP);
+    }
+
+    /** Заповнює розрахункові поля звіту. */
+    public void fill(Report report) {
+        report.setCpuAvg(getCpuAvg());
+        report.setRamAvg(getRamAvg());
+        report.setAppUsagePercent(getAppUsagePercent());
+        report.setDays(getDaySummary());
+        report.setAvgUptimeHours(getAverageUptimeHours());
+    }
+
+    /** Значення з двома знаками після коми (або сума таких у агрегаті) — у сотих. */
+    private static long hundredths(double value) {
+        return Math.round(value * 100);
+    }
+
+    private static BigDecimal avg(long hundredths, long n) {
+        if (n == 0) return BigDecimal.ZERO;
+        return BigDecimal.valueOf(hundredths, 2).divide(BigDecimal.valueOf(n), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -1,15 +1,71 @@
 package com.example.systemactivitymonitor.service.calculations;
 
 import com.example.systemactivitymonitor.model.*;
+import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+import com.example.systemactivitymonitor.service.classification.AppClassifier;
+import com.example.systemactivitymonitor.service.idle.IdleSessionIndex;
+import com.example.systemactivitymonitor.util.AppConfig;
+
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class ReportCalculator {
 
+    /** Де рахувати агрегати сирих записів. */
+    public enum AggregationMode {
+        /** На сервері БД, якщо репозиторій це підтримує; інакше — у пам’яті. */
+        AUTO,
+        /**
+         * aggregateByHour / countByActiveWindow репозиторію: у MySQL — GROUP BY на сервері,
+         * по мережі йдуть лише ~24 рядки на добу. Сховище без агрегації на сервері (локальні
+         * файли) рахує їх своїми потоковими проходами — з попередженням.
+         */
+        PUSHDOWN,
+        /** Потокове читання рядків і однопрохідний ReportAccumulator. */
+        IN_MEMORY
+    }
+
+    private final AggregationMode mode;
+    private boolean pushdownFallbackReported = false;
+
+    public ReportCalculator() {
+        this(AggregationMode.valueOf(AppConfig.get("report.aggregation", "AUTO")));
+    }
+
+    public ReportCalculator(AggregationMode mode) {
+        this.mode = mode;
+    }
+
+    // ------------------------------------------------------------
+    // 🔀 Сирі записи → акумулятор (pushdown або у пам’яті)
+    // ------------------------------------------------------------
+    public void accumulateRaw(StatsRepository repo, Integer userId,
+                              LocalDateTime from, LocalDateTime to, ReportAccumulator acc) {
+        boolean pushdown = switch (mode) {
+            case PUSHDOWN -> true;
+            case AUTO -> repo.supportsAggregatePushdown();
+            case IN_MEMORY -> false;
+        };
+
+        if (mode == AggregationMode.PUSHDOWN && !repo.supportsAggregatePushdown() && !pushdownFallbackReported) {
+            pushdownFallbackReported = true;
+            System.err.println("[ReportCalculator] Сховище " + repo.getClass().getSimpleName()
+                    + " не агрегує на сервері — агрегати рахуються потоковим читанням у застосунку.");
+        }
+
+        if (pushdown) {
+            repo.aggregateByHour(userId, from, to).forEach(acc::accept);
+            repo.countByActiveWindow(userId, from, to).forEach(acc::acceptWindowCount);
+        } else {
+            repo.forEachByUserIdAndRecordedAtBetween(userId, from, to, acc::accept);
+        }
+    }
+
     // ------------------------------------------------------------
     // 🧮 Середнє значення
     // ------------------------------------------------------------
@@ -40,6 +96,12 @@ public class ReportCalculator {
         return BigDecimal.valueOf(sum);
     }
 
+    /** Простій за [from, to) з індексу: інтервали обрізаються межами періоду. */
+    public BigDecimal totalIdle(IdleSessionIndex index, LocalDateTime from, LocalDateTime to) {
+        if (index == null) return BigDecimal.ZERO;
+        return BigDecimal.valueOf(index.overlapSeconds(from, to));
+    }
+
     // ------------------------------------------------------------
     // 📊 Відсоток використання застосунків
     // ------------------------------------------------------------
@@ -51,7 +113,7 @@ public class ReportCalculator {
         Map<String, Long> counts = stats.stream()
                 .map(SystemStats::getActiveWindow)
                 .filter(Objects::nonNull)
-                .map(this::normalizeAppName)
+                .map(ReportCalculator::normalizeAppName)
                 .collect(Collectors.groupingBy(s -> s, LinkedHashMap::new, Collectors.counting()));
 
         Map<String, BigDecimal> result = new LinkedHashMap<>();
@@ -122,22 +184,82 @@ public class ReportCalculator {
         return sumHours.divide(BigDecimal.valueOf(dayMaxUptime.size()), 2, RoundingMode.HALF_UP);
     }
 
+    // ------------------------------------------------------------
+    // 🧮 CPU по ядрах і процесах
+    // ------------------------------------------------------------
+    /**
+     * Середнє й пікове завантаження кожного ядра та топ процесів за період.
+     * Процеси групуються за назвою (pid змінюється між перезапусками): CPU — сума % у топах
+     * знімків, поділена на кількість знімків; RSS — пік.
+     */
+    public CpuBreakdownSummary cpuBreakdownSummary(List<CpuBreakdownSnapshot> snapshots, int topN) {
+        CpuBreakdownSummary summary = new CpuBreakdownSummary();
+        if (snapshots == null || snapshots.isEmpty()) return summary;
+
+        int cores = snapshots.stream().mapToInt(CpuBreakdownSnapshot::getCoreCount).max().orElse(0);
+        double[] sum = new double[cores];
+        double[] max = new double[cores];
+        int[] count = new int[cores];
+        long processes = 0;
+
+        // назва → [сума CPU %, пік RSS МБ, останній pid]
+        Map<String, double[]> byName = new HashMap<>();
+
+        for (CpuBreakdownSnapshot s : snapshots) {
+            double[] loads = s.getCoreLoads();
+            for (int i = 0; i < loads.length; i++) {
+                sum[i] += loads[i];
+                max[i] = Math.max(max[i], loads[i]);
+                count[i]++;
+            }
+            processes += s.getProcessCount();
+
+            for (ProcessUsage p : s.getTopCpu()) {
+                if (p.getName() == null) continue;
+                double[] acc = byName.computeIfAbsent(p.getName(), k -> new double[3]);
+                acc[0] += p.getCpuPercent();
+                acc[1] = Math.max(acc[1], p.getRssMb());
+                acc[2] = p.getPid();
+            }
+            for (ProcessUsage p : s.getTopRss()) {
+                if (p.getName() == null) continue;
+                double[] acc = byName.computeIfAbsent(p.getName(), k -> new double[3]);
+                acc[1] = Math.max(acc[1], p.getRssMb());
+                acc[2] = p.getPid();
+            }
+        }
+
+        double[] avg = new double[cores];
+        for (int i = 0; i < cores; i++) {
+            avg[i] = count[i] == 0 ? 0 : sum[i] / count[i];
+        }
+
+        int n = snapshots.size();
+        List<ProcessUsage> all = byName.entrySet().stream()
+                .map(e -> new ProcessUsage((int) e.getValue()[2], e.getKey(), e.getValue()[0] / n, e.getValue()[1]))
+                .toList();
+
+        summary.setSampleCount(n);
+        summary.setCoreAvg(avg);
+        summary.setCoreMax(max);
+        summary.setAvgProcessCount((double) processes / n);
+        summary.setTopCpu(all.stream()
+                .filter(p -> p.getCpuPercent() > 0)
+                .sorted(Comparator.comparingDouble(ProcessUsage::getCpuPercent).reversed())
+                .limit(topN)
+                .toList());
+        summary.setTopRss(all.stream()
+                .sorted(Comparator.comparingDouble(ProcessUsage::getRssMb).reversed())
+                .limit(topN)
+                .toList());
+        return summary;
+    }
+
     // ------------------------------------------------------------
     // 🏷 Нормалізація назв вікон
     // ------------------------------------------------------------
-    private String normalizeAppName(String t) {
-        if (t == null) return "Unknown";
-        String s = t.toLowerCase();
-        if (s.contains("chrome")) return "Google Chrome";
-        if (s.contains("firefox")) return "Mozilla Firefox";
-        if (s.contains("edge")) return "Microsoft Edge";
-        if (s.contains("opera")) return "Opera Browser";
-        if (s.contains("word")) return "MS Word";
-        if (s.contains("excel")) return "MS Excel";
-        if (s.contains("idea")) return "IntelliJ IDEA";
-        if (s.contains("studio")) return "Android Studio";
-        if (s.contains("telegram")) return "Telegram";
-        if (s.contains("viber")) return "Viber";
-        return t.length() > 40 ? t.substring(0, 40) + "..." : t;
+    /** Назва застосунку за заголовком вікна — правила AppClassifier (app-rules.txt). */
+    public static String normalizeAppName(String t) {
+        return AppClassifier.getDefault().classify(t);
     }
 }
@@ -0,0 +1,138 @@
+package com.example.systemactivitymonitor.service.classification;
+
+import java.util.*;
+
+/**
+ * AhoCorasickMatcher — усі фрагменти правил, скомпільовані в один автомат.
+ *
+ * ✔ Один прохід по заголовку — O(довжина заголовка) незалежно від кількості правил
+ * ✔ Регістр ігнорується посимвольно (Character.toLowerCase), без копії рядка
+ * ✔ У кожному стані заздалегідь пораховано найпріоритетніше правило серед усіх
+ *   фрагментів, що в ньому закінчуються (з урахуванням суфіксних посилань),
+ *   тож перелічувати збіги не потрібно
+ * ✔ Переходи всіх вузлів лежать у двох суцільних масивах (символ / ціль, відсортовані
+ *   в межах вузла, бінарний пошук) — без boxing і з кращою локальністю кешу;
+ *   для кореня (через нього проходить більшість кроків) — пряма таблиця ASCII
+ *
+ * Незмінний після побудови, потокобезпечний.
+ */
+final class AhoCorasickMatcher {
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final int[] edgeStart;   // переходи вузла n — [edgeStart[n], edgeStart[n + 1])
+    private final char[] edgeChar;
+    private final int[] edgeTarget;
+    private final int[] fail;
+    private final int[] best;
+    private final int[] rootAscii = new int[128];
+
+    AhoCorasickMatcher(List<String> fragments) {
+        // 1️⃣ бор на HashMap — лише під час побудови
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Integer> output = new ArrayList<>();
+        children.add(new HashMap<>());
+        output.add(NO_MATCH);
+
+        for (int rule = 0; rule < fragments.size(); rule++) {
+            String fragment = fragments.get(rule);
+            if (fragment.isEmpty()) continue;
+
+            int node = 0;
+            for (int i = 0; i < fragment.length(); i++) {
+                char c = Character.toLowerCase(fragment.charAt(i));
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    output.add(NO_MATCH);
+                    children.get(node).put(c, next);
+                }
+                node = next;
+            }
+            output.set(node, Math.min(output.get(node), rule));
+        }
+
+        // 2️⃣ компактні переходи
+        int n = children.size();
+        int edges = 0;
+        for (Map<Character, Integer> c : children) edges += c.size();
+
+        edgeStart = new int[n + 1];
+        edgeChar = new char[edges];
+        edgeTarget = new int[edges];
+        int e = 0;
+        for (int node = 0; node < n; node++) {
+            edgeStart[node] = e;
+            List<Character> chars = new ArrayList<>(children.get(node).keySet());
+            Collections.sort(chars);
+            for (char c : chars) {
+                edgeChar[e] = c;
+                edgeTarget[e++] = children.get(node).get(c);
+            }
+        }
+        edgeStart[n] = e;
+
+        Arrays.fill(rootAscii, -1);
+        for (int i = edgeStart[0]; i < edgeStart[1]; i++) {
+            if (edgeChar[i] < 128) rootAscii[edgeChar[i]] = edgeTarget[i];
+        }
+
+        // 3️⃣ суфіксні посилання BFS-ом і найкраще правило стану
+        fail = new int[n];
+        best = new int[n];
+        best[0] = output.get(0);
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int i = edgeStart[0]; i < edgeStart[1]; i++) {
+            int child = edgeTarget[i];
+            fail[child] = 0;
+            best[child] = output.get(child);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = edgeStart[node]; i < edgeStart[node + 1]; i++) {
+                char c = edgeChar[i];
+                int child = edgeTarget[i];
+
+                int f = fail[node];
+                int next;
+                while ((next = step(f, c)) < 0 && f != 0) f = fail[f];
+                fail[child] = next >= 0 ? next : 0;
+                best[child] = Math.min(output.get(child), best[fail[child]]);
+                queue.add(child);
+            }
+        }
+    }
+
+    /** Індекс найпріоритетнішого правила, фрагмент якого є в тексті; -1 — жодного. */
+    int firstRule(CharSequence text) {
+        int state = 0;
+        int found = NO_MATCH;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+
+            int next;
+            while ((next = step(state, c)) < 0 && state != 0) state = fail[state];
+            state = next >= 0 ? next : 0;
+
+            if (best[state] < found) {
+                found = best[state];
+                if (found == 0) break;
+            }
+        }
+        return found == NO_MATCH ? -1 : found;
+    }
+
+    int stateCount() {
+        return fail.length;
+    }
+
+    private int step(int node, char c) {
+        if (node == 0 && c < 128) return rootAscii[c];
+        int i = Arrays.binarySearch(edgeChar, edgeStart[node], edgeStart[node + 1], c);
+        return i >= 0 ? edgeTarget[i] : -1;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.systemactivitymonitor.service.classification;
+
+import com.example.systemactivitymonitor.util.AppConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AppClassifier — визначає назву застосунку за заголовком вікна.
+ *
+ * ✔ Правила читаються з файлу (apps.rulesFile) або з вбудованого classification/app-rules.txt
+ * ✔ Усі фрагменти компілюються в один автомат Ахо–Корасік — класифікація за один
+ *   прохід по заголовку, скільки б правил не було
+ * ✔ LRU-пам’ять "заголовок → застосунок" (apps.memoSize) для повторюваних заголовків
+ * ✔ Без збігу — сам заголовок (довгий обрізається до 40 символів), null — "Unknown"
+ *
+ * Потокобезпечний.
+ */
+public final class AppClassifier {
+
+    private static final String DEFAULT_RULES = "/classification/app-rules.txt";
+    private static final String SEPARATOR = "=>";
+    private static final int MAX_TITLE = 40;
+
+    private static volatile AppClassifier defaultInstance;
+
+    private final List<AppRule> rules;
+    private final AhoCorasickMatcher matcher;
+    private final Map<String, String> memo;
+    private final boolean memoEnabled;
+
+    public AppClassifier(List<AppRule> rules, int memoSize) {
+        this.rules = List.copyOf(rules);
+
+        List<String> fragments = new ArrayList<>(rules.size());
+        for (AppRule r : rules) fragments.add(r.getFragment());
+        this.matcher = new AhoCorasickMatcher(fragments);
+
+        int capacity = Math.max(0, memoSize);
+        this.memoEnabled = capacity > 0;
+        this.memo = new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** Класифікатор із правилами з конфігурації (створюється один раз). */
+    public static AppClassifier getDefault() {
+        AppClassifier c = defaultInstance;
+        if (c == null) {
+            synchronized (AppClassifier.class) {
+                c = defaultInstance;
+                if (c == null) {
+                    c = new AppClassifier(loadConfiguredRules(), AppConfig.getInt("apps.memoSize", 4096));
+                    defaultInstance = c;
+                }
+            }
+        }
+        return c;
+    }
+
+    // =======================================================================
+    // CLASSIFY
+    // =======================================================================
+    public String classify(String title) {
+        if (title == null) return "Unknown";
+
+        if (memoEnabled) {
+            synchronized (memo) {
+                String cached = memo.get(title);
+                if (cached != null) return cached;
+            }
+        }
+
+        int rule = matcher.firstRule(title);
+        String app = rule >= 0
+                ? rules.get(rule).getAppName()
+                : (title.length() > MAX_TITLE ? title.substring(0, MAX_TITLE) + "..." : title);
+
+        if (memoEnabled) {
+            synchronized (memo) {
+                memo.put(title, app);
+            }
+        }
+        return app;
+    }
+
+    public int getRuleCount() {
+        return rules.size();
+    }
+
+    // =======================================================================
+    // RULES
+    // =======================================================================
+    private static List<AppRule> loadConfiguredRules() {
+        String file = AppConfig.get("apps.rulesFile", null);
+        try {
+            if (file != null) {
+                return parseRules(Files.readString(Path.of(file), StandardCharsets.UTF_8));
+            }
+            try (InputStream in = AppClassifier.class.getResourceAsStream(DEFAULT_RULES)) {
+                if (in == null) throw new IOException("Не знайдено ресурс " + DEFAULT_RULES);
+                return parseRules(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            System.err.println("[AppClassifier] Правила не завантажено: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /** Рядки "фрагмент => Назва"; порожні рядки та "#" пропускаються. */
+    public static List<AppRule> parseRules(String text) {
+        List<AppRule> rules = new ArrayList<>();
+        for (String line : text.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+
+            int sep = trimmed.indexOf(SEPARATOR);
+            if (sep <= 0) {
+                System.err.println("[AppClassifier] Пропущено рядок без '" + SEPARATOR + "': " + trimmed);
+                continue;
+            }
+            String fragment = trimmed.substring(0, sep).trim();
+            String app = trimmed.substring(sep + SEPARATOR.length()).trim();
+            if (!fragment.isEmpty() && !app.isEmpty()) rules.add(new AppRule(fragment, app));
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.systemactivitymonitor.service.classification;
+
+/**
+ * AppRule — правило "фрагмент заголовка → назва застосунку".
+ * Фрагмент зберігається в нижньому регістрі; пріоритет — позиція у файлі правил.
+ */
+public final class AppRule {
+
+    private final String fragment;
+    private final String appName;
+
+    public AppRule(String fragment, String appName) {
+        this.fragment = fragment.toLowerCase();
+        this.appName = appName;
+    }
+
+    public String getFragment() { return fragment; }
+    public String getAppName() { return appName; }
+
+    @Override
+    public String toString() {
+        return fragment + " => " + appName;
+    }
+}
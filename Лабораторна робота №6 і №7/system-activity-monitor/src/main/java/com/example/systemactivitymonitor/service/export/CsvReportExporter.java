@@ -1,9 +1,13 @@
 package com.example.systemactivitymonitor.service.export;
 
+import com.example.systemactivitymonitor.model.CpuBreakdownSummary;
+import com.example.systemactivitymonitor.model.ProcessUsage;
 import com.example.systemactivitymonitor.model.Report;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.*;
+import java.util.List;
+import java.util.Locale;
 
 public class CsvReportExporter implements ReportExporter {
 
@@ -32,11 +36,37 @@ public class CsvReportExporter implements ReportExporter {
                     throw new RuntimeException(e);
                 }
             });
+
+            CpuBreakdownSummary cpu = report.getCpuBreakdown();
+            if (cpu != null && !cpu.isEmpty()) {
+                writeCpuBreakdown(writer, cpu);
+            }
         }
 
         return path;
     }
 
+    private void writeCpuBreakdown(FileWriter writer, CpuBreakdownSummary cpu) throws IOException {
+        writer.write("\nCPU by core (" + cpu.getSampleCount() + " snapshots)\n");
+        writer.write("Core,Avg (%),Max (%)\n");
+        for (int i = 0; i < cpu.getCoreAvg().length; i++) {
+            writer.write(String.format(Locale.US, "%d,%.2f,%.2f\n", i, cpu.getCoreAvg()[i], cpu.getCoreMax()[i]));
+        }
+
+        writer.write("\nTop processes by CPU\n");
+        writeProcesses(writer, cpu.getTopCpu());
+        writer.write("\nTop processes by RSS\n");
+        writeProcesses(writer, cpu.getTopRss());
+    }
+
+    private void writeProcesses(FileWriter writer, List<ProcessUsage> processes) throws IOException {
+        writer.write("Process,PID,CPU Avg (%),RSS Max (MB)\n");
+        for (ProcessUsage p : processes) {
+            writer.write(String.format(Locale.US, "\"%s\",%d,%.2f,%.1f\n",
+                    p.getName().replace("\"", "\"\""), p.getPid(), p.getCpuPercent(), p.getRssMb()));
+        }
+    }
+
     @Override
     public String getExtension() {
         return "csv";
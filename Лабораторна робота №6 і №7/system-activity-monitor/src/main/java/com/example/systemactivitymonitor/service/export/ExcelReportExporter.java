@@ -1,11 +1,14 @@
 package com.example.systemactivitymonitor.service.export;
 
+import com.example.systemactivitymonitor.model.CpuBreakdownSummary;
+import com.example.systemactivitymonitor.model.ProcessUsage;
 import com.example.systemactivitymonitor.model.Report;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.FileOutputStream;
 import java.nio.file.*;
+import java.util.List;
 
 public class ExcelReportExporter implements ReportExporter {
 
@@ -45,6 +48,11 @@ public class ExcelReportExporter implements ReportExporter {
                 r.createCell(1).setCellValue(entry.getValue().doubleValue());
             }
 
+            CpuBreakdownSummary cpu = report.getCpuBreakdown();
+            if (cpu != null && !cpu.isEmpty()) {
+                writeCpuBreakdown(workbook.createSheet("CPU"), cpu);
+            }
+
             try (FileOutputStream out = new FileOutputStream(path.toFile())) {
                 workbook.write(out);
             }
@@ -53,6 +61,48 @@ public class ExcelReportExporter implements ReportExporter {
         return path;
     }
 
+    private void writeCpuBreakdown(Sheet sheet, CpuBreakdownSummary cpu) {
+        int row = 0;
+        sheet.createRow(row++).createCell(0).setCellValue("CPU by core (" + cpu.getSampleCount() + " snapshots)");
+
+        Row header = sheet.createRow(row++);
+        header.createCell(0).setCellValue("Core");
+        header.createCell(1).setCellValue("Avg (%)");
+        header.createCell(2).setCellValue("Max (%)");
+
+        for (int i = 0; i < cpu.getCoreAvg().length; i++) {
+            Row r = sheet.createRow(row++);
+            r.createCell(0).setCellValue(i);
+            r.createCell(1).setCellValue(cpu.getCoreAvg()[i]);
+            r.createCell(2).setCellValue(cpu.getCoreMax()[i]);
+        }
+
+        row++;
+        sheet.createRow(row++).createCell(0).setCellValue("Top processes by CPU:");
+        row = writeProcesses(sheet, row, cpu.getTopCpu());
+
+        row++;
+        sheet.createRow(row++).createCell(0).setCellValue("Top processes by RSS:");
+        writeProcesses(sheet, row, cpu.getTopRss());
+    }
+
+    private int writeProcesses(Sheet sheet, int row, List<ProcessUsage> processes) {
+        Row header = sheet.createRow(row++);
+        header.createCell(0).setCellValue("Process");
+        header.createCell(1).setCellValue("PID");
+        header.createCell(2).setCellValue("CPU Avg (%)");
+        header.createCell(3).setCellValue("RSS Max (MB)");
+
+        for (ProcessUsage p : processes) {
+            Row r = sheet.createRow(row++);
+            r.createCell(0).setCellValue(p.getName());
+            r.createCell(1).setCellValue(p.getPid());
+            r.createCell(2).setCellValue(p.getCpuPercent());
+            r.createCell(3).setCellValue(p.getRssMb());
+        }
+        return row;
+    }
+
     @Override
     public String getExtension() {
         return "xlsx";
@@ -1,5 +1,7 @@
 package com.example.systemactivitymonitor.service.export;
 
+import com.example.systemactivitymonitor.model.CpuBreakdownSummary;
+import com.example.systemactivitymonitor.model.ProcessUsage;
 import com.example.systemactivitymonitor.model.Report;
 import com.example.systemactivitymonitor.util.FontResolver;
 import com.itextpdf.text.*;
@@ -7,6 +9,7 @@ import com.itextpdf.text.pdf.*;
 
 import java.io.FileOutputStream;
 import java.nio.file.*;
+import java.util.List;
 
 public class PdfReportExporter implements ReportExporter {
 
@@ -46,11 +49,54 @@ public class PdfReportExporter implements ReportExporter {
         });
 
         document.add(table);
+
+        CpuBreakdownSummary cpu = report.getCpuBreakdown();
+        if (cpu != null && !cpu.isEmpty()) {
+            addCpuBreakdown(document, cpu, font);
+        }
+
         document.close();
 
         return path;
     }
 
+    private void addCpuBreakdown(Document document, CpuBreakdownSummary cpu, Font font) throws DocumentException {
+        document.add(new Paragraph("\n", font));
+        document.add(new Paragraph("CPU по ядрах (знімків: " + cpu.getSampleCount() + ")", font));
+
+        PdfPTable cores = new PdfPTable(3);
+        cores.addCell(new Paragraph("Ядро", font));
+        cores.addCell(new Paragraph("Середнє", font));
+        cores.addCell(new Paragraph("Пік", font));
+        for (int i = 0; i < cpu.getCoreAvg().length; i++) {
+            cores.addCell(new Paragraph(String.valueOf(i), font));
+            cores.addCell(new Paragraph(String.format("%.2f%%", cpu.getCoreAvg()[i]), font));
+            cores.addCell(new Paragraph(String.format("%.2f%%", cpu.getCoreMax()[i]), font));
+        }
+        document.add(cores);
+
+        document.add(new Paragraph("Процеси за CPU", font));
+        document.add(processTable(cpu.getTopCpu(), font));
+        document.add(new Paragraph("Процеси за пам’яттю (RSS)", font));
+        document.add(processTable(cpu.getTopRss(), font));
+    }
+
+    private PdfPTable processTable(List<ProcessUsage> processes, Font font) {
+        PdfPTable table = new PdfPTable(4);
+        table.addCell(new Paragraph("Процес", font));
+        table.addCell(new Paragraph("PID", font));
+        table.addCell(new Paragraph("CPU, середнє", font));
+        table.addCell(new Paragraph("RSS, пік", font));
+
+        for (ProcessUsage p : processes) {
+            table.addCell(new Paragraph(p.getName(), font));
+            table.addCell(new Paragraph(String.valueOf(p.getPid()), font));
+            table.addCell(new Paragraph(String.format("%.2f%%", p.getCpuPercent()), font));
+            table.addCell(new Paragraph(String.format("%.1f MB", p.getRssMb()), font));
+        }
+        return table;
+    }
+
     @Override
     public String getExtension() {
         return "pdf";
@@ -0,0 +1,70 @@
+package com.example.systemactivitymonitor.service.export;
+
+import com.example.systemactivitymonitor.model.SystemStats;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Вивантаження сирих записів system_stats у CSV.
+ * Записи беруться з потоку і одразу пишуться у файл — обсяг історії не впливає на пам’ять.
+ */
+public class RawStatsCsvExporter {
+
+    private static final Path EXPORT_DIR = Paths.get("exports");
+
+    private static final String HEADER = "recorded_at,cpu_load,ram_used_mb,ram_total_mb,"
+            + "disk_total_gb,disk_free_gb,disk_used_gb,keyboard_presses,mouse_clicks,mouse_moves,"
+            + "system_uptime_seconds,active_window\n";
+
+    public Path export(String name, Stream<SystemStats> rows) throws IOException {
+        Files.createDirectories(EXPORT_DIR);
+
+        Path path = EXPORT_DIR.resolve(name + ".csv");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+             rows) {
+            writer.write(HEADER);
+
+            Iterator<SystemStats> it = rows.iterator();
+            StringBuilder line = new StringBuilder(256);
+            while (it.hasNext()) {
+                SystemStats s = it.next();
+                line.setLength(0);
+                line.append(s.getRecordedAt()).append(',')
+                        .append(value(s.getCpuLoad())).append(',')
+                        .append(value(s.getRamUsedMb())).append(',')
+                        .append(value(s.getRamTotalMb())).append(',')
+                        .append(value(s.getDiskTotalGb())).append(',')
+                        .append(value(s.getDiskFreeGb())).append(',')
+                        .append(value(s.getDiskUsedGb())).append(',')
+                        .append(value(s.getKeyboardPresses())).append(',')
+                        .append(value(s.getMouseClicks())).append(',')
+                        .append(value(s.getMouseMoves())).append(',')
+                        .append(value(s.getSystemUptimeSeconds())).append(',')
+                        .append(quote(s.getActiveWindow())).append('\n');
+                writer.append(line);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return path;
+    }
+
+    private static String value(Object v) {
+        return v == null ? "" : v.toString();
+    }
+
+    private static String quote(String s) {
+        if (s == null) return "";
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+}
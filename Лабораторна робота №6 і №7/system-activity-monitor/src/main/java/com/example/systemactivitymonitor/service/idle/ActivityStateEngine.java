@@ -0,0 +1,216 @@
+package com.example.systemactivitymonitor.service.idle;
+
+import com.example.systemactivitymonitor.metrics.input.InputCounters;
+import com.example.systemactivitymonitor.metrics.input.InputEventListener;
+import com.example.systemactivitymonitor.model.IdleTime;
+import com.example.systemactivitymonitor.model.User;
+import com.example.systemactivitymonitor.service.IdleService;
+import com.example.systemactivitymonitor.util.AppConfig;
+import com.example.systemactivitymonitor.util.MonitoringThreadFactory;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ActivityStateEngine — автоматичне визначення простою за подіями введення.
+ *
+ * ✔ ACTIVE → IDLE: немає жодної події idle.thresholdSeconds секунд;
+ *   початком простою вважається момент останньої події, а не момент перевірки
+ * ✔ IDLE → ACTIVE (гістерезис): потрібно idle.wakeEvents подій у межах idle.wakeWindowMs,
+ *   тож випадковий поштовх миші не розриває простій; кінець — перша подія цієї серії
+ * ✔ Гарячий шлях подій не алокує: у стані ACTIVE — лише читання volatile,
+ *   у стані IDLE — запис часу в маленьке кільце long[]
+ * ✔ Рішення приймає tick() (потік scheduler), запис IdleTime — окремий потік,
+ *   тож ні потоки пристроїв, ні збір метрик не чекають MySQL; БД не опитується
+ * ✔ Ручний режим має пріоритет: рушій не відкриває другий простій і не закриває чужий
+ * ✔ Закриває "висячі" інтервали попереднього запуску, якщо вхід (IdleService.seedIndex)
+ *   цього ще не зробив; простій, відкритий у цій сесії, лишається відкритим
+ */
+public class ActivityStateEngine implements InputEventListener {
+
+    private final InputCounters counters;
+    private final IdleService idleService;
+
+    private final long thresholdMs = AppConfig.getLong("idle.thresholdSeconds", 300) * 1000;
+    private final long wakeWindowMs = AppConfig.getLong("idle.wakeWindowMs", 2_000);
+
+    // час останніх подій у стані IDLE (кільце розміром idle.wakeEvents)
+    private final long[] wakeRing = new long[Math.max(1, AppConfig.getInt("idle.wakeEvents", 3))];
+    private int wakeCount;
+    private int wakeNext;
+
+    private volatile boolean idle;
+    private long idleSinceMillis;
+    private long transitions;
+
+    private ExecutorService writer;
+    private User user;
+
+    // лише потік writer
+    private IdleTime autoIdle;
+
+    public ActivityStateEngine(InputCounters counters, IdleService idleService) {
+        this.counters = counters;
+        this.idleService = idleService;
+    }
+
+    // ========================================================================
+    // START / STOP
+    // ========================================================================
+    public synchronized void start(User user) {
+        if (writer != null) return;
+
+        this.user = user;
+        this.idle = false;
+        this.writer = Executors.newSingleThreadExecutor(new MonitoringThreadFactory("idle-writer"));
+
+        write(() -> idleService.closeDanglingIntervals(user));
+        counters.setActivityListener(this);
+    }
+
+    /** Зупиняє рушій; відкритий ним простій завершується поточним моментом. */
+    public synchronized void stop() {
+        if (writer == null) return;
+
+        counters.setActivityListener(null);
+        if (idle) {
+            idle = false;
+            LocalDateTime end = toDateTime(System.currentTimeMillis());
+            write(() -> endAutoIdle(end));
+        }
+
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                System.err.println("[ActivityStateEngine] Не встигли дописати інтервали простою.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    // ========================================================================
+    // HOT PATH (потоки пристроїв)
+    // ========================================================================
+    @Override
+    public void onKeyPress() {
+        onActivity();
+    }
+
+    @Override
+    public void onMouseClick() {
+        onActivity();
+    }
+
+    @Override
+    public void onMouseMove() {
+        onActivity();
+    }
+
+    @Override
+    public void onActivity() {
+        if (!idle) return;
+
+        long now = System.currentTimeMillis();
+        synchronized (wakeRing) {
+            wakeRing[wakeNext] = now;
+            wakeNext = (wakeNext + 1) % wakeRing.length;
+            if (wakeCount < wakeRing.length) wakeCount++;
+        }
+    }
+
+    // ========================================================================
+    // TICK (потік scheduler)
+    // ========================================================================
+    /**
+     * Перевіряє переходи станів. inputAvailable = false (джерело введення не запущене)
+     * вимикає автоматику — інакше відсутність подій виглядала б як простій.
+     */
+    public synchronized void tick(long nowMillis, boolean inputAvailable) {
+        if (writer == null || !inputAvailable) return;
+
+        if (!idle) {
+            long last = counters.getLastActivityMillis();
+            if (nowMillis - last >= thresholdMs) {
+                enterIdle(last);
+            }
+        } else {
+            long wakeAt = confirmedWakeMillis();
+            if (wakeAt > 0) {
+                leaveIdle(wakeAt);
+            }
+        }
+    }
+
+    private void enterIdle(long sinceMillis) {
+        synchronized (wakeRing) {
+            wakeCount = 0;
+            wakeNext = 0;
+        }
+        idleSinceMillis = sinceMillis;
+        idle = true;
+        transitions++;
+
+        LocalDateTime start = toDateTime(sinceMillis);
+        write(() -> autoIdle = idleService.startAutoIdle(user, start));
+    }
+
+    private void leaveIdle(long wakeMillis) {
+        idle = false;
+        transitions++;
+
+        LocalDateTime end = toDateTime(wakeMillis);
+        write(() -> endAutoIdle(end));
+    }
+
+    /** Час першої події серії, що підтверджує повернення, або 0. */
+    private long confirmedWakeMillis() {
+        synchronized (wakeRing) {
+            if (wakeCount < wakeRing.length) return 0;
+
+            long oldest = wakeRing[wakeNext];
+            long newest = wakeRing[(wakeNext + wakeRing.length - 1) % wakeRing.length];
+            if (oldest < idleSinceMillis || newest - oldest > wakeWindowMs) return 0;
+            return oldest;
+        }
+    }
+
+    private void endAutoIdle(LocalDateTime end) {
+        if (autoIdle == null) return;
+        try {
+            idleService.endAutoIdle(user, autoIdle, end);
+        } finally {
+            autoIdle = null;
+        }
+    }
+
+    private void write(Runnable task) {
+        writer.execute(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                System.err.println("[ActivityStateEngine] Помилка запису простою: " + e.getMessage());
+            }
+        });
+    }
+
+    // ========================================================================
+    // STATE
+    // ========================================================================
+    public boolean isIdle() {
+        return idle;
+    }
+
+    public synchronized long getTransitions() {
+        return transitions;
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()).withNano(0);
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.systemactivitymonitor.service.idle;
+
+import com.example.systemactivitymonitor.model.IdleTime;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * IdleSessionIndex — індекс простоїв одного користувача в пам’яті.
+ *
+ * ✔ Відкритий інтервал — окреме поле: пошук активного простою O(1), без сканування списку
+ * ✔ Закриті інтервали — паралельні масиви long (секунди), а не об’єкти IdleTime
+ * ✔ Неявне дерево інтервалів (розкладка cgranges): масиви відсортовані за початком,
+ *   вузол рівня k — індекс із k молодшими одиничними бітами, maxEnd[i] — найпізніший кінець
+ *   у піддереві; запит перекриття — O(log n + m)
+ * ✔ Нові інтервали дописуються в кінець, дерево перебудовується ліниво (O(n)) при запиті
+ * ✔ Заповнюється з IdleRepository при вході користувача (seed)
+ * ✔ Розрізняє відкритий у цьому процесі простій і незавершений запис із БД:
+ *   ремонт після аварії (IdleService.closeDanglingIntervals) не чіпає живий інтервал
+ *
+ * Час зберігається як секунди "настінного" LocalDateTime (toEpochSecond(UTC)),
+ * тобто без перерахунку часових поясів — так само, як у таблиці idle_time.
+ */
+public final class IdleSessionIndex {
+
+    private static final Map<Integer, IdleSessionIndex> BY_USER = new ConcurrentHashMap<>();
+
+    // піддерева з рівня LEAF_LEVEL і нижче переглядаються лінійно
+    private static final int LEAF_LEVEL = 3;
+
+    private volatile boolean seeded;
+    private IdleTime open;
+    private boolean openLive;     // open відкрито в цьому процесі, а не прочитано з БД при seed
+    private boolean repaired;     // "висячі" інтервали цього входу вже закрито
+
+    private long[] starts = new long[64];
+    private long[] ends = new long[64];
+    private long[] maxEnd = new long[64];
+    private int size;
+
+    private boolean sorted = true;
+    private boolean dirty;
+    private int maxLevel = -1;
+
+    // ========================================================================
+    // РЕЄСТР
+    // ========================================================================
+    /** Індекс користувача; створюється порожнім, якщо ще не заповнений. */
+    public static IdleSessionIndex forUser(Integer userId) {
+        return BY_USER.computeIfAbsent(userId, id -> new IdleSessionIndex());
+    }
+
+    /** Індекс, лише якщо його заповнено з БД (інакше звіт має читати репозиторій). */
+    public static Optional<IdleSessionIndex> findSeeded(Integer userId) {
+        IdleSessionIndex index = BY_USER.get(userId);
+        return index != null && index.seeded ? Optional.of(index) : Optional.empty();
+    }
+
+    /** Замінює індекс користувача історією з БД. Незавершений інтервал (останній за часом) стає відкритим. */
+    public static IdleSessionIndex seed(Integer userId, List<IdleTime> history) {
+        IdleSessionIndex index = of(history);
+        index.seeded = true;
+        BY_USER.put(userId, index);
+        return index;
+    }
+
+    /**
+     * Тимчасовий індекс над готовою історією, без реєстрації за користувачем
+     * (звіт для користувача, який зараз не увійшов).
+     */
+    public static IdleSessionIndex of(List<IdleTime> history) {
+        IdleSessionIndex index = new IdleSessionIndex();
+        for (IdleTime idle : history) {
+            if (idle.getStartTime() == null) continue;
+            if (idle.getEndTime() == null) {
+                if (index.open == null || idle.getStartTime().isAfter(index.open.getStartTime())) {
+                    index.open = idle;
+                }
+            } else {
+                index.add(seconds(idle.getStartTime()), seconds(idle.getEndTime()));
+            }
+        }
+        return index;
+    }
+
+    public static void evict(Integer userId) {
+        BY_USER.remove(userId);
+    }
+
+    // ========================================================================
+    // ВІДКРИТИЙ ІНТЕРВАЛ
+    // ========================================================================
+    public synchronized Optional<IdleTime> getOpen() {
+        return Optional.ofNullable(open);
+    }
+
+    public synchronized void open(IdleTime idle) {
+        this.open = idle;
+        this.openLive = true;
+    }
+
+    /** true — idle є відкритим інтервалом, який розпочато в цьому процесі (не з БД). */
+    public synchronized boolean isLiveOpen(IdleTime idle) {
+        return openLive && sameAs(open, idle);
+    }
+
+    /** Позначає ремонт "висячих" інтервалів виконаним; false — його вже робили для цього входу. */
+    public synchronized boolean markRepaired() {
+        if (repaired) return false;
+        repaired = true;
+        return true;
+    }
+
+    /** Переносить завершений інтервал у дерево; якщо це був відкритий — знімає його. */
+    public synchronized void closed(IdleTime idle) {
+        if (idle.getStartTime() == null || idle.getEndTime() == null) return;
+
+        if (sameAs(open, idle)) {
+            open = null;
+            openLive = false;
+        }
+        add(seconds(idle.getStartTime()), seconds(idle.getEndTime()));
+    }
+
+    private static boolean sameAs(IdleTime a, IdleTime b) {
+        return a != null && b != null
+                && (a == b || (a.getId() != null && a.getId().equals(b.getId())));
+    }
+
+    // ========================================================================
+    // ЗАПИТИ
+    // ========================================================================
+    /** Кількість завершених інтервалів в індексі. */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Сумарний простій у межах [from, to): кожен інтервал обрізається межами періоду,
+     * відкритий інтервал рахується до поточного моменту.
+     */
+    public synchronized long overlapSeconds(LocalDateTime from, LocalDateTime to) {
+        long st = seconds(from);
+        long en = seconds(to);
+        if (en <= st) return 0;
+
+        long total = 0;
+        if (size > 0) {
+            ensureIndexed();
+            total = sumOverlaps(st, en);
+        }
+
+        if (open != null && open.getStartTime() != null) {
+            long openStart = seconds(open.getStartTime());
+            long openEnd = seconds(LocalDateTime.now());
+            total += Math.max(0, Math.min(openEnd, en) - Math.max(openStart, st));
+        }
+        return total;
+    }
+
+    // ========================================================================
+    // НЕЯВНЕ ДЕРЕВО
+    // ========================================================================
+    private void add(long start, long end) {
+        if (end < start) end = start;
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            maxEnd = Arrays.copyOf(maxEnd, capacity);
+        }
+        if (size > 0 && start < starts[size - 1]) sorted = false;
+
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+        dirty = true;
+    }
+
+    private void ensureIndexed() {
+        if (!dirty) return;
+        if (!sorted) sortByStart();
+        maxLevel = buildMaxEnd();
+        dirty = false;
+    }
+
+    /** Сортує пари (start, end) за початком — лише якщо інтервали надходили не по порядку. */
+    private void sortByStart() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(starts[a], starts[b]));
+
+        long[] s = new long[starts.length];
+        long[] e = new long[ends.length];
+        for (int i = 0; i < size; i++) {
+            s[i] = starts[order[i]];
+            e[i] = ends[order[i]];
+        }
+        starts = s;
+        ends = e;
+        sorted = true;
+    }
+
+    /** Заповнює maxEnd знизу вгору; повертає найвищий рівень дерева. */
+    private int buildMaxEnd() {
+        int n = size;
+        int lastI = 0;
+        long last = 0;
+        for (int i = 0; i < n; i += 2) {
+            lastI = i;
+            last = maxEnd[i] = ends[i];
+        }
+
+        int k = 1;
+        for (; (1L << k) <= n; k++) {
+            int x = 1 << (k - 1);
+            int i0 = (x << 1) - 1;
+            int step = x << 2;
+            for (int i = i0; i < n; i += step) {
+                long el = maxEnd[i - x];
+                long er = i + x < n ? maxEnd[i + x] : last;
+                maxEnd[i] = Math.max(ends[i], Math.max(el, er));
+            }
+            lastI = ((lastI >> k) & 1) != 0 ? lastI - x : lastI + x;
+            if (lastI < n && maxEnd[lastI] > last) last = maxEnd[lastI];
+        }
+        return k - 1;
+    }
+
+    private long sumOverlaps(long st, long en) {
+        int n = size;
+        int[] stackK = new int[2 * (maxLevel + 2)];
+        int[] stackX = new int[stackK.length];
+        boolean[] stackW = new boolean[stackK.length];
+
+        long total = 0;
+        int t = 0;
+        stackK[t] = maxLevel;
+        stackX[t] = (1 << maxLevel) - 1;
+        stackW[t++] = false;
+
+        while (t > 0) {
+            int k = stackK[--t];
+            int x = stackX[t];
+            boolean leftDone = stackW[t];
+
+            if (k <= LEAF_LEVEL) {
+                int i0 = x >> k << k;
+                int i1 = (int) Math.min(n, (long) i0 + (1L << (k + 1)) - 1);
+                for (int i = i0; i < i1 && starts[i] < en; i++) {
+                    total += overlap(i, st, en);
+                }
+            } else if (!leftDone) {
+                int y = x - (1 << (k - 1));
+                stackK[t] = k;
+                stackX[t] = x;
+                stackW[t++] = true;
+                if (y >= n || maxEnd[y] > st) {
+                    stackK[t] = k - 1;
+                    stackX[t] = y;
+                    stackW[t++] = false;
+                }
+            } else if (x < n && starts[x] < en) {
+                total += overlap(x, st, en);
+                stackK[t] = k - 1;
+                stackX[t] = x + (1 << (k - 1));
+                stackW[t++] = false;
+            }
+        }
+        return total;
+    }
+
+    private long overlap(int i, long st, long en) {
+        return Math.max(0, Math.min(ends[i], en) - Math.max(starts[i], st));
+    }
+
+    private static long seconds(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC);
+    }
+}
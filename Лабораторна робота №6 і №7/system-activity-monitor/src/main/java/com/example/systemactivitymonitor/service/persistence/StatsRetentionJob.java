@@ -0,0 +1,190 @@
+package com.example.systemactivitymonitor.service.persistence;
+
+import com.example.systemactivitymonitor.util.AppConfig;
+import com.example.systemactivitymonitor.util.AppExecutors;
+import com.example.systemactivitymonitor.util.DatabaseConnection;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * StatsRetentionJob — обслуговування секцій і зберігання system_stats (раз на добу).
+ *
+ * ✔ Партиційована таблиця (міграція V3): заздалегідь нарізає місячні секції pYYYYMM
+ *   з p_future на monthsAhead місяців уперед
+ * ✔ Старі дані видаляються DROP PARTITION — миттєво, без порядкового DELETE і роздування undo-логу
+ * ✔ Без партиціювання — резервний DELETE невеликими порціями окремо для кожного користувача:
+ *   умова user_id = ? AND recorded_at < ? іде діапазоном індексу (user_id, recorded_at) з V2,
+ *   тоді як голий recorded_at < ? сканував би всю таблицю на кожну порцію
+ *
+ * Налаштування:
+ *   stats.retention.months — скільки повних місяців зберігати (0 — не видаляти)
+ *   db.partitioning.monthsAhead — скільки майбутніх секцій тримати готовими
+ */
+public class StatsRetentionJob {
+
+    private static final Pattern MONTH_PARTITION = Pattern.compile("p(\\d{4})(\\d{2})");
+    private static final int DELETE_CHUNK = 10_000;
+
+    private final int retentionMonths;
+    private final int monthsAhead;
+    private AppExecutors.Periodic task;
+
+    public StatsRetentionJob() {
+        this(AppConfig.getInt("stats.retention.months", 0),
+                AppConfig.getInt("db.partitioning.monthsAhead", 2));
+    }
+
+    public StatsRetentionJob(int retentionMonths, int monthsAhead) {
+        this.retentionMonths = Math.max(0, retentionMonths);
+        this.monthsAhead = Math.max(1, monthsAhead);
+    }
+
+    // =======================================================================
+    // START / STOP
+    // =======================================================================
+    public synchronized void start() {
+        if (task != null) return;
+
+        task = AppExecutors.schedule("stats-retention", () -> {
+            try {
+                runOnce();
+            } catch (RuntimeException e) {
+                System.err.println("[StatsRetentionJob] " + e.getMessage());
+            }
+        }, 0, 1, TimeUnit.DAYS);
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancelAndWait(5_000);
+            task = null;
+        }
+    }
+
+    // =======================================================================
+    // RUN
+    // =======================================================================
+    public void runOnce() {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            List<YearMonth> months = new ArrayList<>();
+            boolean partitioned = loadMonthPartitions(conn, months);
+
+            if (partitioned) {
+                ensureFuturePartitions(conn, months);
+            }
+
+            if (retentionMonths == 0) return;
+
+            YearMonth keepFrom = YearMonth.now().minusMonths(retentionMonths);
+            if (partitioned) {
+                dropPartitionsBefore(conn, months, keepFrom);
+            } else {
+                deleteRowsBefore(conn, keepFrom.atDay(1));
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("❌ Помилка обслуговування system_stats: " + e.getMessage(), e);
+        }
+    }
+
+    /** @return чи партиційована таблиця; months — наявні місячні секції за зростанням */
+    private boolean loadMonthPartitions(Connection conn, List<YearMonth> months) throws SQLException {
+        String sql = """
+                SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'system_stats'
+                  AND PARTITION_NAME IS NOT NULL
+                ORDER BY PARTITION_ORDINAL_POSITION
+                """;
+
+        boolean partitioned = false;
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                partitioned = true;
+                Matcher m = MONTH_PARTITION.matcher(rs.getString(1));
+                if (m.matches()) {
+                    months.add(YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))));
+                }
+            }
+        }
+        return partitioned;
+    }
+
+    private void ensureFuturePartitions(Connection conn, List<YearMonth> months) throws SQLException {
+        YearMonth next;
+        if (months.isEmpty()) {
+            // перший запуск після V3: ріжемо p_future, починаючи з місяця найстаріших даних
+            next = YearMonth.now();
+            try (Statement st = conn.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT MIN(recorded_at) FROM system_stats")) {
+                if (rs.next() && rs.getTimestamp(1) != null) {
+                    YearMonth oldest = YearMonth.from(rs.getTimestamp(1).toLocalDateTime());
+                    if (oldest.isBefore(next)) next = oldest;
+                }
+            }
+        } else {
+            next = months.get(months.size() - 1).plusMonths(1);
+        }
+
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        if (next.isAfter(last)) return;
+
+        StringBuilder sql = new StringBuilder("ALTER TABLE system_stats REORGANIZE PARTITION p_future INTO (");
+        for (YearMonth ym = next; !ym.isAfter(last); ym = ym.plusMonths(1)) {
+            sql.append(String.format("PARTITION p%04d%02d VALUES LESS THAN (TO_DAYS('%s')), ",
+                    ym.getYear(), ym.getMonthValue(), ym.plusMonths(1).atDay(1)));
+            months.add(ym);
+        }
+        sql.append("PARTITION p_future VALUES LESS THAN MAXVALUE)");
+
+        try (Statement st = conn.createStatement()) {
+            st.execute(sql.toString());
+        }
+        System.out.println("🗄 [system_stats] Додано секції до " + last);
+    }
+
+    private void dropPartitionsBefore(Connection conn, List<YearMonth> months, YearMonth keepFrom) throws SQLException {
+        List<String> names = new ArrayList<>();
+        for (YearMonth ym : months) {
+            if (ym.isBefore(keepFrom)) names.add(String.format("p%04d%02d", ym.getYear(), ym.getMonthValue()));
+        }
+        if (names.isEmpty()) return;
+
+        try (Statement st = conn.createStatement()) {
+            st.execute("ALTER TABLE system_stats DROP PARTITION " + String.join(", ", names));
+        }
+        System.out.println("🗄 [system_stats] Видалено секції: " + names);
+    }
+
+    private void deleteRowsBefore(Connection conn, LocalDate cutoff) throws SQLException {
+        List<Integer> userIds = new ArrayList<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT DISTINCT user_id FROM system_stats")) {
+            while (rs.next()) userIds.add(rs.getInt(1));
+        }
+
+        long total = 0;
+        try (PreparedStatement ps = conn.prepareStatement(
+                "DELETE FROM system_stats WHERE user_id = ? AND recorded_at < ? LIMIT " + DELETE_CHUNK)) {
+            ps.setTimestamp(2, Timestamp.valueOf(cutoff.atStartOfDay()));
+            for (Integer userId : userIds) {
+                ps.setInt(1, userId);
+                int n;
+                do {
+                    n = ps.executeUpdate();
+                    total += n;
+                } while (n == DELETE_CHUNK);
+            }
+        }
+        if (total > 0) {
+            System.out.println("🗄 [system_stats] Видалено застарілих записів: " + total);
+        }
+    }
+}
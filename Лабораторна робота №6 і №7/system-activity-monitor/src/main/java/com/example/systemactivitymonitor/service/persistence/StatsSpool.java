@@ -0,0 +1,379 @@
+package com.example.systemactivitymonitor.service.persistence;
+
+import com.example.systemactivitymonitor.model.SpoolPosition;
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.model.User;
+import com.example.systemactivitymonitor.util.AppConfig;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * StatsSpool — локальний журнал записів, які не вдалося одразу записати в БД.
+ *
+ * ✔ Сегменти segment-<N>.log лише дописуються; новий сегмент — після segmentBytes
+ *   і на кожному запуску (хвіст попереднього міг бути обірваний)
+ * ✔ Кадр запису: [довжина][CRC32][дані] — обірваний чи пошкоджений кадр не читається
+ * ✔ Позиція перенесеного в БД (checkpoint) зберігається у файлі атомарною заміною;
+ *   повністю перенесені сегменти видаляються
+ * ✔ Понад maxBytes видаляються найстаріші сегменти (лічильник droppedSegments)
+ *
+ * Налаштування:
+ *   stats.spool.dir, stats.spool.segmentBytes, stats.spool.maxBytes, stats.spool.fsync
+ */
+public class StatsSpool {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int FRAME_HEADER = 8;
+    private static final int MAX_FRAME = 64 * 1024;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final long maxBytes;
+    private final boolean fsync;
+
+    private String spoolId;
+    private final TreeMap<Long, Long> segments = new TreeMap<>(); // номер → розмір
+    private FileChannel active;
+    private long activeSegment = -1;
+    private SpoolPosition checkpoint = SpoolPosition.START;
+    private boolean opened;
+
+    // ------------------------ Metrics ------------------------
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong droppedSegments = new AtomicLong();
+    private final AtomicLong corruptFrames = new AtomicLong();
+
+    public StatsSpool() {
+        this(Paths.get(AppConfig.get("stats.spool.dir",
+                        Paths.get(System.getProperty("user.home"), ".system-activity-monitor", "spool").toString())),
+                AppConfig.getLong("stats.spool.segmentBytes", 8L * 1024 * 1024),
+                AppConfig.getLong("stats.spool.maxBytes", 512L * 1024 * 1024),
+                AppConfig.getBoolean("stats.spool.fsync", true));
+    }
+
+    public StatsSpool(Path dir, long segmentBytes, long maxBytes, boolean fsync) {
+        this.dir = dir;
+        this.segmentBytes = Math.max(64 * 1024, segmentBytes);
+        this.maxBytes = Math.max(this.segmentBytes, maxBytes);
+        this.fsync = fsync;
+    }
+
+    // =======================================================================
+    // OPEN
+    // =======================================================================
+    /** Читає наявні сегменти і checkpoint. Каталог створюється лише при першому записі. */
+    private void open() throws IOException {
+        if (opened) return;
+        opened = true;
+
+        if (!Files.isDirectory(dir)) return;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path p : files) {
+                long n = segmentNumber(p);
+                if (n >= 0) segments.put(n, Files.size(p));
+            }
+        }
+
+        Path cp = dir.resolve("checkpoint");
+        if (Files.exists(cp)) {
+            String[] parts = Files.readString(cp, StandardCharsets.US_ASCII).trim().split(":");
+            if (parts.length == 2) {
+                checkpoint = new SpoolPosition(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            }
+        }
+        deleteReplayedSegments();
+    }
+
+    /** Стабільний ідентифікатор цього спулу (ключ checkpoint у БД). */
+    public synchronized String getSpoolId() throws IOException {
+        if (spoolId != null) return spoolId;
+
+        Path idFile = dir.resolve("spool.id");
+        if (Files.exists(idFile)) {
+            spoolId = Files.readString(idFile, StandardCharsets.US_ASCII).trim();
+        } else {
+            Files.createDirectories(dir);
+            spoolId = UUID.randomUUID().toString();
+            Files.writeString(idFile, spoolId, StandardCharsets.US_ASCII);
+        }
+        return spoolId;
+    }
+
+    // =======================================================================
+    // APPEND
+    // =======================================================================
+    public synchronized void append(List<SystemStats> batch) throws IOException {
+        if (batch.isEmpty()) return;
+        open();
+
+        if (active == null || segments.get(activeSegment) >= segmentBytes) {
+            rollover();
+        }
+
+        ByteArrayOutputStream frames = new ByteArrayOutputStream(batch.size() * 128);
+        DataOutputStream out = new DataOutputStream(frames);
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(128);
+        DataOutputStream record = new DataOutputStream(payload);
+        CRC32 crc = new CRC32();
+
+        for (SystemStats s : batch) {
+            payload.reset();
+            writeRecord(record, s);
+            crc.reset();
+            crc.update(payload.toByteArray());
+
+            out.writeInt(payload.size());
+            out.writeInt((int) crc.getValue());
+            payload.writeTo(out);
+        }
+
+        ByteBuffer buf = ByteBuffer.wrap(frames.toByteArray());
+        while (buf.hasRemaining()) active.write(buf);
+        if (fsync) active.force(false);
+
+        segments.merge(activeSegment, (long) frames.size(), Long::sum);
+        appended.addAndGet(batch.size());
+        enforceMaxBytes();
+    }
+
+    private void rollover() throws IOException {
+        if (active != null) active.close();
+
+        Files.createDirectories(dir);
+        activeSegment = segments.isEmpty() ? Math.max(1, checkpoint.getSegment() + 1) : segments.lastKey() + 1;
+        active = FileChannel.open(segmentPath(activeSegment),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segments.put(activeSegment, 0L);
+    }
+
+    private void enforceMaxBytes() throws IOException {
+        while (getSizeBytes() > maxBytes && segments.size() > 1) {
+            long oldest = segments.firstKey();
+            Files.deleteIfExists(segmentPath(oldest));
+            segments.remove(oldest);
+            droppedSegments.incrementAndGet();
+            System.err.println("[StatsSpool] Спул переповнений — сегмент " + oldest + " видалено.");
+        }
+    }
+
+    // =======================================================================
+    // READ
+    // =======================================================================
+    /**
+     * Читає до max записів, починаючи з from, у out.
+     * @return позиція одразу за останнім прочитаним кадром (== from, якщо нових записів немає)
+     */
+    public synchronized SpoolPosition read(SpoolPosition from, int max, List<SystemStats> out) throws IOException {
+        open();
+
+        SpoolPosition pos = from;
+        for (Map.Entry<Long, Long> e : segments.tailMap(from.getSegment(), true).entrySet()) {
+            long segment = e.getKey();
+            long size = e.getValue();
+            long offset = segment == from.getSegment() ? from.getOffset() : 0;
+
+            if (offset < size) {
+                offset = readSegment(segment, offset, size, max - out.size(), out);
+            }
+            pos = new SpoolPosition(segment, offset);
+
+            // ліміт пакета або недописаний кадр в активному сегменті
+            if (out.size() >= max || offset < size) break;
+        }
+        return pos;
+    }
+
+    private long readSegment(long segment, long offset, long size, int max, List<SystemStats> out) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(segmentPath(segment))))) {
+            in.skipNBytes(offset);
+
+            CRC32 crc = new CRC32();
+            byte[] data = new byte[1024];
+            int read = 0;
+
+            while (read < max && offset + FRAME_HEADER <= size) {
+                int length = in.readInt();
+                int expected = in.readInt();
+                if (length <= 0 || length > MAX_FRAME || offset + FRAME_HEADER + length > size) {
+                    return skipCorrupt(segment, size, offset);
+                }
+                if (data.length < length) data = new byte[length];
+                in.readFully(data, 0, length);
+
+                crc.reset();
+                crc.update(data, 0, length);
+                if ((int) crc.getValue() != expected) {
+                    return skipCorrupt(segment, size, offset);
+                }
+
+                out.add(readRecord(new DataInputStream(new ByteArrayInputStream(data, 0, length))));
+                offset += FRAME_HEADER + length;
+                read++;
+            }
+        }
+        return offset;
+    }
+
+    /** Пошкоджений хвіст закритого сегмента пропускається; активного — чекає дописування. */
+    private long skipCorrupt(long segment, long size, long offset) {
+        if (segment == activeSegment) return offset;
+        corruptFrames.incrementAndGet();
+        System.err.println("[StatsSpool] Пошкоджений кадр у сегменті " + segment + " @" + offset + " — решту пропущено.");
+        return size;
+    }
+
+    // =======================================================================
+    // CHECKPOINT
+    // =======================================================================
+    public synchronized SpoolPosition getCheckpoint() throws IOException {
+        open();
+        return checkpoint;
+    }
+
+    /** Фіксує, що все до position уже в БД; видаляє перенесені сегменти. */
+    public synchronized void commit(SpoolPosition position, int records) throws IOException {
+        open();
+        if (position.compareTo(checkpoint) <= 0) return;
+
+        checkpoint = position;
+        replayed.addAndGet(records);
+
+        Files.createDirectories(dir);
+        Path tmp = dir.resolve("checkpoint.tmp");
+        Files.writeString(tmp, position.toString(), StandardCharsets.US_ASCII);
+        Files.move(tmp, dir.resolve("checkpoint"),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        deleteReplayedSegments();
+    }
+
+    private void deleteReplayedSegments() throws IOException {
+        Iterator<Map.Entry<Long, Long>> it = segments.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Long> e = it.next();
+            long n = e.getKey();
+            boolean replayedFully = n < checkpoint.getSegment()
+                    || (n == checkpoint.getSegment() && checkpoint.getOffset() >= e.getValue());
+            if (!replayedFully || n == activeSegment) continue;
+
+            Files.deleteIfExists(segmentPath(n));
+            it.remove();
+        }
+    }
+
+    /** Чи є записи після checkpoint. */
+    public synchronized boolean hasPending() throws IOException {
+        open();
+        for (Map.Entry<Long, Long> e : segments.tailMap(checkpoint.getSegment(), true).entrySet()) {
+            long start = e.getKey() == checkpoint.getSegment() ? checkpoint.getOffset() : 0;
+            if (e.getValue() > start) return true;
+        }
+        return false;
+    }
+
+    public synchronized void close() {
+        if (active != null) {
+            try {
+                active.close();
+            } catch (IOException ignored) {}
+            active = null;
+        }
+    }
+
+    // =======================================================================
+    // SERIALIZATION
+    // =======================================================================
+    private static void writeRecord(DataOutputStream out, SystemStats s) throws IOException {
+        out.writeInt(s.getUser().getId());
+        out.writeLong(s.getRecordedAt().toEpochSecond(ZoneOffset.UTC));
+        writeDecimal(out, s.getCpuLoad());
+        writeDecimal(out, s.getRamUsedMb());
+        writeDecimal(out, s.getRamTotalMb());
+        writeDecimal(out, s.getDiskTotalGb());
+        writeDecimal(out, s.getDiskFreeGb());
+        writeDecimal(out, s.getDiskUsedGb());
+        out.writeInt(s.getKeyboardPresses() != null ? s.getKeyboardPresses() : 0);
+        out.writeInt(s.getMouseClicks() != null ? s.getMouseClicks() : 0);
+        out.writeLong(s.getMouseMoves() != null ? s.getMouseMoves() : 0);
+        out.writeLong(s.getSystemUptimeSeconds() != null ? s.getSystemUptimeSeconds() : NULL_LONG);
+
+        String window = s.getActiveWindow();
+        out.writeBoolean(window != null);
+        if (window != null) out.writeUTF(window.length() > 4096 ? window.substring(0, 4096) : window);
+    }
+
+    private static SystemStats readRecord(DataInputStream in) throws IOException {
+        SystemStats s = new SystemStats();
+        User user = new User();
+        user.setId(in.readInt());
+        s.setUser(user);
+        s.setRecordedAt(LocalDateTime.ofEpochSecond(in.readLong(), 0, ZoneOffset.UTC));
+        s.setCpuLoad(readDecimal(in));
+        s.setRamUsedMb(readDecimal(in));
+        s.setRamTotalMb(readDecimal(in));
+        s.setDiskTotalGb(readDecimal(in));
+        s.setDiskFreeGb(readDecimal(in));
+        s.setDiskUsedGb(readDecimal(in));
+        s.setKeyboardPresses(in.readInt());
+        s.setMouseClicks(in.readInt());
+        s.setMouseMoves(in.readLong());
+
+        long uptime = in.readLong();
+        s.setSystemUptimeSeconds(uptime == NULL_LONG ? null : uptime);
+        s.setActiveWindow(in.readBoolean() ? in.readUTF() : null);
+        return s;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        out.writeLong(value == null ? NULL_LONG : value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue());
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        long hundredths = in.readLong();
+        return hundredths == NULL_LONG ? null : BigDecimal.valueOf(hundredths, 2);
+    }
+
+    private Path segmentPath(long n) {
+        return dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, n, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentNumber(Path p) {
+        String name = p.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    // =======================================================================
+    // METRICS
+    // =======================================================================
+    public synchronized long getSizeBytes() {
+        long total = 0;
+        for (long size : segments.values()) total += size;
+        return total;
+    }
+
+    public synchronized int getSegmentCount() { return segments.size(); }
+    public long getAppendedCount() { return appended.get(); }
+    public long getReplayedCount() { return replayed.get(); }
+    public long getDroppedSegmentCount() { return droppedSegments.get(); }
+    public long getCorruptFrameCount() { return corruptFrames.get(); }
+}
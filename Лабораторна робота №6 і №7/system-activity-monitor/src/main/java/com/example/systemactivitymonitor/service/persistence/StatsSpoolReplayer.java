@@ -0,0 +1,194 @@
+package com.example.systemactivitymonitor.service.persistence;
+
+import com.example.systemactivitymonitor.model.SpoolPosition;
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+import com.example.systemactivitymonitor.util.AppConfig;
+import com.example.systemactivitymonitor.util.MonitoringThreadFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * StatsSpoolReplayer — фоновий перенос записів зі StatsSpool у БД.
+ *
+ * ✔ Читає спул великими пакетами (replayBatch) з позиції checkpoint
+ * ✔ Пакет і нова позиція пишуться однією транзакцією (saveAllFromSpool),
+ *   тож після збою між записом у БД і локальним checkpoint рядки не дублюються:
+ *   на старті береться більша з двох позицій — локальна чи збережена в БД
+ * ✔ Швидкість обмежена replayRatePerSec, щоб не душити MySQL після відновлення
+ * ✔ Поки БД недоступна — повторна спроба раз на replayIntervalMs
+ */
+public class StatsSpoolReplayer {
+
+    private final StatsSpool spool;
+    private final StatsRepository repository;
+    private final int batchSize;
+    private final int maxRecordsPerSec;
+    private final long intervalMs;
+
+    private volatile Consumer<List<SystemStats>> batchListener;
+
+    private Thread worker;
+    private volatile boolean running = false;
+    private boolean checkpointSynced = false;
+    private final Object wakeUp = new Object();
+
+    // ------------------------ Metrics ------------------------
+    private final AtomicLong failedAttempts = new AtomicLong();
+    private volatile double lastRatePerSec;
+
+    public StatsSpoolReplayer(StatsSpool spool, StatsRepository repository) {
+        this(spool, repository,
+                AppConfig.getInt("stats.spool.replayBatch", 1_000),
+                AppConfig.getInt("stats.spool.replayRatePerSec", 5_000),
+                AppConfig.getLong("stats.spool.replayIntervalMs", 5_000));
+    }
+
+    public StatsSpoolReplayer(StatsSpool spool, StatsRepository repository,
+                              int batchSize, int maxRecordsPerSec, long intervalMs) {
+        this.spool = spool;
+        this.repository = repository;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxRecordsPerSec = Math.max(1, maxRecordsPerSec);
+        this.intervalMs = Math.max(100, intervalMs);
+    }
+
+    // =======================================================================
+    // START / STOP
+    // =======================================================================
+    public synchronized void start() {
+        if (running) return;
+
+        // попередній потік, що не встиг зупинитися, інакше продовжив би цикл разом із новим
+        Thread previous = worker;
+        boolean interrupted = false;
+        while (previous != null && previous.isAlive()) {
+            try {
+                previous.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+
+        running = true;
+        worker = new MonitoringThreadFactory("stats-spool-replay").newThread(this::runLoop);
+        worker.start();
+    }
+
+    public synchronized void stop(long timeoutMs) {
+        if (!running) return;
+
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!worker.isAlive()) worker = null;
+    }
+
+    /** Будить потік, не чекаючи інтервалу (у спул щойно щось додали). */
+    public void wakeUp() {
+        synchronized (wakeUp) {
+            wakeUp.notifyAll();
+        }
+    }
+
+    public void setBatchListener(Consumer<List<SystemStats>> listener) {
+        this.batchListener = listener;
+    }
+
+    // =======================================================================
+    // LOOP
+    // =======================================================================
+    private void runLoop() {
+        while (running) {
+            boolean progressed = false;
+            try {
+                progressed = replayBatch();
+            } catch (IOException | RuntimeException e) {
+                failedAttempts.incrementAndGet();
+                checkpointSynced = false;
+                System.err.println("[StatsSpoolReplayer] Перенесення відкладено: " + e.getMessage());
+            }
+
+            if (!progressed) {
+                synchronized (wakeUp) {
+                    try {
+                        wakeUp.wait(intervalMs);
+                    } catch (InterruptedException e) {
+                        // stop()
+                    }
+                }
+            }
+        }
+    }
+
+    /** @return чи перенесено хоч щось */
+    private boolean replayBatch() throws IOException {
+        if (!spool.hasPending()) {
+            lastRatePerSec = 0;
+            return false;
+        }
+
+        String spoolId = spool.getSpoolId();
+        if (!checkpointSynced) {
+            // БД могла зафіксувати пакет, а локальний checkpoint — ні
+            Optional<SpoolPosition> db = repository.findSpoolCheckpoint(spoolId);
+            if (db.isPresent()) spool.commit(db.get(), 0);
+            checkpointSynced = true;
+        }
+
+        long started = System.nanoTime();
+        SpoolPosition from = spool.getCheckpoint();
+        List<SystemStats> batch = new ArrayList<>(batchSize);
+        SpoolPosition next = spool.read(from, batchSize, batch);
+        if (next.equals(from)) return false;
+
+        repository.saveAllFromSpool(batch, spoolId, next);
+        spool.commit(next, batch.size());
+        notifyListener(batch);
+
+        throttle(batch.size(), started);
+        return true;
+    }
+
+    private void throttle(int records, long startedNanos) {
+        long minNanos = records * 1_000_000_000L / maxRecordsPerSec;
+        long elapsed = System.nanoTime() - startedNanos;
+        if (elapsed < minNanos) {
+            try {
+                Thread.sleep((minNanos - elapsed) / 1_000_000);
+            } catch (InterruptedException e) {
+                // stop()
+            }
+            elapsed = System.nanoTime() - startedNanos;
+        }
+        lastRatePerSec = records * 1e9 / Math.max(1, elapsed);
+    }
+
+    private void notifyListener(List<SystemStats> batch) {
+        Consumer<List<SystemStats>> listener = batchListener;
+        if (listener == null) return;
+        try {
+            listener.accept(batch);
+        } catch (RuntimeException e) {
+            System.err.println("[StatsSpoolReplayer] Помилка слухача пакета: " + e.getMessage());
+        }
+    }
+
+    // =======================================================================
+    // METRICS
+    // =======================================================================
+    public long getFailedAttemptCount() { return failedAttempts.get(); }
+
+    /** Швидкість переносу останнього пакета, записів/с (0 — спул порожній). */
+    public double getLastReplayRatePerSec() { return lastRatePerSec; }
+}
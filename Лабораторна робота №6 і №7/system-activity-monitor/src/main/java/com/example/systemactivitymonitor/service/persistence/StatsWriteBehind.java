@@ -0,0 +1,302 @@
+package com.example.systemactivitymonitor.service.persistence;
+
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+import com.example.systemactivitymonitor.util.AppConfig;
+import com.example.systemactivitymonitor.util.MonitoringThreadFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * StatsWriteBehind — асинхронний write-behind конвеєр для system_stats.
+ *
+ * ✔ Потік збору метрик лише кладе запис у обмежену чергу (offer, без блокування)
+ * ✔ Окремий flusher пише пакетами через StatsRepository.saveAll (addBatch/executeBatch)
+ * ✔ Скидання пакета — за розміром (batchSize) або за часом (flushIntervalMs)
+ * ✔ Коли БД повільна і черга заповнена — спрацьовує OverflowPolicy
+ * ✔ Пакет, який не вдалося записати після maxRetries, іде в локальний StatsSpool,
+ *   а StatsSpoolReplayer переносить його в БД, коли вона знову доступна;
+ *   поки в спулі є хвіст, нові пакети теж дописуються в спул
+ * ✔ Після успішного запису пакет передається слухачу (інкрементні агрегати)
+ *
+ * Налаштування (див. AppConfig):
+ *   stats.writer.queueCapacity, stats.writer.batchSize,
+ *   stats.writer.flushIntervalMs, stats.writer.overflowPolicy,
+ *   stats.writer.maxRetries, stats.spool.enabled (+ stats.spool.* у StatsSpool / StatsSpoolReplayer)
+ */
+public class StatsWriteBehind {
+
+    /** Що робити з новим записом, коли черга заповнена. */
+    public enum OverflowPolicy {
+        /** Відкинути новий запис (найдешевше, зберігає історію в черзі). */
+        DROP_NEWEST,
+        /** Витіснити найстаріший запис, щоб зберегти найсвіжіші дані. */
+        DROP_OLDEST,
+        /** Записати новий запис у локальний спул (без спулу — як DROP_NEWEST). */
+        SPILL
+    }
+
+    private final StatsRepository repository;
+    private final BlockingQueue<SystemStats> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int maxRetries;
+    private final OverflowPolicy overflowPolicy;
+    private final StatsSpool spool;
+    private final StatsSpoolReplayer replayer;
+
+    private volatile Consumer<List<SystemStats>> batchListener;
+
+    private Thread flusher;
+    private volatile boolean running = false;
+
+    // ------------------------ Metrics ------------------------
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+
+    public StatsWriteBehind(StatsRepository repository) {
+        this(repository,
+                AppConfig.getInt("stats.writer.queueCapacity", 10_000),
+                AppConfig.getInt("stats.writer.batchSize", 200),
+                AppConfig.getLong("stats.writer.flushIntervalMs", 2_000),
+                AppConfig.getInt("stats.writer.maxRetries", 3),
+                OverflowPolicy.valueOf(AppConfig.get("stats.writer.overflowPolicy", "DROP_OLDEST")),
+                AppConfig.getBoolean("stats.spool.enabled", true) ? new StatsSpool() : null);
+    }
+
+    public StatsWriteBehind(StatsRepository repository, int queueCapacity, int batchSize,
+                            long flushIntervalMs, int maxRetries, OverflowPolicy overflowPolicy) {
+        this(repository, queueCapacity, batchSize, flushIntervalMs, maxRetries, overflowPolicy, null);
+    }
+
+    /** @param spool локальний спул для пакетів, які не вдалося записати; null — такі пакети втрачаються */
+    public StatsWriteBehind(StatsRepository repository, int queueCapacity, int batchSize,
+                            long flushIntervalMs, int maxRetries, OverflowPolicy overflowPolicy,
+                            StatsSpool spool) {
+        this.repository = repository;
+        this.spool = spool;
+        this.replayer = spool == null ? null : new StatsSpoolReplayer(spool, repository);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    // =======================================================================
+    // START / STOP
+    // =======================================================================
+    /**
+     * Запускає flusher. Якщо попередній flusher після stop() ще дописує чергу
+     * (join у stop() вийшов за таймаутом), спершу чекаємо на нього — інакше
+     * він побачив би running = true і чергу розбирали б два потоки.
+     */
+    public synchronized void start() {
+        if (running) return;
+
+        awaitPreviousFlusher();
+        running = true;
+        flusher = new MonitoringThreadFactory("stats-writer").newThread(this::runLoop);
+        flusher.start();
+        if (replayer != null) replayer.start();
+    }
+
+    /**
+     * Зупиняє flusher і дописує все, що лишилося в черзі.
+     * Чекає не довше за timeoutMs. Спул закриває сам flusher, коли допише чергу:
+     * якщо join вийшов за таймаутом, він ще може скидати туди пакети.
+     */
+    public synchronized void stop(long timeoutMs) {
+        if (!running) return;
+
+        running = false;
+        // replayer — першим: після виходу flusher спулом уже ніхто не користується
+        if (replayer != null) replayer.stop(timeoutMs);
+
+        flusher.interrupt();
+        try {
+            flusher.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // потік, що не встиг завершитися, лишається в полі — start() дочекається його
+        if (!flusher.isAlive()) flusher = null;
+    }
+
+    private void awaitPreviousFlusher() {
+        Thread previous = flusher;
+        if (previous == null) return;
+
+        boolean interrupted = false;
+        while (previous.isAlive()) {
+            try {
+                previous.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        flusher = null;
+    }
+
+    /**
+     * Слухач, який отримує кожен успішно записаний пакет
+     * (у потоці flusher, а для пакетів зі спулу — у потоці replayer).
+     */
+    public void setBatchListener(Consumer<List<SystemStats>> listener) {
+        this.batchListener = listener;
+        if (replayer != null) replayer.setBatchListener(listener);
+    }
+
+    // =======================================================================
+    // SUBMIT (викликається з потоку збору метрик, ніколи не блокує)
+    // =======================================================================
+    public boolean submit(SystemStats stats) {
+        submitted.incrementAndGet();
+
+        if (queue.offer(stats)) return true;
+
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            SystemStats evicted = queue.poll();
+            if (evicted != null) dropped.incrementAndGet();
+            if (queue.offer(stats)) return true;
+        }
+
+        if (overflowPolicy == OverflowPolicy.SPILL && spill(List.of(stats))) return true;
+
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    // =======================================================================
+    // FLUSHER LOOP
+    // =======================================================================
+    private void runLoop() {
+        List<SystemStats> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+
+        while (running || !queue.isEmpty()) {
+            long waitMs = batch.isEmpty()
+                    ? flushIntervalMs
+                    : Math.max(0, deadline - System.currentTimeMillis());
+
+            SystemStats next = null;
+            try {
+                next = running ? queue.poll(waitMs, TimeUnit.MILLISECONDS) : queue.poll();
+            } catch (InterruptedException e) {
+                // stop() будить потік — доганяємо чергу без очікування
+            }
+
+            if (next != null) {
+                if (batch.isEmpty()) deadline = System.currentTimeMillis() + flushIntervalMs;
+                batch.add(next);
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+
+            boolean full = batch.size() >= batchSize;
+            boolean expired = !batch.isEmpty() && System.currentTimeMillis() >= deadline;
+
+            if (full || expired || (!running && !batch.isEmpty())) {
+                flush(batch);
+            }
+        }
+
+        if (!batch.isEmpty()) flush(batch);
+        if (spool != null) spool.close();
+    }
+
+    private void flush(List<SystemStats> batch) {
+        // у спулі хвіст (БД була недоступна) — не чекаємо ретраїв, ставимо пакет за ним
+        if (hasSpoolBacklog() && spill(batch)) {
+            batch.clear();
+            return;
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                repository.saveAll(batch);
+                written.addAndGet(batch.size());
+                notifyListener(batch);
+                break;
+            } catch (RuntimeException e) {
+                if (attempt >= maxRetries || !running) {
+                    failedBatches.incrementAndGet();
+                    if (spill(batch)) break;
+
+                    dropped.addAndGet(batch.size());
+                    System.err.println("[StatsWriteBehind] Пакет із " + batch.size()
+                            + " записів втрачено: " + e.getMessage());
+                    break;
+                }
+                backoff(attempt);
+            }
+        }
+        batch.clear();
+    }
+
+    /** Дописує записи в локальний спул; false — спулу немає або запис не вдався. */
+    private boolean spill(List<SystemStats> records) {
+        if (spool == null) return false;
+        try {
+            spool.append(records);
+            spilled.addAndGet(records.size());
+            replayer.wakeUp();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[StatsWriteBehind] Помилка запису в спул: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean hasSpoolBacklog() {
+        try {
+            return spool != null && spool.hasPending();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void notifyListener(List<SystemStats> batch) {
+        Consumer<List<SystemStats>> listener = batchListener;
+        if (listener == null) return;
+        try {
+            listener.accept(batch);
+        } catch (RuntimeException e) {
+            System.err.println("[StatsWriteBehind] Помилка слухача пакета: " + e.getMessage());
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(Math.min(10_000L, 500L << attempt));
+        } catch (InterruptedException e) {
+            // stop() під час очікування — наступна спроба буде останньою
+        }
+    }
+
+    // =======================================================================
+    // METRICS
+    // =======================================================================
+    public int getQueueDepth() { return queue.size(); }
+    public int getQueueCapacity() { return queue.size() + queue.remainingCapacity(); }
+    public long getSubmittedCount() { return submitted.get(); }
+    public long getWrittenCount() { return written.get(); }
+    public long getDroppedCount() { return dropped.get(); }
+    public long getFailedBatchCount() { return failedBatches.get(); }
+    public long getSpilledCount() { return spilled.get(); }
+
+    /** Локальний спул (розмір, сегменти, лічильники); null — спул вимкнено. */
+    public StatsSpool getSpool() { return spool; }
+
+    public double getReplayRatePerSec() { return replayer == null ? 0 : replayer.getLastReplayRatePerSec(); }
+}
@@ -0,0 +1,218 @@
+package com.example.systemactivitymonitor.service.rollup;
+
+import com.example.systemactivitymonitor.model.RollupLevel;
+import com.example.systemactivitymonitor.model.StatsRollup;
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.repository.interfaces.RollupRepository;
+import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+import com.example.systemactivitymonitor.util.AppExecutors;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RollupAggregator — інкрементне ведення stats_rollup (хвилина / година / доба).
+ *
+ * ✔ Отримує кожен пакет, щойно записаний StatsWriteBehind, і додає його до відкритих кошиків
+ * ✔ Закриті кошики зливаються в БД разом із позначкою "згорнуто до"
+ * ✔ Для нового користувача у фоні запускається RollupBackfillJob для історії
+ *   до першого "живого" запису; до його завершення кошики лише накопичуються
+ * ✔ Дані, які не встигли потрапити в stats_rollup (збій, аварійне завершення),
+ *   не губляться: наступний backfill добере їх із сирих записів за позначкою
+ * ✔ Запізнілі записи (StatsSpoolReplayer переносить старі пакети через того ж слухача):
+ *   lastSeen лише зростає, тож закриті кошики не відкриваються знову; запис, старший
+ *   за вже злиту межу рівня, додається окремим пакетом merge() без зсуву позначки
+ *   (merge додає до збереженого). Старший за liveSince до завершення backfill
+ *   пропускається (цей проміжок ще читає backfill), а після — теж іде в late:
+ *   спул, перенесений уже після живого пакета, інакше загубив би весь простій
+ */
+public class RollupAggregator {
+
+    private final RollupRepository rollupRepository;
+    private final RollupBackfillJob backfillJob;
+    private final Map<Integer, UserState> users = new HashMap<>();
+    private final AtomicLong skippedLate = new AtomicLong();
+
+    private static final class UserState {
+        final RollupBuckets buckets;
+        /** Запізнілі записи для вже злитих кошиків — зливаються без зсуву позначки. */
+        final RollupBuckets late;
+        /** До якої межі кожен рівень уже злито з живого потоку. */
+        final Map<RollupLevel, LocalDateTime> mergedUntil = new EnumMap<>(RollupLevel.class);
+        LocalDateTime lastSeen;
+        LocalDateTime liveSince;
+        volatile boolean backfillDone = false;
+        Future<?> backfill;
+
+        UserState(Integer userId) {
+            this.buckets = new RollupBuckets(userId);
+            this.late = new RollupBuckets(userId);
+        }
+    }
+
+    public RollupAggregator(StatsRepository statsRepository, RollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+        this.backfillJob = new RollupBackfillJob(statsRepository, rollupRepository);
+    }
+
+    // ========================================================================
+    // LIVE (викликається з потоку StatsWriteBehind після успішного saveAll)
+    // ========================================================================
+    public synchronized void onBatchWritten(List<SystemStats> batch) {
+        for (SystemStats s : batch) {
+            if (s.getUser() == null || s.getUser().getId() == null || s.getRecordedAt() == null) continue;
+
+            Integer userId = s.getUser().getId();
+            UserState state = users.get(userId);
+            if (state == null) {
+                state = new UserState(userId);
+                users.put(userId, state);
+                state.liveSince = s.getRecordedAt().truncatedTo(ChronoUnit.SECONDS);
+                startBackfill(userId, state);
+            } else if (!state.backfillDone && state.backfill.isDone()) {
+                startBackfill(userId, state); // попередня спроба впала — повторюємо
+            }
+
+            LocalDateTime at = s.getRecordedAt();
+            if (at.isBefore(state.liveSince)) {
+                if (state.backfillDone) {
+                    state.late.accept(s);
+                } else {
+                    skippedLate.incrementAndGet();
+                }
+                continue;
+            }
+            acceptLive(state, s);
+            if (state.lastSeen == null || at.isAfter(state.lastSeen)) state.lastSeen = at;
+        }
+
+        users.forEach(this::mergeClosed);
+    }
+
+    /** Зливає в БД усе накопичене (зупинка моніторингу). */
+    public synchronized void flushAll() {
+        users.forEach((userId, state) -> {
+            awaitBackfill(state);
+            if (!state.backfillDone || state.lastSeen == null) return;
+
+            mergeLate(userId, state);
+
+            LocalDateTime until = state.lastSeen.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+            for (RollupLevel level : RollupLevel.values()) {
+                List<StatsRollup> open = state.buckets.all(level);
+                if (open.isEmpty()) continue;
+                try {
+                    rollupRepository.merge(userId, level, open, until);
+                    state.buckets.clear(level);
+                } catch (RuntimeException e) {
+                    System.err.println("[RollupAggregator] Не вдалося зберегти агрегати " + level + ": " + e.getMessage());
+                }
+            }
+        });
+        users.clear();
+    }
+
+    /** Записи, пропущені як старші за початок живого потоку, поки backfill ще працював. */
+    public long getSkippedLateCount() {
+        return skippedLate.get();
+    }
+
+    synchronized boolean isBackfillDone(Integer userId) {
+        UserState state = users.get(userId);
+        return state != null && state.backfillDone;
+    }
+
+    // ========================================================================
+    // INTERNAL
+    // ========================================================================
+    private void acceptLive(UserState state, SystemStats s) {
+        if (state.mergedUntil.isEmpty()) {
+            state.buckets.accept(s);
+            return;
+        }
+
+        Set<RollupLevel> live = EnumSet.noneOf(RollupLevel.class);
+        Set<RollupLevel> late = EnumSet.noneOf(RollupLevel.class);
+        for (RollupLevel level : RollupLevel.values()) {
+            LocalDateTime merged = state.mergedUntil.get(level);
+            (merged != null && s.getRecordedAt().isBefore(merged) ? late : live).add(level);
+        }
+        if (!live.isEmpty()) state.buckets.accept(s, live);
+        if (!late.isEmpty()) state.late.accept(s, late);
+    }
+
+    private void mergeClosed(Integer userId, UserState state) {
+        if (!state.backfillDone || state.lastSeen == null) return;
+
+        mergeLate(userId, state);
+
+        for (RollupLevel level : RollupLevel.values()) {
+            LocalDateTime current = level.bucketStart(state.lastSeen);
+            List<StatsRollup> closed = state.buckets.closedBefore(level, current);
+            if (closed.isEmpty()) continue;
+
+            try {
+                rollupRepository.merge(userId, level, closed, current);
+                state.buckets.removeBefore(level, current);
+                state.mergedUntil.put(level, current);
+            } catch (RuntimeException e) {
+                // кошики лишаються в пам’яті — повторимо з наступним пакетом
+                System.err.println("[RollupAggregator] Не вдалося зберегти агрегати " + level + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /** Додає запізнілі записи до вже збережених кошиків; позначка рівня не змінюється. */
+    private void mergeLate(Integer userId, UserState state) {
+        if (state.late.isEmpty()) return;
+
+        for (RollupLevel level : RollupLevel.values()) {
+            List<StatsRollup> late = state.late.all(level);
+            if (late.isEmpty()) continue;
+            try {
+                rollupRepository.merge(userId, level, late, null);
+                state.late.clear(level);
+            } catch (RuntimeException e) {
+                System.err.println("[RollupAggregator] Не вдалося зберегти запізнілі агрегати " + level + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void startBackfill(Integer userId, UserState state) {
+        LocalDateTime liveSince = state.liveSince;
+        state.backfill = AppExecutors.submit("rollup-backfill", () -> {
+            try {
+                long rows = backfillJob.run(userId, liveSince);
+                if (rows > 0) {
+                    System.out.println("📊 [Rollup] Догорнуто історичних записів: " + rows);
+                }
+                state.backfillDone = true;
+            } catch (RuntimeException e) {
+                System.err.println("[RollupAggregator] Backfill не вдався: " + e.getMessage());
+            }
+        });
+    }
+
+    private void awaitBackfill(UserState state) {
+        Future<?> f = state.backfill;
+        if (f == null) return;
+        try {
+            f.get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ignored) {
+            // не дочекались — наступний запуск добере історію за позначкою
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.systemactivitymonitor.service.rollup;
+
+import com.example.systemactivitymonitor.model.RollupLevel;
+import com.example.systemactivitymonitor.repository.interfaces.RollupRepository;
+import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * RollupBackfillJob — догортання сирих system_stats, яких ще немає в stats_rollup.
+ *
+ * ✔ Для кожного рівня читає позначку (watermark) і обробляє лише [watermark, until)
+ * ✔ Сирі дані читаються по добі, тож пам’ять не залежить від довжини історії
+ * ✔ Після кожної доби — merge() разом із новою позначкою: перерване виконання
+ *   просто продовжиться з того ж місця при наступному запуску
+ */
+public class RollupBackfillJob {
+
+    private final StatsRepository statsRepository;
+    private final RollupRepository rollupRepository;
+
+    public RollupBackfillJob(StatsRepository statsRepository, RollupRepository rollupRepository) {
+        this.statsRepository = statsRepository;
+        this.rollupRepository = rollupRepository;
+    }
+
+    /**
+     * Згортає сирі записи користувача з recorded_at < until.
+     * @return кількість оброблених сирих записів
+     */
+    public long run(Integer userId, LocalDateTime until) {
+        Map<RollupLevel, LocalDateTime> watermarks = new EnumMap<>(RollupLevel.class);
+        LocalDateTime from = until;
+
+        Optional<LocalDateTime> first = statsRepository.findFirstRecordedAt(userId);
+        if (first.isEmpty()) return 0;
+
+        for (RollupLevel level : RollupLevel.values()) {
+            LocalDateTime wm = rollupRepository.findWatermark(userId, level).orElse(first.get());
+            watermarks.put(level, wm);
+            if (wm.isBefore(from)) from = wm;
+        }
+
+        long processed = 0;
+        LocalDateTime chunkStart = RollupLevel.DAY.bucketStart(from);
+
+        while (chunkStart.isBefore(until)) {
+            LocalDateTime chunkEnd = RollupLevel.DAY.bucketEnd(chunkStart);
+            if (chunkEnd.isAfter(until)) chunkEnd = until;
+
+            // BETWEEN включний, recorded_at має точність до секунди
+            RollupBuckets buckets = new RollupBuckets(userId);
+            long[] count = {0};
+            statsRepository.forEachByUserIdAndRecordedAtBetween(userId, chunkStart, chunkEnd.minusSeconds(1), s -> {
+                if (s.getRecordedAt() == null) return;
+
+                Set<RollupLevel> levels = EnumSet.noneOf(RollupLevel.class);
+                for (RollupLevel level : RollupLevel.values()) {
+                    if (!s.getRecordedAt().isBefore(watermarks.get(level))) levels.add(level);
+                }
+                buckets.accept(s, levels);
+                count[0]++;
+            });
+            processed += count[0];
+
+            for (RollupLevel level : RollupLevel.values()) {
+                if (!chunkEnd.isAfter(watermarks.get(level))) continue;
+                rollupRepository.merge(userId, level, buckets.all(level), chunkEnd);
+            }
+
+            chunkStart = chunkEnd;
+        }
+
+        return processed;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.systemactivitymonitor.service.rollup;
+
+import com.example.systemactivitymonitor.model.RollupLevel;
+import com.example.systemactivitymonitor.model.StatsRollup;
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.service.calculations.AppNameCache;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * RollupBuckets — відкриті кошики агрегації одного користувача для всіх рівнів.
+ * Не потокобезпечний.
+ */
+public class RollupBuckets {
+
+    private final Integer userId;
+    private final Map<RollupLevel, TreeMap<LocalDateTime, StatsRollup>> buckets = new EnumMap<>(RollupLevel.class);
+
+    public RollupBuckets(Integer userId) {
+        this.userId = userId;
+        for (RollupLevel level : RollupLevel.values()) {
+            buckets.put(level, new TreeMap<>());
+        }
+    }
+
+    /** Додає запис до кошиків усіх рівнів. */
+    public void accept(SystemStats s) {
+        accept(s, EnumSet.allOf(RollupLevel.class));
+    }
+
+    /** Додає запис лише до кошиків зазначених рівнів. */
+    public void accept(SystemStats s, Set<RollupLevel> levels) {
+        if (s.getRecordedAt() == null || levels.isEmpty()) return;
+
+        String app = s.getActiveWindow() == null ? null : AppNameCache.forTitle(s.getWindowTitleId(), s.getActiveWindow());
+        for (RollupLevel level : levels) {
+            LocalDateTime start = level.bucketStart(s.getRecordedAt());
+            buckets.get(level)
+                    .computeIfAbsent(start, k -> new StatsRollup(userId, level, k))
+                    .accept(s, app);
+        }
+    }
+
+    /** Кошики рівня, що почалися раніше за before (без вилучення). */
+    public List<StatsRollup> closedBefore(RollupLevel level, LocalDateTime before) {
+        return new ArrayList<>(buckets.get(level).headMap(before, false).values());
+    }
+
+    /** Вилучає кошики рівня, що почалися раніше за before. */
+    public void removeBefore(RollupLevel level, LocalDateTime before) {
+        buckets.get(level).headMap(before, false).clear();
+    }
+
+    public List<StatsRollup> all(RollupLevel level) {
+        return new ArrayList<>(buckets.get(level).values());
+    }
+
+    public void clear(RollupLevel level) {
+        buckets.get(level).clear();
+    }
+
+    public boolean isEmpty() {
+        for (TreeMap<LocalDateTime, StatsRollup> m : buckets.values()) {
+            if (!m.isEmpty()) return false;
+        }
+        return true;
+    }
+}
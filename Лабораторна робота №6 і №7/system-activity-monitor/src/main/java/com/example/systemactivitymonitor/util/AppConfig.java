@@ -0,0 +1,80 @@
+package com.example.systemactivitymonitor.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * AppConfig — єдина точка читання налаштувань застосунку.
+ *
+ * Порядок пошуку значення (перше непорожнє перемагає):
+ *  1. системна властивість  -Dsam.<key>=...
+ *  2. змінна середовища     SAM_<KEY>  (крапки → "_", верхній регістр: stats.backend → SAM_STATS_BACKEND)
+ *  3. файл властивостей     шлях у -Dsam.config або SAM_CONFIG, ключі без префікса "sam."
+ *  4. значення за замовчуванням
+ */
+public final class AppConfig {
+
+    private static final String PREFIX = "sam.";
+    private static final String ENV_PREFIX = "SAM_";
+
+    private static final Properties FILE = loadFile();
+
+    private AppConfig() {}
+
+    public static String get(String key, String defaultVal) {
+        String value = System.getProperty(PREFIX + key);
+        if (isBlank(value)) value = System.getenv(envName(key));
+        if (isBlank(value)) value = FILE.getProperty(key);
+        return isBlank(value) ? defaultVal : value.trim();
+    }
+
+    public static int getInt(String key, int defaultVal) {
+        return SafeCaster.toInt(get(key, null), defaultVal);
+    }
+
+    public static long getLong(String key, long defaultVal) {
+        return SafeCaster.toLong(get(key, null), defaultVal);
+    }
+
+    public static boolean getBoolean(String key, boolean defaultVal) {
+        String value = get(key, null);
+        return value == null ? defaultVal : Boolean.parseBoolean(value);
+    }
+
+    /** Шлях до файлу налаштувань або null, якщо його не задано. */
+    public static String getConfigFile() {
+        String path = System.getProperty(PREFIX + "config");
+        if (isBlank(path)) path = System.getenv(ENV_PREFIX + "CONFIG");
+        return isBlank(path) ? null : path.trim();
+    }
+
+    static String envName(String key) {
+        StringBuilder sb = new StringBuilder(ENV_PREFIX.length() + key.length()).append(ENV_PREFIX);
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            sb.append(Character.isLetterOrDigit(c) ? Character.toUpperCase(c) : '_');
+        }
+        return sb.toString();
+    }
+
+    private static Properties loadFile() {
+        Properties props = new Properties();
+        String path = getConfigFile();
+        if (path == null) return props;
+
+        try (Reader reader = Files.newBufferedReader(Path.of(path), StandardCharsets.UTF_8)) {
+            props.load(reader);
+        } catch (IOException e) {
+            System.err.println("[AppConfig] Не вдалося прочитати " + path + ": " + e.getMessage());
+        }
+        return props;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.systemactivitymonitor.util;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AppExecutors — єдиний шар виконання фонових задач застосунку.
+ *
+ * ✔ Один спільний планувальник (sam-timer) лише відміряє час: задачі на ньому не блокуються
+ * ✔ Блокуюча робота (JDBC, читання /proc, виклики WinAPI / процесів, експорт) — на
+ *   окремому виконавці: віртуальні потоки на Java 21+, інакше — обмежений пул платформних
+ * ✔ schedule(): такт планувальника передає задачу блокуючому виконавцю; якщо попередній
+ *   запуск ще триває — такт пропускається (задача ніколи не виконується паралельно сама з собою)
+ * ✔ scheduleOnTimer(): лише для коротких задач без алокацій, що виконуються прямо на sam-timer
+ * ✔ Усі потоки іменовані (sam-timer-thread-N, sam-io-N) і рахуються (liveThreads)
+ * ✔ shutdown(timeout) — скасовує такти, чекає на задачі, що виконуються, і звітує про залишки
+ *
+ * Налаштування:
+ *   exec.virtualThreads — використовувати віртуальні потоки, якщо JVM їх має (true)
+ *   exec.timerThreads   — потоків планувальника (1)
+ *   exec.ioThreads      — розмір пулу блокуючих задач без віртуальних потоків (16)
+ *
+ * Код компілюється під Java 17: віртуальні потоки створюються через рефлексію
+ * (Thread.ofVirtual / Executors.newThreadPerTaskExecutor), тож той самий jar на JVM 21+
+ * сам переходить на них — окрема збірка під Java 21 не потрібна.
+ */
+public final class AppExecutors {
+
+    private static final String TIMER_PREFIX = "sam-timer";
+    private static final String IO_PREFIX = "sam-io";
+
+    private static ScheduledThreadPoolExecutor timer;
+    private static ExecutorService io;
+    private static boolean virtual;
+
+    private AppExecutors() {}
+
+    // ========================================================================
+    // EXECUTORS
+    // ========================================================================
+    /** Спільний планувальник — лише для коротких неблокуючих дій. */
+    public static synchronized ScheduledExecutorService timer() {
+        if (timer == null || timer.isShutdown()) {
+            timer = new ScheduledThreadPoolExecutor(
+                    Math.max(1, AppConfig.getInt("exec.timerThreads", 1)),
+                    new MonitoringThreadFactory(TIMER_PREFIX));
+            timer.setRemoveOnCancelPolicy(true);
+        }
+        return timer;
+    }
+
+    /** Виконавець блокуючих задач (віртуальні потоки, якщо доступні). */
+    public static synchronized ExecutorService io() {
+        if (io == null || io.isShutdown()) {
+            io = AppConfig.getBoolean("exec.virtualThreads", true) ? newVirtualExecutor() : null;
+            virtual = io != null;
+            if (io == null) {
+                int size = Math.max(1, AppConfig.getInt("exec.ioThreads", 16));
+                ThreadPoolExecutor pool = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(), new MonitoringThreadFactory(IO_PREFIX));
+                pool.allowCoreThreadTimeOut(true);
+                io = pool;
+            }
+        }
+        return io;
+    }
+
+    public static synchronized boolean isVirtual() {
+        io();
+        return virtual;
+    }
+
+    /** Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sam-io-", 0).factory()) або null на Java 17. */
+    private static ExecutorService newVirtualExecutor() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            builder = ofVirtual.getMethod("name", String.class, long.class).invoke(builder, IO_PREFIX + "-", 0L);
+            ThreadFactory virtualFactory = (ThreadFactory) ofVirtual.getMethod("factory").invoke(builder);
+
+            ThreadFactory counting = r -> virtualFactory.newThread(MonitoringThreadFactory.counted(IO_PREFIX, r));
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, counting);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // ========================================================================
+    // SUBMIT / SCHEDULE
+    // ========================================================================
+    /** Разова блокуюча задача; name потрапляє в ім’я потоку на час виконання. */
+    public static <T> Future<T> submit(String name, Callable<T> task) {
+        return io().submit(() -> named(name, task));
+    }
+
+    public static Future<?> submit(String name, Runnable task) {
+        return submit(name, Executors.callable(task));
+    }
+
+    /**
+     * Періодична блокуюча задача з фіксованою частотою.
+     * Виняток задачі лише логується — наступні такти не скасовуються.
+     */
+    public static Periodic schedule(String name, Runnable task, long initialDelay, long period, TimeUnit unit) {
+        Periodic periodic = new Periodic(name, task);
+        periodic.future = timer().scheduleAtFixedRate(periodic::fire, initialDelay, period, unit);
+        return periodic;
+    }
+
+    /**
+     * Коротка неблокуюча задача прямо на sam-timer, без передачі виконавцю і без алокацій
+     * на такт (burst-вибірки кожні 100–250 мс). Виняток лише логується.
+     */
+    public static ScheduledFuture<?> scheduleOnTimer(String name, Runnable task,
+                                                     long initialDelay, long period, TimeUnit unit) {
+        return timer().scheduleAtFixedRate(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("⚠ Exception in timer task " + name + ": " + e.getMessage());
+            }
+        }, initialDelay, period, unit);
+    }
+
+    private static <T> T named(String name, Callable<T> task) throws Exception {
+        Thread current = Thread.currentThread();
+        String original = current.getName();
+        current.setName(original + "-" + name);
+        try {
+            return task.call();
+        } finally {
+            current.setName(original);
+        }
+    }
+
+    // ========================================================================
+    // SHUTDOWN
+    // ========================================================================
+    /** Скасовує всі такти й чекає на блокуючі задачі до timeoutMs; повертає true, якщо все завершилось. */
+    public static boolean shutdown(long timeoutMs) {
+        ScheduledThreadPoolExecutor t;
+        ExecutorService e;
+        synchronized (AppExecutors.class) {
+            t = timer;
+            e = io;
+            timer = null;
+            io = null;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMs));
+        boolean clean = true;
+        try {
+            if (t != null) {
+                t.shutdown();
+                clean &= t.awaitTermination(remaining(deadline), TimeUnit.NANOSECONDS);
+            }
+            if (e != null) {
+                e.shutdown();
+                clean &= e.awaitTermination(remaining(deadline), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            clean = false;
+        }
+
+        if (!clean) {
+            if (t != null) t.shutdownNow();
+            if (e != null) e.shutdownNow();
+            System.err.println("[AppExecutors] Не завершились вчасно: " + liveThreads());
+        }
+        return clean;
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    /** Живі потоки застосунку за префіксом (sam-timer, sam-io, stats-writer, ...). */
+    public static Map<String, Integer> liveThreads() {
+        return MonitoringThreadFactory.liveThreads();
+    }
+
+    // ========================================================================
+    // PERIODIC
+    // ========================================================================
+    /** Дескриптор періодичної задачі: скасування та очікування поточного запуску. */
+    public static final class Periodic {
+        private final String name;
+        private final Runnable task;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final AtomicLong skipped = new AtomicLong();
+        private volatile boolean cancelled = false;
+        private volatile ScheduledFuture<?> future;
+
+        private Periodic(String name, Runnable task) {
+            this.name = name;
+            this.task = task;
+        }
+
+        /** Такт планувальника: лише передача задачі, без виконання на sam-timer. */
+        private void fire() {
+            if (cancelled) return;
+            if (!running.compareAndSet(false, true)) {
+                skipped.incrementAndGet();
+                return;
+            }
+
+            try {
+                io().execute(this::runOnce);
+            } catch (RejectedExecutionException e) {
+                finish();
+            }
+        }
+
+        private void runOnce() {
+            try {
+                if (!cancelled) named(name, Executors.callable(task));
+            } catch (Exception e) {
+                System.err.println("⚠ Exception in scheduled task " + name + ": " + e.getMessage());
+            } finally {
+                finish();
+            }
+        }
+
+        private synchronized void finish() {
+            running.set(false);
+            notifyAll();
+        }
+
+        /** Скасовує наступні такти; запуск, що вже виконується, доробляє своє. */
+        public void cancel() {
+            cancelled = true;
+            ScheduledFuture<?> f = future;
+            if (f != null) f.cancel(false);
+        }
+
+        /** Скасовує й чекає до timeoutMs на поточний запуск; true — задача більше не виконується. */
+        public synchronized boolean cancelAndWait(long timeoutMs) {
+            cancel();
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            try {
+                while (running.get()) {
+                    long left = deadline - System.currentTimeMillis();
+                    if (left <= 0) return false;
+                    wait(left);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return true;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isRunning() {
+            return running.get();
+        }
+
+        /** Такти, пропущені через те, що попередній запуск ще не завершився. */
+        public long getSkippedCount() {
+            return skipped.get();
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.example.systemactivitymonitor.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ConnectionPool — вбудований пул JDBC-з’єднань для DatabaseConnection.
+ *
+ * ✔ min/max розмір, очікування вільного з’єднання не довше maxWaitMs
+ * ✔ Валідація при видачі (isValid), якщо з’єднання довго не використовувалось
+ * ✔ Витіснення простоюючих з’єднань понад minSize після idleTimeoutMs
+ * ✔ Виявлення витоків: з’єднання, яке тримають довше leakThresholdMs, логуються;
+ *   стек місця отримання — лише з db.pool.leakTrace=true (інакше borrow() не створює Throwable)
+ * ✔ Кеш PreparedStatement на кожне фізичне з’єднання
+ *
+ * Клієнтський код працює як раніше: try-with-resources + close(),
+ * але close() повертає з’єднання у пул замість розриву TCP-сесії.
+ */
+public class ConnectionPool {
+
+    private final String url;
+    private final String user;
+    private final String password;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long maxWaitMs;
+    private final long idleTimeoutMs;
+    private final long leakThresholdMs;
+    private final boolean leakTrace;
+    private final long validationIntervalMs;
+    private final int statementCacheSize;
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> all = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AppExecutors.Periodic housekeeper;
+    private volatile boolean closed = false;
+
+    // ------------------------ Metrics ------------------------
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+    private final LongAdder stmtHits = new LongAdder();
+    private final LongAdder stmtMisses = new LongAdder();
+    private final LatencyHistogram borrowLatency = new LatencyHistogram();
+
+    public ConnectionPool(String url, String user, String password) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+
+        this.maxSize = Math.max(1, AppConfig.getInt("db.pool.maxSize", 10));
+        this.minSize = Math.min(maxSize, Math.max(0, AppConfig.getInt("db.pool.minSize", 2)));
+        this.maxWaitMs = AppConfig.getLong("db.pool.maxWaitMs", 5_000);
+        this.idleTimeoutMs = AppConfig.getLong("db.pool.idleTimeoutMs", 300_000);
+        this.leakThresholdMs = AppConfig.getLong("db.pool.leakThresholdMs", 30_000);
+        this.leakTrace = leakThresholdMs > 0 && AppConfig.getBoolean("db.pool.leakTrace", false);
+        this.validationIntervalMs = AppConfig.getLong("db.pool.validationIntervalMs", 1_000);
+        this.statementCacheSize = AppConfig.getInt("db.pool.statementCacheSize", 32);
+
+        this.permits = new Semaphore(maxSize, true);
+        this.housekeeper = AppExecutors.schedule("db-pool-housekeeper", this::housekeep, 5, 5, TimeUnit.SECONDS);
+    }
+
+    // =======================================================================
+    // BORROW / RELEASE
+    // =======================================================================
+    public Connection borrow() throws SQLException {
+        if (closed) throw new SQLException("Пул з’єднань закрито.");
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTimeoutException("Немає вільного з’єднання з БД протягом " + maxWaitMs + " мс");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Очікування з’єднання перервано", e);
+        }
+
+        try {
+            PooledConnection pc;
+            while ((pc = idle.pollFirst()) != null) {
+                if (isAlive(pc)) break;
+                destroy(pc);
+            }
+            if (pc == null) pc = create();
+
+            pc.onBorrow(leakTrace ? new Throwable("Місце отримання з’єднання") : null);
+            active.incrementAndGet();
+
+            long waited = System.nanoTime() - start;
+            borrowCount.increment();
+            totalWaitNanos.add(waited);
+            borrowLatency.record(waited);
+
+            return pc.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(PooledConnection pc) {
+        active.decrementAndGet();
+        try {
+            if (closed || pc.physical.isClosed()) {
+                destroy(pc);
+                return;
+            }
+            if (!pc.physical.getAutoCommit()) {
+                pc.physical.rollback();
+                pc.physical.setAutoCommit(true);
+            }
+            pc.lastUsedAt = System.currentTimeMillis();
+            // LIFO: гарячі з’єднання йдуть першими, зайві — старіють і витісняються
+            idle.offerFirst(pc);
+        } catch (SQLException e) {
+            destroy(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean isAlive(PooledConnection pc) {
+        if (System.currentTimeMillis() - pc.lastUsedAt < validationIntervalMs) return true;
+        try {
+            return pc.physical.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection create() throws SQLException {
+        PooledConnection pc = new PooledConnection(DriverManager.getConnection(url, user, password));
+        all.add(pc);
+        created.increment();
+        return pc;
+    }
+
+    private void destroy(PooledConnection pc) {
+        all.remove(pc);
+        pc.closeStatements();
+        DatabaseConnection.closeConnection(pc.physical);
+        destroyed.increment();
+    }
+
+    // =======================================================================
+    // HOUSEKEEPING: idle eviction, prefill to minSize, leak detection
+    // =======================================================================
+    private void housekeep() {
+        if (closed) return;
+        long now = System.currentTimeMillis();
+
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext() && all.size() > minSize) {
+            PooledConnection pc = it.next();
+            if (now - pc.lastUsedAt > idleTimeoutMs && idle.remove(pc)) {
+                destroy(pc);
+            }
+        }
+
+        while (all.size() < minSize && permits.tryAcquire()) {
+            try {
+                PooledConnection pc = create();
+                pc.lastUsedAt = now;
+                idle.offerLast(pc);
+            } catch (SQLException e) {
+                break; // БД недоступна — спробуємо наступного разу
+            } finally {
+                permits.release();
+            }
+        }
+
+        if (leakThresholdMs <= 0) return;
+        for (PooledConnection pc : all) {
+            Throwable origin = pc.borrowOrigin;
+            if (pc.inUse && !pc.leakReported && now - pc.borrowedAt > leakThresholdMs) {
+                pc.leakReported = true;
+                leaks.increment();
+                System.err.println("⚠ [ConnectionPool] Можливий витік з’єднання: утримується "
+                        + (now - pc.borrowedAt) + " мс"
+                        + (origin == null ? " (стек місця отримання: -Dsam.db.pool.leakTrace=true)" : ""));
+                if (origin != null) origin.printStackTrace();
+            }
+        }
+    }
+
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        housekeeper.cancel();
+
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) destroy(pc);
+    }
+
+    // =======================================================================
+    // METRICS
+    // =======================================================================
+    public PoolMetrics getMetrics() {
+        return new PoolMetrics(
+                active.get(), idle.size(), all.size(), permits.getQueueLength(),
+                borrowCount.sum(), totalWaitNanos.sum(), timeouts.sum(),
+                created.sum(), destroyed.sum(), leaks.sum(),
+                stmtHits.sum(), stmtMisses.sum(),
+                borrowLatency.snapshot()
+        );
+    }
+
+    // =======================================================================
+    // POOLED CONNECTION (логічна обгортка над фізичним з’єднанням)
+    // =======================================================================
+    private final class PooledConnection implements InvocationHandler {
+
+        final Connection physical;
+        final Connection proxy;
+
+        volatile boolean inUse;
+        volatile boolean leakReported;
+        volatile long borrowedAt;
+        volatile long lastUsedAt = System.currentTimeMillis();
+        volatile Throwable borrowOrigin;
+
+        /** LRU-кеш підготовлених запитів: ключ — SQL + прапорці prepareStatement. */
+        private final Map<String, CachedStatement> statements =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                        if (size() <= statementCacheSize || eldest.getValue().inUse) return false;
+                        eldest.getValue().closePhysical();
+                        return true;
+                    }
+                };
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        void onBorrow(Throwable origin) {
+            inUse = true;
+            leakReported = false;
+            borrowedAt = System.currentTimeMillis();
+            borrowOrigin = origin;
+        }
+
+        @Override
+        public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            switch (name) {
+                case "close" -> {
+                    if (inUse) {
+                        inUse = false;
+                        borrowOrigin = null;
+                        release(this);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return !inUse || physical.isClosed();
+                }
+                case "equals" -> {
+                    return p == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(p);
+                }
+                case "toString" -> {
+                    return "Pooled[" + physical + "]";
+                }
+                default -> { }
+            }
+
+            if (!inUse) throw new SQLException("З’єднання вже повернуто у пул.");
+
+            if (name.equals("prepareStatement") && statementCacheSize > 0
+                    && args.length <= 2 && (args.length == 1 || args[1] instanceof Integer)) {
+                return prepareCached(method, args);
+            }
+
+            return delegate(physical, method, args);
+        }
+
+        private synchronized PreparedStatement prepareCached(Method method, Object[] args) throws Throwable {
+            String key = args.length == 1 ? (String) args[0] : args[0] + "\u0000" + args[1];
+
+            CachedStatement cached = statements.get(key);
+            if (cached != null && !cached.inUse) {
+                stmtHits.increment();
+                cached.inUse = true;
+                return cached.proxy;
+            }
+
+            stmtMisses.increment();
+            PreparedStatement ps = (PreparedStatement) delegate(physical, method, args);
+
+            if (cached != null) {
+                return ps; // той самий SQL вже відкритий вище по стеку — не кешуємо
+            }
+
+            CachedStatement fresh = new CachedStatement(ps);
+            fresh.inUse = true;
+            statements.put(key, fresh);
+            return fresh.proxy;
+        }
+
+        synchronized void closeStatements() {
+            for (CachedStatement cs : statements.values()) cs.closePhysical();
+            statements.clear();
+        }
+    }
+
+    // =======================================================================
+    // CACHED STATEMENT (close() лише очищає параметри і повертає у кеш)
+    // =======================================================================
+    private static final class CachedStatement implements InvocationHandler {
+
+        final PreparedStatement physical;
+        final PreparedStatement proxy;
+        volatile boolean inUse;
+
+        CachedStatement(PreparedStatement physical) {
+            this.physical = physical;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (inUse) {
+                        inUse = false;
+                        try {
+                            ResultSet current = physical.getResultSet();
+                            if (current != null) current.close();
+                            physical.clearParameters();
+                            physical.clearBatch();
+                        } catch (SQLException ignored) {}
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return !inUse || physical.isClosed();
+                }
+                case "equals" -> {
+                    return p == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(p);
+                }
+                default -> {
+                    return delegate(physical, method, args);
+                }
+            }
+        }
+
+        void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException ignored) {}
+        }
+    }
+
+    private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
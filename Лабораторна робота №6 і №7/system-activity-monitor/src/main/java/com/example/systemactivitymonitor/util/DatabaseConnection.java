@@ -1,14 +1,18 @@
 package com.example.systemactivitymonitor.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
+/**
+ * Точка доступу до БД для всіх репозиторіїв.
+ * З’єднання видаються з вбудованого ConnectionPool: close() повертає їх у пул.
+ */
 public class DatabaseConnection {
 
-    private static final String URL = "jdbc:mysql://localhost:3306/system_activity_monitor?useSSL=false&serverTimezone=UTC";
-    private static final String USER = "root";
-    private static final String PASSWORD = "admin";
+    private static final String URL = AppConfig.get("db.url",
+            "jdbc:mysql://localhost:3306/system_activity_monitor?useSSL=false&serverTimezone=UTC&rewriteBatchedStatements=true");
+    private static final String USER = AppConfig.get("db.user", "root");
+    private static final String PASSWORD = AppConfig.get("db.password", "admin");
 
     static {
         try {
@@ -19,8 +23,20 @@ public class DatabaseConnection {
         }
     }
 
+    private static final ConnectionPool POOL = new ConnectionPool(URL, USER, PASSWORD);
+
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        return POOL.borrow();
+    }
+
+    /** Знімок метрик пулу: active, idle, очікування, гістограма затримок видачі. */
+    public static PoolMetrics getPoolMetrics() {
+        return POOL.getMetrics();
+    }
+
+    /** Закриває всі фізичні з’єднання (при завершенні застосунку). */
+    public static void shutdown() {
+        POOL.close();
     }
 
     public static void closeConnection(Connection connection) {
@@ -0,0 +1,44 @@
+package com.example.systemactivitymonitor.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram — потокобезпечна гістограма затримок з фіксованими межами кошиків.
+ * Запис — одна атомарна операція без алокацій, тому її можна викликати на гарячому шляху.
+ */
+public class LatencyHistogram {
+
+    /** Верхні межі кошиків у мікросекундах; останній кошик — "усе, що більше". */
+    private static final long[] BOUNDS_MICROS = {
+            10, 50, 100, 500, 1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MICROS.length + 1);
+
+    public void record(long nanos) {
+        long micros = nanos / 1_000;
+        int i = 0;
+        while (i < BOUNDS_MICROS.length && micros > BOUNDS_MICROS[i]) i++;
+        counts.incrementAndGet(i);
+    }
+
+    public long[] snapshot() {
+        long[] copy = new long[counts.length()];
+        for (int i = 0; i < copy.length; i++) copy[i] = counts.get(i);
+        return copy;
+    }
+
+    /** Підписи кошиків у тому ж порядку, що і snapshot(). */
+    public static String[] bucketLabels() {
+        String[] labels = new String[BOUNDS_MICROS.length + 1];
+        for (int i = 0; i < BOUNDS_MICROS.length; i++) labels[i] = "<=" + formatMicros(BOUNDS_MICROS[i]);
+        labels[BOUNDS_MICROS.length] = ">" + formatMicros(BOUNDS_MICROS[BOUNDS_MICROS.length - 1]);
+        return labels;
+    }
+
+    private static String formatMicros(long micros) {
+        if (micros >= 1_000_000) return (micros / 1_000_000) + "s";
+        if (micros >= 1_000) return (micros / 1_000) + "ms";
+        return micros + "us";
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.systemactivitymonitor.util;
 
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -7,9 +10,12 @@ import java.util.concurrent.atomic.AtomicInteger;
  * MonitoringThreadFactory — фабрика потоків для MonitoringService.
  * Ім’я потоку: monitor-thread-N
  * Обробляє винятки всередині потоку, щоб scheduler не падав.
+ * Живі потоки рахуються за префіксом (liveThreads) — видно, хто не завершився при зупинці.
  */
 public class MonitoringThreadFactory implements ThreadFactory {
 
+    private static final Map<String, AtomicInteger> LIVE = new ConcurrentHashMap<>();
+
     private final String prefix;
     private final AtomicInteger count = new AtomicInteger(1);
 
@@ -19,18 +25,44 @@ public class MonitoringThreadFactory implements ThreadFactory {
 
     @Override
     public Thread newThread(Runnable r) {
-        Thread t = new Thread(() -> {
+        Thread t = new Thread(counted(prefix, () -> {
             try {
                 r.run();
             } catch (Throwable e) {
                 System.err.println("❗ Uncaught exception in monitored thread: " + e.getMessage());
                 e.printStackTrace();
             }
-        });
+        }));
 
         t.setName(prefix + "-thread-" + count.getAndIncrement());
         t.setDaemon(true);
 
         return t;
     }
+
+    // ========================================================================
+    // LIVE COUNT
+    // ========================================================================
+    /** Обгортка, що рахує потік живим від першої інструкції до виходу з run(). */
+    static Runnable counted(String prefix, Runnable r) {
+        AtomicInteger live = LIVE.computeIfAbsent(prefix, p -> new AtomicInteger());
+        return () -> {
+            live.incrementAndGet();
+            try {
+                r.run();
+            } finally {
+                live.decrementAndGet();
+            }
+        };
+    }
+
+    /** Кількість живих потоків за префіксом (лише ненульові, за алфавітом). */
+    public static Map<String, Integer> liveThreads() {
+        Map<String, Integer> snapshot = new TreeMap<>();
+        LIVE.forEach((prefix, live) -> {
+            int n = live.get();
+            if (n > 0) snapshot.put(prefix, n);
+        });
+        return snapshot;
+    }
 }
@@ -0,0 +1,79 @@
+package com.example.systemactivitymonitor.util;
+
+/**
+ * PoolMetrics — незмінний знімок стану ConnectionPool.
+ * Використовується для підбору розміру пулу під навантаженням.
+ */
+public final class PoolMetrics {
+
+    private final int active;
+    private final int idle;
+    private final int total;
+    private final int waiting;
+    private final long borrowCount;
+    private final long totalWaitNanos;
+    private final long timeouts;
+    private final long created;
+    private final long destroyed;
+    private final long leaksDetected;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+    private final long[] borrowLatencyHistogram;
+
+    PoolMetrics(int active, int idle, int total, int waiting,
+                long borrowCount, long totalWaitNanos, long timeouts,
+                long created, long destroyed, long leaksDetected,
+                long statementCacheHits, long statementCacheMisses,
+                long[] borrowLatencyHistogram) {
+        this.active = active;
+        this.idle = idle;
+        this.total = total;
+        this.waiting = waiting;
+        this.borrowCount = borrowCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.timeouts = timeouts;
+        this.created = created;
+        this.destroyed = destroyed;
+        this.leaksDetected = leaksDetected;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+        this.borrowLatencyHistogram = borrowLatencyHistogram;
+    }
+
+    public int getActive() { return active; }
+    public int getIdle() { return idle; }
+    public int getTotal() { return total; }
+    public int getWaiting() { return waiting; }
+    public long getBorrowCount() { return borrowCount; }
+    public long getTotalWaitNanos() { return totalWaitNanos; }
+    public long getTimeouts() { return timeouts; }
+    public long getCreated() { return created; }
+    public long getDestroyed() { return destroyed; }
+    public long getLeaksDetected() { return leaksDetected; }
+    public long getStatementCacheHits() { return statementCacheHits; }
+    public long getStatementCacheMisses() { return statementCacheMisses; }
+    public long[] getBorrowLatencyHistogram() { return borrowLatencyHistogram.clone(); }
+
+    public double getAverageWaitMillis() {
+        return borrowCount == 0 ? 0 : totalWaitNanos / 1e6 / borrowCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(
+                "Pool{active=%d, idle=%d, total=%d, waiting=%d, borrows=%d, avgWait=%.3f ms, timeouts=%d, "
+                        + "created=%d, destroyed=%d, leaks=%d, stmtCache=%d/%d}",
+                active, idle, total, waiting, borrowCount, getAverageWaitMillis(), timeouts,
+                created, destroyed, leaksDetected, statementCacheHits,
+                statementCacheHits + statementCacheMisses));
+
+        String[] labels = LatencyHistogram.bucketLabels();
+        sb.append(" borrowLatency[");
+        for (int i = 0; i < borrowLatencyHistogram.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(labels[i]).append('=').append(borrowLatencyHistogram[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,87 @@
+-- ==============================
+-- V1: базова схема (відповідає system_activity_monitor.sql)
+-- Усі таблиці створюються лише якщо їх ще немає — безпечно для вже наявних БД.
+-- ==============================
+
+CREATE TABLE IF NOT EXISTS users (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    email VARCHAR(100),
+    created_at DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS idle_time (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    start_time DATETIME NOT NULL,
+    end_time DATETIME,
+    duration_seconds INT,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS system_stats (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    cpu_load DECIMAL(6,2),
+    ram_used_mb DECIMAL(12,2),
+    ram_total_mb DECIMAL(12,2),
+    active_window VARCHAR(255),
+    keyboard_presses INT DEFAULT 0,
+    mouse_clicks INT DEFAULT 0,
+    mouse_moves BIGINT DEFAULT 0,
+    system_uptime_seconds BIGINT,
+    disk_total_gb DECIMAL(12,2),
+    disk_free_gb DECIMAL(12,2),
+    disk_used_gb DECIMAL(12,2),
+    recorded_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS reports (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    report_name VARCHAR(255),
+    period_start DATE,
+    period_end DATE,
+    cpu_avg DECIMAL(10,2),
+    ram_avg DECIMAL(10,2),
+    idle_time_total_seconds DECIMAL(10,2),
+    avg_uptime_hours DECIMAL(10,2),
+    app_usage_json TEXT,
+    file_path TEXT,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    days_json LONGTEXT,
+    FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+CREATE TABLE IF NOT EXISTS stats_rollup (
+    user_id INT NOT NULL,
+    level VARCHAR(8) NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    sample_count BIGINT NOT NULL,
+    cpu_sum DOUBLE NOT NULL DEFAULT 0,
+    cpu_min DOUBLE,
+    cpu_max DOUBLE,
+    ram_sum DOUBLE NOT NULL DEFAULT 0,
+    ram_min DOUBLE,
+    ram_max DOUBLE,
+    disk_used_sum DOUBLE NOT NULL DEFAULT 0,
+    disk_used_min DOUBLE,
+    disk_used_max DOUBLE,
+    keyboard_presses BIGINT DEFAULT 0,
+    mouse_clicks BIGINT DEFAULT 0,
+    mouse_moves BIGINT DEFAULT 0,
+    uptime_max BIGINT DEFAULT 0,
+    top_windows_json TEXT,
+    PRIMARY KEY (user_id, level, bucket_start),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS stats_rollup_watermark (
+    user_id INT NOT NULL,
+    level VARCHAR(8) NOT NULL,
+    rolled_up_until DATETIME NOT NULL,
+    PRIMARY KEY (user_id, level),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
@@ -0,0 +1,26 @@
+-- ==============================
+-- V2: індекси під запити "користувач + діапазон часу"
+-- Індекс створюється лише якщо його ще немає (БД зі свіжого system_activity_monitor.sql уже має обидва):
+-- MySQL не знає CREATE INDEX IF NOT EXISTS, тож перевірка — через information_schema.STATISTICS.
+-- ==============================
+
+-- findByUserIdAndRecordedAtBetween, потокове читання, GROUP BY DATE/HOUR, MIN(recorded_at)
+SET @ddl := IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'system_stats'
+                  AND INDEX_NAME = 'idx_system_stats_user_recorded') = 0,
+               'CREATE INDEX idx_system_stats_user_recorded ON system_stats (user_id, recorded_at)',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- findByUserIdAndStartTimeBetween: індекс покриває всі колонки idle_time
+-- (id у InnoDB входить у вторинний індекс), тож рядки таблиці не читаються
+SET @ddl := IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'idle_time'
+                  AND INDEX_NAME = 'idx_idle_time_user_start') = 0,
+               'CREATE INDEX idx_idle_time_user_start ON idle_time (user_id, start_time, end_time, duration_seconds)',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,29 @@
+-- ==============================
+-- V3 (опційно, db.partitioning.enabled=true): помісячне RANGE-партиціювання system_stats
+--
+-- Обмеження MySQL для партиційованих таблиць:
+--   ✔ зовнішні ключі не підтримуються — FK на users знімається
+--     (видалення користувача більше не каскадить system_stats)
+--   ✔ ключ партиціювання має входити в кожен унікальний ключ — PK стає (id, recorded_at)
+--
+-- Місячні секції нарізає StatsRetentionJob (REORGANIZE p_future), він же видаляє старі.
+-- ==============================
+
+-- ім’я FK залежить від того, як створено таблицю (system_stats_ibfk_1 — лише типове),
+-- тож шукаємо його в information_schema; якщо FK уже немає — нічого не робимо
+SET @fk := (SELECT CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS
+            WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'system_stats'
+              AND REFERENCED_TABLE_NAME = 'users'
+            LIMIT 1);
+SET @ddl := IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE system_stats DROP FOREIGN KEY `', @fk, '`'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+ALTER TABLE system_stats DROP PRIMARY KEY, ADD PRIMARY KEY (id, recorded_at);
+
+ALTER TABLE system_stats
+    PARTITION BY RANGE (TO_DAYS(recorded_at)) (
+        PARTITION p_start VALUES LESS THAN (TO_DAYS('2000-01-01')),
+        PARTITION p_future VALUES LESS THAN MAXVALUE
+    );
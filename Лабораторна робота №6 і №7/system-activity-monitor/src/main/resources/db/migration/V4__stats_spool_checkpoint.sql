@@ -0,0 +1,10 @@
+-- ==============================
+-- V4: позиція локального спулу, до якої записи вже перенесено в system_stats.
+-- Оновлюється в одній транзакції з пакетом — повтор після збою не дублює рядки.
+-- ==============================
+CREATE TABLE IF NOT EXISTS stats_spool_checkpoint (
+    spool_id VARCHAR(64) PRIMARY KEY,
+    segment_no BIGINT NOT NULL,
+    segment_offset BIGINT NOT NULL,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
@@ -0,0 +1,51 @@
+-- ==============================
+-- V5: словник заголовків вікон.
+-- system_stats зберігає int-посилання window_title_id замість VARCHAR(255) у кожному рядку.
+-- Порівняння заголовків — побайтове (utf8mb4_bin): "Word" і "word" — різні записи.
+--
+-- Кожен крок перевіряє стан у information_schema: БД зі свіжого system_activity_monitor.sql
+-- уже має window_title_id і не має active_window — тоді міграція нічого не змінює.
+-- ==============================
+CREATE TABLE IF NOT EXISTS window_titles (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    UNIQUE KEY uq_window_titles_title (title)
+);
+
+SET @has_title_id := (SELECT COUNT(*) FROM information_schema.COLUMNS
+                      WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'system_stats'
+                        AND COLUMN_NAME = 'window_title_id');
+SET @has_active_window := (SELECT COUNT(*) FROM information_schema.COLUMNS
+                           WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'system_stats'
+                             AND COLUMN_NAME = 'active_window');
+
+SET @ddl := IF(@has_title_id = 0,
+               'ALTER TABLE system_stats ADD COLUMN window_title_id INT NULL AFTER ram_total_mb',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- перенесення наявних заголовків
+SET @ddl := IF(@has_active_window > 0,
+               'INSERT IGNORE INTO window_titles (title)
+                SELECT DISTINCT active_window COLLATE utf8mb4_bin FROM system_stats WHERE active_window IS NOT NULL',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl := IF(@has_active_window > 0,
+               'UPDATE system_stats s
+                JOIN window_titles w ON w.title = s.active_window COLLATE utf8mb4_bin
+                SET s.window_title_id = w.id
+                WHERE s.active_window IS NOT NULL',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl := IF(@has_active_window > 0, 'ALTER TABLE system_stats DROP COLUMN active_window', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
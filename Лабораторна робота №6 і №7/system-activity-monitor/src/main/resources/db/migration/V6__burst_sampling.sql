@@ -0,0 +1,39 @@
+-- ==============================
+-- V6: burst-режим (вибірки CPU / RAM кожні 100–250 мс).
+-- Сирі вибірки живуть лише в кільцевому буфері в пам’яті; у БД потрапляють
+-- агрегати за burst.aggregateMs і сире вікно навколо кожного виявленого сплеску CPU.
+-- ==============================
+CREATE TABLE IF NOT EXISTS burst_aggregate (
+    user_id INT NOT NULL,
+    bucket_start DATETIME(3) NOT NULL,
+    period_ms INT NOT NULL,
+    sample_count INT NOT NULL,
+    cpu_avg DOUBLE,
+    cpu_min DOUBLE,
+    cpu_max DOUBLE,
+    ram_avg_mb DOUBLE,
+    ram_max_mb DOUBLE,
+    PRIMARY KEY (user_id, bucket_start),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS burst_spike (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    started_at DATETIME(3) NOT NULL,
+    ended_at DATETIME(3) NOT NULL,
+    peak_cpu DOUBLE NOT NULL,
+    threshold_cpu DOUBLE NOT NULL,
+    period_ms INT NOT NULL,
+    INDEX idx_burst_spike_user_started (user_id, started_at),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS burst_spike_sample (
+    spike_id BIGINT NOT NULL,
+    sampled_at DATETIME(3) NOT NULL,
+    cpu DOUBLE NOT NULL,
+    ram_mb DOUBLE,
+    PRIMARY KEY (spike_id, sampled_at),
+    FOREIGN KEY (spike_id) REFERENCES burst_spike(id) ON DELETE CASCADE
+);
@@ -0,0 +1,17 @@
+-- ==============================
+-- V7: розбивка CPU по ядрах і процесах (група метрик CPU_DETAIL).
+-- Один рядок — знімок раз на cpu.breakdown.persistIntervalMs: завантаження кожного ядра
+-- і топ процесів за CPU та RSS як JSON-масиви (кількість ядер і розмір топу змінні).
+-- ==============================
+CREATE TABLE IF NOT EXISTS cpu_breakdown (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    recorded_at DATETIME NOT NULL,
+    core_count INT NOT NULL,
+    core_loads_json TEXT NOT NULL,
+    process_count INT NOT NULL,
+    top_cpu_json TEXT,
+    top_rss_json TEXT,
+    INDEX idx_cpu_breakdown_user_recorded (user_id, recorded_at),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
@@ -0,0 +1,55 @@
+package com.example.systemactivitymonitor.metrics;
+
+import com.example.systemactivitymonitor.metrics.impl.SyntheticMetricsProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Розклад TieredMetricsCollector: тремтіння такту не повинно з'їдати оновлення,
+ * а довга пауза не повинна викликати серію оновлень «навздогін».
+ */
+class TieredMetricsCollectorTest {
+
+    @Test
+    void jitteredTicksKeepEveryFamilyOnSchedule() {
+        TieredMetricsCollector collector = new TieredMetricsCollector(new SyntheticMetricsProvider(), new MetricSample());
+        assertEquals(1_000, collector.getBaseTickMillis());
+
+        Random rnd = new Random(6);
+        collector.tick(0);
+        int ticks = 599;
+        for (int k = 1; k <= ticks; k++) {
+            collector.tick(k * 1_000L + rnd.nextInt(81) - 40);
+        }
+
+        // +1 — перший такт, на якому збираються всі групи
+        assertEquals(ticks + 1, collector.getRefreshCount(MetricFamily.CPU), "CPU — на кожному такті");
+        assertEquals(ticks / 2 + 1, collector.getRefreshCount(MetricFamily.RAM), "RAM — на кожному другому");
+        assertEquals(ticks / 5 + 1, collector.getRefreshCount(MetricFamily.CPU_DETAIL), "CPU_DETAIL — раз на 5 с");
+        assertEquals(ticks / 60 + 1, collector.getRefreshCount(MetricFamily.DISK), "DISK — раз на хвилину");
+    }
+
+    @Test
+    void longPauseRestartsScheduleFromNow() {
+        TieredMetricsCollector collector = new TieredMetricsCollector(new SyntheticMetricsProvider(), new MetricSample());
+        collector.tick(0);
+        collector.tick(10_500);
+        assertEquals(2, collector.getRefreshCount(MetricFamily.CPU));
+
+        // після паузи строк відраховується від 10 500, а не від пропущених 2 000, 3 000, ...
+        collector.tick(10_700);
+        assertEquals(2, collector.getRefreshCount(MetricFamily.CPU), "без оновлень навздогін");
+        collector.tick(11_480);
+        assertEquals(3, collector.getRefreshCount(MetricFamily.CPU));
+    }
+
+    @Test
+    void nextDueStepsFromPreviousDueTime() {
+        assertEquals(2_000, TieredMetricsCollector.nextDue(1_000, 1_000, 1_030));
+        assertEquals(2_000, TieredMetricsCollector.nextDue(1_000, 1_000, 970));
+        assertEquals(6_500, TieredMetricsCollector.nextDue(1_000, 1_000, 5_500));
+    }
+}
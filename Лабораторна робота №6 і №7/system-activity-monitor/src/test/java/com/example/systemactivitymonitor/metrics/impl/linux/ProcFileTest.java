@@ -0,0 +1,127 @@
+package com.example.systemactivitymonitor.metrics.impl.linux;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcFileTest {
+
+    private static final String STAT = """
+            cpu  100 20 30 400 5 6 7 8 0 0
+            cpu0 50 10 15 200 2 3 4 4 0 0
+            cpu1 50 10 15 200 3 3 3 4 0 0
+            intr 123456 0 1
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsNumbersOfLineAfterPrefix() throws IOException {
+        try (ProcFile file = file("stat", STAT, 4096)) {
+            assertTrue(file.refresh());
+            assertTrue(file.seekLine(ProcFile.ascii("cpu ")));
+
+            long[] expected = {100, 20, 30, 400, 5, 6, 7, 8, 0, 0};
+            for (long value : expected) assertEquals(value, file.nextLong());
+            assertEquals(-1, file.nextLong(), "числа не читаються з наступного рядка");
+        }
+    }
+
+    @Test
+    void walksCoreLinesWithLineStartsWith() throws IOException {
+        try (ProcFile file = file("stat", STAT, 4096)) {
+            assertTrue(file.refresh());
+            assertTrue(file.seekLine(ProcFile.ascii("cpu ")));
+
+            byte[] core = ProcFile.ascii("cpu");
+            int cores = 0;
+            long iowait = 0;
+            while (file.nextLine() && file.lineStartsWith(core)) {
+                file.seekLine(core);
+                assertEquals(cores, file.nextLong(), "номер ядра");
+                for (int i = 0; i < 4; i++) file.nextLong();
+                iowait += file.nextLong();
+                cores++;
+            }
+            assertEquals(2, cores);
+            assertEquals(5, iowait);
+            assertTrue(file.lineStartsWith(ProcFile.ascii("intr")));
+        }
+    }
+
+    @Test
+    void seekLineIsForwardOnly() throws IOException {
+        try (ProcFile file = file("stat", STAT, 4096)) {
+            assertTrue(file.refresh());
+            assertTrue(file.seekLine(ProcFile.ascii("intr")));
+            assertEquals(123456, file.nextLong());
+            assertFalse(file.seekLine(ProcFile.ascii("cpu ")));
+
+            assertTrue(file.refresh(), "refresh() повертає курсор на початок");
+            assertTrue(file.seekLine(ProcFile.ascii("cpu ")));
+        }
+    }
+
+    @Test
+    void skipsFractionAndReadsRestOfLine() throws IOException {
+        String status = "Name:\tsystem monitor  \nuptime 1234.56 789.01\n";
+        try (ProcFile file = file("status", status, 4096)) {
+            assertTrue(file.refresh());
+            assertTrue(file.seekLine(ProcFile.ascii("Name:")));
+            assertEquals("system monitor", file.restOfLine());
+
+            assertTrue(file.seekLine(ProcFile.ascii("uptime")));
+            assertEquals(1234, file.nextLong());
+            assertEquals(789, file.nextLong());
+            assertEquals(-1, file.nextLong());
+        }
+    }
+
+    @Test
+    void refreshRereadsChangedContent() throws IOException {
+        Path path = dir.resolve("meminfo");
+        Files.writeString(path, "MemTotal: 16000 kB\nMemAvailable: 8000 kB\n", StandardCharsets.US_ASCII);
+        try (ProcFile file = new ProcFile(path.toString(), 4096)) {
+            assertTrue(file.refresh());
+            assertTrue(file.seekLine(ProcFile.ascii("MemAvailable:")));
+            assertEquals(8000, file.nextLong());
+
+            Files.writeString(path, "MemTotal: 16000 kB\nMemAvailable: 512 kB\n", StandardCharsets.US_ASCII);
+            assertTrue(file.refresh());
+            assertTrue(file.seekLine(ProcFile.ascii("MemAvailable:")));
+            assertEquals(512, file.nextLong());
+        }
+    }
+
+    @Test
+    void readsOnlyHeadUpToCapacity() throws IOException {
+        try (ProcFile file = file("stat", STAT, 16)) {
+            assertTrue(file.refresh());
+            assertTrue(file.seekLine(ProcFile.ascii("cpu ")));
+            assertEquals(100, file.nextLong());
+            assertFalse(file.seekLine(ProcFile.ascii("intr")), "рядок за межами буфера не видно");
+        }
+    }
+
+    @Test
+    void missingFileIsNotReadable() {
+        try (ProcFile file = new ProcFile(dir.resolve("absent").toString(), 4096)) {
+            assertFalse(file.refresh());
+            assertFalse(file.seekLine(ProcFile.ascii("cpu")));
+            assertEquals(-1, file.nextLong());
+        }
+    }
+
+    private ProcFile file(String name, String content, int capacity) throws IOException {
+        Path path = dir.resolve(name);
+        Files.writeString(path, content, StandardCharsets.US_ASCII);
+        return new ProcFile(path.toString(), capacity);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.systemactivitymonitor.repository.impl;
+
+import com.example.systemactivitymonitor.model.SystemStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Курсор StatsRepositoryImpl.KeysetPager над таблицею в пам’яті: запит сторінки
+ * відтворює умову NEXT_PAGE_SQL — recorded_at >= ? AND (recorded_at > ? OR id > ?).
+ */
+class KeysetPagerTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    void returnsEveryRowOnceForAnyPageSize() {
+        List<SystemStats> table = table(10);
+        for (int pageSize = 1; pageSize <= table.size() + 2; pageSize++) {
+            FakeTable fake = new FakeTable(table);
+            assertEquals(ids(table), ids(read(fake, pageSize)), "pageSize " + pageSize);
+        }
+    }
+
+    @Test
+    void rowsWithSameTimestampAreNotLostAcrossPages() {
+        List<SystemStats> table = new ArrayList<>();
+        for (int id = 1; id <= 7; id++) table.add(row(id, T));
+        table.add(row(8, T.plusSeconds(1)));
+
+        assertEquals(ids(table), ids(read(new FakeTable(table), 2)));
+        assertEquals(ids(table), ids(read(new FakeTable(table), 3)));
+    }
+
+    @Test
+    void fullLastPageCostsOneEmptyQuery() {
+        List<SystemStats> table = table(6);
+
+        FakeTable exact = new FakeTable(table);
+        assertEquals(6, read(exact, 3).size());
+        assertEquals(3, exact.queries, "дві повні сторінки і порожня");
+
+        FakeTable partial = new FakeTable(table);
+        assertEquals(6, read(partial, 4).size());
+        assertEquals(2, partial.queries, "неповна сторінка — остання");
+
+        FakeTable empty = new FakeTable(List.of());
+        assertTrue(read(empty, 4).isEmpty());
+        assertEquals(1, empty.queries);
+    }
+
+    @Test
+    void nextPageIsFetchedOnlyWhenNeeded() {
+        FakeTable fake = new FakeTable(table(10));
+        StatsRepositoryImpl.KeysetPager pager = new StatsRepositoryImpl.KeysetPager(3, fake);
+
+        List<SystemStats> firstTwo = StreamSupport.stream(pager, false).limit(2).toList();
+        assertEquals(List.of(1, 2), ids(firstTwo));
+        assertEquals(1, fake.queries);
+        assertNull(fake.lastAfter, "перша сторінка — без курсора");
+    }
+
+    @Test
+    void cursorIsLastRowOfPreviousPage() {
+        FakeTable fake = new FakeTable(table(5));
+        read(fake, 2);
+        assertEquals(T.plusSeconds(1), fake.lastAfter, "третя сторінка запитана після рядка id 4");
+    }
+
+    private static List<SystemStats> read(FakeTable fake, int pageSize) {
+        return StreamSupport.stream(new StatsRepositoryImpl.KeysetPager(pageSize, fake), false).toList();
+    }
+
+    /** Рядки через секунду, кожен другий — з тим самим часом, що й попередній. */
+    private static List<SystemStats> table(int n) {
+        List<SystemStats> rows = new ArrayList<>();
+        for (int id = 1; id <= n; id++) rows.add(row(id, T.plusSeconds((id - 1) / 2)));
+        return rows;
+    }
+
+    private static SystemStats row(int id, LocalDateTime at) {
+        SystemStats s = new SystemStats();
+        s.setId(id);
+        s.setRecordedAt(at);
+        return s;
+    }
+
+    private static List<Integer> ids(List<SystemStats> rows) {
+        return rows.stream().map(SystemStats::getId).toList();
+    }
+
+    private static final class FakeTable implements StatsRepositoryImpl.KeysetPager.PageQuery {
+        private final List<SystemStats> rows;
+        int queries;
+        LocalDateTime lastAfter;
+
+        FakeTable(List<SystemStats> rows) {
+            this.rows = new ArrayList<>(rows);
+            this.rows.sort(Comparator.comparing(SystemStats::getRecordedAt).thenComparing(SystemStats::getId));
+        }
+
+        @Override
+        public List<SystemStats> fetch(LocalDateTime afterRecordedAt, int afterId, int limit) {
+            queries++;
+            if (afterRecordedAt != null) lastAfter = afterRecordedAt;
+            return rows.stream()
+                    .filter(s -> afterRecordedAt == null
+                            || (!s.getRecordedAt().isBefore(afterRecordedAt)
+                            && (s.getRecordedAt().isAfter(afterRecordedAt) || s.getId() > afterId)))
+                    .limit(limit)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.systemactivitymonitor.repository.impl;
+
+import com.example.systemactivitymonitor.model.StatsRollup;
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.model.User;
+import com.example.systemactivitymonitor.service.calculations.ReportAccumulator;
+import com.example.systemactivitymonitor.service.calculations.ReportCalculator;
+import com.example.systemactivitymonitor.service.calculations.ReportCalculator.AggregationMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalStatsRepositoryImplTest {
+
+    private static final int USER_ID = 5;
+    private static final LocalDateTime MIDNIGHT = LocalDateTime.of(2025, 2, 2, 0, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rangeIsInclusiveOnBothEndsAcrossMidnight() {
+        LocalStatsRepositoryImpl repo = seeded();
+
+        assertEquals(times(MIDNIGHT.minusSeconds(1), MIDNIGHT),
+                times(repo.findByUserIdAndRecordedAtBetween(USER_ID, MIDNIGHT.minusSeconds(1), MIDNIGHT)));
+        assertEquals(times(MIDNIGHT),
+                times(repo.findByUserIdAndRecordedAtBetween(USER_ID, MIDNIGHT, MIDNIGHT)));
+        assertEquals(times(MIDNIGHT.plusSeconds(1), MIDNIGHT.plusHours(12)),
+                times(repo.findByUserIdAndRecordedAtBetween(USER_ID, MIDNIGHT.plusSeconds(1), MIDNIGHT.plusDays(1))));
+        assertTrue(repo.findByUserIdAndRecordedAtBetween(USER_ID, MIDNIGHT.plusSeconds(2), MIDNIGHT.plusHours(12).minusSeconds(1)).isEmpty());
+        repo.close();
+    }
+
+    @Test
+    void listForEachAndStreamReturnTheSameRowsInOrder() {
+        LocalStatsRepositoryImpl repo = seeded();
+        LocalDateTime from = MIDNIGHT.minusDays(2);
+        LocalDateTime to = MIDNIGHT.plusDays(2);
+
+        List<LocalDateTime> listed = times(repo.findByUserIdAndRecordedAtBetween(USER_ID, from, to));
+        assertEquals(5, listed.size());
+
+        List<LocalDateTime> visited = new ArrayList<>();
+        repo.forEachByUserIdAndRecordedAtBetween(USER_ID, from, to, s -> visited.add(s.getRecordedAt()));
+        assertEquals(listed, visited);
+
+        try (Stream<SystemStats> stream = repo.streamByUserIdAndRecordedAtBetween(USER_ID, from, to)) {
+            assertEquals(listed, stream.map(SystemStats::getRecordedAt).toList());
+        }
+        repo.close();
+    }
+
+    @Test
+    void otherUsersAndMissingDaysAreEmpty() {
+        LocalStatsRepositoryImpl repo = seeded();
+        assertTrue(repo.findByUserIdAndRecordedAtBetween(USER_ID + 1, MIDNIGHT.minusDays(1), MIDNIGHT.plusDays(1)).isEmpty());
+        try (Stream<SystemStats> stream = repo.streamByUserIdAndRecordedAtBetween(USER_ID, MIDNIGHT.plusDays(5), MIDNIGHT.plusDays(9))) {
+            assertEquals(0, stream.count());
+        }
+        repo.close();
+    }
+
+    @Test
+    void rowsAndIdsSurviveReopen() {
+        LocalStatsRepositoryImpl repo = seeded();
+        List<SystemStats> before = repo.findByUserIdAndRecordedAtBetween(USER_ID, MIDNIGHT.minusDays(1), MIDNIGHT.plusDays(1));
+        repo.close();
+
+        LocalStatsRepositoryImpl reopened = new LocalStatsRepositoryImpl(dir);
+        List<SystemStats> after = reopened.findByUserIdAndRecordedAtBetween(USER_ID, MIDNIGHT.minusDays(1), MIDNIGHT.plusDays(1));
+        assertEquals(times(before), times(after));
+        assertEquals(0, before.get(0).getCpuLoad().compareTo(after.get(0).getCpuLoad()));
+
+        SystemStats next = row(MIDNIGHT.plusDays(1));
+        reopened.save(next);
+        int maxBefore = before.stream().mapToInt(SystemStats::getId).max().orElse(0);
+        assertTrue(next.getId() > maxBefore, "id не повторюються після перезапуску");
+        reopened.close();
+    }
+
+    @Test
+    void defaultAggregatesMatchStreamingReport() {
+        LocalStatsRepositoryImpl repo = seeded();
+        LocalDateTime from = MIDNIGHT.minusDays(1);
+        LocalDateTime to = MIDNIGHT.plusDays(1);
+
+        List<StatsRollup> hours = repo.aggregateByHour(USER_ID, from, to);
+        assertEquals(List.of(MIDNIGHT.minusHours(1), MIDNIGHT, MIDNIGHT.plusHours(12)),
+                hours.stream().map(StatsRollup::getBucketStart).toList());
+        assertEquals(5, hours.stream().mapToLong(StatsRollup::getSampleCount).sum());
+        assertEquals(Map.of("Terminal", 5L), repo.countByActiveWindow(USER_ID, from, to));
+
+        ReportAccumulator streamed = new ReportAccumulator();
+        new ReportCalculator(AggregationMode.IN_MEMORY).accumulateRaw(repo, USER_ID, from, to, streamed);
+        ReportAccumulator aggregated = new ReportAccumulator();
+        new ReportCalculator(AggregationMode.PUSHDOWN).accumulateRaw(repo, USER_ID, from, to, aggregated);
+
+        assertEquals(streamed.getSampleCount(), aggregated.getSampleCount());
+        assertEquals(0, streamed.getCpuAvg().compareTo(aggregated.getCpuAvg()));
+        assertEquals(streamed.getAppUsagePercent(), aggregated.getAppUsagePercent());
+        repo.close();
+    }
+
+    private LocalStatsRepositoryImpl seeded() {
+        LocalStatsRepositoryImpl repo = new LocalStatsRepositoryImpl(dir);
+        repo.saveAll(List.of(
+                row(MIDNIGHT.minusSeconds(2)),
+                row(MIDNIGHT.minusSeconds(1)),
+                row(MIDNIGHT),
+                row(MIDNIGHT.plusSeconds(1)),
+                row(MIDNIGHT.plusHours(12))));
+        return repo;
+    }
+
+    private static SystemStats row(LocalDateTime at) {
+        User user = new User("local-test", "-", null);
+        user.setId(USER_ID);
+        SystemStats s = new SystemStats();
+        s.setUser(user);
+        s.setRecordedAt(at);
+        s.setCpuLoad(new BigDecimal("12.34"));
+        s.setRamUsedMb(new BigDecimal("2048.00"));
+        s.setActiveWindow("Terminal");
+        return s;
+    }
+
+    private static List<LocalDateTime> times(LocalDateTime... times) {
+        return List.of(times);
+    }
+
+    private static List<LocalDateTime> times(List<SystemStats> rows) {
+        return rows.stream().map(SystemStats::getRecordedAt).toList();
+    }
+}
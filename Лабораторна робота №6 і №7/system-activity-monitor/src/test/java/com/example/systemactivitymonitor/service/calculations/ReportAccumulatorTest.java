@@ -0,0 +1,159 @@
+package com.example.systemactivitymonitor.service.calculations;
+
+import com.example.systemactivitymonitor.model.DaySummary;
+import com.example.systemactivitymonitor.model.HourStat;
+import com.example.systemactivitymonitor.model.RollupLevel;
+import com.example.systemactivitymonitor.model.StatsRollup;
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.model.User;
+import com.example.systemactivitymonitor.service.rollup.RollupBuckets;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReportAccumulator має давати той самий звіт, що й методи ReportCalculator над списком.
+ * Порядок застосунків у мапах різний, тож вони порівнюються через Map.equals.
+ */
+class ReportAccumulatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 4, 1, 22, 30);
+    private static final String[] TITLES = {
+            "Inbox - Google Chrome",
+            "Report.docx - Word",
+            "ReportCalculator.java - IntelliJ IDEA",
+            "Terminal",
+            "Telegram (12)",
+    };
+
+    private final ReportCalculator calculator = new ReportCalculator();
+
+    @Test
+    void rawRowsGiveSameReportAsListCalculator() {
+        List<SystemStats> rows = rows(20_000, 60, false);
+        ReportAccumulator acc = new ReportAccumulator();
+        rows.forEach(acc::accept);
+
+        assertEquals(rows.size(), acc.getSampleCount());
+        assertSameDecimal(calculator.average(rows, SystemStats::getCpuLoad), acc.getCpuAvg());
+        assertSameDecimal(calculator.average(rows, SystemStats::getRamUsedMb), acc.getRamAvg());
+        assertSameDecimal(calculator.averageUptime(rows), acc.getAverageUptimeHours());
+        assertEquals(calculator.appUsagePercent(rows), acc.getAppUsagePercent());
+        assertSameDays(calculator.buildDaySummary(rows), acc.getDaySummary());
+    }
+
+    @Test
+    void dictionaryTitleIdsGiveSameApps() {
+        List<SystemStats> rows = rows(5_000, 17, true);
+        ReportAccumulator acc = new ReportAccumulator();
+        rows.forEach(acc::accept);
+
+        assertEquals(calculator.appUsagePercent(rows), acc.getAppUsagePercent());
+    }
+
+    @Test
+    void reusedRowInstanceIsCountedLikeSeparateRows() {
+        List<SystemStats> rows = rows(3_000, 45, false);
+        ReportAccumulator fresh = new ReportAccumulator();
+        rows.forEach(fresh::accept);
+
+        // як forEachByUserIdAndRecordedAtBetween: той самий екземпляр заповнюється заново
+        ReportAccumulator reused = new ReportAccumulator();
+        SystemStats buffer = new SystemStats();
+        for (SystemStats s : rows) {
+            buffer.setRecordedAt(s.getRecordedAt());
+            buffer.setCpuLoad(s.getCpuLoad());
+            buffer.setRamUsedMb(s.getRamUsedMb());
+            buffer.setSystemUptimeSeconds(s.getSystemUptimeSeconds());
+            buffer.setActiveWindow(s.getActiveWindow());
+            reused.accept(buffer);
+        }
+
+        assertSameDecimal(fresh.getCpuAvg(), reused.getCpuAvg());
+        assertEquals(fresh.getAppUsagePercent(), reused.getAppUsagePercent());
+        assertSameDays(fresh.getDaySummary(), reused.getDaySummary());
+    }
+
+    @Test
+    void hourRollupsGiveSameAveragesAsRawRows() {
+        List<SystemStats> rows = rows(10_000, 30, false);
+        ReportAccumulator raw = new ReportAccumulator();
+        rows.forEach(raw::accept);
+
+        RollupBuckets buckets = new RollupBuckets(1);
+        rows.forEach(buckets::accept);
+        ReportAccumulator rolled = new ReportAccumulator();
+        for (StatsRollup r : buckets.all(RollupLevel.HOUR)) rolled.accept(r);
+
+        assertEquals(raw.getSampleCount(), rolled.getSampleCount());
+        assertSameDecimal(raw.getCpuAvg(), rolled.getCpuAvg());
+        assertSameDecimal(raw.getRamAvg(), rolled.getRamAvg());
+        assertSameDecimal(raw.getAverageUptimeHours(), rolled.getAverageUptimeHours());
+        assertEquals(raw.getAppUsagePercent(), rolled.getAppUsagePercent());
+        assertSameDays(raw.getDaySummary(), rolled.getDaySummary());
+    }
+
+    @Test
+    void emptyInputGivesZeroes() {
+        ReportAccumulator acc = new ReportAccumulator();
+        List<SystemStats> none = List.of();
+
+        assertSameDecimal(calculator.average(none, SystemStats::getCpuLoad), acc.getCpuAvg());
+        assertSameDecimal(calculator.averageUptime(none), acc.getAverageUptimeHours());
+        assertEquals(calculator.appUsagePercent(none), acc.getAppUsagePercent());
+        assertEquals(calculator.buildDaySummary(none).size(), acc.getDaySummary().size());
+    }
+
+    /** Записи кожні step секунд від 22:30 — тож діапазон перетинає північ. */
+    private static List<SystemStats> rows(int n, int step, boolean titleIds) {
+        User user = new User("report-test", "-", null);
+        user.setId(1);
+        Random rnd = new Random(3);
+        List<SystemStats> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            LocalDateTime at = START.plusSeconds((long) i * step);
+            SystemStats s = new SystemStats();
+            s.setUser(user);
+            s.setRecordedAt(at);
+            s.setCpuLoad(BigDecimal.valueOf(rnd.nextInt(10_000), 2));
+            s.setRamUsedMb(BigDecimal.valueOf(2_000_00 + rnd.nextInt(6_000_00), 2));
+            s.setSystemUptimeSeconds((long) at.getHour() * 3_600 + at.getMinute() * 60L);
+
+            int title = rnd.nextInt(TITLES.length + 1);
+            if (title < TITLES.length) {
+                s.setActiveWindow(TITLES[title]);
+                if (titleIds) s.setWindowTitleId(-100 - title);
+            }
+            rows.add(s);
+        }
+        return rows;
+    }
+
+    private static void assertSameDecimal(BigDecimal expected, BigDecimal actual) {
+        assertEquals(0, expected.compareTo(actual), expected + " <> " + actual);
+    }
+
+    private static void assertSameDays(List<DaySummary> expected, List<DaySummary> actual) {
+        assertEquals(expected.size(), actual.size(), "кількість днів");
+        for (int d = 0; d < expected.size(); d++) {
+            DaySummary e = expected.get(d);
+            DaySummary a = actual.get(d);
+            assertEquals(e.getDate(), a.getDate());
+
+            List<HourStat> eh = e.getHourlyStats();
+            List<HourStat> ah = a.getHourlyStats();
+            assertEquals(eh.size(), ah.size(), "годин у " + e.getDate());
+            for (int h = 0; h < eh.size(); h++) {
+                assertEquals(eh.get(h).getHour(), ah.get(h).getHour());
+                assertSameDecimal(eh.get(h).getAvgCpu(), ah.get(h).getAvgCpu());
+                assertSameDecimal(eh.get(h).getAvgRam(), ah.get(h).getAvgRam());
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.systemactivitymonitor.service.classification;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppClassifierTest {
+
+    @Test
+    void parsesRulesSkippingCommentsAndBrokenLines() {
+        List<AppRule> rules = AppClassifier.parseRules("""
+                # браузери
+                chrome => Google Chrome
+
+                без розділювача
+                Visual Studio Code  =>  VS Code
+                => без фрагмента
+                """);
+
+        assertEquals(2, rules.size());
+        assertEquals("chrome", rules.get(0).getFragment());
+        assertEquals("visual studio code", rules.get(1).getFragment(), "фрагмент у нижньому регістрі");
+        assertEquals("VS Code", rules.get(1).getAppName());
+    }
+
+    @Test
+    void earlierRuleWinsRegardlessOfPositionInTitle() {
+        AppClassifier classifier = classifier("code => VS Code", "studio => Studio");
+        assertEquals("VS Code", classifier.classify("Visual Studio Code"));
+
+        AppClassifier reversed = classifier("studio => Studio", "code => VS Code");
+        assertEquals("Studio", reversed.classify("Visual Studio Code"));
+    }
+
+    @Test
+    void matchesFragmentsReachedThroughSuffixLinks() {
+        // "bc" закінчується всередині "abcd": знайти його можна лише через суфіксне посилання
+        AppClassifier classifier = classifier("abcd => Long", "bc => Short");
+        assertEquals("Long", classifier.classify("xx abcd"));
+        assertEquals("Short", classifier.classify("xx abce"));
+
+        AppClassifier shortFirst = classifier("bc => Short", "abcd => Long");
+        assertEquals("Short", shortFirst.classify("xx abcd"));
+    }
+
+    @Test
+    void ignoresCaseIncludingCyrillic() {
+        AppClassifier classifier = classifier("Chrome => Google Chrome", "телеграм => Telegram");
+        assertEquals("Google Chrome", classifier.classify("Новини — GOOGLE CHROME"));
+        assertEquals("Telegram", classifier.classify("ТЕЛЕГРАМ — Чат"));
+    }
+
+    @Test
+    void unmatchedTitleIsReturnedTruncated() {
+        AppClassifier classifier = classifier("chrome => Google Chrome");
+        assertEquals("Terminal", classifier.classify("Terminal"));
+        assertEquals("x".repeat(40) + "...", classifier.classify("x".repeat(41)));
+        assertEquals("x".repeat(40), classifier.classify("x".repeat(40)));
+        assertEquals("Unknown", classifier.classify(null));
+    }
+
+    @Test
+    void memoDoesNotChangeAnswers() {
+        AppClassifier classifier = new AppClassifier(
+                AppClassifier.parseRules("chrome => Google Chrome\nword => Word"), 2);
+        String[] titles = {"Docs - Google Chrome", "Report.docx - Word", "Terminal", "Docs - Google Chrome"};
+        for (int round = 0; round < 3; round++) {
+            assertEquals("Google Chrome", classifier.classify(titles[0]));
+            assertEquals("Word", classifier.classify(titles[1]));
+            assertEquals("Terminal", classifier.classify(titles[2]));
+            assertEquals("Google Chrome", classifier.classify(titles[3]));
+        }
+    }
+
+    @Test
+    void agreesWithLinearContainsChain() {
+        Random rnd = new Random(7);
+        List<AppRule> rules = new ArrayList<>();
+        for (int i = 0; i < 300; i++) rules.add(new AppRule(word(rnd, 2 + rnd.nextInt(5)), "App " + i));
+        AppClassifier classifier = new AppClassifier(rules, 0);
+
+        for (int i = 0; i < 5_000; i++) {
+            String title = word(rnd, 3) + " " + word(rnd, 6).toUpperCase(Locale.ROOT) + " " + word(rnd, 8);
+            assertEquals(linear(rules, title), classifier.classify(title), title);
+        }
+    }
+
+    @Test
+    void emptyRuleSetNeverMatches() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of());
+        assertEquals(-1, matcher.firstRule("anything"));
+        assertEquals(-1, new AhoCorasickMatcher(List.of("", "abc")).firstRule("xyz"));
+        assertEquals(1, new AhoCorasickMatcher(List.of("", "abc")).firstRule("xabcx"));
+    }
+
+    private static AppClassifier classifier(String... lines) {
+        return new AppClassifier(AppClassifier.parseRules(String.join("\n", lines)), 0);
+    }
+
+    private static String linear(List<AppRule> rules, String title) {
+        String lower = title.toLowerCase(Locale.ROOT);
+        for (AppRule r : rules) {
+            if (lower.contains(r.getFragment())) return r.getAppName();
+        }
+        return title.length() > 40 ? title.substring(0, 40) + "..." : title;
+    }
+
+    private static String word(Random rnd, int length) {
+        char[] c = new char[length];
+        for (int i = 0; i < length; i++) c[i] = (char) ('a' + rnd.nextInt(6));
+        return new String(c);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.systemactivitymonitor.service.idle;
+
+import com.example.systemactivitymonitor.model.IdleTime;
+import com.example.systemactivitymonitor.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdleSessionIndexTest {
+
+    private static final int USER_ID = -1_001;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final User user = new User("idle-test", "-", null);
+
+    @AfterEach
+    void evict() {
+        IdleSessionIndex.evict(USER_ID);
+    }
+
+    @Test
+    void overlapMatchesBruteForceOnRandomHistory() {
+        Random rnd = new Random(11);
+        List<IdleTime> history = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            LocalDateTime start = START.plusSeconds(rnd.nextInt(90 * 86_400));
+            history.add(closed(start, 30 + rnd.nextInt(4 * 3_600)));
+        }
+        IdleSessionIndex index = IdleSessionIndex.seed(USER_ID, history);
+        assertEquals(history.size(), index.size());
+
+        for (int q = 0; q < 500; q++) {
+            LocalDateTime from = START.plusSeconds(rnd.nextInt(95 * 86_400) - 86_400);
+            LocalDateTime to = from.plusSeconds(rnd.nextInt(10 * 86_400));
+            assertEquals(bruteForce(history, from, to), index.overlapSeconds(from, to), from + " .. " + to);
+        }
+    }
+
+    @Test
+    void clipsIntervalsToWindowBoundaries() {
+        IdleSessionIndex index = IdleSessionIndex.seed(USER_ID, List.of(
+                closed(START.plusHours(1), 3_600),                  // 01:00–02:00
+                closed(START.plusHours(3).minusMinutes(10), 1_200))); // 02:50–03:10
+
+        LocalDateTime from = START.plusHours(1).plusMinutes(30);
+        LocalDateTime to = START.plusHours(3);
+        assertEquals(30 * 60 + 10 * 60, index.overlapSeconds(from, to));
+        assertEquals(0, index.overlapSeconds(START.plusHours(2), START.plusHours(2).plusMinutes(50)),
+                "вікно між інтервалами");
+        assertEquals(3_600, index.overlapSeconds(START.plusHours(1), START.plusHours(2)), "межі збігаються");
+        assertEquals(0, index.overlapSeconds(to, from), "вікно навпаки");
+    }
+
+    @Test
+    void intervalsClosedAfterFirstQueryAreCounted() {
+        IdleSessionIndex index = IdleSessionIndex.seed(USER_ID, List.of(closed(START, 600)));
+        LocalDateTime to = START.plusDays(1);
+        assertEquals(600, index.overlapSeconds(START, to));
+
+        List<IdleTime> all = new ArrayList<>(List.of(closed(START, 600)));
+        for (int h = 1; h < 20; h++) {
+            IdleTime idle = closed(START.plusHours(h), 60 * h);
+            all.add(idle);
+            index.closed(idle);
+            assertEquals(bruteForce(all, START, to), index.overlapSeconds(START, to));
+        }
+    }
+
+    @Test
+    void openIntervalCountsUntilNow() {
+        LocalDateTime now = LocalDateTime.now();
+        IdleTime open = new IdleTime(user, now.minusMinutes(10));
+        IdleSessionIndex index = IdleSessionIndex.seed(USER_ID, List.of(
+                closed(now.minusHours(2), 600),
+                open));
+
+        assertTrue(index.getOpen().isPresent());
+        assertFalse(index.isLiveOpen(open), "інтервал із БД не вважається відкритим у цьому процесі");
+
+        long seconds = index.overlapSeconds(now.minusHours(3), now.plusHours(1));
+        assertTrue(seconds >= 600 + 600 && seconds <= 600 + 605, "open до поточного моменту: " + seconds);
+
+        open.setEndTime(now);
+        index.closed(open);
+        assertTrue(index.getOpen().isEmpty());
+        assertEquals(1_200, index.overlapSeconds(now.minusHours(3), now.plusHours(1)));
+    }
+
+    @Test
+    void unregisteredIndexClipsAndCountsOpenInterval() {
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusHours(2);
+        IdleTime open = new IdleTime(user, from.plusHours(1).plusMinutes(30));
+        IdleSessionIndex index = IdleSessionIndex.of(List.of(
+                closed(from.minusMinutes(20), 30 * 60),   // почався до періоду — рахуються 10 хв
+                closed(from.plusMinutes(30), 15 * 60),
+                open));
+
+        assertTrue(IdleSessionIndex.findSeeded(USER_ID).isEmpty(), "тимчасовий індекс не реєструється");
+        long total = index.overlapSeconds(from, from.plusHours(1).plusMinutes(45));
+        assertEquals(10 * 60 + 15 * 60 + 15 * 60, total, "відкритий інтервал обрізано кінцем періоду");
+    }
+
+    @Test
+    void repairRunsOncePerIndex() {
+        IdleSessionIndex index = IdleSessionIndex.seed(USER_ID, List.of());
+        IdleTime live = new IdleTime(user, LocalDateTime.now());
+        index.open(live);
+
+        assertTrue(index.isLiveOpen(live));
+        assertTrue(index.markRepaired());
+        assertFalse(index.markRepaired());
+    }
+
+    private IdleTime closed(LocalDateTime start, int seconds) {
+        IdleTime idle = new IdleTime(user, start);
+        idle.setEndTime(start.plusSeconds(seconds));
+        idle.setDurationSeconds(seconds);
+        return idle;
+    }
+
+    private static long bruteForce(List<IdleTime> history, LocalDateTime from, LocalDateTime to) {
+        long total = 0;
+        for (IdleTime idle : history) {
+            LocalDateTime s = idle.getStartTime().isAfter(from) ? idle.getStartTime() : from;
+            LocalDateTime e = idle.getEndTime().isBefore(to) ? idle.getEndTime() : to;
+            if (e.isAfter(s)) total += Duration.between(s, e).getSeconds();
+        }
+        return total;
+    }
+}
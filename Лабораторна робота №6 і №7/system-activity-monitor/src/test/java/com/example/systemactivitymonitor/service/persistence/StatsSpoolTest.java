@@ -0,0 +1,171 @@
+package com.example.systemactivitymonitor.service.persistence;
+
+import com.example.systemactivitymonitor.model.SpoolPosition;
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsSpoolTest {
+
+    private static final long SEGMENT_BYTES = 64 * 1024;
+    private static final int BATCH = 1_000;   // ~110 КБ кадрів — більше за сегмент
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rollsOverToNewSegmentWhenActiveIsFull() throws IOException {
+        StatsSpool spool = spool();
+        for (int b = 0; b < 3; b++) spool.append(rows(b * BATCH, BATCH));
+
+        assertEquals(3, spool.getSegmentCount());
+        assertEquals(3 * BATCH, spool.getAppendedCount());
+        assertEquals(3, segmentFiles().size());
+
+        List<SystemStats> out = new ArrayList<>();
+        SpoolPosition end = spool.read(SpoolPosition.START, 10 * BATCH, out);
+        assertEquals(3 * BATCH, out.size());
+        for (int i = 0; i < out.size(); i++) assertRow(i, out.get(i));
+        assertEquals(end, spool.read(end, BATCH, new ArrayList<>()), "після кінця читати нічого");
+        spool.close();
+    }
+
+    @Test
+    void checkpointSurvivesRestartAndReplayContinuesFromIt() throws IOException {
+        StatsSpool spool = spool();
+        for (int b = 0; b < 3; b++) spool.append(rows(b * BATCH, BATCH));
+
+        List<SystemStats> first = new ArrayList<>();
+        SpoolPosition position = spool.read(spool.getCheckpoint(), 1_500, first);
+        assertEquals(1_500, first.size());
+        assertEquals(2, position.getSegment(), "1500-й запис — у другому сегменті");
+        spool.commit(position, first.size());
+        assertEquals(2, spool.getSegmentCount(), "повністю перенесений сегмент видалено");
+        spool.close();
+
+        StatsSpool restarted = spool();
+        assertEquals(position, restarted.getCheckpoint());
+        assertTrue(restarted.hasPending());
+
+        List<SystemStats> rest = new ArrayList<>();
+        SpoolPosition end = restarted.read(restarted.getCheckpoint(), 10 * BATCH, rest);
+        assertEquals(1_500, rest.size());
+        for (int i = 0; i < rest.size(); i++) assertRow(1_500 + i, rest.get(i));
+
+        restarted.commit(end, rest.size());
+        assertFalse(restarted.hasPending());
+
+        // після перезапуску запис іде в новий сегмент, а не в хвіст старого
+        restarted.append(rows(3 * BATCH, 10));
+        assertTrue(restarted.hasPending());
+        List<SystemStats> tail = new ArrayList<>();
+        SpoolPosition tailEnd = restarted.read(restarted.getCheckpoint(), BATCH, tail);
+        assertEquals(10, tail.size());
+        assertEquals(4, tailEnd.getSegment());
+        assertRow(3 * BATCH, tail.get(0));
+        restarted.close();
+    }
+
+    @Test
+    void olderCommitDoesNotMoveCheckpointBack() throws IOException {
+        StatsSpool spool = spool();
+        spool.append(rows(0, 100));
+
+        List<SystemStats> out = new ArrayList<>();
+        SpoolPosition half = spool.read(SpoolPosition.START, 50, out);
+        SpoolPosition end = spool.read(half, 100, out);
+        spool.commit(end, 100);
+        spool.commit(half, 50);
+
+        assertEquals(end, spool.getCheckpoint());
+        assertEquals(100, spool.getReplayedCount());
+        spool.close();
+    }
+
+    @Test
+    void corruptFrameInClosedSegmentSkipsRestOfIt() throws IOException {
+        StatsSpool spool = spool();
+        spool.append(rows(0, BATCH));
+        spool.append(rows(BATCH, BATCH));
+        spool.close();
+
+        // псуємо дані кадру посередині першого сегмента
+        Path firstSegment = segmentFiles().get(0);
+        try (FileChannel ch = FileChannel.open(firstSegment, StandardOpenOption.WRITE)) {
+            ch.write(java.nio.ByteBuffer.wrap(new byte[]{1, 2, 3, 4}), Files.size(firstSegment) / 2);
+        }
+
+        StatsSpool reopened = spool();
+        List<SystemStats> out = new ArrayList<>();
+        reopened.read(SpoolPosition.START, 10 * BATCH, out);
+
+        assertEquals(1, reopened.getCorruptFrameCount());
+        assertTrue(out.size() > BATCH && out.size() < 2 * BATCH, "прочитано " + out.size());
+        assertRow(BATCH, out.get(out.size() - BATCH), "другий сегмент читається повністю");
+        reopened.close();
+    }
+
+    private StatsSpool spool() {
+        return new StatsSpool(dir, SEGMENT_BYTES, 64 * SEGMENT_BYTES, false);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "segment-*.log")) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    private static List<SystemStats> rows(int from, int n) {
+        User user = new User("spool-test", "-", null);
+        user.setId(7);
+        List<SystemStats> rows = new ArrayList<>(n);
+        for (int i = from; i < from + n; i++) {
+            SystemStats s = new SystemStats();
+            s.setUser(user);
+            s.setRecordedAt(START.plusSeconds(i));
+            s.setCpuLoad(BigDecimal.valueOf(i % 10_000, 2));
+            s.setRamUsedMb(BigDecimal.valueOf(4_096_00 + i, 2));
+            s.setKeyboardPresses(i % 100);
+            s.setMouseClicks(i % 7);
+            s.setMouseMoves((long) i * 3);
+            s.setSystemUptimeSeconds(i % 2 == 0 ? (long) i : null);
+            s.setActiveWindow(i % 3 == 0 ? null : "Вікно " + i);
+            rows.add(s);
+        }
+        return rows;
+    }
+
+    private static void assertRow(int i, SystemStats s) {
+        assertRow(i, s, "запис " + i);
+    }
+
+    private static void assertRow(int i, SystemStats s, String message) {
+        assertEquals(7, s.getUser().getId(), message);
+        assertEquals(START.plusSeconds(i), s.getRecordedAt(), message);
+        assertEquals(BigDecimal.valueOf(i % 10_000, 2), s.getCpuLoad(), message);
+        assertEquals(BigDecimal.valueOf(4_096_00 + i, 2), s.getRamUsedMb(), message);
+        assertNull(s.getDiskTotalGb(), message);
+        assertEquals(i % 100, s.getKeyboardPresses(), message);
+        assertEquals((long) i * 3, s.getMouseMoves(), message);
+        assertEquals(i % 2 == 0 ? Long.valueOf(i) : null, s.getSystemUptimeSeconds(), message);
+        assertEquals(i % 3 == 0 ? null : "Вікно " + i, s.getActiveWindow(), message);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.systemactivitymonitor.service.rollup;
+
+import com.example.systemactivitymonitor.model.RollupLevel;
+import com.example.systemactivitymonitor.model.StatsRollup;
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.model.User;
+import com.example.systemactivitymonitor.repository.interfaces.RollupRepository;
+import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollupAggregatorTest {
+
+    private static final int USER_ID = 9;
+    private static final LocalDateTime LIVE = LocalDateTime.of(2025, 5, 6, 12, 0);
+
+    @Test
+    void spoolReplayAfterLiveBatchIsMergedAsLate() throws InterruptedException {
+        RecordingRollups rollups = new RecordingRollups();
+        RollupAggregator aggregator = new RollupAggregator(new EmptyStats(), rollups);
+
+        aggregator.onBatchWritten(rows(LIVE, 60, 5));
+        awaitBackfill(aggregator);
+        aggregator.onBatchWritten(rows(LIVE.plusMinutes(5), 60, 5));
+
+        // простій 11:00–11:30, перенесений зі спулу вже після живих пакетів
+        List<SystemStats> outage = rows(LIVE.minusHours(1), 360, 5);
+        aggregator.onBatchWritten(outage);
+        aggregator.flushAll();
+
+        assertEquals(0, aggregator.getSkippedLateCount(), "нічого не пропущено");
+        assertEquals(60 + 60 + 360, rollups.samples(RollupLevel.MINUTE, null));
+        assertEquals(60 + 60 + 360, rollups.samples(RollupLevel.HOUR, null));
+        assertEquals(360, rollups.samples(RollupLevel.HOUR, LIVE.minusHours(1)), "година простою є в агрегатах");
+
+        for (Merge m : rollups.merges) {
+            if (m.level == RollupLevel.MINUTE && m.buckets.stream().anyMatch(b -> b.getBucketStart().isBefore(LIVE))) {
+                assertNull(m.rolledUpUntil, "запізнілі кошики не зсувають позначку");
+            }
+        }
+    }
+
+    @Test
+    void rowsOlderThanLiveStartAreSkippedWhileBackfillRuns() {
+        RollupAggregator aggregator = new RollupAggregator(new EmptyStats(), new RecordingRollups());
+        List<SystemStats> batch = new ArrayList<>(rows(LIVE, 1, 5));
+        batch.addAll(rows(LIVE.minusMinutes(10), 3, 5));
+
+        aggregator.onBatchWritten(batch);
+
+        // backfill у фоні міг уже завершитися, але в межах одного пакета стан не змінюється
+        assertEquals(3, aggregator.getSkippedLateCount());
+    }
+
+    private static void awaitBackfill(RollupAggregator aggregator) throws InterruptedException {
+        for (int i = 0; i < 500 && !aggregator.isBackfillDone(USER_ID); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(aggregator.isBackfillDone(USER_ID), "backfill завершився");
+    }
+
+    private static List<SystemStats> rows(LocalDateTime from, int n, int stepSeconds) {
+        User user = new User("rollup-test", "-", null);
+        user.setId(USER_ID);
+        List<SystemStats> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            SystemStats s = new SystemStats();
+            s.setUser(user);
+            s.setRecordedAt(from.plusSeconds((long) i * stepSeconds));
+            s.setCpuLoad(new BigDecimal("25.00"));
+            s.setRamUsedMb(new BigDecimal("1024.00"));
+            s.setActiveWindow("Terminal");
+            rows.add(s);
+        }
+        return rows;
+    }
+
+    private record Merge(RollupLevel level, List<StatsRollup> buckets, LocalDateTime rolledUpUntil) {}
+
+    private static final class RecordingRollups implements RollupRepository {
+        final List<Merge> merges = new ArrayList<>();
+
+        @Override
+        public synchronized void merge(Integer userId, RollupLevel level, List<StatsRollup> buckets, LocalDateTime rolledUpUntil) {
+            merges.add(new Merge(level, List.copyOf(buckets), rolledUpUntil));
+        }
+
+        /** Сума sampleCount рівня; hour != null — лише кошик, що починається в hour. */
+        synchronized long samples(RollupLevel level, LocalDateTime hour) {
+            return merges.stream().filter(m -> m.level == level)
+                    .flatMap(m -> m.buckets.stream())
+                    .filter(b -> hour == null || b.getBucketStart().equals(hour))
+                    .mapToLong(StatsRollup::getSampleCount).sum();
+        }
+
+        @Override
+        public List<StatsRollup> findByUserIdAndLevelBetween(Integer userId, RollupLevel level, LocalDateTime from, LocalDateTime to) {
+            return List.of();
+        }
+
+        @Override
+        public Optional<LocalDateTime> findWatermark(Integer userId, RollupLevel level) {
+            return Optional.empty();
+        }
+    }
+
+    /** Порожня історія: backfill завершується одразу. */
+    private static final class EmptyStats implements StatsRepository {
+        @Override public void save(SystemStats systemStats) {}
+        @Override public void saveAll(List<SystemStats> batch) {}
+        @Override public List<SystemStats> findByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end) { return List.of(); }
+        @Override public void forEachByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end, Consumer<SystemStats> visitor) {}
+        @Override public Stream<SystemStats> streamByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end) { return Stream.empty(); }
+        @Override public Optional<LocalDateTime> findFirstRecordedAt(Integer userId) { return Optional.empty(); }
+        @Override public Optional<LocalDateTime> findLastRecordedAt(Integer userId) { return Optional.empty(); }
+        @Override public void deleteById(Integer id) {}
+    }
+}
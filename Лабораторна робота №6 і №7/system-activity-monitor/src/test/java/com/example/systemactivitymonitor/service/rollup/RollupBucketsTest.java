@@ -0,0 +1,112 @@
+package com.example.systemactivitymonitor.service.rollup;
+
+import com.example.systemactivitymonitor.model.RollupLevel;
+import com.example.systemactivitymonitor.model.StatsRollup;
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollupBucketsTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2025, 3, 10, 13, 47, 25, 500_000_000);
+
+    @Test
+    void bucketStartTruncatesToLevel() {
+        assertEquals(LocalDateTime.of(2025, 3, 10, 13, 47), RollupLevel.MINUTE.bucketStart(T));
+        assertEquals(LocalDateTime.of(2025, 3, 10, 13, 0), RollupLevel.HOUR.bucketStart(T));
+        assertEquals(LocalDateTime.of(2025, 3, 10, 0, 0), RollupLevel.DAY.bucketStart(T));
+
+        LocalDateTime hour = LocalDateTime.of(2025, 3, 10, 14, 0);
+        assertEquals(hour, RollupLevel.HOUR.bucketStart(hour), "межа належить новому кошику");
+        assertEquals(hour, RollupLevel.HOUR.bucketEnd(RollupLevel.HOUR.bucketStart(hour.minusNanos(1))));
+        assertEquals(LocalDateTime.of(2025, 3, 11, 0, 0), RollupLevel.DAY.bucketEnd(RollupLevel.DAY.bucketStart(T)));
+    }
+
+    @Test
+    void coarsestLevelFollowsAlignmentAndResolution() {
+        LocalDateTime day = LocalDateTime.of(2025, 3, 10, 0, 0);
+
+        assertEquals(RollupLevel.DAY, RollupLevel.coarsestFor(day, day.plusDays(7), ChronoUnit.DAYS));
+        assertEquals(RollupLevel.HOUR, RollupLevel.coarsestFor(day, day.plusDays(7), ChronoUnit.HOURS));
+        assertEquals(RollupLevel.HOUR, RollupLevel.coarsestFor(day.plusHours(13), day.plusHours(15), ChronoUnit.DAYS));
+        assertEquals(RollupLevel.MINUTE, RollupLevel.coarsestFor(day.plusMinutes(5), day.plusDays(1), ChronoUnit.DAYS));
+        assertEquals(RollupLevel.HOUR, RollupLevel.coarsestFor(day, day.plusHours(36), ChronoUnit.DAYS),
+                "кінець не на межі доби");
+    }
+
+    @Test
+    void rowsOnBothSidesOfBoundaryGoToDifferentBuckets() {
+        RollupBuckets buckets = new RollupBuckets(1);
+        LocalDateTime boundary = LocalDateTime.of(2025, 3, 10, 14, 0);
+        buckets.accept(row(boundary.minusSeconds(1), "10.00"));
+        buckets.accept(row(boundary, "20.00"));
+        buckets.accept(row(boundary.plusSeconds(30), "40.00"));
+
+        List<StatsRollup> minutes = buckets.all(RollupLevel.MINUTE);
+        assertEquals(2, minutes.size());
+        assertEquals(boundary.minusMinutes(1), minutes.get(0).getBucketStart());
+        assertEquals(1, minutes.get(0).getSampleCount());
+        assertEquals(2, minutes.get(1).getSampleCount());
+        assertEquals(0, new BigDecimal("30.00").compareTo(minutes.get(1).getCpuAvg()));
+
+        List<StatsRollup> hours = buckets.all(RollupLevel.HOUR);
+        assertEquals(2, hours.size());
+        assertEquals(RollupLevel.HOUR, hours.get(1).getLevel());
+
+        List<StatsRollup> days = buckets.all(RollupLevel.DAY);
+        assertEquals(1, days.size());
+        assertEquals(3, days.get(0).getSampleCount());
+        assertEquals(10.0, days.get(0).getCpuMin(), 1e-9);
+        assertEquals(40.0, days.get(0).getCpuMax(), 1e-9);
+    }
+
+    @Test
+    void closedBeforeAndRemoveBeforeUseBucketStart() {
+        RollupBuckets buckets = new RollupBuckets(1);
+        LocalDateTime hour = LocalDateTime.of(2025, 3, 10, 14, 0);
+        buckets.accept(row(hour.minusMinutes(1), "1.00"));
+        buckets.accept(row(hour, "1.00"));
+
+        assertEquals(1, buckets.closedBefore(RollupLevel.HOUR, hour).size());
+        assertEquals(2, buckets.closedBefore(RollupLevel.HOUR, hour.plusNanos(1)).size());
+        assertEquals(2, buckets.all(RollupLevel.HOUR).size(), "closedBefore нічого не вилучає");
+
+        buckets.removeBefore(RollupLevel.HOUR, hour);
+        assertEquals(List.of(hour), buckets.all(RollupLevel.HOUR).stream().map(StatsRollup::getBucketStart).toList());
+        assertEquals(2, buckets.all(RollupLevel.MINUTE).size(), "інші рівні не зачіпаються");
+    }
+
+    @Test
+    void acceptsOnlyRequestedLevelsAndSkipsRowsWithoutTime() {
+        RollupBuckets buckets = new RollupBuckets(1);
+        buckets.accept(row(T, "5.00"), EnumSet.of(RollupLevel.DAY));
+        buckets.accept(row(null, "5.00"));
+
+        assertTrue(buckets.all(RollupLevel.MINUTE).isEmpty());
+        assertTrue(buckets.all(RollupLevel.HOUR).isEmpty());
+        assertEquals(1, buckets.all(RollupLevel.DAY).size());
+
+        buckets.clear(RollupLevel.DAY);
+        assertTrue(buckets.isEmpty());
+    }
+
+    private static SystemStats row(LocalDateTime at, String cpu) {
+        User user = new User("rollup-test", "-", null);
+        user.setId(1);
+        SystemStats s = new SystemStats();
+        s.setUser(user);
+        s.setRecordedAt(at);
+        s.setCpuLoad(new BigDecimal(cpu));
+        s.setRamUsedMb(new BigDecimal("2048.00"));
+        s.setActiveWindow("Report.docx - Word");
+        return s;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.systemactivitymonitor.tools;
+
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.model.User;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Bench — спільні дрібниці для бенчмарків у tools (без JMH).
+ *
+ * ✔ Аргументи командного рядка з типовими значеннями
+ * ✔ Алоковані байти поточного потоку (com.sun.management.ThreadMXBean), -1 — JVM не вміє
+ * ✔ sink — результат, який JIT не може викинути як мертвий код
+ * ✔ Синтетичні рядки system_stats: CPU / RAM / диск / аптайм і заголовок із невеликого набору
+ */
+final class Bench {
+
+    /** Заголовки вікон для синтетичних рядків — реальні формати браузерів, IDE, месенджерів. */
+    static final String[] TITLES = {
+            "Inbox - Mozilla Thunderbird",
+            "GitHub - Google Chrome",
+            "YouTube — Mozilla Firefox",
+            "ReportService.java - system-activity-monitor - IntelliJ IDEA",
+            "main.py - project - Visual Studio Code",
+            "Telegram",
+            "Slack | general",
+            "Terminal",
+            "Document1 - Word",
+            "Budget.xlsx - Excel",
+            "Zoom Meeting",
+            "Spotify Premium",
+    };
+
+    static volatile long sink;
+
+    // сталі для всіх рядків поля — спільні екземпляри, щоб 1M рядків поміщалися в типову купу
+    private static final BigDecimal RAM_TOTAL = BigDecimal.valueOf(16_000_00, 2);
+    private static final BigDecimal DISK_TOTAL = BigDecimal.valueOf(512_00, 2);
+    private static final BigDecimal DISK_FREE = BigDecimal.valueOf(200_00, 2);
+    private static final BigDecimal DISK_USED = BigDecimal.valueOf(312_00, 2);
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private Bench() {}
+
+    static int intArg(String[] args, int index, int def) {
+        return args.length > index ? Integer.parseInt(args[index]) : def;
+    }
+
+    static long longArg(String[] args, int index, long def) {
+        return args.length > index ? Long.parseLong(args[index]) : def;
+    }
+
+    static String arg(String[] args, int index, String def) {
+        return args.length > index ? args[index] : def;
+    }
+
+    /** Байти, алоковані поточним потоком з його старту; -1, якщо JVM цього не підтримує. */
+    static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemoryEnabled()) {
+            return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    static long usedHeapMb() {
+        System.gc();
+        Runtime rt = Runtime.getRuntime();
+        return (rt.totalMemory() - rt.freeMemory()) >> 20;
+    }
+
+    static User user(int id) {
+        User user = new User("bench-" + id, "-", null);
+        user.setId(id);
+        return user;
+    }
+
+    /** Рядок system_stats із випадковими, але правдоподібними значеннями. */
+    static SystemStats row(User user, LocalDateTime at, Random rnd) {
+        SystemStats s = new SystemStats();
+        s.setUser(user);
+        s.setRecordedAt(at);
+        s.setCpuLoad(BigDecimal.valueOf(rnd.nextInt(10_000), 2));
+        s.setRamUsedMb(BigDecimal.valueOf(2_000_00 + rnd.nextInt(6_000_00), 2));
+        s.setRamTotalMb(RAM_TOTAL);
+        s.setDiskTotalGb(DISK_TOTAL);
+        s.setDiskFreeGb(DISK_FREE);
+        s.setDiskUsedGb(DISK_USED);
+        s.setActiveWindow(TITLES[rnd.nextInt(TITLES.length)]);
+        s.setKeyboardPresses(rnd.nextInt(200));
+        s.setMouseClicks(rnd.nextInt(50));
+        s.setMouseMoves((long) rnd.nextInt(2_000));
+        s.setSystemUptimeSeconds((long) at.getHour() * 3600 + at.getMinute() * 60L);
+        return s;
+    }
+
+    static String perOp(long nanos, long ops) {
+        return String.format("%.1f ns/op", ops == 0 ? 0.0 : (double) nanos / ops);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.systemactivitymonitor.tools;
+
+import com.example.systemactivitymonitor.metrics.impl.SyntheticMetricsProvider;
+import com.example.systemactivitymonitor.model.BurstAggregate;
+import com.example.systemactivitymonitor.model.CpuSpike;
+import com.example.systemactivitymonitor.repository.interfaces.BurstRepository;
+import com.example.systemactivitymonitor.service.burst.BurstSampler;
+import com.example.systemactivitymonitor.util.AppExecutors;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * BurstSamplerHarness — ціна одного такту burst-режиму на справжньому sam-timer.
+ *
+ * ✔ BurstSampler із SyntheticMetricsProvider (readCpuTicks / readRamUsedMb) працює
+ *   seconds секунд із burst.periodMs (за замовчуванням тут 100 мс)
+ * ✔ Алоковані байти й час CPU потоку sam-timer за прогін — через ThreadMXBean
+ *   (агрегати на межі кошика враховано)
+ * ✔ Спершу такий самий прогін із порожньою задачею: пробудження планувальника саме
+ *   коштує часу й алокацій (вузли очікування AQS), і їх треба відняти, щоб побачити такт
+ * ✔ Агрегати й сплески пишуться в лічильник у пам’яті; перед виміром такт 2 с прогрівається
+ *
+ * Сплески: синтетичний CPU коливається 10–70 %, тож для них задайте -Dsam.burst.spikeCpu=60.
+ *
+ * Запуск:
+ *   java -cp target/classes:target/test-classes:... com.example.systemactivitymonitor.tools.BurstSamplerHarness [seconds]
+ */
+public final class BurstSamplerHarness {
+
+    private BurstSamplerHarness() {}
+
+    public static void main(String[] args) throws InterruptedException {
+        int seconds = Bench.intArg(args, 0, 30);
+        System.setProperty("sam.burst.periodMs", System.getProperty("sam.burst.periodMs", "100"));
+
+        CountingBurstRepository repository = new CountingBurstRepository();
+        BurstSampler sampler = new BurstSampler(new SyntheticMetricsProvider(), Bench.user(1), repository);
+
+        // потоки створюються ліниво — запускаємо їх порожніми задачами, а такт прогріваємо:
+        // ініціалізація класів і перший запуск пулу записів до виміру не входять
+        AppExecutors.timer().submit(() -> {}).isDone();
+        AppExecutors.submit("warmup", () -> {});
+        sampler.start();
+        Thread.sleep(2_000);
+        sampler.stop();
+        long timerId = timerThreadId();
+        long warmupTicks = sampler.getSampleCount();
+
+        int periodMs = sampler.getPeriodMs();
+        long[] baseline = measure(timerId, seconds, () -> {
+            ScheduledFuture<?> noop = AppExecutors.scheduleOnTimer("noop", () -> {}, 0, periodMs, TimeUnit.MILLISECONDS);
+            return () -> noop.cancel(false);
+        });
+        long[] burst = measure(timerId, seconds, () -> {
+            sampler.start();
+            return sampler::stop;
+        });
+
+        long ticks = Math.max(1, sampler.getSampleCount() - warmupTicks);
+        long emptyTicks = Math.max(1, seconds * 1000L / periodMs);
+        System.out.printf("period=%d ms, seconds=%d, ticks=%d, aggregates=%d, spikes=%d%n",
+                periodMs, seconds, ticks, repository.aggregates.get(), repository.spikes.get());
+        print("empty task", baseline, emptyTicks);
+        print("burst tick", burst, ticks);
+        System.out.printf("net per tick: %.1f us CPU, %.1f B%n",
+                (burst[0] / (double) ticks - baseline[0] / (double) emptyTicks) / 1e3,
+                burst[1] < 0 ? 0 : burst[1] / (double) ticks - baseline[1] / (double) emptyTicks);
+
+        AppExecutors.shutdown(1_000);
+    }
+
+    /** [нс CPU, алоковані байти] потоку sam-timer, поки працює запущене start. */
+    private static long[] measure(long timerId, int seconds, Supplier<Runnable> start) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean sun = threads instanceof com.sun.management.ThreadMXBean s ? s : null;
+
+        long bytes0 = sun != null ? sun.getThreadAllocatedBytes(timerId) : -1;
+        long cpu0 = threads.getThreadCpuTime(timerId);
+        Runnable stop = start.get();
+        TimeUnit.SECONDS.sleep(seconds);
+        stop.run();
+        long cpu = threads.getThreadCpuTime(timerId) - cpu0;
+        long bytes = sun != null ? sun.getThreadAllocatedBytes(timerId) - bytes0 : -1;
+        return new long[]{cpu, bytes};
+    }
+
+    private static void print(String name, long[] m, long ticks) {
+        System.out.printf("%-11s %.1f us CPU/tick, %s%n", name, m[0] / 1e3 / ticks,
+                m[1] < 0 ? "allocations n/a" : String.format("%.1f B/tick", (double) m[1] / ticks));
+    }
+
+    private static long timerThreadId() {
+        for (ThreadInfo info : ManagementFactory.getThreadMXBean().dumpAllThreads(false, false)) {
+            if (info.getThreadName().startsWith("sam-timer")) return info.getThreadId();
+        }
+        throw new IllegalStateException("sam-timer thread not found");
+    }
+
+    /** Лише рахує агрегати й сплески. */
+    private static final class CountingBurstRepository implements BurstRepository {
+        final AtomicLong aggregates = new AtomicLong();
+        final AtomicLong spikes = new AtomicLong();
+
+        @Override
+        public void saveAggregates(List<BurstAggregate> list) {
+            aggregates.addAndGet(list.size());
+        }
+
+        @Override
+        public void saveSpike(CpuSpike spike) {
+            spikes.incrementAndGet();
+        }
+
+        @Override
+        public List<BurstAggregate> findAggregatesBetween(Integer userId, LocalDateTime from, LocalDateTime to) {
+            return List.of();
+        }
+
+        @Override
+        public List<CpuSpike> findSpikesBetween(Integer userId, LocalDateTime from, LocalDateTime to) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.systemactivitymonitor.tools;
+
+import com.example.systemactivitymonitor.service.classification.AppClassifier;
+import com.example.systemactivitymonitor.service.classification.AppRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * ClassifierBenchmark — ціна класифікації заголовка залежно від кількості правил.
+ *
+ * ✔ Набори з 10, 100, 1 000 і N (за замовчуванням 10 000) випадкових правил
+ * ✔ automaton — AppClassifier без LRU-пам’яті (memoSize = 0): чистий прохід автомата
+ * ✔ linear — старий підхід: toLowerCase() заголовка і contains() по кожному правилу
+ *   до першого збігу (лінійний по найбільшому набору не рахується — він занадто довгий,
+ *   лише перевірка відповідей на частині заголовків)
+ * ✔ Відповіді обох підходів звіряються на кожному наборі
+ *
+ * Запуск:
+ *   java -cp target/classes:target/test-classes:... com.example.systemactivitymonitor.tools.ClassifierBenchmark [rules] [titles]
+ */
+public final class ClassifierBenchmark {
+
+    private static final int LINEAR_MAX_RULES = 1_000;
+    private static final int CHECKED_TITLES = 2_000;
+
+    private ClassifierBenchmark() {}
+
+    public static void main(String[] args) {
+        int maxRules = Bench.intArg(args, 0, 10_000);
+        int titleCount = Bench.intArg(args, 1, 200_000);
+
+        Random rnd = new Random(42);
+        List<AppRule> all = new ArrayList<>(maxRules);
+        for (int i = 0; i < maxRules; i++) {
+            all.add(new AppRule(word(rnd, 5 + rnd.nextInt(6)), "App " + i));
+        }
+
+        // заголовки: слова, частина з яких — фрагменти правил, і типові реальні заголовки
+        String[] titles = new String[titleCount];
+        for (int i = 0; i < titleCount; i++) {
+            StringBuilder sb = new StringBuilder(Bench.TITLES[rnd.nextInt(Bench.TITLES.length)]);
+            for (int w = 0; w < 3; w++) {
+                sb.append(' ').append(rnd.nextInt(4) == 0
+                        ? all.get(rnd.nextInt(maxRules)).getFragment().toUpperCase(Locale.ROOT)
+                        : word(rnd, 3 + rnd.nextInt(8)));
+            }
+            titles[i] = sb.toString();
+        }
+
+        for (int size : new int[]{10, 100, 1_000, maxRules}) {
+            if (size > maxRules) continue;
+            List<AppRule> rules = all.subList(0, size);
+
+            long t0 = System.nanoTime();
+            AppClassifier classifier = new AppClassifier(rules, 0);
+            long buildNanos = System.nanoTime() - t0;
+
+            for (int round = 0; round < 2; round++) automaton(classifier, titles); // прогрів
+            t0 = System.nanoTime();
+            automaton(classifier, titles);
+            long automatonNanos = System.nanoTime() - t0;
+
+            String linear = "-";
+            if (size <= LINEAR_MAX_RULES) {
+                linear(rules, titles);
+                t0 = System.nanoTime();
+                linear(rules, titles);
+                linear = Bench.perOp(System.nanoTime() - t0, titles.length);
+            }
+
+            int mismatches = 0;
+            for (int i = 0; i < Math.min(CHECKED_TITLES, titles.length); i++) {
+                if (!classifier.classify(titles[i]).equals(linearClassify(rules, titles[i]))) mismatches++;
+            }
+
+            System.out.printf("rules=%-6d build %.1f ms, automaton %s, linear %s, mismatches=%d%n",
+                    size, buildNanos / 1e6, Bench.perOp(automatonNanos, titles.length), linear, mismatches);
+        }
+    }
+
+    private static void automaton(AppClassifier classifier, String[] titles) {
+        long acc = 0;
+        for (String t : titles) acc += classifier.classify(t).length();
+        Bench.sink += acc;
+    }
+
+    private static void linear(List<AppRule> rules, String[] titles) {
+        long acc = 0;
+        for (String t : titles) acc += linearClassify(rules, t).length();
+        Bench.sink += acc;
+    }
+
+    /** Старий ланцюжок contains(): перше правило у порядку файлу, інакше обрізаний заголовок. */
+    private static String linearClassify(List<AppRule> rules, String title) {
+        String lower = title.toLowerCase(Locale.ROOT);
+        for (AppRule r : rules) {
+            if (lower.contains(r.getFragment())) return r.getAppName();
+        }
+        return title.length() > 40 ? title.substring(0, 40) + "..." : title;
+    }
+
+    private static String word(Random rnd, int length) {
+        char[] c = new char[length];
+        for (int i = 0; i < length; i++) c[i] = (char) ('a' + rnd.nextInt(26));
+        return new String(c);
+    }
+}
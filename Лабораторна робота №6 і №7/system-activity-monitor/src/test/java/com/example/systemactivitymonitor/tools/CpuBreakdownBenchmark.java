@@ -0,0 +1,114 @@
+package com.example.systemactivitymonitor.tools;
+
+import com.example.systemactivitymonitor.metrics.cpu.CpuBreakdown;
+import com.example.systemactivitymonitor.metrics.cpu.ProcessCpuTracker;
+import com.example.systemactivitymonitor.metrics.cpu.TopProcesses;
+import com.example.systemactivitymonitor.metrics.impl.linux.ProcCpuBreakdownSource;
+
+import java.util.Random;
+
+/**
+ * CpuBreakdownBenchmark — ціна одного сканування розбивки CPU (ядра + топ процесів).
+ *
+ * ✔ tracker — ProcessCpuTracker на N синтетичних pid (за замовчуванням 5 000), ~1 % процесів
+ *   за скан завершується і заміняється новими: лише облік дельт і топ, без procfs
+ * ✔ procfs — справжній ProcCpuBreakdownSource на /proc цієї машини (якщо probe() проходить):
+ *   середній / найкращий / найгірший час collect(), кількість процесів, алокації на скан
+ * ✔ Перші сканування (відкриття дескрипторів, розбір назв) у підсумок не входять
+ *
+ * Запуск:
+ *   java -cp target/classes:target/test-classes:... com.example.systemactivitymonitor.tools.CpuBreakdownBenchmark [pids] [scans]
+ */
+public final class CpuBreakdownBenchmark {
+
+    private static final int WARMUP = 10;
+
+    private CpuBreakdownBenchmark() {}
+
+    public static void main(String[] args) throws InterruptedException {
+        int pids = Bench.intArg(args, 0, 5_000);
+        int scans = Bench.intArg(args, 1, 200);
+
+        tracker(pids, scans);
+        procfs(scans);
+    }
+
+    private static void tracker(int pids, int scans) {
+        Random rnd = new Random(42);
+        int[] pid = new int[pids];
+        long[] start = new long[pids];
+        long[] cpu = new long[pids];
+        int nextPid = 1;
+        for (int i = 0; i < pids; i++) {
+            pid[i] = nextPid++;
+            start[i] = i;
+        }
+
+        ProcessCpuTracker tracker = new ProcessCpuTracker();
+        CpuBreakdown out = new CpuBreakdown(10);
+        long total = 0;
+        long best = Long.MAX_VALUE;
+        long bytes = 0;
+        for (int s = 0; s < WARMUP + scans; s++) {
+            for (int i = 0; i < pids / 100; i++) { // завершені процеси заміняються новими
+                int victim = rnd.nextInt(pids);
+                pid[victim] = nextPid++;
+                start[victim] = s;
+                cpu[victim] = 0;
+            }
+            for (int i = 0; i < pids; i++) cpu[i] += rnd.nextInt(8);
+
+            long bytes0 = Bench.allocatedBytes();
+            long t0 = System.nanoTime();
+            tracker.begin();
+            for (int i = 0; i < pids; i++) {
+                if (tracker.update(pid[i], start[i], cpu[i], 1_000L + pid[i] % 50_000)) tracker.setName("proc-" + pid[i]);
+            }
+            tracker.finish(pids * 4.0, out);
+            long nanos = System.nanoTime() - t0;
+            long allocated = Bench.allocatedBytes() - bytes0;
+
+            if (s < WARMUP) continue;
+            total += nanos;
+            best = Math.min(best, nanos);
+            bytes += allocated;
+        }
+        System.out.printf("tracker  pids=%d: avg %.3f ms, best %.3f ms, %d B/scan (names of new pids), top cpu=%s%n",
+                out.getProcessCount(), total / 1e6 / scans, best / 1e6, bytes / scans,
+                out.getTopByCpu().size() > 0 ? out.getTopByCpu().getName(0) : "-");
+    }
+
+    private static void procfs(int scans) throws InterruptedException {
+        ProcCpuBreakdownSource source = new ProcCpuBreakdownSource();
+        if (!source.probe()) {
+            System.out.println("procfs   /proc is not readable here — skipped");
+            return;
+        }
+
+        CpuBreakdown out = new CpuBreakdown(10);
+        long total = 0;
+        long best = Long.MAX_VALUE;
+        long worst = 0;
+        long bytes = 0;
+        for (int s = 0; s < WARMUP + scans; s++) {
+            long bytes0 = Bench.allocatedBytes();
+            source.collect(out);
+            long allocated = Bench.allocatedBytes() - bytes0;
+            Thread.sleep(20); // щоб між скануваннями накопичились jiffies
+
+            if (s < WARMUP) continue;
+            total += out.getScanNanos();
+            best = Math.min(best, out.getScanNanos());
+            worst = Math.max(worst, out.getScanNanos());
+            bytes += allocated;
+        }
+        System.out.printf("procfs   processes=%d, cores=%d: avg %.3f ms, best %.3f ms, worst %.3f ms, %d B/scan%n",
+                out.getProcessCount(), out.getCoreCount(), total / 1e6 / scans, best / 1e6, worst / 1e6, bytes / scans);
+
+        TopProcesses top = out.getTopByCpu();
+        for (int i = 0; i < Math.min(3, top.size()); i++) {
+            System.out.printf("  top cpu %-16s pid %-7d %.1f %%, %d kB%n",
+                    top.getName(i), top.getPid(i), top.getCpuPercent(i), top.getRssKb(i));
+        }
+    }
+}
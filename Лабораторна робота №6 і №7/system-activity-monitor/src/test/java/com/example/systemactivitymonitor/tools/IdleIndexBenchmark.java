@@ -0,0 +1,114 @@
+package com.example.systemactivitymonitor.tools;
+
+import com.example.systemactivitymonitor.model.IdleTime;
+import com.example.systemactivitymonitor.model.User;
+import com.example.systemactivitymonitor.service.idle.IdleSessionIndex;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * IdleIndexBenchmark — IdleSessionIndex проти сканування списку User.getIdleTimes().
+ *
+ * ✔ N історичних інтервалів (за замовчуванням 100k) довжиною до 2 год за кілька років
+ *   плюс один незавершений — як після seed() з IdleRepository
+ * ✔ active idle — getOpen() індексу проти пошуку end_time == null у списку
+ * ✔ range — overlapSeconds() для випадкових вікон 1–7 діб проти прямого обрізання
+ *   кожного інтервалу списку; суми мають збігатися
+ *
+ * Запуск:
+ *   java -cp target/classes:target/test-classes:... com.example.systemactivitymonitor.tools.IdleIndexBenchmark [intervals] [queries]
+ */
+public final class IdleIndexBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final int USER_ID = 1;
+
+    private IdleIndexBenchmark() {}
+
+    public static void main(String[] args) {
+        int intervals = Bench.intArg(args, 0, 100_000);
+        int queries = Bench.intArg(args, 1, 2_000);
+
+        User user = Bench.user(USER_ID);
+        Random rnd = new Random(42);
+        List<IdleTime> history = new ArrayList<>(intervals + 1);
+        long spanSeconds = Duration.ofDays(5 * 365).getSeconds();
+        for (int i = 0; i < intervals; i++) {
+            LocalDateTime start = START.plusSeconds((long) (rnd.nextDouble() * spanSeconds));
+            IdleTime idle = new IdleTime(user, start);
+            int duration = 60 + rnd.nextInt(7_200);
+            idle.setEndTime(start.plusSeconds(duration));
+            idle.setDurationSeconds(duration);
+            history.add(idle);
+        }
+        history.add(new IdleTime(user, LocalDateTime.now().minusMinutes(5)));
+
+        long t0 = System.nanoTime();
+        IdleSessionIndex index = IdleSessionIndex.seed(USER_ID, history);
+        index.overlapSeconds(START, START.plusDays(1)); // перший запит будує дерево
+        long seedNanos = System.nanoTime() - t0;
+        System.out.printf("intervals=%d, seed + tree build %.1f ms%n", intervals, seedNanos / 1e6);
+
+        int lookups = 100_000;
+        t0 = System.nanoTime();
+        long found = 0;
+        for (int i = 0; i < lookups; i++) found += index.getOpen().isPresent() ? 1 : 0;
+        long indexOpenNanos = System.nanoTime() - t0;
+
+        t0 = System.nanoTime();
+        for (int i = 0; i < lookups / 100; i++) found += scanOpen(history).isPresent() ? 1 : 0;
+        long scanOpenNanos = System.nanoTime() - t0;
+        Bench.sink += found;
+        System.out.printf("active idle: index %s, list scan %s%n",
+                Bench.perOp(indexOpenNanos, lookups), Bench.perOp(scanOpenNanos, lookups / 100));
+
+        LocalDateTime[] from = new LocalDateTime[queries];
+        LocalDateTime[] to = new LocalDateTime[queries];
+        for (int q = 0; q < queries; q++) {
+            from[q] = START.plusSeconds((long) (rnd.nextDouble() * spanSeconds));
+            to[q] = from[q].plusDays(1 + rnd.nextInt(7));
+        }
+
+        long[] byIndex = new long[queries];
+        long[] byScan = new long[queries];
+        t0 = System.nanoTime();
+        for (int q = 0; q < queries; q++) byIndex[q] = index.overlapSeconds(from[q], to[q]);
+        long indexNanos = System.nanoTime() - t0;
+
+        t0 = System.nanoTime();
+        for (int q = 0; q < queries; q++) byScan[q] = scanOverlap(history, from[q], to[q]);
+        long scanNanos = System.nanoTime() - t0;
+
+        int mismatches = 0;
+        for (int q = 0; q < queries; q++) if (byIndex[q] != byScan[q]) mismatches++;
+        System.out.printf("range (%d windows of 1-7 days): index %s, list scan %s, mismatches=%d%n",
+                queries, Bench.perOp(indexNanos, queries), Bench.perOp(scanNanos, queries), mismatches);
+
+        IdleSessionIndex.evict(USER_ID);
+    }
+
+    /** Як раніше в IdleService: перебір усіх інтервалів у пошуку незавершеного. */
+    private static Optional<IdleTime> scanOpen(List<IdleTime> history) {
+        for (IdleTime idle : history) {
+            if (idle.getEndTime() == null) return Optional.of(idle);
+        }
+        return Optional.empty();
+    }
+
+    /** Пряме обрізання кожного завершеного інтервалу межами [from, to). */
+    private static long scanOverlap(List<IdleTime> history, LocalDateTime from, LocalDateTime to) {
+        long total = 0;
+        for (IdleTime idle : history) {
+            if (idle.getEndTime() == null) continue;
+            LocalDateTime s = idle.getStartTime().isAfter(from) ? idle.getStartTime() : from;
+            LocalDateTime e = idle.getEndTime().isBefore(to) ? idle.getEndTime() : to;
+            if (e.isAfter(s)) total += Duration.between(s, e).getSeconds();
+        }
+        return total;
+    }
+}
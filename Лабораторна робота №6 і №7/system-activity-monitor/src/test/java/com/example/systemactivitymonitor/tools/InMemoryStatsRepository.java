@@ -0,0 +1,108 @@
+package com.example.systemactivitymonitor.tools;
+
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * InMemoryStatsRepository — StatsRepository у пам’яті для бенчмарків.
+ *
+ * ✔ Імітує мережеву затримку БД: roundTripMicros на кожен виклик save / saveAll
+ *   плюс perRowMicros на рядок пакета (multi-row INSERT)
+ * ✔ keep = false — рядки лише рахуються, інакше зберігаються в порядку надходження
+ *   (бенчмарки звітів читають їх назад через forEach / stream)
+ */
+final class InMemoryStatsRepository implements StatsRepository {
+
+    private final long roundTripMicros;
+    private final long perRowMicros;
+    private final boolean keep;
+
+    private final List<SystemStats> rows = new ArrayList<>();
+    final AtomicLong saved = new AtomicLong();
+    final AtomicLong calls = new AtomicLong();
+
+    InMemoryStatsRepository(boolean keep) {
+        this(0, 0, keep);
+    }
+
+    InMemoryStatsRepository(long roundTripMicros, long perRowMicros, boolean keep) {
+        this.roundTripMicros = roundTripMicros;
+        this.perRowMicros = perRowMicros;
+        this.keep = keep;
+    }
+
+    @Override
+    public void save(SystemStats s) {
+        delay(1);
+        store(s);
+    }
+
+    @Override
+    public void saveAll(List<SystemStats> batch) {
+        delay(batch.size());
+        for (SystemStats s : batch) store(s);
+    }
+
+    private synchronized void store(SystemStats s) {
+        saved.incrementAndGet();
+        if (keep) rows.add(s);
+    }
+
+    private void delay(int rowsInCall) {
+        calls.incrementAndGet();
+        long micros = roundTripMicros + perRowMicros * rowsInCall;
+        if (micros > 0) LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+    }
+
+    private synchronized List<SystemStats> select(Integer userId, LocalDateTime start, LocalDateTime end) {
+        List<SystemStats> result = new ArrayList<>();
+        for (SystemStats s : rows) {
+            if (s.getUser() != null && userId.equals(s.getUser().getId())
+                    && !s.getRecordedAt().isBefore(start) && s.getRecordedAt().isBefore(end)) {
+                result.add(s);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<SystemStats> findByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end) {
+        return select(userId, start, end);
+    }
+
+    @Override
+    public void forEachByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end,
+                                                    Consumer<SystemStats> visitor) {
+        select(userId, start, end).forEach(visitor);
+    }
+
+    @Override
+    public Stream<SystemStats> streamByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end) {
+        return select(userId, start, end).stream();
+    }
+
+    @Override
+    public synchronized Optional<LocalDateTime> findFirstRecordedAt(Integer userId) {
+        return rows.stream().map(SystemStats::getRecordedAt).min(LocalDateTime::compareTo);
+    }
+
+    @Override
+    public synchronized Optional<LocalDateTime> findLastRecordedAt(Integer userId) {
+        return rows.stream().map(SystemStats::getRecordedAt).max(LocalDateTime::compareTo);
+    }
+
+    @Override
+    public synchronized void deleteById(Integer id) {
+        rows.removeIf(s -> id.equals(s.getId()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.systemactivitymonitor.tools;
+
+import com.example.systemactivitymonitor.metrics.input.InputCounters;
+import com.example.systemactivitymonitor.metrics.input.SyntheticInputEventSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * InputEventBenchmark — пропускна здатність InputCounters під синтетичними подіями.
+ *
+ * ✔ threads потоків-"пристроїв", кожен зі своїм SyntheticInputEventSource (синхронний emit)
+ *   пише в одні спільні InputCounters — як кілька пристроїв evdev
+ * ✔ Паралельно потік-"збирач" кожні 5 мс робить snapshotAndReset() і sampleHistogram()
+ * ✔ Наприкінці сума дельт має точно дорівнювати кількості згенерованих подій
+ * ✔ Працює на будь-якій ОС — ні хуків, ні /dev/input
+ *
+ * Запуск:
+ *   java -cp target/classes:target/test-classes:... com.example.systemactivitymonitor.tools.InputEventBenchmark [eventsPerThread] [threads]
+ */
+public final class InputEventBenchmark {
+
+    private static final long CHUNK = 10_000;
+
+    private InputEventBenchmark() {}
+
+    public static void main(String[] args) throws InterruptedException {
+        long eventsPerThread = Bench.longArg(args, 0, 10_000_000);
+        int threads = Bench.intArg(args, 1, 2);
+
+        InputCounters counters = new InputCounters();
+        AtomicBoolean running = new AtomicBoolean(true);
+        long[] collected = new long[1];
+
+        Thread collector = new Thread(() -> {
+            while (running.get()) {
+                collected[0] += total(counters.snapshotAndReset());
+                counters.sampleHistogram(System.currentTimeMillis());
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "bench-collector");
+
+        List<Thread> devices = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            SyntheticInputEventSource source = new SyntheticInputEventSource(0);
+            source.start(counters);
+            devices.add(new Thread(() -> {
+                for (long done = 0; done < eventsPerThread; done += CHUNK) {
+                    source.emit(Math.min(CHUNK, eventsPerThread - done));
+                }
+            }, "bench-device-" + t));
+        }
+
+        collector.start();
+        long started = System.nanoTime();
+        for (Thread d : devices) d.start();
+        for (Thread d : devices) d.join();
+        long nanos = System.nanoTime() - started;
+
+        running.set(false);
+        collector.join();
+        collected[0] += total(counters.snapshotAndReset());
+
+        long emitted = eventsPerThread * threads;
+        System.out.printf("threads=%d, events=%d, %.1f ns/event, %.1f M events/s%n",
+                threads, emitted, (double) nanos / emitted, emitted / (nanos / 1e3));
+        System.out.printf("collected in deltas=%d (%s)%n",
+                collected[0], collected[0] == emitted ? "exact" : "MISMATCH");
+    }
+
+    private static long total(InputCounters.Delta d) {
+        return d.getKeys() + d.getClicks() + d.getMoves();
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.systemactivitymonitor.tools;
+
+import com.example.systemactivitymonitor.metrics.MetricFamily;
+import com.example.systemactivitymonitor.metrics.MetricSample;
+import com.example.systemactivitymonitor.metrics.MetricsProvider;
+import com.example.systemactivitymonitor.metrics.TieredMetricsCollector;
+import com.example.systemactivitymonitor.metrics.input.InputCounters;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * MetricSampleBenchmark — ns/op і алоковані байти/op одного збору метрик.
+ *
+ * ✔ legacy — старий шлях: Map<String, Object> із BigDecimal-гетерів провайдера
+ *   і рядком аптайму (як collectAllMetrics() до MetricSample)
+ * ✔ collectInto — повний збір у той самий MetricSample
+ * ✔ tiered — такт TieredMetricsCollector (оновлюються лише групи, яким настав час);
+ *   час i-го такту — i мс, тобто 1M тактів — це 1000 с роботи
+ * ✔ Провайдер фіктивний (FixedProvider): міряється ціна контейнера метрик, а не системних викликів
+ *
+ * Запуск:
+ *   java -cp target/classes:target/test-classes:... com.example.systemactivitymonitor.tools.MetricSampleBenchmark [iterations]
+ */
+public final class MetricSampleBenchmark {
+
+    private MetricSampleBenchmark() {}
+
+    public static void main(String[] args) {
+        int iterations = Bench.intArg(args, 0, 1_000_000);
+
+        MetricsProvider provider = new FixedProvider();
+        MetricSample sample = new MetricSample();
+        TieredMetricsCollector collector = new TieredMetricsCollector(provider, sample);
+
+        // прогрів JIT
+        for (int round = 0; round < 2; round++) {
+            run("legacy", iterations / 10, i -> legacy(provider).size(), false);
+            run("collectInto", iterations / 10, i -> { provider.collectInto(sample); return sample.getKeys(); }, false);
+            run("tiered", iterations / 10, i -> { collector.tick(i); return sample.getKeys(); }, false);
+        }
+
+        run("legacy", iterations, i -> legacy(provider).size(), true);
+        run("collectInto", iterations, i -> { provider.collectInto(sample); return sample.getKeys(); }, true);
+        run("tiered", iterations, i -> { collector.tick(i); return sample.getKeys(); }, true);
+
+        System.out.printf("tiered refreshes over %d ticks: CPU=%d, DISK=%d, CPU_DETAIL=%d%n", iterations,
+                collector.getRefreshCount(MetricFamily.CPU), collector.getRefreshCount(MetricFamily.DISK),
+                collector.getRefreshCount(MetricFamily.CPU_DETAIL));
+    }
+
+    private interface Op {
+        long run(long i);
+    }
+
+    private static void run(String name, int iterations, Op op, boolean print) {
+        long bytes = Bench.allocatedBytes();
+        long started = System.nanoTime();
+        long acc = 0;
+        for (int i = 0; i < iterations; i++) {
+            acc += op.run(i);
+        }
+        long nanos = System.nanoTime() - started;
+        long allocated = Bench.allocatedBytes() - bytes;
+        Bench.sink += acc;
+
+        if (print) {
+            System.out.printf("%-12s %d ops, %s, %s%n", name, iterations, Bench.perOp(nanos, iterations),
+                    bytes < 0 ? "allocations n/a" : String.format("%.1f B/op", (double) allocated / iterations));
+        }
+    }
+
+    /** Старий collectAllMetrics(): нова мапа, BigDecimal на кожне значення, рядок аптайму. */
+    private static Map<String, Object> legacy(MetricsProvider p) {
+        p.updateDiskStats();
+
+        Map<String, Object> m = new HashMap<>();
+        m.put("cpuLoad", p.getCpuLoad());
+        m.put("ramUsed", p.getRamUsed());
+        m.put("ramTotal", p.getRamTotal());
+
+        m.put("diskTotal", p.getDiskTotal());
+        m.put("diskFree", p.getDiskFree());
+        m.put("diskUsed", p.getDiskUsed());
+
+        m.put("activeWindow", p.getActiveWindowTitle());
+        m.put("uptime", p.getUptime());
+        m.putAll(p.getInputStats());
+        return m;
+    }
+
+    /** Провайдер без системних викликів: значення змінюються з кожним викликом, щоб JIT їх не згорнув. */
+    private static final class FixedProvider implements MetricsProvider {
+
+        private static final MetricFamily[] FAMILIES = MetricFamily.values();
+
+        private final InputCounters counters = new InputCounters();
+        private long calls;
+
+        private double cpu() { return (calls++ % 10_000) / 100.0; }
+
+        @Override public BigDecimal getCpuLoad() { return MetricSample.decimal(cpu()); }
+        @Override public BigDecimal getRamUsed() { return MetricSample.decimal(4_096 + calls % 1_024); }
+        @Override public BigDecimal getRamTotal() { return MetricSample.decimal(16_000); }
+
+        @Override public void updateDiskStats() {}
+        @Override public BigDecimal getDiskTotal() { return MetricSample.decimal(512); }
+        @Override public BigDecimal getDiskFree() { return MetricSample.decimal(200); }
+        @Override public BigDecimal getDiskUsed() { return MetricSample.decimal(312); }
+
+        @Override public String getActiveWindowTitle() { return Bench.TITLES[(int) (calls % Bench.TITLES.length)]; }
+        @Override public String getUptime() { return MetricSample.formatUptime(3_600 + calls); }
+
+        @Override public void startInputMonitoring() {}
+        @Override public void stopInputMonitoring() {}
+
+        @Override
+        public Map<String, Long> getInputStats() {
+            Map<String, Long> m = new HashMap<>();
+            m.put("keys", calls);
+            m.put("clicks", calls / 3);
+            m.put("moves", calls * 7);
+            m.put("lastActivitySecAgo", 0L);
+            return m;
+        }
+
+        @Override public long getLastActivitySeconds() { return 0; }
+        @Override public InputCounters getInputCounters() { return counters; }
+
+        @Override
+        public void collectInto(MetricSample sample) {
+            sample.setTimestampMillis(calls);
+            for (MetricFamily family : FAMILIES) refresh(family, sample);
+            sample.setOsName("Synthetic");
+        }
+
+        @Override
+        public void refresh(MetricFamily family, MetricSample sample) {
+            switch (family) {
+                case CPU -> sample.setCpuLoad(cpu());
+                case RAM -> {
+                    sample.setRamUsedMb(4_096 + calls % 1_024);
+                    sample.setRamTotalMb(16_000);
+                }
+                case DISK -> {
+                    sample.setDiskTotalGb(512);
+                    sample.setDiskFreeGb(200);
+                }
+                case UPTIME -> sample.setUptimeSeconds(3_600 + calls);
+                case WINDOW -> sample.setActiveWindow(getActiveWindowTitle());
+                case INPUT -> {
+                    sample.setInputActive(true);
+                    sample.setKeys(calls);
+                    sample.setClicks(calls / 3);
+                    sample.setMoves(calls * 7);
+                    sample.setLastActivitySecAgo(0);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.systemactivitymonitor.tools;
+
+import com.example.systemactivitymonitor.metrics.impl.SyntheticMetricsProvider;
+import com.example.systemactivitymonitor.metrics.input.SyntheticInputEventSource;
+import com.example.systemactivitymonitor.model.RollupLevel;
+import com.example.systemactivitymonitor.model.StatsRollup;
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.model.User;
+import com.example.systemactivitymonitor.repository.interfaces.RollupRepository;
+import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+import com.example.systemactivitymonitor.service.MultiUserMonitoringService;
+import com.example.systemactivitymonitor.service.persistence.StatsWriteBehind;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * MultiUserLoadHarness — навантажувальний прогін MultiUserMonitoringService без БД.
+ *
+ * ✔ N користувачів, кожен із власним SyntheticInputEventSource (синхронний режим)
+ * ✔ Один потік-драйвер раз на 10 мс генерує події для всіх користувачів
+ * ✔ Метрики хоста — SyntheticMetricsProvider, запис — у лічильник у пам’яті
+ * ✔ Наприкінці перевіряє, що сума дельт у рядках дорівнює кількості згенерованих подій
+ *
+ * Запуск:
+ *   java -cp target/classes:target/test-classes:... com.example.systemactivitymonitor.tools.MultiUserLoadHarness [users] [seconds] [eventsPerUserPerSec]
+ */
+public final class MultiUserLoadHarness {
+
+    private static final long DRIVER_PERIOD_MS = 10;
+
+    private MultiUserLoadHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        long eventsPerSec = args.length > 2 ? Long.parseLong(args[2]) : 50;
+
+        // без спулу на диску і з частішим записом, якщо не задано інше
+        System.setProperty("sam.stats.spool.enabled", System.getProperty("sam.stats.spool.enabled", "false"));
+        System.setProperty("sam.stats.persistIntervalMs", System.getProperty("sam.stats.persistIntervalMs", "1000"));
+
+        CountingStatsRepository repository = new CountingStatsRepository();
+        MultiUserMonitoringService service = new MultiUserMonitoringService(
+                new SyntheticMetricsProvider(), repository, new NoopRollupRepository());
+
+        List<SyntheticInputEventSource> sources = new ArrayList<>(users);
+        for (int i = 1; i <= users; i++) {
+            User user = new User("load-" + i, "-", null);
+            user.setId(i);
+
+            SyntheticInputEventSource source = new SyntheticInputEventSource(0);
+            source.start(service.addUser(user).getCounters());
+            service.getStream(i).setActiveWindow("Session " + (i % 16));
+            sources.add(source);
+        }
+
+        int threadsBefore = Thread.activeCount();
+        service.start();
+
+        long perTick = Math.max(1, eventsPerSec * DRIVER_PERIOD_MS / 1000);
+        long emitted = 0;
+        long driverNanos = 0;
+        long deadline = System.currentTimeMillis() + seconds * 1000L;
+        while (System.currentTimeMillis() < deadline) {
+            long t0 = System.nanoTime();
+            for (SyntheticInputEventSource source : sources) {
+                source.emit(perTick);
+            }
+            emitted += perTick * users;
+            driverNanos += System.nanoTime() - t0;
+            Thread.sleep(DRIVER_PERIOD_MS);
+        }
+        int threadsDuring = Thread.activeCount();
+
+        service.stop();
+
+        StatsWriteBehind writer = service.getStatsWriter();
+        Runtime rt = Runtime.getRuntime();
+        System.out.printf("users=%d, seconds=%d, events/user/s=%d%n", users, seconds, eventsPerSec);
+        System.out.printf("events: emitted=%d, recorded in rows=%d (%s)%n",
+                emitted, repository.inputEvents.sum(),
+                emitted == repository.inputEvents.sum() ? "exact" : "MISMATCH");
+        System.out.printf("rows: submitted=%d, written=%d, dropped=%d, batches=%d, rows/s=%.0f%n",
+                service.getRecordedCount(), writer.getWrittenCount(), writer.getDroppedCount(),
+                repository.batches.get(), repository.rows.sum() / (double) seconds);
+        System.out.printf("threads: before start=%d, while running=%d%n", threadsBefore, threadsDuring);
+        System.out.printf("driver: %.1f%% of wall time, heap used=%d MB%n",
+                driverNanos / 1e7 / seconds, (rt.totalMemory() - rt.freeMemory()) >> 20);
+    }
+
+    // ========================================================================
+    // IN-MEMORY REPOSITORIES
+    // ========================================================================
+    /** Лише рахує рядки та події введення — без збереження. */
+    private static final class CountingStatsRepository implements StatsRepository {
+        final LongAdder rows = new LongAdder();
+        final LongAdder inputEvents = new LongAdder();
+        final AtomicLong batches = new AtomicLong();
+
+        @Override
+        public void save(SystemStats s) {
+            rows.increment();
+            inputEvents.add((long) s.getKeyboardPresses() + s.getMouseClicks() + s.getMouseMoves());
+        }
+
+        @Override
+        public void saveAll(List<SystemStats> batch) {
+            batches.incrementAndGet();
+            for (SystemStats s : batch) save(s);
+        }
+
+        @Override
+        public List<SystemStats> findByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end) {
+            return List.of();
+        }
+
+        @Override
+        public void forEachByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end,
+                                                        Consumer<SystemStats> visitor) {}
+
+        @Override
+        public Stream<SystemStats> streamByUserIdAndRecordedAtBetween(Integer userId, LocalDateTime start, LocalDateTime end) {
+            return Stream.empty();
+        }
+
+        @Override
+        public Optional<LocalDateTime> findFirstRecordedAt(Integer userId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<LocalDateTime> findLastRecordedAt(Integer userId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void deleteById(Integer id) {}
+    }
+
+    private static final class NoopRollupRepository implements RollupRepository {
+        @Override
+        public void merge(Integer userId, RollupLevel level, List<StatsRollup> buckets, LocalDateTime rolledUpUntil) {}
+
+        @Override
+        public List<StatsRollup> findByUserIdAndLevelBetween(Integer userId, RollupLevel level,
+                                                             LocalDateTime from, LocalDateTime to) {
+            return List.of();
+        }
+
+        @Override
+        public Optional<LocalDateTime> findWatermark(Integer userId, RollupLevel level) {
+            return Optional.empty();
+        }
+    }
+}
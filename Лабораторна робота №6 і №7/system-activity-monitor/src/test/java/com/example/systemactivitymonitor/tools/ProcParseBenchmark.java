@@ -0,0 +1,151 @@
+package com.example.systemactivitymonitor.tools;
+
+import com.example.systemactivitymonitor.metrics.impl.linux.ProcFile;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+
+/**
+ * ProcParseBenchmark — ціна одного зразка CPU + RAM + uptime з /proc (лише Linux).
+ *
+ * ✔ legacy — як LinuxMetricsProvider до ProcFile: BufferedReader(FileReader) на кожен файл,
+ *   split("\\s+") і replaceAll("\\D+", "")
+ * ✔ procfile — ті самі виклики ProcFile, що й у LinuxMetricsProvider
+ *   (readCpuTicks / readRamUsedMb / readUptimeSeconds); сам провайдер тут не створюється,
+ *   бо тягне JNA і джерела введення
+ * ✔ Наприкінці порівнює розібрані значення обох шляхів
+ * ✔ Виводить, яку частку одного ядра забирає вибірка кожні 100 мс
+ *
+ * Запуск:
+ *   java -cp target/classes:target/test-classes:... com.example.systemactivitymonitor.tools.ProcParseBenchmark [samples]
+ */
+public final class ProcParseBenchmark {
+
+    private static final byte[] CPU_LINE = ProcFile.ascii("cpu ");
+    private static final byte[] MEM_TOTAL = ProcFile.ascii("MemTotal:");
+    private static final byte[] MEM_AVAILABLE = ProcFile.ascii("MemAvailable:");
+
+    private final ProcFile procStat = new ProcFile("/proc/stat", 4096);
+    private final ProcFile procMeminfo = new ProcFile("/proc/meminfo", 4096);
+    private final ProcFile procUptime = new ProcFile("/proc/uptime", 128);
+    private final long[] ticks = new long[2];
+
+    private ProcParseBenchmark() {}
+
+    public static void main(String[] args) throws IOException {
+        int samples = Bench.intArg(args, 0, 100_000);
+        ProcParseBenchmark bench = new ProcParseBenchmark();
+        if (!bench.procStat.refresh()) {
+            System.out.println("/proc недоступний — бенчмарк лише для Linux.");
+            return;
+        }
+
+        for (int round = 0; round < 2; round++) {
+            bench.run("legacy", samples / 10, true, false);
+            bench.run("procfile", samples / 10, false, false);
+        }
+        double legacyNs = bench.run("legacy", samples, true, true);
+        double procFileNs = bench.run("procfile", samples, false, true);
+
+        System.out.printf("speedup %.1fx; sampling every 100 ms costs %.3f%% of one core (procfile)%n",
+                legacyNs / procFileNs, procFileNs * 10 / 1e9 * 100);
+
+        long[] legacy = bench.legacySample();
+        long[] fast = bench.procFileSample();
+        System.out.printf("values: MemTotal %d / %d kB, uptime %d / %d s (legacy / procfile)%n",
+                legacy[2], fast[2], legacy[3], fast[3]);
+    }
+
+    private double run(String name, int samples, boolean legacy, boolean print) throws IOException {
+        long bytes = Bench.allocatedBytes();
+        long started = System.nanoTime();
+        long acc = 0;
+        for (int i = 0; i < samples; i++) {
+            long[] v = legacy ? legacySample() : procFileSample();
+            acc += v[0] + v[1];
+        }
+        long nanos = System.nanoTime() - started;
+        long allocated = Bench.allocatedBytes() - bytes;
+        Bench.sink += acc;
+
+        if (print) {
+            System.out.printf("%-9s %d samples, %.2f us/sample, %.0f B/sample%n",
+                    name, samples, nanos / 1e3 / samples, (double) allocated / samples);
+        }
+        return (double) nanos / samples;
+    }
+
+    // ========================================================================
+    // PROCFILE (як у LinuxMetricsProvider)
+    // ========================================================================
+    private final long[] result = new long[4];
+
+    /** [зайнятий час CPU, MemAvailable, MemTotal, uptime] без алокацій. */
+    private long[] procFileSample() {
+        result[0] = readCpuTicks() ? ticks[0] : 0;
+
+        long total = 0;
+        long available = 0;
+        if (procMeminfo.refresh()) {
+            total = procMeminfo.seekLine(MEM_TOTAL) ? procMeminfo.nextLong() : 0;
+            available = procMeminfo.seekLine(MEM_AVAILABLE) ? procMeminfo.nextLong() : 0;
+        }
+        result[1] = available;
+        result[2] = total;
+        result[3] = procUptime.refresh() ? procUptime.nextLong() : -1;
+        return result;
+    }
+
+    private boolean readCpuTicks() {
+        if (!procStat.refresh() || !procStat.seekLine(CPU_LINE)) return false;
+        long user = procStat.nextLong();
+        long nice = procStat.nextLong();
+        long system = procStat.nextLong();
+        long idle = procStat.nextLong();
+        long iowait = Math.max(0, procStat.nextLong());
+        long irq = Math.max(0, procStat.nextLong());
+        long softirq = Math.max(0, procStat.nextLong());
+        if (idle < 0) return false;
+
+        long total = user + nice + system + idle + iowait + irq + softirq;
+        ticks[0] = total - idle - iowait;
+        ticks[1] = total;
+        return true;
+    }
+
+    // ========================================================================
+    // LEGACY (до ProcFile)
+    // ========================================================================
+    private long[] legacySample() throws IOException {
+        long[] v = new long[4];
+
+        try (BufferedReader reader = new BufferedReader(new FileReader("/proc/stat"))) {
+            String[] t = reader.readLine().split("\\s+");
+            long user = Long.parseLong(t[1]);
+            long nice = Long.parseLong(t[2]);
+            long system = Long.parseLong(t[3]);
+            long idle = Long.parseLong(t[4]);
+            long iowait = t.length > 5 ? Long.parseLong(t[5]) : 0;
+            long irq = t.length > 6 ? Long.parseLong(t[6]) : 0;
+            long softirq = t.length > 7 ? Long.parseLong(t[7]) : 0;
+            v[0] = user + nice + system + irq + softirq;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader("/proc/meminfo"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("MemTotal")) {
+                    v[2] = Long.parseLong(line.replaceAll("\\D+", ""));
+                } else if (line.startsWith("MemAvailable")) {
+                    v[1] = Long.parseLong(line.replaceAll("\\D+", ""));
+                }
+            }
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader("/proc/uptime"))) {
+            v[3] = (long) Double.parseDouble(reader.readLine().split(" ")[0]);
+        }
+        return v;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.systemactivitymonitor.tools;
+
+import com.example.systemactivitymonitor.model.DaySummary;
+import com.example.systemactivitymonitor.model.HourStat;
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.model.User;
+import com.example.systemactivitymonitor.service.calculations.ReportAccumulator;
+import com.example.systemactivitymonitor.service.calculations.ReportCalculator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * ReportBenchmark — розрахунок звіту над N синтетичними записами (за замовчуванням 1M).
+ *
+ * ✔ list — старі методи ReportCalculator над List<SystemStats> (average ×2, appUsagePercent,
+ *   buildDaySummary, averageUptime): кожен робить власний прохід і групування
+ * ✔ stream — однопрохідний ReportAccumulator над тим самим списком
+ * ✔ Пам’ять: купа зі списком проти акумулятора, заповненого рядками "на льоту" без списку
+ * ✔ Результати обох шляхів порівнюються (середні, частки застосунків, години, аптайм)
+ *
+ * Записи йдуть раз на секунду, тобто 1M записів — це приблизно 11,6 доби.
+ *
+ * Запуск:
+ *   java -cp target/classes:target/test-classes:... com.example.systemactivitymonitor.tools.ReportBenchmark [samples]
+ */
+public final class ReportBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private ReportBenchmark() {}
+
+    public static void main(String[] args) {
+        int samples = Bench.intArg(args, 0, 1_000_000);
+        User user = Bench.user(1);
+        ReportCalculator calc = new ReportCalculator();
+
+        // акумулятор без списку: рядки генеруються й одразу забуваються
+        long heapBefore = Bench.usedHeapMb();
+        ReportAccumulator streamed = new ReportAccumulator();
+        Random rnd = new Random(42);
+        for (int i = 0; i < samples; i++) {
+            streamed.accept(Bench.row(user, START.plusSeconds(i), rnd));
+        }
+        long heapStreamed = Bench.usedHeapMb() - heapBefore;
+
+        rnd = new Random(42);
+        List<SystemStats> rows = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            rows.add(Bench.row(user, START.plusSeconds(i), rnd));
+        }
+        long heapList = Bench.usedHeapMb() - heapBefore;
+        System.out.printf("samples=%d, heap: list of rows %d MB, streamed accumulator %d MB%n",
+                samples, heapList, heapStreamed);
+
+        Result list = null;
+        Result stream = null;
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            list = new Result(
+                    calc.average(rows, SystemStats::getCpuLoad),
+                    calc.average(rows, SystemStats::getRamUsedMb),
+                    calc.appUsagePercent(rows),
+                    calc.buildDaySummary(rows),
+                    calc.averageUptime(rows));
+            long t1 = System.nanoTime();
+
+            ReportAccumulator acc = new ReportAccumulator();
+            for (SystemStats s : rows) acc.accept(s);
+            stream = new Result(acc.getCpuAvg(), acc.getRamAvg(), acc.getAppUsagePercent(),
+                    acc.getDaySummary(), acc.getAverageUptimeHours());
+            long t2 = System.nanoTime();
+
+            System.out.printf("round %d: list %.0f ms, stream %.0f ms%n", round + 1, (t1 - t0) / 1e6, (t2 - t1) / 1e6);
+        }
+
+        System.out.printf("results: %s%n", list.sameAs(stream) && stream.sameAs(new Result(
+                streamed.getCpuAvg(), streamed.getRamAvg(), streamed.getAppUsagePercent(),
+                streamed.getDaySummary(), streamed.getAverageUptimeHours())) ? "identical" : "MISMATCH");
+        System.out.printf("cpu avg=%s, ram avg=%s, days=%d, apps=%d%n",
+                stream.cpuAvg, stream.ramAvg, stream.days.size(), stream.apps.size());
+    }
+
+    /** Розрахункові поля звіту, порівнювані між шляхами. */
+    private record Result(BigDecimal cpuAvg, BigDecimal ramAvg, Map<String, BigDecimal> apps,
+                          List<DaySummary> days, BigDecimal uptime) {
+
+        boolean sameAs(Result o) {
+            if (cpuAvg.compareTo(o.cpuAvg) != 0 || ramAvg.compareTo(o.ramAvg) != 0
+                    || uptime.compareTo(o.uptime) != 0 || !apps.equals(o.apps) || days.size() != o.days.size()) {
+                return false;
+            }
+            for (int d = 0; d < days.size(); d++) {
+                List<HourStat> a = days.get(d).getHourlyStats();
+                List<HourStat> b = o.days.get(d).getHourlyStats();
+                if (!days.get(d).getDate().equals(o.days.get(d).getDate()) || a.size() != b.size()) return false;
+                for (int h = 0; h < a.size(); h++) {
+                    if (a.get(h).getHour() != b.get(h).getHour()
+                            || a.get(h).getAvgCpu().compareTo(b.get(h).getAvgCpu()) != 0
+                            || a.get(h).getAvgRam().compareTo(b.get(h).getAvgRam()) != 0) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
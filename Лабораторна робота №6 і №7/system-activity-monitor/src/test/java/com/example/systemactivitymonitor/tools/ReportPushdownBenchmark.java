@@ -0,0 +1,105 @@
+package com.example.systemactivitymonitor.tools;
+
+import com.example.systemactivitymonitor.factory.RepositoryFactory;
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.model.User;
+import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+import com.example.systemactivitymonitor.repository.interfaces.UserRepository;
+import com.example.systemactivitymonitor.service.calculations.ReportAccumulator;
+import com.example.systemactivitymonitor.service.calculations.ReportCalculator;
+import com.example.systemactivitymonitor.service.calculations.ReportCalculator.AggregationMode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * ReportPushdownBenchmark — звіт над N рядками в справжньому сховищі (за замовчуванням 1M):
+ * потокове читання (IN_MEMORY) проти агрегації на сервері (PUSHDOWN).
+ *
+ * ✔ Сховище — RepositoryFactory, тобто stats.backend і db.* з конфігурації:
+ *   локальний MySQL або колонкові файли (-Dsam.stats.backend=local)
+ * ✔ Рядки сіються один раз для користувача bench-report (раз на секунду від 2025-01-01);
+ *   якщо в нього вже є записи — сівба пропускається
+ * ✔ Кілька раундів кожного режиму; результати режимів порівнюються
+ *
+ * Щоб пересіяти — видаліть користувача bench-report (рядки підуть каскадом).
+ * Для local-сховища користувача в БД немає: передайте userId другим аргументом.
+ *
+ * Запуск:
+ *   java -cp target/classes:target/test-classes:... com.example.systemactivitymonitor.tools.ReportPushdownBenchmark [rows] [userId]
+ */
+public final class ReportPushdownBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int SEED_BATCH = 1_000;
+
+    private ReportPushdownBenchmark() {}
+
+    public static void main(String[] args) {
+        int rows = Bench.intArg(args, 0, 1_000_000);
+        User user = args.length > 1 ? Bench.user(Integer.parseInt(args[1])) : benchUser();
+        StatsRepository repo = RepositoryFactory.getStatsRepository();
+        LocalDateTime end = START.plusSeconds(rows);
+
+        if (repo.findFirstRecordedAt(user.getId()).isEmpty()) {
+            seed(repo, user, rows);
+        } else {
+            System.out.println("rows for user " + user.getId() + " already present — seeding skipped");
+        }
+        if (!repo.supportsAggregatePushdown()) {
+            System.out.println(repo.getClass().getSimpleName()
+                    + " has no aggregate pushdown — PUSHDOWN uses the streaming default aggregates");
+        }
+
+        ReportCalculator streaming = new ReportCalculator(AggregationMode.IN_MEMORY);
+        ReportCalculator pushdown = new ReportCalculator(AggregationMode.PUSHDOWN);
+        ReportAccumulator a = null;
+        ReportAccumulator b = null;
+        for (int round = 1; round <= 3; round++) {
+            long t0 = System.nanoTime();
+            a = new ReportAccumulator();
+            streaming.accumulateRaw(repo, user.getId(), START, end, a);
+            long t1 = System.nanoTime();
+            b = new ReportAccumulator();
+            pushdown.accumulateRaw(repo, user.getId(), START, end, b);
+            long t2 = System.nanoTime();
+
+            System.out.printf("round %d: IN_MEMORY %.0f ms (%d rows), PUSHDOWN %.0f ms%n",
+                    round, (t1 - t0) / 1e6, a.getSampleCount(), (t2 - t1) / 1e6);
+        }
+
+        boolean same = a.getCpuAvg().compareTo(b.getCpuAvg()) == 0
+                && a.getRamAvg().compareTo(b.getRamAvg()) == 0
+                && a.getAverageUptimeHours().compareTo(b.getAverageUptimeHours()) == 0
+                && a.getAppUsagePercent().equals(b.getAppUsagePercent())
+                && a.getDaySummary().size() == b.getDaySummary().size();
+        System.out.printf("results: %s (cpu avg %s / %s, ram avg %s / %s)%n", same ? "identical" : "MISMATCH",
+                a.getCpuAvg(), b.getCpuAvg(), a.getRamAvg(), b.getRamAvg());
+    }
+
+    private static User benchUser() {
+        UserRepository users = RepositoryFactory.getUserRepository();
+        return users.findByUsername("bench-report").orElseGet(() -> {
+            User user = new User("bench-report", "-", null);
+            users.save(user);
+            return user;
+        });
+    }
+
+    private static void seed(StatsRepository repo, User user, int rows) {
+        Random rnd = new Random(42);
+        List<SystemStats> batch = new ArrayList<>(SEED_BATCH);
+        long started = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            batch.add(Bench.row(user, START.plusSeconds(i), rnd));
+            if (batch.size() == SEED_BATCH || i == rows - 1) {
+                repo.saveAll(batch);
+                batch.clear();
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("seeded %d rows in %.1f s (%.0f rows/s)%n", rows, seconds, rows / seconds);
+    }
+}
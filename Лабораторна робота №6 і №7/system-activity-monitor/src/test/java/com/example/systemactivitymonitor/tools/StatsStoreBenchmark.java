@@ -0,0 +1,117 @@
+package com.example.systemactivitymonitor.tools;
+
+import com.example.systemactivitymonitor.factory.RepositoryFactory;
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.model.User;
+import com.example.systemactivitymonitor.repository.impl.LocalStatsRepositoryImpl;
+import com.example.systemactivitymonitor.repository.impl.StatsRepositoryImpl;
+import com.example.systemactivitymonitor.repository.interfaces.StatsRepository;
+import com.example.systemactivitymonitor.repository.interfaces.UserRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * StatsStoreBenchmark — запис і читання діапазону: колонкові файли проти JDBC (MySQL).
+ *
+ * ✔ ingest — N рядків пакетами по 1000 через saveAll (як пише StatsWriteBehind), рядки/с
+ * ✔ full scan — forEach і stream (keyset-сторінки) за весь період, рядки/с
+ * ✔ window scan — 100 випадкових годинних вікон, середній час одного запиту
+ * ✔ local — у тимчасовому каталозі, який потім видаляється; mysql — з db.* конфігурації,
+ *   рядки пишуться для користувача bench-store (видаліть його, щоб прибрати дані)
+ *
+ * Запуск:
+ *   java -cp target/classes:target/test-classes:... com.example.systemactivitymonitor.tools.StatsStoreBenchmark [local|mysql|both] [rows]
+ */
+public final class StatsStoreBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int BATCH = 1_000;
+    private static final int WINDOWS = 100;
+
+    private StatsStoreBenchmark() {}
+
+    public static void main(String[] args) throws IOException {
+        String backend = Bench.arg(args, 0, "local");
+        int rows = Bench.intArg(args, 1, 1_000_000);
+
+        if (backend.equals("local") || backend.equals("both")) {
+            Path dir = Files.createTempDirectory("sam-bench-store");
+            try {
+                run("local", new LocalStatsRepositoryImpl(dir), Bench.user(1), rows);
+            } finally {
+                deleteRecursively(dir);
+            }
+        }
+        if (backend.equals("mysql") || backend.equals("both")) {
+            run("mysql", new StatsRepositoryImpl(), benchUser(), rows);
+        }
+    }
+
+    private static void run(String name, StatsRepository repo, User user, int rows) {
+        Random rnd = new Random(42);
+        LocalDateTime from = START;
+        LocalDateTime to = START.plusSeconds(rows);
+
+        List<SystemStats> batch = new ArrayList<>(BATCH);
+        long t0 = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            batch.add(Bench.row(user, START.plusSeconds(i), rnd));
+            if (batch.size() == BATCH || i == rows - 1) {
+                repo.saveAll(batch);
+                batch.clear();
+            }
+        }
+        long ingestNanos = System.nanoTime() - t0;
+
+        long[] seen = new long[1];
+        t0 = System.nanoTime();
+        repo.forEachByUserIdAndRecordedAtBetween(user.getId(), from, to, s -> seen[0]++);
+        long forEachNanos = System.nanoTime() - t0;
+
+        t0 = System.nanoTime();
+        long streamed;
+        try (var stream = repo.streamByUserIdAndRecordedAtBetween(user.getId(), from, to)) {
+            streamed = stream.count();
+        }
+        long streamNanos = System.nanoTime() - t0;
+
+        long windowRows = 0;
+        t0 = System.nanoTime();
+        for (int w = 0; w < WINDOWS; w++) {
+            LocalDateTime start = START.plusSeconds(rnd.nextInt(Math.max(1, rows - 3_600)));
+            long[] n = new long[1];
+            repo.forEachByUserIdAndRecordedAtBetween(user.getId(), start, start.plusHours(1), s -> n[0]++);
+            windowRows += n[0];
+        }
+        long windowNanos = System.nanoTime() - t0;
+
+        System.out.printf("%-6s ingest   %d rows, %.0f rows/s%n", name, rows, rows / (ingestNanos / 1e9));
+        System.out.printf("%-6s forEach  %d rows, %.0f rows/s%n", name, seen[0], seen[0] / (forEachNanos / 1e9));
+        System.out.printf("%-6s stream   %d rows, %.0f rows/s%n", name, streamed, streamed / (streamNanos / 1e9));
+        System.out.printf("%-6s 1h scan  %.2f ms/query (%d rows per window on average)%n",
+                name, windowNanos / 1e6 / WINDOWS, windowRows / WINDOWS);
+    }
+
+    private static User benchUser() {
+        UserRepository users = RepositoryFactory.getUserRepository();
+        return users.findByUsername("bench-store").orElseGet(() -> {
+            User user = new User("bench-store", "-", null);
+            users.save(user);
+            return user;
+        });
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (var paths = Files.walk(dir)) {
+            for (Path p : paths.sorted((a, b) -> b.getNameCount() - a.getNameCount()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
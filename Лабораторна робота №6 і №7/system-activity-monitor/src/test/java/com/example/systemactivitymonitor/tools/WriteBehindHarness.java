@@ -0,0 +1,76 @@
+package com.example.systemactivitymonitor.tools;
+
+import com.example.systemactivitymonitor.model.SystemStats;
+import com.example.systemactivitymonitor.model.User;
+import com.example.systemactivitymonitor.service.persistence.StatsWriteBehind;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * WriteBehindHarness — рядки за секунду: синхронний save() проти StatsWriteBehind.
+ *
+ * ✔ "До": цикл збору сам викликає repository.save() на кожен рядок
+ * ✔ "Після": цикл збору лише submit(), пакети пише потік stats-writer
+ * ✔ БД імітується затримкою InMemoryStatsRepository (round trip + ціна рядка в пакеті),
+ *   тож результат залежить від мережі, а не від MySQL на машині розробника
+ * ✔ Для кожного режиму — пропускна здатність і найдовше блокування циклу збору
+ *
+ * Запуск:
+ *   java -cp target/classes:target/test-classes:... com.example.systemactivitymonitor.tools.WriteBehindHarness [rows] [roundTripMicros] [perRowMicros] [batchSize]
+ */
+public final class WriteBehindHarness {
+
+    private WriteBehindHarness() {}
+
+    public static void main(String[] args) {
+        int rows = Bench.intArg(args, 0, 100_000);
+        long roundTripMicros = Bench.longArg(args, 1, 500);
+        long perRowMicros = Bench.longArg(args, 2, 5);
+        int batchSize = Bench.intArg(args, 3, 200);
+
+        User user = Bench.user(1);
+        Random rnd = new Random(42);
+        LocalDateTime t0 = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        // синхронний шлях повільний, тож проганяємо двадцяту частину рядків
+        int directRows = Math.max(1, rows / 20);
+        InMemoryStatsRepository direct = new InMemoryStatsRepository(roundTripMicros, perRowMicros, false);
+        long maxBlock = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < directRows; i++) {
+            SystemStats s = Bench.row(user, t0.plusSeconds(i), rnd);
+            long t = System.nanoTime();
+            direct.save(s);
+            maxBlock = Math.max(maxBlock, System.nanoTime() - t);
+        }
+        long directNanos = System.nanoTime() - started;
+        report("save() per row", directRows, directNanos, maxBlock, direct);
+
+        InMemoryStatsRepository batched = new InMemoryStatsRepository(roundTripMicros, perRowMicros, false);
+        StatsWriteBehind writer = new StatsWriteBehind(batched, rows, batchSize, 1_000, 3,
+                StatsWriteBehind.OverflowPolicy.DROP_NEWEST);
+        writer.start(); // черга на всі рядки — нічого не відкидається
+
+        maxBlock = 0;
+        started = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            SystemStats s = Bench.row(user, t0.plusSeconds(i), rnd);
+            long t = System.nanoTime();
+            writer.submit(s);
+            maxBlock = Math.max(maxBlock, System.nanoTime() - t);
+        }
+        long submitNanos = System.nanoTime() - started;
+        writer.stop(600_000);
+        long batchedNanos = System.nanoTime() - started;
+
+        report("write-behind", rows, batchedNanos, maxBlock, batched);
+        System.out.printf("  submit loop: %.1f ms total, %s; dropped=%d%n",
+                submitNanos / 1e6, Bench.perOp(submitNanos, rows), writer.getDroppedCount());
+    }
+
+    private static void report(String name, int rows, long nanos, long maxBlockNanos, InMemoryStatsRepository repo) {
+        System.out.printf("%-16s rows=%d, written=%d, calls=%d, rows/s=%.0f, longest collector block=%.3f ms%n",
+                name, rows, repo.saved.get(), repo.calls.get(), rows / (nanos / 1e9), maxBlockNanos / 1e6);
+    }
+}
@@ -31,6 +31,15 @@ CREATE TABLE IF NOT EXISTS idle_time (
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
     );
 
+-- ==============================
+-- Словник заголовків вікон (system_stats.window_title_id)
+-- ==============================
+CREATE TABLE IF NOT EXISTS window_titles (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    UNIQUE KEY uq_window_titles_title (title)
+    );
+
 -- ==============================
 -- 3️⃣ Таблиця системної статистики
 -- ==============================
@@ -40,7 +49,7 @@ CREATE TABLE IF NOT EXISTS system_stats (
                                             cpu_load DECIMAL(6,2),
                                             ram_used_mb DECIMAL(12,2),
                                             ram_total_mb DECIMAL(12,2),
-                                            active_window VARCHAR(255),
+                                            window_title_id INT,
                                             keyboard_presses INT DEFAULT 0,
                                             mouse_clicks INT DEFAULT 0,
                                             mouse_moves BIGINT DEFAULT 0,
@@ -73,4 +82,108 @@ CREATE TABLE reports (
                          FOREIGN KEY (user_id) REFERENCES users(id)
 );
 
+-- ==============================
+-- 5️⃣ Агрегати системної статистики (хвилина / година / доба)
+-- ==============================
+CREATE TABLE IF NOT EXISTS stats_rollup (
+    user_id INT NOT NULL,
+    level VARCHAR(8) NOT NULL,              -- MINUTE / HOUR / DAY
+    bucket_start DATETIME NOT NULL,
+    sample_count BIGINT NOT NULL,
+    cpu_sum DOUBLE NOT NULL DEFAULT 0,
+    cpu_min DOUBLE,
+    cpu_max DOUBLE,
+    ram_sum DOUBLE NOT NULL DEFAULT 0,
+    ram_min DOUBLE,
+    ram_max DOUBLE,
+    disk_used_sum DOUBLE NOT NULL DEFAULT 0,
+    disk_used_min DOUBLE,
+    disk_used_max DOUBLE,
+    keyboard_presses BIGINT DEFAULT 0,
+    mouse_clicks BIGINT DEFAULT 0,
+    mouse_moves BIGINT DEFAULT 0,
+    uptime_max BIGINT DEFAULT 0,
+    top_windows_json TEXT,
+    PRIMARY KEY (user_id, level, bucket_start),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+    );
+
+-- До якого моменту (виключно) сирі system_stats уже згорнуті на кожному рівні
+CREATE TABLE IF NOT EXISTS stats_rollup_watermark (
+    user_id INT NOT NULL,
+    level VARCHAR(8) NOT NULL,
+    rolled_up_until DATETIME NOT NULL,
+    PRIMARY KEY (user_id, level),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+    );
+
+-- ==============================
+-- 6️⃣ Індекси під запити "користувач + діапазон часу"
+-- (застосунок створює їх і сам — міграції db/migration, див. SchemaMigrator)
+-- ==============================
+CREATE INDEX idx_system_stats_user_recorded ON system_stats (user_id, recorded_at);
+CREATE INDEX idx_idle_time_user_start ON idle_time (user_id, start_time, end_time, duration_seconds);
+
+-- ==============================
+-- 7️⃣ Позиція локального спулу, перенесена в system_stats
+-- ==============================
+CREATE TABLE IF NOT EXISTS stats_spool_checkpoint (
+    spool_id VARCHAR(64) PRIMARY KEY,
+    segment_no BIGINT NOT NULL,
+    segment_offset BIGINT NOT NULL,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    );
+
+-- ==============================
+-- 8️⃣ Burst-режим: агрегати вибірок 100–250 мс і сирі вікна навколо сплесків CPU
+-- ==============================
+CREATE TABLE IF NOT EXISTS burst_aggregate (
+    user_id INT NOT NULL,
+    bucket_start DATETIME(3) NOT NULL,
+    period_ms INT NOT NULL,
+    sample_count INT NOT NULL,
+    cpu_avg DOUBLE,
+    cpu_min DOUBLE,
+    cpu_max DOUBLE,
+    ram_avg_mb DOUBLE,
+    ram_max_mb DOUBLE,
+    PRIMARY KEY (user_id, bucket_start),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+    );
 
+CREATE TABLE IF NOT EXISTS burst_spike (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    started_at DATETIME(3) NOT NULL,
+    ended_at DATETIME(3) NOT NULL,
+    peak_cpu DOUBLE NOT NULL,
+    threshold_cpu DOUBLE NOT NULL,
+    period_ms INT NOT NULL,
+    INDEX idx_burst_spike_user_started (user_id, started_at),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+    );
+
+CREATE TABLE IF NOT EXISTS burst_spike_sample (
+    spike_id BIGINT NOT NULL,
+    sampled_at DATETIME(3) NOT NULL,
+    cpu DOUBLE NOT NULL,
+    ram_mb DOUBLE,
+    PRIMARY KEY (spike_id, sampled_at),
+    FOREIGN KEY (spike_id) REFERENCES burst_spike(id) ON DELETE CASCADE
+    );
+
+-- ==============================
+-- 9️⃣ Розбивка CPU: завантаження кожного ядра і топ процесів за CPU та RSS
+-- ==============================
+CREATE TABLE IF NOT EXISTS cpu_breakdown (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    recorded_at DATETIME NOT NULL,
+    core_count INT NOT NULL,
+    core_loads_json TEXT NOT NULL,
+    process_count INT NOT NULL,
+    top_cpu_json TEXT,
+    top_rss_json TEXT,
+    INDEX idx_cpu_breakdown_user_recorded (user_id, recorded_at),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+    );